@@ -0,0 +1,98 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding contract call parameters and decoding contract call results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractFunctionBenchmark {
+    private static final String ADDRESS = "00000000000000000000000000000000000013a5";
+    private static final BigInteger AMOUNT = BigInteger.valueOf(1_000_000_000_000L);
+    private static final byte[] BYTES32 = new byte[32];
+
+    private final com.hedera.hashgraph.sdk.proto.ContractFunctionResult resultProto =
+        com.hedera.hashgraph.sdk.proto.ContractFunctionResult.newBuilder()
+            .setContractID(new ContractId(1234).toProtobuf())
+            .setContractCallResult(encodeParameters().toBytes(null))
+            .build();
+
+    private final ContractFunctionTemplate template = new ContractFunctionTemplate("transfer", encodeParameters());
+
+    private final ContractFunctionResultDecoder decoder =
+        new ContractFunctionResultDecoder("(address,uint256,bytes32,bool,string)");
+
+    private long amount;
+
+    private static ContractFunctionParameters encodeParameters() {
+        return new ContractFunctionParameters()
+            .addAddress(ADDRESS)
+            .addUint256(AMOUNT)
+            .addBytes32(BYTES32)
+            .addBool(true)
+            .addString("memo for the transfer");
+    }
+
+    @Benchmark
+    public ByteString encode() {
+        return encodeParameters().toBytes("transfer");
+    }
+
+    @Benchmark
+    public ByteString encodeTemplate() {
+        return template.setInt(1, ++amount).toBytes();
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        var result = new ContractFunctionResult(resultProto);
+
+        blackhole.consume(result.getAddress(0));
+        blackhole.consume(result.getUint256(1));
+        blackhole.consume(result.getBytes32(2));
+        blackhole.consume(result.getBool(3));
+        blackhole.consume(result.getString(4));
+    }
+
+    @Benchmark
+    public Object decodeTyped() {
+        return decoder.decode(new ContractFunctionResult(resultProto));
+    }
+}
@@ -0,0 +1,107 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building, signing and serializing a transfer frozen for a number of nodes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionBenchmark {
+    private static final Instant VALID_START = Instant.ofEpochSecond(1554158542);
+
+    @Param({"1", "9", "27"})
+    public int nodeCount;
+
+    private final List<PrivateKey> keys = new ArrayList<>();
+    private final List<AccountId> nodeAccountIds = new ArrayList<>();
+    private byte[] signedBytes = new byte[0];
+
+    @Setup
+    public void setup() {
+        for (var i = 0; i < 5; i++) {
+            keys.add(PrivateKey.generateED25519());
+        }
+
+        for (var i = 0; i < nodeCount; i++) {
+            nodeAccountIds.add(new AccountId(3 + i));
+        }
+
+        signedBytes = spawnTransaction().freeze().sign(keys.get(0)).toBytes();
+    }
+
+    private TransferTransaction spawnTransaction() {
+        return new TransferTransaction()
+            .setNodeAccountIds(nodeAccountIds)
+            .setTransactionId(TransactionId.withValidStart(new AccountId(5006), VALID_START))
+            .addHbarTransfer(new AccountId(5008), Hbar.fromTinybars(400))
+            .addHbarTransfer(new AccountId(5006), Hbar.fromTinybars(400).negated())
+            .setTransactionMemo("benchmark");
+    }
+
+    @Benchmark
+    public TransferTransaction freeze() {
+        return spawnTransaction().freeze();
+    }
+
+    @Benchmark
+    public byte[] freezeSignToBytes() {
+        return spawnTransaction().freeze().sign(keys.get(0)).toBytes();
+    }
+
+    @Benchmark
+    public byte[] signWithFiveKeys() {
+        var transaction = spawnTransaction().freeze();
+
+        // Serialize after every key, as multi-party signing flows do when passing the bytes along
+        for (var key : keys) {
+            transaction.sign(key).toBytes();
+        }
+
+        return transaction.toBytes();
+    }
+
+    @Benchmark
+    public Transaction<?> fromBytes() throws InvalidProtocolBufferException {
+        return Transaction.fromBytes(signedBytes);
+    }
+}
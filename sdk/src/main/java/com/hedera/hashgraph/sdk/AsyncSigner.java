@@ -0,0 +1,73 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Signs messages asynchronously, for keys which live outside the process, such as in an HSM or a signing service.
+ * <p>
+ * The SDK hands the signer every body it needs signed at once: all the node and chunk bodies of a transaction, or all
+ * the query payments it is about to send, in as few calls to {@link #signAll(List)} as {@link #getMaxBatchSize()}
+ * allows. Executing a transaction or query asynchronously waits for the signatures without blocking a thread.
+ */
+@FunctionalInterface
+public interface AsyncSigner {
+    /**
+     * Sign many messages in one call.
+     *
+     * @param messages the messages to sign
+     * @return future result of the signatures, one per message and in the same order
+     */
+    CompletableFuture<List<byte[]>> signAll(List<byte[]> messages);
+
+    /**
+     * Sign a single message.
+     *
+     * @param message the message to sign
+     * @return future result of the signature
+     */
+    default CompletableFuture<byte[]> sign(byte[] message) {
+        return signAll(List.of(message)).thenApply(signatures -> signatures.get(0));
+    }
+
+    /**
+     * Extract the most messages passed to {@link #signAll(List)} at once; larger batches are split.
+     *
+     * @return the maximum batch size
+     */
+    default int getMaxBatchSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Create a signer which signs with a local key on the given executor, for development and testing against code
+     * written for a remote signer.
+     *
+     * @param privateKey the key to sign with
+     * @param executor   the executor the messages are signed on
+     * @return the new signer
+     */
+    static AsyncSigner fromPrivateKey(PrivateKey privateKey, Executor executor) {
+        return messages -> CompletableFuture.supplyAsync(() -> privateKey.sign(messages), executor);
+    }
+}
@@ -20,19 +20,25 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.Var;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.time.Duration;
 import java.time.Instant;
 
 import javax.annotation.Nullable;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Abstracts away most of the similar functionality between {@link Network} and {@link MirrorNetwork}
+ * <p>
+ * The node list, the node map and the healthy node list live together in one immutable {@link NetworkState} which is
+ * replaced, never modified, so selecting nodes and reading their health never blocks and never sees the lists out of
+ * step with each other. Methods which replace the nodes are {@code synchronized} with each other.
  *
  * @param <BaseNetworkT> - The network that is extending this class. This is used for builder pattern setter methods.
  * @param <KeyT> - The identifying type for the network.
@@ -43,24 +49,14 @@ abstract class BaseNetwork<
     KeyT,
     BaseNodeT extends BaseNode<BaseNodeT, KeyT>> {
     protected static final Integer DEFAULT_MAX_NODE_ATTEMPTS = -1;
-    protected static final Random random = new Random();
 
     protected final ExecutorService executor;
 
     /**
-     * Map of node identifiers to nodes. Used to quickly fetch node for identifier.
+     * The current snapshot of the nodes. Replaced as a whole with compare-and-set.
      */
-    protected Map<KeyT, List<BaseNodeT>> network = new ConcurrentHashMap<>();
-
-    /**
-     * The list of all nodes.
-     */
-    protected List<BaseNodeT> nodes = new ArrayList<>();
-
-    /**
-     * The list of currently healthy nodes.
-     */
-    protected List<BaseNodeT> healthyNodes = new ArrayList<>();
+    protected final AtomicReference<NetworkState<KeyT, BaseNodeT>> state =
+        new AtomicReference<>(NetworkState.empty());
 
     /**
      * The current minimum backoff for the nodes in the network. This backoff is used when nodes return a bad
@@ -82,7 +78,7 @@ abstract class BaseNetwork<
     /**
      * Limit for how many times we retry a node which has returned a bad gRPC status
      */
-    protected int maxNodeAttempts = DEFAULT_MAX_NODE_ATTEMPTS;
+    protected volatile int maxNodeAttempts = DEFAULT_MAX_NODE_ATTEMPTS;
 
     /**
      * Is the network using transport security
@@ -92,23 +88,28 @@ abstract class BaseNetwork<
     /**
      * The min time to wait before attempting to readmit nodes.
      */
-    protected Duration minNodeReadmitTime = Client.DEFAULT_MIN_NODE_BACKOFF;
+    protected volatile Duration minNodeReadmitTime = Client.DEFAULT_MIN_NODE_BACKOFF;
 
     /**
      * The max time to wait for readmitting nodes.
      */
-    protected Duration maxNodeReadmitTime = Client.DEFAULT_MAX_NODE_BACKOFF;
+    protected volatile Duration maxNodeReadmitTime = Client.DEFAULT_MAX_NODE_BACKOFF;
 
     /**
-     * The instant that readmission will happen after.
+     * The instant that readmission will happen after. The thread which advances it performs the readmission.
      */
-    protected Instant earliestReadmitTime;
+    protected final AtomicReference<Instant> earliestReadmitTime;
+
+    /**
+     * Receives a measurement for every node readmitted after backing off.
+     */
+    protected volatile ClientMetrics metrics = ClientMetrics.NOOP;
 
     /**
      * The name of the network. This corresponds to ledger ID in entity ID checksum calculations
      */
     @Nullable
-    private LedgerId ledgerId;
+    private volatile LedgerId ledgerId;
 
     @VisibleForTesting
     @SuppressFBWarnings(
@@ -119,7 +120,7 @@ abstract class BaseNetwork<
 
     protected BaseNetwork(ExecutorService executor) {
         this.executor = executor;
-        earliestReadmitTime = Instant.now().plus(minNodeReadmitTime);
+        earliestReadmitTime = new AtomicReference<>(Instant.now().plus(minNodeReadmitTime));
     }
 
     /**
@@ -128,7 +129,7 @@ abstract class BaseNetwork<
      * @return                          the ledger id
      */
     @Nullable
-    synchronized LedgerId getLedgerId() {
+    LedgerId getLedgerId() {
         return ledgerId;
     }
 
@@ -151,7 +152,7 @@ abstract class BaseNetwork<
      *
      * @return                          maximum node attempts
      */
-    synchronized int getMaxNodeAttempts() {
+    int getMaxNodeAttempts() {
         return maxNodeAttempts;
     }
 
@@ -186,7 +187,7 @@ abstract class BaseNetwork<
     synchronized BaseNetworkT setMinNodeBackoff(Duration minNodeBackoff) {
         this.minNodeBackoff = minNodeBackoff;
 
-        for (var node : nodes) {
+        for (var node : state.get().nodes()) {
             node.setMinBackoff(minNodeBackoff);
         }
 
@@ -212,7 +213,7 @@ abstract class BaseNetwork<
     synchronized BaseNetworkT setMaxNodeBackoff(Duration maxNodeBackoff) {
         this.maxNodeBackoff = maxNodeBackoff;
 
-        for (var node : nodes) {
+        for (var node : state.get().nodes()) {
             node.setMaxBackoff(maxNodeBackoff);
         }
 
@@ -237,7 +238,7 @@ abstract class BaseNetwork<
     synchronized public void setMinNodeReadmitTime(Duration minNodeReadmitTime) {
         this.minNodeReadmitTime = minNodeReadmitTime;
 
-        for (var node : nodes) {
+        for (var node : state.get().nodes()) {
             node.readmitTime = Instant.now();
         }
     }
@@ -302,10 +303,11 @@ abstract class BaseNetwork<
      * @return - list of indexes in descending order
      */
     protected List<Integer> getNodesToRemove(Map<String, KeyT> network) {
-        var nodes = new ArrayList<Integer>(this.nodes.size());
+        var currentNodes = state.get().nodes();
+        var nodes = new ArrayList<Integer>(currentNodes.size());
 
-        for (int i = this.nodes.size() - 1; i >= 0; i--) {
-            var node = this.nodes.get(i);
+        for (int i = currentNodes.size() - 1; i >= 0; i--) {
+            var node = currentNodes.get(i);
 
             if (!nodeIsInGivenNetwork(node, network)) {
                 nodes.add(i);
@@ -342,28 +344,17 @@ abstract class BaseNetwork<
      */
     synchronized BaseNetworkT setNetwork(Map<String, KeyT> network) throws TimeoutException, InterruptedException {
         var newNodes = new ArrayList<BaseNodeT>();
-        var newHealthyNodes = new ArrayList<BaseNodeT>();
-        var newNetwork = new HashMap<KeyT, List<BaseNodeT>>();
         var newNodeKeys = new HashSet<KeyT>();
         var newNodeAddresses = new HashSet<String>();
+        var currentNodes = new ArrayList<>(state.get().nodes());
+        var removedNodes = new ArrayList<BaseNodeT>();
 
         // getNodesToRemove() should always return the list in reverse order
         for (var index : getNodesToRemove(network)) {
-            var stopAt = Instant.now().getEpochSecond() + closeTimeout.getSeconds();
-            var remainingTime = stopAt - Instant.now().getEpochSecond();
-            var node = nodes.get(index);
-
-            // Exit early if we have no time remaining
-            if (remainingTime <= 0) {
-                throw new TimeoutException("Failed to properly shutdown all channels");
-            }
-
-            removeNodeFromNetwork(node);
-            node.close(Duration.ofSeconds(remainingTime));
-            this.nodes.remove(index.intValue());
+            removedNodes.add(currentNodes.remove(index.intValue()));
         }
 
-        for (var node : this.nodes) {
+        for (var node : currentNodes) {
             newNodes.add(node);
             newNodeKeys.add(node.getKey());
             newNodeAddresses.add(node.address.toString());
@@ -379,42 +370,63 @@ abstract class BaseNetwork<
             newNodes.add(node);
         }
 
-        for (var node : newNodes) {
-            if (newNetwork.containsKey(node.getKey())) {
-                newNetwork.get(node.getKey()).add(node);
-            } else {
-                var list = new ArrayList<BaseNodeT>();
-                list.add(node);
-                newNetwork.put(node.getKey(), list);
+        // Publish the new snapshot before closing the removed nodes so no new request picks them up
+        setNodes(newNodes);
+
+        for (var node : removedNodes) {
+            var stopAt = Instant.now().getEpochSecond() + closeTimeout.getSeconds();
+            var remainingTime = stopAt - Instant.now().getEpochSecond();
+
+            // Exit early if we have no time remaining
+            if (remainingTime <= 0) {
+                throw new TimeoutException("Failed to properly shutdown all channels");
             }
 
-            newHealthyNodes.add(node);
+            node.close(Duration.ofSeconds(remainingTime));
         }
 
-        // Atomically set all the variables
-        nodes = newNodes;
-        this.network = newNetwork;
-        healthyNodes = newHealthyNodes;
-
         // noinspection unchecked
         return (BaseNetworkT) this;
     }
 
-    synchronized void increaseBackoff(BaseNodeT node) {
+    /**
+     * Replace the network state with a snapshot of the given nodes. All the given nodes are considered healthy.
+     * <p>
+     * Callers must hold the lock on {@code this}.
+     *
+     * @param newNodes                  the new list of all nodes
+     */
+    protected void setNodes(List<BaseNodeT> newNodes) {
+        state.set(NetworkState.of(newNodes, newNodes));
+    }
+
+    void increaseBackoff(BaseNodeT node) {
         node.increaseBackoff();
-        healthyNodes.remove(node);
+
+        state.updateAndGet(current -> {
+            if (!current.healthy().contains(node)) {
+                return current;
+            }
+
+            var newHealthy = new ArrayList<>(current.healthy());
+            newHealthy.remove(node);
+            return current.withHealthy(newHealthy);
+        });
     }
 
-    synchronized void decreaseBackoff(BaseNodeT node) {
+    void decreaseBackoff(BaseNodeT node) {
         node.decreaseBackoff();
     }
 
-    private void removeNodeFromNetwork(BaseNodeT node) {
-        var nodesForKey = this.network.get(node.getKey());
-        nodesForKey.remove(node);
-        if (nodesForKey.isEmpty()) {
-            this.network.remove(node.getKey());
-        }
+    /**
+     * Feed the latency of a response back into the node's latency average. Used by
+     * {@link NodeSelectionStrategy#LATENCY_AWARE} to prefer faster nodes.
+     *
+     * @param node                      the node which responded
+     * @param latencyNanos              the latency of the response in nanoseconds
+     */
+    void recordLatency(BaseNodeT node, long latencyNanos) {
+        node.recordLatency(latencyNanos);
     }
 
     private boolean addressIsInNodeList(String addressString, List<BaseNodeT> nodes) {
@@ -433,57 +445,121 @@ abstract class BaseNetwork<
      * @throws InterruptedException - when shutting down nodes
      */
     protected void removeDeadNodes() throws InterruptedException {
-        if (maxNodeAttempts > 0) {
-            for (int i = nodes.size() - 1; i >= 0; i--) {
-                var node = Objects.requireNonNull(nodes.get(i));
+        var maxNodeAttempts = this.maxNodeAttempts;
+        if (maxNodeAttempts <= 0 || !hasDeadNodes(maxNodeAttempts)) {
+            return;
+        }
+
+        synchronized (this) {
+            var nodes = state.get().nodes();
+            var liveNodes = new ArrayList<BaseNodeT>(nodes.size());
+            var deadNodes = new ArrayList<BaseNodeT>();
 
+            for (var node : nodes) {
                 if (node.getBadGrpcStatusCount() >= maxNodeAttempts) {
-                    node.close(closeTimeout);
-                    removeNodeFromNetwork(node);
-                    nodes.remove(i);
+                    deadNodes.add(node);
+                } else {
+                    liveNodes.add(node);
                 }
             }
+
+            if (deadNodes.isEmpty()) {
+                return;
+            }
+
+            // Keep the health of the live nodes, a concurrent `increaseBackoff()` must not be lost
+            state.updateAndGet(current -> NetworkState.of(liveNodes, filterNodes(current.healthy(), liveNodes)));
+
+            for (var node : deadNodes) {
+                node.close(closeTimeout);
+            }
+        }
+    }
+
+    private boolean hasDeadNodes(int maxNodeAttempts) {
+        for (var node : state.get().nodes()) {
+            if (node.getBadGrpcStatusCount() >= maxNodeAttempts) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keep the nodes of {@code nodes} which are also in {@code allowed}, compared by identity.
+     */
+    private static <NodeT> List<NodeT> filterNodes(List<NodeT> nodes, List<NodeT> allowed) {
+        var allowedSet = Collections.newSetFromMap(new IdentityHashMap<NodeT, Boolean>(allowed.size()));
+        allowedSet.addAll(allowed);
+
+        var filtered = new ArrayList<NodeT>(nodes.size());
+        for (var node : nodes) {
+            if (allowedSet.contains(node)) {
+                filtered.add(node);
+            }
         }
+        return filtered;
     }
 
     /**
-     * Readmits nodes from the `nodes` list into the `healthyNodes` list when the time is passed the
+     * Readmits nodes from the node list into the healthy node list when the time is passed the
      * {@code earliestReadmitTime}. While readmitting nodes the `earliestReadmitTime` will be updated to
      * a new value. This value is either the value of the node with the smallest readmission time from now,
      * or `minNodeReadmitTime` or `maxNodeReadmitTime`.
+     * <p>
+     * Only the thread which advances `earliestReadmitTime` performs the readmission, every other thread returns
+     * immediately.
      */
-    synchronized void readmitNodes() {
+    void readmitNodes() {
         var now = Instant.now();
+        var earliest = earliestReadmitTime.get();
 
-        if (now.toEpochMilli() > earliestReadmitTime.toEpochMilli()) {
-            var nextEarliestReadmitTime = now.plus(maxNodeReadmitTime);
-
-            for (var node : this.nodes) {
-                if (node.readmitTime.isAfter(now) && node.readmitTime.isBefore(nextEarliestReadmitTime)) {
-                    nextEarliestReadmitTime = node.readmitTime;
-                }
-            }
+        if (now.toEpochMilli() <= earliest.toEpochMilli()) {
+            return;
+        }
 
+        var nextEarliestReadmitTime = now.plus(maxNodeReadmitTime);
 
-            this.earliestReadmitTime = nextEarliestReadmitTime;
-            if (this.earliestReadmitTime.isBefore(now.plus(minNodeReadmitTime))) {
-                this.earliestReadmitTime = now.plus(minNodeReadmitTime);
+        for (var node : state.get().nodes()) {
+            var readmitTime = node.readmitTime;
+            if (readmitTime.isAfter(now) && readmitTime.isBefore(nextEarliestReadmitTime)) {
+                nextEarliestReadmitTime = readmitTime;
             }
+        }
 
-            outer: for (var i = 0; i < this.nodes.size(); i++) {
-                // Check if `healthyNodes` already contains this node
-                for (var j = 0; j < this.healthyNodes.size(); j++) {
-                    if (this.nodes.get(i) == this.healthyNodes.get(j)) {
-                        continue outer;
-                    }
-                }
+        if (nextEarliestReadmitTime.isBefore(now.plus(minNodeReadmitTime))) {
+            nextEarliestReadmitTime = now.plus(minNodeReadmitTime);
+        }
 
-                // If `healthyNodes` doesn't contain the node, check the `readmitTime` on the node
-                if (this.nodes.get(i).readmitTime.isBefore(now)) {
-                    this.healthyNodes.add(this.nodes.get(i));
+        if (!earliestReadmitTime.compareAndSet(earliest, nextEarliestReadmitTime)) {
+            return;
+        }
+
+        @Var NetworkState<KeyT, BaseNodeT> current;
+        @Var NetworkState<KeyT, BaseNodeT> next;
+        @Var Set<BaseNodeT> healthySet;
+
+        do {
+            // Rebuild from the current snapshot every time so nodes removed in the meantime are never readmitted
+            current = state.get();
+            healthySet = Collections.newSetFromMap(new IdentityHashMap<BaseNodeT, Boolean>(current.healthy().size()));
+            healthySet.addAll(current.healthy());
+
+            var rebuilt = new ArrayList<BaseNodeT>(current.nodes().size());
+            for (var node : current.nodes()) {
+                // Keep the nodes already healthy, and readmit the others when their `readmitTime` passed
+                if (healthySet.contains(node) || node.readmitTime.isBefore(now)) {
+                    rebuilt.add(node);
                 }
             }
 
+            next = current.withHealthy(rebuilt);
+        } while (!state.compareAndSet(current, next));
+
+        for (var node : next.healthy()) {
+            if (!healthySet.contains(node)) {
+                metrics.recordNodeReadmitted(node.getKey() instanceof AccountId accountId ? accountId : null);
+            }
         }
     }
 
@@ -492,17 +568,21 @@ abstract class BaseNetwork<
      *
      * @return                          the node
      */
-    synchronized BaseNodeT getRandomNode() {
+    BaseNodeT getRandomNode() {
         // Attempt to readmit nodes each time a node is fetched.
         // Note: Readmitting nodes will only happen periodically so calling it each time should not harm
         // performance.
         readmitNodes();
 
-        if (healthyNodes.isEmpty()) {
+        return getRandomNode(state.get().healthy());
+    }
+
+    private BaseNodeT getRandomNode(List<BaseNodeT> healthy) {
+        if (healthy.isEmpty()) {
             throw new IllegalStateException("No healthy node was found");
         }
 
-        return healthyNodes.get(random.nextInt(healthyNodes.size()));
+        return healthy.get(ThreadLocalRandom.current().nextInt(healthy.size()));
     }
 
     /**
@@ -511,13 +591,13 @@ abstract class BaseNetwork<
      * @param key                       the desired key
      * @return                          the list of node proxies
      */
-    synchronized List<BaseNodeT> getNodeProxies(KeyT key) {
+    List<BaseNodeT> getNodeProxies(KeyT key) {
         // Attempt to readmit nodes each time a node is fetched.
         // Note: Readmitting nodes will only happen periodically so calling it each time should not harm
         // performance.
         readmitNodes();
 
-        return network.get(key);
+        return state.get().network().get(key);
     }
 
     /**
@@ -530,14 +610,15 @@ abstract class BaseNetwork<
      * @return                          List of nodes to use
      * @throws InterruptedException     when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
      */
-    protected synchronized List<BaseNodeT> getNumberOfMostHealthyNodes(int count) throws InterruptedException {
+    protected List<BaseNodeT> getNumberOfMostHealthyNodes(int count) throws InterruptedException {
         readmitNodes();
         removeDeadNodes();
 
+        var healthy = state.get().healthy();
         var returnNodes = new HashMap<KeyT, BaseNodeT>(count);
 
         for (var i = 0; i < count; i++ ) {
-            var node = getRandomNode();
+            var node = getRandomNode(healthy);
 
             if (!returnNodes.containsKey(node.getKey())) {
                 returnNodes.put(node.getKey(), node);
@@ -551,7 +632,7 @@ abstract class BaseNetwork<
 
 
     synchronized void beginClose() {
-        for (var node : nodes) {
+        for (var node : state.get().nodes()) {
             if (node.channel != null) {
                 node.channel = node.channel.shutdown();
             }
@@ -566,7 +647,7 @@ abstract class BaseNetwork<
                 throw previousError;
             }
 
-            for (var node : nodes) {
+            for (var node : state.get().nodes()) {
                 if (node.channel != null) {
                     var timeoutMillis = Duration.between(Instant.now(), deadline).toMillis();
                     if (timeoutMillis <= 0 || !node.channel.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
@@ -579,7 +660,7 @@ abstract class BaseNetwork<
 
             return null;
         } catch (Throwable error) {
-            for (var node : nodes) {
+            for (var node : state.get().nodes()) {
                 if (node.channel != null) {
                     node.channel.shutdownNow();
                 }
@@ -588,8 +669,48 @@ abstract class BaseNetwork<
 
             return error;
         } finally {
-            nodes.clear();
-            network.clear();
+            state.set(NetworkState.empty());
+        }
+    }
+
+    /**
+     * An immutable snapshot of the nodes of a network.
+     *
+     * @param nodes                     the list of all nodes
+     * @param network                   map of node identifiers to nodes, used to quickly fetch node for identifier
+     * @param healthy                   the list of currently healthy nodes, always a subset of {@code nodes}
+     * @param <KeyT>                    the identifying type for the network
+     * @param <NodeT>                   the node type for the network
+     */
+    record NetworkState<KeyT, NodeT extends BaseNode<NodeT, KeyT>>(
+        List<NodeT> nodes,
+        Map<KeyT, List<NodeT>> network,
+        List<NodeT> healthy
+    ) {
+        static <K, N extends BaseNode<N, K>> NetworkState<K, N> empty() {
+            return new NetworkState<>(Collections.emptyList(), Collections.emptyMap(), Collections.emptyList());
+        }
+
+        static <K, N extends BaseNode<N, K>> NetworkState<K, N> of(List<N> nodes, List<N> healthy) {
+            var network = new HashMap<K, List<N>>();
+
+            for (var node : nodes) {
+                network.computeIfAbsent(node.getKey(), key -> new ArrayList<>()).add(node);
+            }
+
+            for (var entry : network.entrySet()) {
+                entry.setValue(Collections.unmodifiableList(entry.getValue()));
+            }
+
+            return new NetworkState<>(
+                Collections.unmodifiableList(new ArrayList<>(nodes)),
+                Collections.unmodifiableMap(network),
+                Collections.unmodifiableList(new ArrayList<>(healthy))
+            );
+        }
+
+        NetworkState<KeyT, NodeT> withHealthy(List<NodeT> healthy) {
+            return new NetworkState<>(nodes, network, Collections.unmodifiableList(new ArrayList<>(healthy)));
         }
     }
 }
@@ -46,6 +46,7 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
     private static final int GET_STATE_INTERVAL_MILLIS = 50;
     private static final int GET_STATE_TIMEOUT_MILLIS = 10000;
     private static final int GET_STATE_MAX_ATTEMPTS = GET_STATE_TIMEOUT_MILLIS / GET_STATE_INTERVAL_MILLIS;
+    private static final double LATENCY_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
     private boolean hasConnected = false;
 
     protected final ExecutorService executor;
@@ -58,7 +59,7 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
     /**
      * Timestamp of when this node will be considered healthy again
      */
-    protected Instant readmitTime;
+    protected volatile Instant readmitTime;
 
     /**
      * The current backoff duration. Uses exponential backoff so think 1s, 2s, 4s, 8s, etc until maxBackoff is hit
@@ -78,7 +79,22 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
     /**
      * Number of times this node has received a bad gRPC status
      */
-    protected long badGrpcStatusCount;
+    protected volatile long badGrpcStatusCount;
+
+    /**
+     * Exponentially weighted moving average of the response latency of this node in nanoseconds
+     */
+    protected volatile double latencyEwma = 0;
+
+    /**
+     * Timestamp, as given by {@link System#nanoTime()}, of the last latency sample recorded for this node
+     */
+    protected volatile long latencyUpdatedAt = 0;
+
+    /**
+     * Has a latency sample been recorded for this node
+     */
+    protected volatile boolean hasLatencySample = false;
 
     @Nullable
     protected ManagedChannel channel = null;
@@ -113,6 +129,9 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         this.readmitTime = node.readmitTime;
         this.currentBackoff = node.currentBackoff;
         this.badGrpcStatusCount = node.badGrpcStatusCount;
+        this.latencyEwma = node.latencyEwma;
+        this.latencyUpdatedAt = node.latencyUpdatedAt;
+        this.hasLatencySample = node.hasLatencySample;
     }
 
     /**
@@ -213,11 +232,12 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
      * @return                          is the node healthy
      */
     boolean isHealthy() {
-        return readmitTime.toEpochMilli() < Instant.now().toEpochMilli();
+        return readmitTime.toEpochMilli() < System.currentTimeMillis();
     }
 
     /**
-     * Used when a node has received a bad gRPC status
+     * Used when a node has received a bad gRPC status.
+     * Updates are serialized per node; the health of the node can be read at any time without locking.
      */
     synchronized void increaseBackoff() {
         this.badGrpcStatusCount++;
@@ -237,6 +257,42 @@ abstract class BaseNode<N extends BaseNode<N, KeyT>, KeyT> {
         this.currentBackoff = currentBackoff.compareTo(minBackoff) > 0 ? currentBackoff : minBackoff;
     }
 
+    /**
+     * Used when a response has been received from the node.
+     * The sample is folded into a peak-sensitive moving average: a sample above the average replaces it immediately,
+     * otherwise the average moves towards the sample weighted by the time passed since the previous sample.
+     *
+     * @param latencyNanos              the latency of the response in nanoseconds
+     */
+    synchronized void recordLatency(long latencyNanos) {
+        var now = System.nanoTime();
+
+        if (!hasLatencySample || latencyNanos > latencyEwma) {
+            latencyEwma = latencyNanos;
+        } else {
+            var weight = Math.exp(-(now - latencyUpdatedAt) / LATENCY_DECAY_NANOS);
+            latencyEwma = latencyEwma * weight + latencyNanos * (1 - weight);
+        }
+
+        latencyUpdatedAt = now;
+        hasLatencySample = true;
+    }
+
+    /**
+     * Get the latency score of this node, lower is better.
+     * The score decays towards zero while no samples are recorded so a node that was slow in the past is eventually
+     * tried again.
+     *
+     * @return                          the decayed latency average in nanoseconds, or 0 if none was recorded
+     */
+    double getLatencyScore() {
+        if (!hasLatencySample) {
+            return 0;
+        }
+
+        return latencyEwma * Math.exp(-(System.nanoTime() - latencyUpdatedAt) / LATENCY_DECAY_NANOS);
+    }
+
     /**
      * Get the amount of time the node has to wait until it's healthy again
      *
@@ -0,0 +1,120 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Objects;
+import org.bouncycastle.util.encoders.Hex;
+
+/**
+ * A lazily read source of file contents, handed out one chunk at a time.
+ * <p>
+ * Only the chunk currently being read is held in memory; the source itself is consumed as chunks are taken and
+ * can't be rewound.
+ */
+abstract class ChunkSource {
+    /**
+     * Read the next chunk.
+     *
+     * @param maxBytes the maximum size of the chunk
+     * @return the next chunk, or an empty byte string when the source is exhausted
+     * @throws IOException when reading from the underlying source fails
+     */
+    abstract ByteString read(int maxBytes) throws IOException;
+
+    /**
+     * Create a chunk source that reads from an input stream.
+     *
+     * @param stream the input stream
+     * @return the chunk source
+     */
+    static ChunkSource from(InputStream stream) {
+        Objects.requireNonNull(stream);
+        return new ChunkSource() {
+            @Override
+            ByteString read(int maxBytes) throws IOException {
+                return ByteString.copyFrom(stream.readNBytes(maxBytes));
+            }
+        };
+    }
+
+    /**
+     * Create a chunk source that reads from a blocking channel.
+     *
+     * @param channel the channel
+     * @return the chunk source
+     */
+    static ChunkSource from(ReadableByteChannel channel) {
+        Objects.requireNonNull(channel);
+        return new ChunkSource() {
+            @Override
+            ByteString read(int maxBytes) throws IOException {
+                var buffer = ByteBuffer.allocate(maxBytes);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // keep reading until the chunk is full or the channel is at end-of-stream
+                }
+                buffer.flip();
+                return ByteString.copyFrom(buffer);
+            }
+        };
+    }
+
+    /**
+     * Create a chunk source that reads the remaining bytes of a buffer, e.g. a
+     * {@link java.nio.MappedByteBuffer} of a large file.
+     * <p>
+     * The position of the passed in buffer is not changed.
+     *
+     * @param buffer the buffer
+     * @return the chunk source
+     */
+    static ChunkSource from(ByteBuffer buffer) {
+        var view = Objects.requireNonNull(buffer).duplicate();
+        return new ChunkSource() {
+            @Override
+            ByteString read(int maxBytes) {
+                return ByteString.copyFrom(view, Math.min(maxBytes, view.remaining()));
+            }
+        };
+    }
+
+    /**
+     * Create a chunk source that hex-encodes the bytes of this source, which is how contract bytecode is stored in
+     * files.
+     *
+     * @return the hex-encoding chunk source
+     */
+    ChunkSource hexEncoded() {
+        var raw = this;
+        return new ChunkSource() {
+            @Override
+            ByteString read(int maxBytes) throws IOException {
+                if (maxBytes < 2) {
+                    throw new IllegalArgumentException("a hex-encoded chunk must be at least 2 bytes");
+                }
+                return ByteString.copyFromUtf8(Hex.toHexString(raw.read(maxBytes / 2).toByteArray()));
+            }
+        };
+    }
+}
@@ -277,7 +277,7 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return retval;
     }
 
-    private void freezeAndSign(Client client) {
+    void freezeAndSign(Client client) {
         if (!isFrozen()) {
             freezeWith(client);
         }
@@ -387,6 +387,17 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         return future;
     }
 
+    /**
+     * Execute this transaction as a single chunk, without fetching its receipt.
+     *
+     * @param client                    the client with which this will be executed
+     * @param timeout                   the timeout after which the execution attempt will be cancelled
+     * @return                          future result of execution
+     */
+    CompletableFuture<TransactionResponse> executeChunkAsync(Client client, Duration timeout) {
+        return super.executeAsync(client, timeout);
+    }
+
     /**
      * Execute this transaction or query asynchronously.
      *
@@ -485,6 +496,7 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
         sigPairLists = new ArrayList<>(requiredChunks * nodeAccountIds.size());
         outerTransactions = new ArrayList<>(requiredChunks * nodeAccountIds.size());
         innerSignedTransactions = new ArrayList<>(requiredChunks * nodeAccountIds.size());
+        unbuiltBodies = lazyTransactionBodies ? new ArrayList<>(requiredChunks) : Collections.emptyList();
 
         for (int i = 0; i < requiredChunks; i++) {
             var startIndex = i * chunkSize;
@@ -503,10 +515,14 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
                 requiredChunks
             );
 
+            if (lazyTransactionBodies) {
+                unbuiltBodies.add(frozenBodyBuilder.build());
+            }
+
             // For each node we add a transaction with that node
             for (var nodeId : nodeAccountIds) {
                 sigPairLists.add(SignatureMap.newBuilder());
-                innerSignedTransactions.add(SignedTransaction.newBuilder()
+                innerSignedTransactions.add(lazyTransactionBodies ? null : SignedTransaction.newBuilder()
                     .setBodyBytes(
                         frozenBodyBuilder
                             .setNodeAccountID(nodeId.toProtobuf())
@@ -517,6 +533,9 @@ abstract class ChunkedTransaction<T extends ChunkedTransaction<T>> extends Trans
                 outerTransactions.add(null);
             }
         }
+
+        appliedSignerCounts = new int[sigPairLists.size()];
+        asyncSignaturesPending = !asyncSigners.isEmpty();
     }
 
     /**
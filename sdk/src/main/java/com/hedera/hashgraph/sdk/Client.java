@@ -69,6 +69,7 @@ public final class Client implements AutoCloseable {
     private static final String TESTNET = "testnet";
     private static final String PREVIEWNET = "previewnet";
     final ExecutorService executor;
+    final HashedWheelTimer timer;
     private final AtomicReference<Duration> grpcDeadline = new AtomicReference(DEFAULT_GRPC_DEADLINE);
     private final Set<SubscriptionHandle> subscriptions = ConcurrentHashMap.newKeySet();
     @Nullable
@@ -84,6 +85,7 @@ public final class Client implements AutoCloseable {
     private volatile Duration maxBackoff = DEFAULT_MAX_BACKOFF;
     private volatile Duration minBackoff = DEFAULT_MIN_BACKOFF;
     private boolean autoValidateChecksums = false;
+    private boolean lazyTransactionBodies = false;
     private boolean defaultRegenerateTransactionId = true;
     // If networkUpdatePeriod is null, any network updates in progress will not complete
     @Nullable
@@ -91,6 +93,19 @@ public final class Client implements AutoCloseable {
     @Nullable
     private CompletableFuture<Void> networkUpdateFuture;
     private Logger logger = new Logger(LogLevel.SILENT);
+    private volatile NodeSelectionStrategy nodeSelectionStrategy = NodeSelectionStrategy.ROUND_ROBIN;
+    private volatile ClientMetrics metrics = ClientMetrics.NOOP;
+    @Nullable
+    private TopicSubscriptionManager topicSubscriptionManager;
+    @Nullable
+    private TransactionReceiptPoller transactionReceiptPoller;
+    @Nullable
+    private MirrorTransactionResolver mirrorTransactionResolver;
+    @Nullable
+    private volatile QueryCostCache queryCostCache;
+    private volatile boolean payMaxQueryPayment = false;
+    @Nullable
+    volatile QueryPaymentPool queryPaymentPool;
 
     /**
      * Constructor.
@@ -108,6 +123,7 @@ public final class Client implements AutoCloseable {
         @Nullable Duration networkUpdatePeriod
     ) {
         this.executor = executor;
+        this.timer = new HashedWheelTimer(executor);
         this.network = network;
         this.mirrorNetwork = mirrorNetwork;
         this.networkUpdatePeriod = networkUpdatePeriod;
@@ -126,10 +142,10 @@ public final class Client implements AutoCloseable {
             .build();
 
         int nThreads = Runtime.getRuntime().availableProcessors();
-        return new ThreadPoolExecutor(nThreads, nThreads,
+        return new ClientExecutor(new ThreadPoolExecutor(nThreads, nThreads,
             0L, TimeUnit.MILLISECONDS,
             new LinkedBlockingQueue<>(),
-            threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+            threadFactory, new ThreadPoolExecutor.CallerRunsPolicy()));
     }
 
     /**
@@ -327,6 +343,9 @@ public final class Client implements AutoCloseable {
 
     /**
      * Set the mirror network nodes.
+     * <p>
+     * When the mirror nodes change, the base URL of the REST API is reset: to the REST API of the public mirror node
+     * when the new nodes are one, otherwise to none until {@link #setMirrorRestBaseUrl(String)} is called.
      *
      * @param network list of network nodes
      * @return {@code this}
@@ -342,12 +361,37 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Extract the base URL of the REST API of the mirror network.
+     *
+     * @return the base URL, or {@code null} if none is configured
+     */
+    @Nullable
+    public String getMirrorRestBaseUrl() {
+        return mirrorNetwork.getRestBaseUrl();
+    }
+
+    /**
+     * Set the base URL of the REST API of the mirror network, e.g.
+     * {@code https://testnet.mirrornode.hedera.com/api/v1}, used by {@link MirrorTransactionResolver}.
+     * <p>
+     * Clients for mainnet, testnet and previewnet have it set already.
+     *
+     * @param restBaseUrl the base URL
+     * @return {@code this}
+     */
+    public Client setMirrorRestBaseUrl(String restBaseUrl) {
+        Objects.requireNonNull(restBaseUrl);
+        mirrorNetwork.setRestBaseUrl(restBaseUrl);
+        return this;
+    }
+
     private synchronized void scheduleNetworkUpdate(@Nullable Duration delay) {
         if (delay == null) {
             networkUpdateFuture = null;
             return;
         }
-        networkUpdateFuture = Delayer.delayFor(delay.toMillis(), executor);
+        networkUpdateFuture = Delayer.delayFor(delay.toMillis(), timer);
         networkUpdateFuture.thenRun(() -> {
             // Checking networkUpdatePeriod != null must be synchronized, so I've put it in a synchronized method.
             requireNetworkUpdatePeriodNotNull(() -> {
@@ -500,6 +544,104 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Run the gRPC callbacks and async retries of this client on virtual threads instead of a fixed pool of platform
+     * threads, so that many concurrent requests don't require sizing a pool by hand.
+     * <p>
+     * Virtual threads need Java 21 (or Java 19 and 20 with preview features enabled). On older runtimes, or when the
+     * client was built with a custom executor, this logs a warning and the client keeps its current executor.
+     * <p>
+     * The synchronous {@code execute} methods block only the calling thread, both while waiting for a response and
+     * during backoff. Calling them from virtual threads lets blocking code scale the same way.
+     *
+     * @return {@code this}
+     */
+    public Client withVirtualThreads() {
+        if (!(executor instanceof ClientExecutor clientExecutor) || !clientExecutor.useVirtualThreads()) {
+            logger.warn("Virtual threads are not available, keeping the current executor");
+        }
+
+        return this;
+    }
+
+    /**
+     * Extract whether the gRPC callbacks and async retries of this client run on virtual threads.
+     *
+     * @return whether virtual threads are used
+     */
+    public boolean isUsingVirtualThreads() {
+        return executor instanceof ClientExecutor clientExecutor && clientExecutor.isUsingVirtualThreads();
+    }
+
+    /**
+     * Create a pipeline for submitting many frozen transactions with this client, keeping a bounded number of
+     * transactions in flight per node.
+     *
+     * @return the transaction pipeline
+     */
+    public TransactionPipeline submitter() {
+        return new TransactionPipeline(this, TransactionPipeline.DEFAULT_MAX_IN_FLIGHT_PER_NODE);
+    }
+
+    /**
+     * Create a pipeline for submitting many frozen transactions with this client, keeping a bounded number of
+     * transactions in flight per node.
+     *
+     * @param maxInFlightPerNode the maximum number of transactions in flight per node
+     * @return the transaction pipeline
+     */
+    public TransactionPipeline submitter(int maxInFlightPerNode) {
+        return new TransactionPipeline(this, maxInFlightPerNode);
+    }
+
+    /**
+     * Extract the manager which runs topic subscriptions over the channels of the mirror network of this client.
+     * <p>
+     * The manager is created on first use and shared by every caller, so that the limit on streams per mirror node
+     * applies to all subscriptions made through it.
+     *
+     * @return the topic subscription manager
+     */
+    public synchronized TopicSubscriptionManager getTopicSubscriptionManager() {
+        if (topicSubscriptionManager == null) {
+            topicSubscriptionManager = new TopicSubscriptionManager(
+                this, TopicSubscriptionManager.DEFAULT_MAX_STREAMS_PER_MIRROR_NODE);
+        }
+
+        return topicSubscriptionManager;
+    }
+
+    /**
+     * Extract the poller which fetches the receipts of many transactions through one shared scheduler.
+     * <p>
+     * The poller is created on first use and shared by every caller, so that the limit on receipt queries per node
+     * applies to all receipts polled through it.
+     *
+     * @return the transaction receipt poller
+     */
+    public synchronized TransactionReceiptPoller getTransactionReceiptPoller() {
+        if (transactionReceiptPoller == null) {
+            transactionReceiptPoller = new TransactionReceiptPoller(this);
+        }
+
+        return transactionReceiptPoller;
+    }
+
+    /**
+     * Extract the resolver which fetches receipts and records from the REST API of the mirror network.
+     * <p>
+     * The resolver is created on first use and shared by every caller.
+     *
+     * @return the mirror transaction resolver
+     */
+    public synchronized MirrorTransactionResolver getMirrorTransactionResolver() {
+        if (mirrorTransactionResolver == null) {
+            mirrorTransactionResolver = new MirrorTransactionResolver(this);
+        }
+
+        return mirrorTransactionResolver;
+    }
+
     /**
      * Send a ping to the given node.
      *
@@ -751,6 +893,31 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * Sets the account that will, by default, by paying for transactions and queries built with this client, signing
+     * with a signer which signs asynchronously.
+     * <p>
+     * Transactions and query payments executed asynchronously wait for the signer without blocking a thread, and hand
+     * it every body to sign at once. Executing synchronously blocks on the signer.
+     * <p>
+     * Where only a synchronous signer can be used, the operator signs through a wrapper which blocks the calling
+     * thread until the signer completes, with no timeout beyond the signer's own.
+     *
+     * @param accountId The AccountId of the operator
+     * @param publicKey The PublicKey of the operator
+     * @param signer    The asynchronous signer for the operator
+     * @return {@code this}
+     */
+    public synchronized Client setOperatorWithAsync(AccountId accountId, PublicKey publicKey, AsyncSigner signer) {
+        UnaryOperator<byte[]> blockingSigner = message -> signer.sign(message).join();
+
+        // validates the account ID
+        setOperatorWith(accountId, publicKey, blockingSigner);
+
+        this.operator = new Operator(accountId, publicKey, blockingSigner, signer);
+        return this;
+    }
+
     /**
      * Current name of the network; corresponds to ledger ID in entity ID checksum calculations.
      *
@@ -1015,6 +1182,54 @@ public final class Client implements AutoCloseable {
         return this;
     }
 
+    /**
+     * The strategy used to pick a node from the nodes of a request.
+     *
+     * @return the node selection strategy
+     */
+    public NodeSelectionStrategy getNodeSelectionStrategy() {
+        return nodeSelectionStrategy;
+    }
+
+    /**
+     * Set the strategy used to pick a node from the nodes of a request. By default, the first healthy node is used and
+     * retries walk the remaining nodes round-robin.
+     * <p>
+     * With {@link NodeSelectionStrategy#LATENCY_AWARE} the first attempt of every request goes to the faster of two
+     * randomly sampled healthy nodes, based on the latency of previous responses from those nodes.
+     *
+     * @param nodeSelectionStrategy the desired node selection strategy
+     * @return {@code this}
+     */
+    public Client setNodeSelectionStrategy(NodeSelectionStrategy nodeSelectionStrategy) {
+        this.nodeSelectionStrategy = Objects.requireNonNull(nodeSelectionStrategy);
+        return this;
+    }
+
+    /**
+     * Extract the receiver of the measurements of this client's requests.
+     *
+     * @return the metrics receiver
+     */
+    public ClientMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the receiver of the measurements of this client's requests: every attempt, every backoff before a retry,
+     * every node readmitted after backing off and every round trip to fetch a query cost. By default, nothing is
+     * recorded.
+     *
+     * @param metrics the metrics receiver
+     * @return {@code this}
+     */
+    public synchronized Client setMetrics(ClientMetrics metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+        network.metrics = metrics;
+        mirrorNetwork.metrics = metrics;
+        return this;
+    }
+
     /**
      * Set the max amount of nodes that will be chosen per request. By default, the request will use 1/3rd the network
      * nodes per request.
@@ -1047,6 +1262,31 @@ public final class Client implements AutoCloseable {
         return autoValidateChecksums;
     }
 
+    /**
+     * Enable or disable lazy building of transaction bodies.
+     * <p>
+     * By default, freezing a transaction with this client serializes its body once for every node it may be sent to.
+     * When enabled, the body for a node is only serialized and signed when a request is actually made to that node, or
+     * when every body is needed, for example by {@code toBytes()}. Most transactions succeed on the first node, which
+     * saves building and signing the bodies of the other nodes.
+     *
+     * @param value the desired value
+     * @return {@code this}
+     */
+    public synchronized Client setLazyTransactionBodies(boolean value) {
+        lazyTransactionBodies = value;
+        return this;
+    }
+
+    /**
+     * Is lazy building of transaction bodies enabled.
+     *
+     * @return is lazy building enabled
+     */
+    public synchronized boolean isLazyTransactionBodiesEnabled() {
+        return lazyTransactionBodies;
+    }
+
     /**
      * Get the ID of the operator. Useful when the client was constructed from file.
      *
@@ -1166,6 +1406,86 @@ public final class Client implements AutoCloseable {
         return setDefaultMaxQueryPayment(maxQueryPayment);
     }
 
+    /**
+     * Extract the cache of query costs.
+     *
+     * @return the query cost cache, or {@code null} if costs are not cached
+     */
+    @Nullable
+    public QueryCostCache getQueryCostCache() {
+        return queryCostCache;
+    }
+
+    /**
+     * Assign a cache of query costs.
+     * <p>
+     * When a query is executed without an explicit {@link Query#setQueryPayment(Hbar)} call, the client first looks
+     * its cost up in this cache, and only asks the node for the cost when it is not cached. Costs are not cached by
+     * default.
+     *
+     * @param queryCostCache the query cost cache, or {@code null} to stop caching costs
+     * @return {@code this}
+     */
+    public Client setQueryCostCache(@Nullable QueryCostCache queryCostCache) {
+        this.queryCostCache = queryCostCache;
+        return this;
+    }
+
+    /**
+     * Is the maximum query payment paid without asking for the cost of queries?
+     *
+     * @return whether the maximum query payment is paid
+     */
+    public boolean isPayMaxQueryPaymentEnabled() {
+        return payMaxQueryPayment;
+    }
+
+    /**
+     * Pay the maximum query payment for queries without an explicit {@link Query#setQueryPayment(Hbar)} call,
+     * instead of asking the node for their cost first.
+     * <p>
+     * This saves a round-trip for every query, but Hedera does not return any remainder, so every such query costs
+     * {@link Query#setMaxQueryPayment(Hbar)} or {@link #getDefaultMaxQueryPayment()}. When the maximum query payment
+     * is zero, the cost is asked for as usual.
+     *
+     * @param payMaxQueryPayment whether to pay the maximum query payment
+     * @return {@code this}
+     */
+    public Client setPayMaxQueryPayment(boolean payMaxQueryPayment) {
+        this.payMaxQueryPayment = payMaxQueryPayment;
+        return this;
+    }
+
+    /**
+     * Extract the number of query payments kept signed ahead of time per node and amount.
+     *
+     * @return the size of the query payment pool, or 0 if payments are signed when they are needed
+     */
+    public int getQueryPaymentPoolSize() {
+        var pool = queryPaymentPool;
+        return pool != null ? pool.getSize() : 0;
+    }
+
+    /**
+     * Keep query payments signed ahead of time, so that executing a query does not wait for its payment to be signed.
+     * <p>
+     * Payments are signed in the background by the operator of this client, for each node and amount queries have
+     * been paid with, and are dropped when they grow too old to be used. This trades signing some payments which are
+     * never used for taking signing off the path of every paid query. Payments are signed when they are needed by
+     * default.
+     *
+     * @param size the number of payments kept signed per node and amount, or 0 to sign payments when they are needed
+     * @return {@code this}
+     */
+    public Client setQueryPaymentPoolSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must be non-negative");
+        }
+
+        queryPaymentPool = size == 0 ? null : new QueryPaymentPool(executor, size, QueryPaymentPool.DEFAULT_MAX_AGE);
+        return this;
+    }
+
     /**
      * Should the transaction id be regenerated?
      *
@@ -1359,6 +1679,8 @@ public final class Client implements AutoCloseable {
         var networkError = network.awaitClose(closeDeadline, null);
         var mirrorNetworkError = mirrorNetwork.awaitClose(closeDeadline, networkError);
 
+        timer.stop();
+
         // https://docs.oracle.com/javase/8/docs/api/java/util/concurrent/ExecutorService.html
         try {
             executor.shutdown();
@@ -1387,10 +1709,24 @@ public final class Client implements AutoCloseable {
         final PublicKey publicKey;
         final UnaryOperator<byte[]> transactionSigner;
 
+        // when set, transactionSigner blocks on it
+        @Nullable
+        final AsyncSigner asyncSigner;
+
         Operator(AccountId accountId, PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
+            this(accountId, publicKey, transactionSigner, null);
+        }
+
+        Operator(
+            AccountId accountId,
+            PublicKey publicKey,
+            UnaryOperator<byte[]> transactionSigner,
+            @Nullable AsyncSigner asyncSigner
+        ) {
             this.accountId = accountId;
             this.publicKey = publicKey;
             this.transactionSigner = transactionSigner;
+            this.asyncSigner = asyncSigner;
         }
     }
 
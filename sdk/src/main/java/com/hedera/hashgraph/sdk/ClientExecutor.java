@@ -0,0 +1,146 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor used internally by the sdk for gRPC callbacks and async continuations of a client.
+ * <p>
+ * The nodes and channels of a client capture this executor when they are created, so it forwards to a delegate that
+ * can be replaced later, which is how {@link Client#withVirtualThreads()} switches an existing client over to virtual
+ * threads.
+ */
+final class ClientExecutor extends AbstractExecutorService {
+    private static final Logger logger = LoggerFactory.getLogger(ClientExecutor.class);
+
+    private volatile ExecutorService delegate;
+    private volatile boolean virtualThreads = false;
+
+    /**
+     * Constructor.
+     *
+     * @param delegate the executor tasks are forwarded to
+     */
+    ClientExecutor(ExecutorService delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for each task.
+     *
+     * @return the executor, or {@code null} if this runtime doesn't support virtual threads
+     */
+    @Nullable
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            // Looked up reflectively so the sdk keeps building for and running on Java 17
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Missing before Java 19, and unusable without --enable-preview on 19 and 20
+            logger.debug("virtual threads are not available, keeping the platform thread pool", e);
+            return null;
+        }
+    }
+
+    /**
+     * Forward tasks to virtual threads from now on. Tasks already submitted to the previous delegate still complete.
+     *
+     * @return whether the executor now uses virtual threads
+     */
+    synchronized boolean useVirtualThreads() {
+        if (virtualThreads) {
+            return true;
+        }
+
+        if (delegate.isShutdown()) {
+            return false;
+        }
+
+        var virtualExecutor = newVirtualThreadExecutor();
+        if (virtualExecutor == null) {
+            return false;
+        }
+
+        var previous = delegate;
+        delegate = virtualExecutor;
+        virtualThreads = true;
+
+        // A task can still race onto the previous pool after the switch. Shutting that pool down could silently
+        // drop such a task (CallerRunsPolicy discards after shutdown), so let its idle threads expire instead.
+        if (previous instanceof ThreadPoolExecutor pool) {
+            pool.setKeepAliveTime(1, TimeUnit.SECONDS);
+            pool.allowCoreThreadTimeOut(true);
+        } else {
+            previous.shutdown();
+        }
+
+        return true;
+    }
+
+    /**
+     * Extract whether tasks are run on virtual threads.
+     *
+     * @return whether tasks are run on virtual threads
+     */
+    boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
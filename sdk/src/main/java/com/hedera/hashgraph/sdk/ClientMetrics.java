@@ -0,0 +1,87 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import javax.annotation.Nullable;
+
+/**
+ * Receives measurements of the requests a {@link Client} makes, for forwarding to a metrics library such as
+ * Micrometer or OpenTelemetry.
+ * <p>
+ * Every method has an empty default, so an implementation only overrides what it records. Methods are called on the
+ * threads executing the requests and must not block. Arguments are values the sdk already holds, so the default
+ * {@link #NOOP} implementation adds no allocations.
+ *
+ * @see Client#setMetrics(ClientMetrics)
+ */
+public interface ClientMetrics {
+    /**
+     * Records nothing.
+     */
+    ClientMetrics NOOP = new ClientMetrics() {
+    };
+
+    /**
+     * Called after each attempt to send a request to a node.
+     *
+     * @param requestType    the type of the request
+     * @param nodeAccountId  the account ID of the node the attempt was sent to
+     * @param grpcStatusCode the gRPC status of the call; {@code OK} when the node responded
+     * @param status         the precheck status the node responded with; {@code null} when the call failed
+     * @param latencyNanos   the time from sending the request to the end of the call, in nanoseconds
+     */
+    default void recordAttempt(
+        RequestType requestType,
+        AccountId nodeAccountId,
+        io.grpc.Status.Code grpcStatusCode,
+        @Nullable Status status,
+        long latencyNanos
+    ) {
+    }
+
+    /**
+     * Called before waiting to retry a request, either because the node replied with a retryable status or because
+     * the only node left to try is backing off.
+     *
+     * @param requestType   the type of the request
+     * @param nodeAccountId the account ID of the node that caused the wait
+     * @param delayMillis   the time waited, in milliseconds
+     */
+    default void recordBackoff(RequestType requestType, AccountId nodeAccountId, long delayMillis) {
+    }
+
+    /**
+     * Called when a node that was backing off after failures is readmitted to the healthy nodes.
+     *
+     * @param nodeAccountId the account ID of the node; {@code null} for mirror nodes
+     */
+    default void recordNodeReadmitted(@Nullable AccountId nodeAccountId) {
+    }
+
+    /**
+     * Called after the round trip that fetches the cost of a query.
+     *
+     * @param requestType  the type of the query
+     * @param cost         the cost returned; {@code null} when fetching the cost failed
+     * @param latencyNanos the duration of the round trip, including retries, in nanoseconds
+     */
+    default void recordQueryCost(RequestType requestType, @Nullable Hbar cost, long latencyNanos) {
+    }
+}
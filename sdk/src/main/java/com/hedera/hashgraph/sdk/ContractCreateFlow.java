@@ -21,6 +21,11 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.protobuf.ByteString;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -82,6 +87,8 @@ public class ContractCreateFlow {
 
     private String bytecode = "";
     @Nullable
+    private ChunkSource bytecodeSource = null;
+    @Nullable
     private Integer maxChunks = null;
     @Nullable
     private Key adminKey = null;
@@ -101,6 +108,8 @@ public class ContractCreateFlow {
     private List<AccountId> nodeAccountIds = null;
     private String createBytecode = "";
     private String appendBytecode = "";
+    @Nullable
+    private ChunkSource appendBytecodeSource = null;
 
     @Nullable
     private AccountId stakedAccountId = null;
@@ -122,6 +131,9 @@ public class ContractCreateFlow {
     @Nullable
     private UnaryOperator<byte[]> transactionSigner = null;
 
+    @Nullable
+    private AsyncSigner asyncSigner = null;
+
     /**
      * Constructor
      */
@@ -130,6 +142,9 @@ public class ContractCreateFlow {
 
     /**
      * Extract the hex-encoded bytecode of the contract.
+     * <p>
+     * Empty if the bytecode is streamed from one of the sources set with {@link #setBytecode(InputStream)},
+     * {@link #setBytecode(ReadableByteChannel)} or {@link #setBytecode(ByteBuffer)}.
      *
      * @return the hex-encoded bytecode of the contract.
      */
@@ -146,6 +161,7 @@ public class ContractCreateFlow {
     public ContractCreateFlow setBytecode(String bytecode) {
         Objects.requireNonNull(bytecode);
         this.bytecode = bytecode;
+        this.bytecodeSource = null;
         return this;
     }
 
@@ -158,6 +174,7 @@ public class ContractCreateFlow {
     public ContractCreateFlow setBytecode(byte[] bytecode) {
         Objects.requireNonNull(bytecode);
         this.bytecode = Hex.toHexString(bytecode);
+        this.bytecodeSource = null;
         return this;
     }
 
@@ -172,6 +189,52 @@ public class ContractCreateFlow {
         return setBytecode(bytecode.toByteArray());
     }
 
+    /**
+     * Sets the bytecode of the contract in raw bytes, read from an input stream.
+     * <p>
+     * The bytecode is read and appended to the bytecode file one chunk at a time when the flow is executed, so large
+     * contracts never have to be held in memory as a whole. The stream is consumed by the flow but not closed.
+     *
+     * @param bytecode the stream to read the bytecode from
+     * @return {@code this}
+     */
+    public ContractCreateFlow setBytecode(InputStream bytecode) {
+        return setBytecode(ChunkSource.from(bytecode));
+    }
+
+    /**
+     * Sets the bytecode of the contract in raw bytes, read from a blocking channel.
+     * <p>
+     * The bytecode is read and appended to the bytecode file one chunk at a time when the flow is executed, so large
+     * contracts never have to be held in memory as a whole. The channel is consumed by the flow but not closed.
+     *
+     * @param bytecode the channel to read the bytecode from
+     * @return {@code this}
+     */
+    public ContractCreateFlow setBytecode(ReadableByteChannel bytecode) {
+        return setBytecode(ChunkSource.from(bytecode));
+    }
+
+    /**
+     * Sets the bytecode of the contract in raw bytes to the remaining bytes of a buffer, e.g. a
+     * {@link java.nio.MappedByteBuffer} of a compiled contract.
+     * <p>
+     * The bytecode is read and appended to the bytecode file one chunk at a time when the flow is executed. The
+     * position of the buffer is not changed.
+     *
+     * @param bytecode the buffer to read the bytecode from
+     * @return {@code this}
+     */
+    public ContractCreateFlow setBytecode(ByteBuffer bytecode) {
+        return setBytecode(ChunkSource.from(bytecode));
+    }
+
+    private ContractCreateFlow setBytecode(ChunkSource bytecode) {
+        this.bytecode = "";
+        this.bytecodeSource = bytecode.hexEncoded();
+        return this;
+    }
+
     /**
      * Get the maximum number of chunks
      *
@@ -534,6 +597,7 @@ public class ContractCreateFlow {
         this.signPrivateKey = privateKey;
         this.signPublicKey = null;
         this.transactionSigner = null;
+        this.asyncSigner = null;
         return this;
     }
 
@@ -547,12 +611,16 @@ public class ContractCreateFlow {
     public ContractCreateFlow signWith(PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
         this.signPublicKey = publicKey;
         this.transactionSigner = transactionSigner;
+        this.asyncSigner = null;
         this.signPrivateKey = null;
         return this;
     }
 
     /**
      * Set the operator that this transaction will be signed with.
+     * <p>
+     * An operator set with {@link Client#setOperatorWithAsync(AccountId, PublicKey, AsyncSigner)} signs through its
+     * asynchronous signer, so executing the flow asynchronously does not block on it.
      *
      * @param client the client with the transaction to execute
      * @return {@code this}
@@ -561,17 +629,29 @@ public class ContractCreateFlow {
         var operator = Objects.requireNonNull(client.getOperator());
         this.signPublicKey = operator.publicKey;
         this.transactionSigner = operator.transactionSigner;
+        this.asyncSigner = operator.asyncSigner;
         this.signPrivateKey = null;
         return this;
     }
 
     private void splitBytecode() {
-        if (bytecode.length() > FILE_CREATE_MAX_BYTES) {
+        if (bytecodeSource != null) {
+            // only the first chunk is read here, the rest is streamed by the file append flow
+            try {
+                createBytecode = bytecodeSource.read(FILE_CREATE_MAX_BYTES).toStringUtf8();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            appendBytecode = "";
+            appendBytecodeSource = bytecodeSource;
+        } else if (bytecode.length() > FILE_CREATE_MAX_BYTES) {
             createBytecode = bytecode.substring(0, FILE_CREATE_MAX_BYTES);
             appendBytecode = bytecode.substring(FILE_CREATE_MAX_BYTES);
+            appendBytecodeSource = null;
         } else {
             createBytecode = bytecode;
             appendBytecode = "";
+            appendBytecodeSource = null;
         }
     }
 
@@ -598,6 +678,19 @@ public class ContractCreateFlow {
         return fileAppendTx;
     }
 
+    private FileAppendFlow createFileAppendFlow(FileId fileId, ChunkSource source) {
+        var fileAppendFlow = new FileAppendFlow()
+            .setFileId(fileId)
+            .setContents(source);
+        if (maxChunks != null) {
+            fileAppendFlow.setMaxChunks(maxChunks);
+        }
+        if (nodeAccountIds != null) {
+            fileAppendFlow.setNodeAccountIds(nodeAccountIds);
+        }
+        return fileAppendFlow;
+    }
+
     private ContractCreateTransaction createContractCreateTransaction(FileId fileId) {
         var contractCreateTx = new ContractCreateTransaction()
             .setBytecodeFileId(fileId)
@@ -634,6 +727,8 @@ public class ContractCreateFlow {
         }
         if (signPrivateKey != null) {
             contractCreateTx.sign(signPrivateKey);
+        } else if (signPublicKey != null && asyncSigner != null) {
+            contractCreateTx.signWithAsync(signPublicKey, asyncSigner);
         } else if (signPublicKey != null && transactionSigner != null) {
             contractCreateTx.signWith(signPublicKey, transactionSigner);
         }
@@ -682,7 +777,10 @@ public class ContractCreateFlow {
                 .getReceipt(client, timeoutPerTransaction)
                 .fileId;
             Objects.requireNonNull(fileId);
-            if (!appendBytecode.isEmpty()) {
+            if (appendBytecodeSource != null) {
+                createFileAppendFlow(fileId, appendBytecodeSource)
+                    .executeChunks(client, timeoutPerTransaction);
+            } else if (!appendBytecode.isEmpty()) {
                 createFileAppendTransaction(fileId)
                     .execute(client, timeoutPerTransaction);
             }
@@ -715,15 +813,27 @@ public class ContractCreateFlow {
      * @return the response
      */
     public CompletableFuture<TransactionResponse> executeAsync(Client client, Duration timeoutPerTransaction) {
-        splitBytecode();
+        try {
+            splitBytecode();
+        } catch (UncheckedIOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var appendSource = appendBytecodeSource;
         return createFileCreateTransaction(client).executeAsync(client, timeoutPerTransaction)
             .thenCompose(fileCreateResponse -> createTransactionReceiptQuery(fileCreateResponse)
                 .executeAsync(client, timeoutPerTransaction)
                 .thenApply(receipt -> receipt.fileId)).thenCompose(fileId -> {
-                CompletableFuture<Void> appendFuture =
-                    appendBytecode.isEmpty() ? CompletableFuture.completedFuture(null) :
-                        createFileAppendTransaction(fileId).executeAsync(client, timeoutPerTransaction)
-                            .thenApply(ignored -> null);
+                CompletableFuture<Void> appendFuture;
+                if (appendSource != null) {
+                    appendFuture = createFileAppendFlow(fileId, appendSource)
+                        .executeChunksAsync(client, timeoutPerTransaction)
+                        .thenApply(ignored -> null);
+                } else if (appendBytecode.isEmpty()) {
+                    appendFuture = CompletableFuture.completedFuture(null);
+                } else {
+                    appendFuture = createFileAppendTransaction(fileId).executeAsync(client, timeoutPerTransaction)
+                        .thenApply(ignored -> null);
+                }
                 return appendFuture.thenCompose(
                     ignored -> createContractCreateTransaction(fileId).executeAsync(client, timeoutPerTransaction)
                         .thenApply(contractCreateResponse -> {
@@ -21,16 +21,18 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.errorprone.annotations.Var;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 import javax.annotation.Nullable;
 import org.bouncycastle.util.encoders.DecoderException;
 import org.bouncycastle.util.encoders.Hex;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 // an implementation of function selector and parameter encoding as specified here:
 // https://solidity.readthedocs.io/en/v0.5.7/abi-spec.html#
 
@@ -61,93 +63,182 @@ public final class ContractFunctionParameters {
      */
     public static final int SELECTOR_LEN_HEX = 8;
 
-    // padding that we can substring without new allocations
-    private static final ByteString padding = ByteString.copyFrom(new byte[31]);
-    private static final ByteString negativePadding;
+    private final ArrayList<Argument> args = new ArrayList<>();
 
-    static {
-        byte[] fill = new byte[31];
-        Arrays.fill(fill, (byte) 0xFF);
-        negativePadding = ByteString.copyFrom(fill);
+    // Solidity contracts require all parameters to be padded to 32 byte multiples but specifies
+    // different requirements for padding for strings/byte arrays vs integers
+    static int padded32(int len) {
+        return (len + 31) & ~31;
     }
 
-    private final ArrayList<Argument> args = new ArrayList<>();
-
     private static ByteString encodeString(String string) {
-        ByteString strBytes = ByteString.copyFromUtf8(string);
         // prepend the size of the string in UTF-8 bytes
-        return int256(strBytes.size(), 32)
-            .concat(rightPad32(strBytes));
+        return encodeBytes(string.getBytes(UTF_8));
     }
 
     private static ByteString encodeBytes(byte[] bytes) {
-        return int256(bytes.length, 32)
-            .concat(rightPad32(ByteString.copyFrom(bytes)));
+        byte[] out = new byte[32 + padded32(bytes.length)];
+        writeInt256(out, 0, bytes.length, 32, true);
+        System.arraycopy(bytes, 0, out, 32, bytes.length);
+
+        return UnsafeByteOperations.unsafeWrap(out);
     }
 
     private static ByteString encodeBytes32(byte[] bytes) {
+        byte[] out = new byte[32];
+        writeBytes32(out, 0, bytes);
+
+        return UnsafeByteOperations.unsafeWrap(out);
+    }
+
+    static void writeBytes32(byte[] out, int offset, byte[] bytes) {
         if (bytes.length > 32) {
             throw new IllegalArgumentException("byte32 encoding forbids byte array length greater than 32");
         }
 
-        return rightPad32(ByteString.copyFrom(bytes));
+        System.arraycopy(bytes, 0, out, offset, bytes.length);
+        Arrays.fill(out, offset + bytes.length, offset + 32, (byte) 0);
     }
 
-    private static ByteString encodeArray(Stream<ByteString> elements) {
-        List<ByteString> list = elements.toList();
+    private static ByteString encodeArray(List<ByteString> elements) {
+        @Var var size = 32;
 
-        return int256(list.size(), 32)
-            .concat(ByteString.copyFrom(list));
+        for (var element : elements) {
+            size += element.size();
+        }
+
+        byte[] out = new byte[size];
+        writeInt256(out, 0, elements.size(), 32, true);
+
+        @Var var offset = 32;
+
+        for (var element : elements) {
+            element.copyTo(out, offset);
+            offset += element.size();
+        }
+
+        return UnsafeByteOperations.unsafeWrap(out);
     }
 
     private static ByteString encodeDynArr(List<ByteString> elements) {
         int offsetsLen = elements.size();
 
         // [len, offset[0], offset[1], ... offset[len - 1]]
-        ArrayList<ByteString> head = new ArrayList<>(offsetsLen + 1);
+        @Var var size = 32 * (offsetsLen + 1);
+
+        for (var element : elements) {
+            size += element.size();
+        }
 
-        head.add(uint256(elements.size(), 32));
+        byte[] out = new byte[size];
+        writeInt256(out, 0, offsetsLen, 32, false);
 
         // points to start of dynamic segment, *not* including the length of the array
         @Var long currOffset = offsetsLen * 32L;
+        @Var var headOffset = 32;
 
         for (ByteString elem : elements) {
-            head.add(uint256(currOffset, 64));
+            writeInt256(out, headOffset, currOffset, 64, false);
+            elem.copyTo(out, 32 + (int) currOffset);
+
+            headOffset += 32;
             currOffset += elem.size();
         }
 
-        return ByteString.copyFrom(head).concat(ByteString.copyFrom(elements));
+        return UnsafeByteOperations.unsafeWrap(out);
+    }
+
+    private static ByteString encodeIntArray(byte[] values, int bitWidth, boolean signed) {
+        byte[] out = new byte[32 * (values.length + 1)];
+        writeInt256(out, 0, values.length, 32, false);
+
+        for (int i = 0; i < values.length; i++) {
+            writeInt256(out, 32 * (i + 1), values[i], bitWidth, signed);
+        }
+
+        return UnsafeByteOperations.unsafeWrap(out);
+    }
+
+    private static ByteString encodeIntArray(int[] values, int bitWidth, boolean signed) {
+        byte[] out = new byte[32 * (values.length + 1)];
+        writeInt256(out, 0, values.length, 32, false);
+
+        for (int i = 0; i < values.length; i++) {
+            writeInt256(out, 32 * (i + 1), values[i], bitWidth, signed);
+        }
+
+        return UnsafeByteOperations.unsafeWrap(out);
+    }
+
+    private static ByteString encodeIntArray(long[] values, int bitWidth, boolean signed) {
+        byte[] out = new byte[32 * (values.length + 1)];
+        writeInt256(out, 0, values.length, 32, false);
+
+        for (int i = 0; i < values.length; i++) {
+            writeInt256(out, 32 * (i + 1), values[i], bitWidth, signed);
+        }
+
+        return UnsafeByteOperations.unsafeWrap(out);
+    }
+
+    private static ByteString encodeIntArray(BigInteger[] values, int bitWidth, boolean signed) {
+        byte[] out = new byte[32 * (values.length + 1)];
+        writeInt256(out, 0, values.length, 32, false);
+
+        for (int i = 0; i < values.length; i++) {
+            writeInt256(out, 32 * (i + 1), values[i], bitWidth, signed);
+        }
+
+        return UnsafeByteOperations.unsafeWrap(out);
     }
 
     static ByteString int256(long val, int bitWidth) {
         return int256(val, bitWidth, true);
     }
 
-    static ByteString int256(long val, @Var int bitWidth, boolean signed) {
+    static ByteString int256(long val, int bitWidth, boolean signed) {
+        byte[] out = new byte[32];
+        writeInt256(out, 0, val, bitWidth, signed);
+
+        return UnsafeByteOperations.unsafeWrap(out);
+    }
+
+    /**
+     * Write {@code val} as a single 32-byte ABI word at {@code offset} of {@code out}.
+     */
+    static void writeInt256(byte[] out, int offset, long val, @Var int bitWidth, boolean signed) {
         // don't try to get wider than a `long` as it should just be filled with padding
         bitWidth = Math.min(bitWidth, 64);
-        ByteString.Output output = ByteString.newOutput(bitWidth / 8);
+        int start = offset + 32 - bitWidth / 8;
 
-        try {
-            // write bytes in big-endian order
-            for (int i = bitWidth - 8; i >= 0; i -= 8) {
-                // widening conversion sign-extends so we don't have to do anything special when
-                // truncating a previously widened value
-                byte u8 = (byte) (val >> i);
-                output.write(u8);
-            }
+        // byte padding will sign-extend appropriately
+        Arrays.fill(out, offset, start, signed && val < 0 ? (byte) 0xFF : 0);
 
-            // byte padding will sign-extend appropriately
-            return leftPad32(output.toByteString(), signed && val < 0);
-        } finally {
-            try {
-                output.close();
-            } catch (Throwable ignored) {
-                // do nothing
-            }
+        // write bytes in big-endian order
+        @Var var pos = start;
+
+        for (int i = bitWidth - 8; i >= 0; i -= 8) {
+            // widening conversion sign-extends so we don't have to do anything special when
+            // truncating a previously widened value
+            out[pos++] = (byte) (val >> i);
         }
     }
 
+    /**
+     * Write {@code bigInt} as a single 32-byte ABI word at {@code offset} of {@code out}.
+     */
+    static void writeInt256(byte[] out, int offset, BigInteger bigInt, int bitWidth, boolean signed) {
+        if (!signed && bigInt.signum() < 0) {
+            throw new IllegalArgumentException("negative BigInteger passed to unsigned function");
+        }
+
+        byte[] bytes = getTruncatedBytes(bigInt, bitWidth);
+        int start = offset + 32 - bytes.length;
+
+        Arrays.fill(out, offset, start, signed && bigInt.signum() < 0 ? (byte) 0xFF : 0);
+        System.arraycopy(bytes, 0, out, start, bytes.length);
+    }
+
     static byte[] getTruncatedBytes(BigInteger bigInt, int bitWidth) {
         byte[] bytes = bigInt.toByteArray();
         int expectedBytes = bitWidth / 8;
@@ -157,7 +248,10 @@ public final class ContractFunctionParameters {
     }
 
     static ByteString int256(BigInteger bigInt, int bitWidth) {
-        return leftPad32(getTruncatedBytes(bigInt, bitWidth), bigInt.signum() < 0);
+        byte[] out = new byte[32];
+        writeInt256(out, 0, bigInt, bitWidth, true);
+
+        return UnsafeByteOperations.unsafeWrap(out);
     }
 
     static ByteString uint256(long val, int bitWidth) {
@@ -165,33 +259,24 @@ public final class ContractFunctionParameters {
     }
 
     static ByteString uint256(BigInteger bigInt, int bitWidth) {
-        if (bigInt.signum() < 0) {
-            throw new IllegalArgumentException("negative BigInteger passed to unsigned function");
-        }
-        return leftPad32(getTruncatedBytes(bigInt, bitWidth), false);
-    }
+        byte[] out = new byte[32];
+        writeInt256(out, 0, bigInt, bitWidth, false);
 
-    static ByteString leftPad32(ByteString input) {
-        return leftPad32(input, false);
+        return UnsafeByteOperations.unsafeWrap(out);
     }
 
-    // Solidity contracts require all parameters to be padded to 32 byte multiples but specifies
-    // different requirements for padding for strings/byte arrays vs integers
-    static ByteString leftPad32(ByteString input, boolean negative) {
-        int rem = 32 - input.size() % 32;
-        return rem == 32
-            ? input
-            : (negative ? negativePadding : padding).substring(0, rem)
-                .concat(input);
-    }
+    static ByteString encodeAddress(String address) {
+        byte[] out = new byte[32];
+        writeAddress(out, 0, address);
 
-    static ByteString leftPad32(byte[] input, boolean negative) {
-        return leftPad32(ByteString.copyFrom(input), negative);
+        return UnsafeByteOperations.unsafeWrap(out);
     }
 
-    static ByteString rightPad32(ByteString input) {
-        int rem = 32 - input.size() % 32;
-        return rem == 32 ? input : input.concat(padding.substring(0, rem));
+    static void writeAddress(byte[] out, int offset, String address) {
+        byte[] addressBytes = decodeAddress(address);
+
+        Arrays.fill(out, offset, offset + 32 - ADDRESS_LEN, (byte) 0);
+        System.arraycopy(addressBytes, 0, out, offset + 32 - ADDRESS_LEN, ADDRESS_LEN);
     }
 
     private static byte[] decodeAddress(@Var String address) {
@@ -296,8 +381,9 @@ public final class ContractFunctionParameters {
      */
     public ContractFunctionParameters addBytes32Array(byte[][] param) {
         // array of fixed-size elements
-        Stream<ByteString> byteArrays = Arrays.stream(param)
-            .map(ContractFunctionParameters::encodeBytes32);
+        List<ByteString> byteArrays = Arrays.stream(param)
+            .map(ContractFunctionParameters::encodeBytes32)
+            .toList();
 
         args.add(new Argument("bytes32[]", encodeArray(byteArrays), true));
 
@@ -711,15 +797,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt8Array(byte[] intArray) {
-        IntStream intStream = IntStream.range(0, intArray.length).map(idx -> intArray[idx]);
-
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            intStream.mapToObj(i -> int256(i, 8))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int8[]", arrayBytes, true));
+        args.add(new Argument("int8[]", encodeIntArray(intArray, 8, true), true));
 
         return this;
     }
@@ -731,13 +809,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt16Array(int[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 16))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int16[]", arrayBytes, true));
+        args.add(new Argument("int16[]", encodeIntArray(intArray, 16, true), true));
 
         return this;
     }
@@ -749,13 +821,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt24Array(int[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 24))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int24[]", arrayBytes, true));
+        args.add(new Argument("int24[]", encodeIntArray(intArray, 24, true), true));
 
         return this;
     }
@@ -767,13 +833,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt32Array(int[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 32))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int32[]", arrayBytes, true));
+        args.add(new Argument("int32[]", encodeIntArray(intArray, 32, true), true));
 
         return this;
     }
@@ -785,13 +845,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt40Array(long[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 40))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int40[]", arrayBytes, true));
+        args.add(new Argument("int40[]", encodeIntArray(intArray, 40, true), true));
 
         return this;
     }
@@ -803,13 +857,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt48Array(long[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 48))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int48[]", arrayBytes, true));
+        args.add(new Argument("int48[]", encodeIntArray(intArray, 48, true), true));
 
         return this;
     }
@@ -821,13 +869,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt56Array(long[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 56))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int56[]", arrayBytes, true));
+        args.add(new Argument("int56[]", encodeIntArray(intArray, 56, true), true));
 
         return this;
     }
@@ -839,13 +881,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt64Array(long[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> int256(i, 64))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int64[]", arrayBytes, true));
+        args.add(new Argument("int64[]", encodeIntArray(intArray, 64, true), true));
 
         return this;
     }
@@ -857,13 +893,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt72Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 72))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int72[]", arrayBytes, true));
+        args.add(new Argument("int72[]", encodeIntArray(intArray, 72, true), true));
 
         return this;
     }
@@ -875,13 +905,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt80Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 80))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int80[]", arrayBytes, true));
+        args.add(new Argument("int80[]", encodeIntArray(intArray, 80, true), true));
 
         return this;
     }
@@ -893,13 +917,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt88Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 88))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int88[]", arrayBytes, true));
+        args.add(new Argument("int88[]", encodeIntArray(intArray, 88, true), true));
 
         return this;
     }
@@ -911,13 +929,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt96Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 96))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int96[]", arrayBytes, true));
+        args.add(new Argument("int96[]", encodeIntArray(intArray, 96, true), true));
 
         return this;
     }
@@ -929,13 +941,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt104Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 104))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int104[]", arrayBytes, true));
+        args.add(new Argument("int104[]", encodeIntArray(intArray, 104, true), true));
 
         return this;
     }
@@ -947,13 +953,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt112Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 112))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int112[]", arrayBytes, true));
+        args.add(new Argument("int112[]", encodeIntArray(intArray, 112, true), true));
 
         return this;
     }
@@ -965,13 +965,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt120Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 120))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int120[]", arrayBytes, true));
+        args.add(new Argument("int120[]", encodeIntArray(intArray, 120, true), true));
 
         return this;
     }
@@ -983,13 +977,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt128Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 128))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int128[]", arrayBytes, true));
+        args.add(new Argument("int128[]", encodeIntArray(intArray, 128, true), true));
 
         return this;
     }
@@ -1001,13 +989,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt136Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 136))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int136[]", arrayBytes, true));
+        args.add(new Argument("int136[]", encodeIntArray(intArray, 136, true), true));
 
         return this;
     }
@@ -1019,13 +1001,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt144Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 144))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int144[]", arrayBytes, true));
+        args.add(new Argument("int144[]", encodeIntArray(intArray, 144, true), true));
 
         return this;
     }
@@ -1037,13 +1013,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt152Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 152))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int152[]", arrayBytes, true));
+        args.add(new Argument("int152[]", encodeIntArray(intArray, 152, true), true));
 
         return this;
     }
@@ -1055,13 +1025,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt160Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 160))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int160[]", arrayBytes, true));
+        args.add(new Argument("int160[]", encodeIntArray(intArray, 160, true), true));
 
         return this;
     }
@@ -1073,13 +1037,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt168Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 168))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int168[]", arrayBytes, true));
+        args.add(new Argument("int168[]", encodeIntArray(intArray, 168, true), true));
 
         return this;
     }
@@ -1091,13 +1049,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt176Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 176))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int176[]", arrayBytes, true));
+        args.add(new Argument("int176[]", encodeIntArray(intArray, 176, true), true));
 
         return this;
     }
@@ -1109,13 +1061,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt184Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 184))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int184[]", arrayBytes, true));
+        args.add(new Argument("int184[]", encodeIntArray(intArray, 184, true), true));
 
         return this;
     }
@@ -1127,13 +1073,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt192Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 192))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int192[]", arrayBytes, true));
+        args.add(new Argument("int192[]", encodeIntArray(intArray, 192, true), true));
 
         return this;
     }
@@ -1145,13 +1085,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt200Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 200))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int200[]", arrayBytes, true));
+        args.add(new Argument("int200[]", encodeIntArray(intArray, 200, true), true));
 
         return this;
     }
@@ -1163,13 +1097,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt208Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 208))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int208[]", arrayBytes, true));
+        args.add(new Argument("int208[]", encodeIntArray(intArray, 208, true), true));
 
         return this;
     }
@@ -1181,13 +1109,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt216Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 216))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int216[]", arrayBytes, true));
+        args.add(new Argument("int216[]", encodeIntArray(intArray, 216, true), true));
 
         return this;
     }
@@ -1199,13 +1121,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt224Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 224))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int224[]", arrayBytes, true));
+        args.add(new Argument("int224[]", encodeIntArray(intArray, 224, true), true));
 
         return this;
     }
@@ -1217,13 +1133,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt232Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 232))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int232[]", arrayBytes, true));
+        args.add(new Argument("int232[]", encodeIntArray(intArray, 232, true), true));
 
         return this;
     }
@@ -1235,13 +1145,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt240Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 240))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int240[]", arrayBytes, true));
+        args.add(new Argument("int240[]", encodeIntArray(intArray, 240, true), true));
 
         return this;
     }
@@ -1253,13 +1157,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt248Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 248))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int248[]", arrayBytes, true));
+        args.add(new Argument("int248[]", encodeIntArray(intArray, 248, true), true));
 
         return this;
     }
@@ -1271,13 +1169,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addInt256Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> int256(i, 256))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("int256[]", arrayBytes, true));
+        args.add(new Argument("int256[]", encodeIntArray(intArray, 256, true), true));
 
         return this;
     }
@@ -1794,15 +1686,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint8Array(byte[] intArray) {
-        IntStream intStream = IntStream.range(0, intArray.length).map(idx -> intArray[idx]);
-
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            intStream.mapToObj(i -> uint256(i, 8))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint8[]", arrayBytes, true));
+        args.add(new Argument("uint8[]", encodeIntArray(intArray, 8, false), true));
 
         return this;
     }
@@ -1817,13 +1701,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint16Array(int[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 16))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint16[]", arrayBytes, true));
+        args.add(new Argument("uint16[]", encodeIntArray(intArray, 16, false), true));
 
         return this;
     }
@@ -1838,13 +1716,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint24Array(int[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 24))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint24[]", arrayBytes, true));
+        args.add(new Argument("uint24[]", encodeIntArray(intArray, 24, false), true));
 
         return this;
     }
@@ -1859,13 +1731,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint32Array(int[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 32))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint32[]", arrayBytes, true));
+        args.add(new Argument("uint32[]", encodeIntArray(intArray, 32, false), true));
 
         return this;
     }
@@ -1880,13 +1746,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint40Array(long[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 40))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint40[]", arrayBytes, true));
+        args.add(new Argument("uint40[]", encodeIntArray(intArray, 40, false), true));
 
         return this;
     }
@@ -1901,13 +1761,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint48Array(long[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 48))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint48[]", arrayBytes, true));
+        args.add(new Argument("uint48[]", encodeIntArray(intArray, 48, false), true));
 
         return this;
     }
@@ -1922,13 +1776,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint56Array(long[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 56))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint56[]", arrayBytes, true));
+        args.add(new Argument("uint56[]", encodeIntArray(intArray, 56, false), true));
 
         return this;
     }
@@ -1943,13 +1791,7 @@ public final class ContractFunctionParameters {
      * @return {@code this}
      */
     public ContractFunctionParameters addUint64Array(long[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).mapToObj(i -> uint256(i, 64))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint64[]", arrayBytes, true));
+        args.add(new Argument("uint64[]", encodeIntArray(intArray, 64, false), true));
 
         return this;
     }
@@ -1965,13 +1807,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint72Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 72))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint72[]", arrayBytes, true));
+        args.add(new Argument("uint72[]", encodeIntArray(intArray, 72, false), true));
 
         return this;
     }
@@ -1987,13 +1823,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint80Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 80))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint80[]", arrayBytes, true));
+        args.add(new Argument("uint80[]", encodeIntArray(intArray, 80, false), true));
 
         return this;
     }
@@ -2009,13 +1839,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint88Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 88))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint88[]", arrayBytes, true));
+        args.add(new Argument("uint88[]", encodeIntArray(intArray, 88, false), true));
 
         return this;
     }
@@ -2031,13 +1855,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint96Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 96))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint96[]", arrayBytes, true));
+        args.add(new Argument("uint96[]", encodeIntArray(intArray, 96, false), true));
 
         return this;
     }
@@ -2053,13 +1871,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint104Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 104))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint104[]", arrayBytes, true));
+        args.add(new Argument("uint104[]", encodeIntArray(intArray, 104, false), true));
 
         return this;
     }
@@ -2075,13 +1887,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint112Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 112))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint112[]", arrayBytes, true));
+        args.add(new Argument("uint112[]", encodeIntArray(intArray, 112, false), true));
 
         return this;
     }
@@ -2097,13 +1903,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint120Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 120))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint120[]", arrayBytes, true));
+        args.add(new Argument("uint120[]", encodeIntArray(intArray, 120, false), true));
 
         return this;
     }
@@ -2119,13 +1919,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint128Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 128))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint128[]", arrayBytes, true));
+        args.add(new Argument("uint128[]", encodeIntArray(intArray, 128, false), true));
 
         return this;
     }
@@ -2141,13 +1935,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint136Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 136))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint136[]", arrayBytes, true));
+        args.add(new Argument("uint136[]", encodeIntArray(intArray, 136, false), true));
 
         return this;
     }
@@ -2163,13 +1951,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint144Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 144))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint144[]", arrayBytes, true));
+        args.add(new Argument("uint144[]", encodeIntArray(intArray, 144, false), true));
 
         return this;
     }
@@ -2185,13 +1967,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint152Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 152))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint152[]", arrayBytes, true));
+        args.add(new Argument("uint152[]", encodeIntArray(intArray, 152, false), true));
 
         return this;
     }
@@ -2207,13 +1983,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint160Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 160))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint160[]", arrayBytes, true));
+        args.add(new Argument("uint160[]", encodeIntArray(intArray, 160, false), true));
 
         return this;
     }
@@ -2229,13 +1999,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint168Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 168))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint168[]", arrayBytes, true));
+        args.add(new Argument("uint168[]", encodeIntArray(intArray, 168, false), true));
 
         return this;
     }
@@ -2251,13 +2015,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint176Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 176))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint176[]", arrayBytes, true));
+        args.add(new Argument("uint176[]", encodeIntArray(intArray, 176, false), true));
 
         return this;
     }
@@ -2273,13 +2031,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint184Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 184))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint184[]", arrayBytes, true));
+        args.add(new Argument("uint184[]", encodeIntArray(intArray, 184, false), true));
 
         return this;
     }
@@ -2295,13 +2047,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint192Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 192))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint192[]", arrayBytes, true));
+        args.add(new Argument("uint192[]", encodeIntArray(intArray, 192, false), true));
 
         return this;
     }
@@ -2317,13 +2063,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint200Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 200))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint200[]", arrayBytes, true));
+        args.add(new Argument("uint200[]", encodeIntArray(intArray, 200, false), true));
 
         return this;
     }
@@ -2339,13 +2079,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint208Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 208))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint208[]", arrayBytes, true));
+        args.add(new Argument("uint208[]", encodeIntArray(intArray, 208, false), true));
 
         return this;
     }
@@ -2361,13 +2095,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint216Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 216))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint216[]", arrayBytes, true));
+        args.add(new Argument("uint216[]", encodeIntArray(intArray, 216, false), true));
 
         return this;
     }
@@ -2383,13 +2111,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint224Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 224))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint224[]", arrayBytes, true));
+        args.add(new Argument("uint224[]", encodeIntArray(intArray, 224, false), true));
 
         return this;
     }
@@ -2405,13 +2127,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint232Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 232))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint232[]", arrayBytes, true));
+        args.add(new Argument("uint232[]", encodeIntArray(intArray, 232, false), true));
 
         return this;
     }
@@ -2427,13 +2143,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint240Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 240))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint240[]", arrayBytes, true));
+        args.add(new Argument("uint240[]", encodeIntArray(intArray, 240, false), true));
 
         return this;
     }
@@ -2449,13 +2159,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint248Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 248))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint248[]", arrayBytes, true));
+        args.add(new Argument("uint248[]", encodeIntArray(intArray, 248, false), true));
 
         return this;
     }
@@ -2471,13 +2175,7 @@ public final class ContractFunctionParameters {
      * @throws IllegalArgumentException if {@code bigInt.signum() < 0}.
      */
     public ContractFunctionParameters addUint256Array(BigInteger[] intArray) {
-        @Var ByteString arrayBytes = ByteString.copyFrom(
-            Arrays.stream(intArray).map(i -> uint256(i, 256))
-                .toList());
-
-        arrayBytes = uint256(intArray.length, 32).concat(arrayBytes);
-
-        args.add(new Argument("uint256[]", arrayBytes, true));
+        args.add(new Argument("uint256[]", encodeIntArray(intArray, 256, false), true));
 
         return this;
     }
@@ -2494,9 +2192,7 @@ public final class ContractFunctionParameters {
      *                                  to decode as hexadecimal.
      */
     public ContractFunctionParameters addAddress(String address) {
-        byte[] addressBytes = decodeAddress(address);
-
-        args.add(new Argument("address", leftPad32(ByteString.copyFrom(addressBytes)), false));
+        args.add(new Argument("address", encodeAddress(address), false));
 
         return this;
     }
@@ -2512,10 +2208,9 @@ public final class ContractFunctionParameters {
      */
     public ContractFunctionParameters addAddressArray(String[] addresses) {
         ByteString addressArray = encodeArray(
-            Arrays.stream(addresses).map(a -> {
-                byte[] address = decodeAddress(a);
-                return leftPad32(ByteString.copyFrom(address));
-            }));
+            Arrays.stream(addresses)
+                .map(ContractFunctionParameters::encodeAddress)
+                .toList());
 
         args.add(new Argument("address[]", addressArray, true));
 
@@ -2555,22 +2250,14 @@ public final class ContractFunctionParameters {
             throw new IllegalArgumentException("function selectors must be 4 bytes or 8 hex chars");
         }
 
-        var output = ByteString.newOutput(ADDRESS_LEN + SELECTOR_LEN);
-        try {
-            output.write(address, 0, address.length);
-            output.write(selector, 0, selector.length);
-
-            // function reference encodes as `bytes24`
-            args.add(new Argument("function", rightPad32(output.toByteString()), false));
-
-            return this;
-        } finally {
-            try {
-                output.close();
-            } catch (Throwable ignored) {
-                // do nothing
-            }
-        }
+        // function reference encodes as `bytes24`
+        byte[] out = new byte[32];
+        System.arraycopy(address, 0, out, 0, address.length);
+        System.arraycopy(selector, 0, out, address.length, selector.length);
+
+        args.add(new Argument("function", UnsafeByteOperations.unsafeWrap(out), false));
+
+        return this;
     }
 
     /**
@@ -2581,49 +2268,75 @@ public final class ContractFunctionParameters {
      * @return the Solidity encoding of the call parameters in the order they were added.
      */
     ByteString toBytes(@Nullable String funcName) {
-        // offset for dynamic-length data, immediately after value arguments
-        @Var var dynamicOffset = args.size() * 32;
+        @Nullable byte[] selector = funcName != null ? getSelector(funcName) : null;
+        int selectorLen = selector != null ? SELECTOR_LEN : 0;
 
-        var paramsBytes = new ArrayList<ByteString>(args.size() + 1);
+        // compute the exact size up front so every word is written once into a single array
+        @Var var size = selectorLen + args.size() * 32;
 
-        var dynamicArgs = new ArrayList<ByteString>();
-
-        ContractFunctionSelector functionSelector = funcName != null
-            ? new ContractFunctionSelector(funcName) : null;
-
-        // iterate the arguments and determine whether they are dynamic or not
         for (Argument arg : args) {
-            if (functionSelector != null) {
-                functionSelector.addParamType(arg.type);
+            if (arg.isDynamic) {
+                size += arg.value.size();
             }
+        }
 
+        byte[] out = new byte[size];
+
+        if (selector != null) {
+            System.arraycopy(selector, 0, out, 0, SELECTOR_LEN);
+        }
+
+        // offset for dynamic-length data, immediately after value arguments
+        @Var var dynamicOffset = args.size() * 32;
+        @Var var headOffset = selectorLen;
+
+        for (Argument arg : args) {
             if (arg.isDynamic) {
                 // dynamic arguments supply their offset in value position and append their data at
                 // that offset
-                paramsBytes.add(int256(dynamicOffset, 256));
-                dynamicArgs.add(arg.value);
+                writeInt256(out, headOffset, dynamicOffset, 256, true);
+                arg.value.copyTo(out, selectorLen + dynamicOffset);
                 dynamicOffset += arg.value.size();
             } else {
                 // value arguments are dropped in the current arg position
-                paramsBytes.add(arg.value);
+                arg.value.copyTo(out, headOffset);
             }
+
+            headOffset += 32;
         }
 
-        if (functionSelector != null) {
-            paramsBytes.add(0, ByteString.copyFrom(functionSelector.finish()));
+        return UnsafeByteOperations.unsafeWrap(out);
+    }
+
+    /**
+     * Compute the selector of a function named {@code funcName} taking the currently added parameters.
+     *
+     * @param funcName the name of the function
+     * @return the {@value SELECTOR_LEN}-byte function selector
+     */
+    byte[] getSelector(String funcName) {
+        var functionSelector = new ContractFunctionSelector(funcName);
+
+        for (Argument arg : args) {
+            functionSelector.addParamType(arg.type);
         }
 
-        paramsBytes.addAll(dynamicArgs);
+        return functionSelector.finish();
+    }
 
-        return ByteString.copyFrom(paramsBytes);
+    /**
+     * @return the arguments added so far, in order
+     */
+    List<Argument> getArguments() {
+        return Collections.unmodifiableList(args);
     }
 
-    private final static class Argument {
-        private final String type;
+    final static class Argument {
+        final String type;
 
-        private final ByteString value;
+        final ByteString value;
 
-        private final boolean isDynamic;
+        final boolean isDynamic;
 
         private Argument(String type, ByteString value, boolean isDynamic) {
             this.type = type;
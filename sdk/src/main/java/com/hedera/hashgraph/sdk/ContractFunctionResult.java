@@ -111,6 +111,17 @@ public final class ContractFunctionResult {
     public final AccountId senderAccountId;
     private final ByteString rawResult;
 
+    /**
+     * A read-only view of {@link #rawResult} that the getters read from with absolute indexes, so they don't need to
+     * create a buffer or a substring per call.
+     */
+    private final ByteBuffer rawBuffer;
+
+    /**
+     * The index of the first byte of {@link #rawResult} in {@link #rawBuffer}.
+     */
+    private final int rawOffset;
+
     /**
      * Constructor.
      *
@@ -137,6 +148,9 @@ public final class ContractFunctionResult {
             rawResult = callResult;
         }
 
+        rawBuffer = rawResult.asReadOnlyByteBuffer();
+        rawOffset = rawBuffer.position();
+
         bloom = inner.getBloom();
 
         gasUsed = inner.getGasUsed();
@@ -169,6 +183,15 @@ public final class ContractFunctionResult {
         return rawResult.toByteArray();
     }
 
+    /**
+     * Get a read-only view of the whole raw function result, starting at the position of the returned buffer.
+     *
+     * @return the raw function result
+     */
+    ByteBuffer asReadOnlyByteBuffer() {
+        return rawBuffer.duplicate();
+    }
+
     /**
      * Get the nth returned value as a string
      *
@@ -252,7 +275,7 @@ public final class ContractFunctionResult {
      * @return byte
      */
     public byte getInt8(int valIndex) {
-        return getByteBuffer(valIndex * 32 + 31).get();
+        return rawBuffer.get(rawOffset + valIndex * 32 + 31);
     }
 
     /**
@@ -279,7 +302,7 @@ public final class ContractFunctionResult {
      * @return long
      */
     public long getInt64(int valIndex) {
-        return getByteBuffer(valIndex * 32 + 24).getLong();
+        return rawBuffer.getLong(rawOffset + valIndex * 32 + 24);
     }
 
     /**
@@ -385,16 +408,9 @@ public final class ContractFunctionResult {
     }
 
     private int getIntValueAt(int valueOffset) {
-        return getByteBuffer(valueOffset + 28).getInt();
-    }
-
-    private ByteBuffer getByteBuffer(int offset) {
         // **NB** `.asReadOnlyByteBuffer()` on a substring returns a `ByteBuffer` with the
-        // offset set as `position()`, so be sure to advance the buffer relative to that
-        ByteBuffer byteBuffer = rawResult.asReadOnlyByteBuffer();
-        byteBuffer.position(byteBuffer.position() + offset);
-
-        return byteBuffer;
+        // offset set as `position()`, so be sure to read relative to that
+        return rawBuffer.getInt(rawOffset + valueOffset + 28);
     }
 
     private ByteString getByteString(int startIndex, int endIndex) {
@@ -0,0 +1,533 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.bouncycastle.util.encoders.Hex;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Decodes the result of a contract function call into typed values according to its Solidity return types.
+ * <p>
+ * The return types are given as a tuple signature such as {@code "(uint256,address,string[])"}. The signature is
+ * parsed once, so a decoder can be reused for every result of the same function; it is immutable and safe to share
+ * between threads. Decoding reads the result in place with absolute reads on a read-only view, and only allocates the
+ * returned values.
+ * <p>
+ * Values are returned as the same Java types that {@link ContractFunctionParameters} accepts for them:
+ * <ul>
+ *     <li>{@code int8} and {@code uint8} as {@link Byte}</li>
+ *     <li>{@code int16} to {@code int32} and their unsigned variants as {@link Integer}</li>
+ *     <li>{@code int40} to {@code int64} and their unsigned variants as {@link Long}</li>
+ *     <li>wider integers as {@link BigInteger}, positive for the unsigned variants</li>
+ *     <li>{@code bool} as {@link Boolean}</li>
+ *     <li>{@code address} as a hex-encoded {@link String}</li>
+ *     <li>{@code string} as {@link String}</li>
+ *     <li>{@code bytes}, {@code bytes1} to {@code bytes32} and {@code function} as {@code byte[]}</li>
+ *     <li>arrays and tuples as an unmodifiable {@link List}</li>
+ * </ul>
+ * Like the rest of the SDK, unsigned integers that fit a Java primitive are returned with the same bits as the
+ * signed type; use {@link Integer#toUnsignedLong(int)} and similar to widen them.
+ */
+public final class ContractFunctionResultDecoder {
+    private final TupleType returnType;
+
+    /**
+     * Create a decoder for a function returning {@code returnSignature}.
+     *
+     * @param returnSignature the Solidity return types, as a comma-separated list that may be parenthesized
+     * @throws IllegalArgumentException if the signature is not a valid list of Solidity types
+     */
+    public ContractFunctionResultDecoder(String returnSignature) {
+        var stripped = returnSignature.replaceAll("\\s", "");
+        var parser = new Parser(stripped.startsWith("(") ? stripped : "(" + stripped + ")");
+        var type = parser.parseType();
+
+        if (!parser.atEnd() || !(type instanceof TupleType tuple)) {
+            throw new IllegalArgumentException("return signature must be a tuple, such as `(uint256,string)`: "
+                + returnSignature);
+        }
+
+        this.returnType = tuple;
+    }
+
+    /**
+     * Decode the raw result of a contract call.
+     *
+     * @param result the result of the call
+     * @return one value per return type
+     * @throws IllegalArgumentException if the result is too short or malformed for the return types
+     */
+    public List<Object> decode(ContractFunctionResult result) {
+        return decode(result.asReadOnlyByteBuffer());
+    }
+
+    /**
+     * Decode an ABI-encoded result, starting at the position of {@code buffer}.
+     * <p>
+     * The position and limit of {@code buffer} are not modified.
+     *
+     * @param buffer the encoded result
+     * @return one value per return type
+     * @throws IllegalArgumentException if the result is too short or malformed for the return types
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object> decode(ByteBuffer buffer) {
+        var view = buffer.asReadOnlyBuffer().order(ByteOrder.BIG_ENDIAN);
+
+        try {
+            return (List<Object>) returnType.decode(view, view.position());
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("contract function result is too short for " + returnType, e);
+        }
+    }
+
+    /**
+     * @return the parsed return signature
+     */
+    @Override
+    public String toString() {
+        return returnType.toString();
+    }
+
+    private static int readOffset(ByteBuffer buffer, int position, int base) {
+        // offsets and lengths are uint256 but only a small, non-negative `int` can be valid
+        for (int i = 0; i < 28; i++) {
+            if (buffer.get(position + i) != 0) {
+                throw new IllegalArgumentException("offset or length at byte " + position + " is out of range");
+            }
+        }
+
+        int value = buffer.getInt(position + 28);
+
+        if (value < 0 || value > buffer.limit() - base) {
+            throw new IllegalArgumentException("offset or length at byte " + position + " is out of range");
+        }
+
+        return value;
+    }
+
+    private abstract static class AbiType {
+        /**
+         * @return whether values of this type are encoded after the head, with an offset in the head
+         */
+        abstract boolean isDynamic();
+
+        /**
+         * @return the number of bytes taken in the head of the enclosing tuple
+         */
+        int headSize() {
+            return 32;
+        }
+
+        /**
+         * Decode a value whose encoding starts at the absolute index {@code start} of {@code buffer}.
+         */
+        abstract Object decode(ByteBuffer buffer, int start);
+    }
+
+    private static final class IntType extends AbiType {
+        private final int bitWidth;
+
+        private final boolean signed;
+
+        IntType(int bitWidth, boolean signed) {
+            this.bitWidth = bitWidth;
+            this.signed = signed;
+        }
+
+        @Override
+        boolean isDynamic() {
+            return false;
+        }
+
+        @Override
+        Object decode(ByteBuffer buffer, int start) {
+            if (bitWidth <= 8) {
+                return buffer.get(start + 31);
+            } else if (bitWidth <= 32) {
+                return buffer.getInt(start + 28);
+            } else if (bitWidth <= 64) {
+                return buffer.getLong(start + 24);
+            }
+
+            // prepend a zero byte to unsigned values so that `BigInteger` treats them as positive
+            int signByte = signed ? 0 : 1;
+            byte[] bytes = new byte[32 + signByte];
+            buffer.get(start, bytes, signByte, 32);
+
+            return new BigInteger(bytes);
+        }
+
+        @Override
+        public String toString() {
+            return (signed ? "int" : "uint") + bitWidth;
+        }
+    }
+
+    private static final class BoolType extends AbiType {
+        @Override
+        boolean isDynamic() {
+            return false;
+        }
+
+        @Override
+        Object decode(ByteBuffer buffer, int start) {
+            return buffer.get(start + 31) != 0;
+        }
+
+        @Override
+        public String toString() {
+            return "bool";
+        }
+    }
+
+    private static final class AddressType extends AbiType {
+        @Override
+        boolean isDynamic() {
+            return false;
+        }
+
+        @Override
+        Object decode(ByteBuffer buffer, int start) {
+            byte[] address = new byte[ContractFunctionParameters.ADDRESS_LEN];
+            buffer.get(start + 32 - address.length, address);
+
+            return Hex.toHexString(address);
+        }
+
+        @Override
+        public String toString() {
+            return "address";
+        }
+    }
+
+    private static final class FixedBytesType extends AbiType {
+        private final String name;
+
+        private final int length;
+
+        FixedBytesType(String name, int length) {
+            this.name = name;
+            this.length = length;
+        }
+
+        @Override
+        boolean isDynamic() {
+            return false;
+        }
+
+        @Override
+        Object decode(ByteBuffer buffer, int start) {
+            byte[] bytes = new byte[length];
+            buffer.get(start, bytes);
+
+            return bytes;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static final class BytesType extends AbiType {
+        private final boolean isString;
+
+        BytesType(boolean isString) {
+            this.isString = isString;
+        }
+
+        @Override
+        boolean isDynamic() {
+            return true;
+        }
+
+        @Override
+        Object decode(ByteBuffer buffer, int start) {
+            int length = readOffset(buffer, start, start + 32);
+            byte[] bytes = new byte[length];
+            buffer.get(start + 32, bytes);
+
+            return isString ? new String(bytes, UTF_8) : bytes;
+        }
+
+        @Override
+        public String toString() {
+            return isString ? "string" : "bytes";
+        }
+    }
+
+    private static final class ArrayType extends AbiType {
+        private final AbiType elementType;
+
+        // -1 for dynamically-sized arrays
+        private final int length;
+
+        ArrayType(AbiType elementType, int length) {
+            this.elementType = elementType;
+            this.length = length;
+        }
+
+        @Override
+        boolean isDynamic() {
+            return length < 0 || elementType.isDynamic();
+        }
+
+        @Override
+        int headSize() {
+            return isDynamic() ? 32 : length * elementType.headSize();
+        }
+
+        @Override
+        Object decode(ByteBuffer buffer, @Var int start) {
+            @Var var count = length;
+
+            if (count < 0) {
+                // every element takes at least a word in the head, which bounds the length
+                count = readOffset(buffer, start, start + 32);
+
+                if (count > (buffer.limit() - start - 32) / 32) {
+                    throw new IllegalArgumentException("array length at byte " + start + " is out of range");
+                }
+
+                start += 32;
+            }
+
+            var values = new ArrayList<Object>(count);
+            @Var var position = start;
+
+            for (int i = 0; i < count; i++) {
+                values.add(decodeElement(elementType, buffer, start, position));
+                position += elementType.headSize();
+            }
+
+            return Collections.unmodifiableList(values);
+        }
+
+        @Override
+        public String toString() {
+            return elementType + (length < 0 ? "[]" : "[" + length + "]");
+        }
+    }
+
+    private static final class TupleType extends AbiType {
+        private final List<AbiType> components;
+
+        TupleType(List<AbiType> components) {
+            this.components = components;
+        }
+
+        @Override
+        boolean isDynamic() {
+            for (var component : components) {
+                if (component.isDynamic()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        int headSize() {
+            if (isDynamic()) {
+                return 32;
+            }
+
+            @Var var size = 0;
+
+            for (var component : components) {
+                size += component.headSize();
+            }
+
+            return size;
+        }
+
+        @Override
+        Object decode(ByteBuffer buffer, int start) {
+            var values = new ArrayList<Object>(components.size());
+            @Var var position = start;
+
+            for (var component : components) {
+                values.add(decodeElement(component, buffer, start, position));
+                position += component.headSize();
+            }
+
+            return Collections.unmodifiableList(values);
+        }
+
+        @Override
+        public String toString() {
+            var joiner = new StringBuilder("(");
+
+            for (int i = 0; i < components.size(); i++) {
+                joiner.append(i == 0 ? "" : ",").append(components.get(i));
+            }
+
+            return joiner.append(')').toString();
+        }
+    }
+
+    // dynamic elements hold the offset of their data relative to the start of the enclosing tuple or array
+    private static Object decodeElement(AbiType type, ByteBuffer buffer, int start, int position) {
+        return type.isDynamic() ?
+            type.decode(buffer, start + readOffset(buffer, position, start)) :
+            type.decode(buffer, position);
+    }
+
+    private static final class Parser {
+        private final String signature;
+
+        private int index = 0;
+
+        Parser(String signature) {
+            this.signature = signature;
+        }
+
+        boolean atEnd() {
+            return index == signature.length();
+        }
+
+        AbiType parseType() {
+            @Var AbiType type;
+
+            if (index < signature.length() && signature.charAt(index) == '(') {
+                type = parseTuple();
+            } else {
+                int start = index;
+
+                while (index < signature.length() && Character.isLetterOrDigit(signature.charAt(index))) {
+                    index++;
+                }
+
+                type = parseElementaryType(signature.substring(start, index));
+            }
+
+            while (index < signature.length() && signature.charAt(index) == '[') {
+                int close = signature.indexOf(']', index);
+
+                if (close < 0) {
+                    throw error("unclosed `[`");
+                }
+
+                var length = signature.substring(index + 1, close);
+                type = new ArrayType(type, length.isEmpty() ? -1 : parsePositiveInt(length));
+                index = close + 1;
+            }
+
+            return type;
+        }
+
+        private TupleType parseTuple() {
+            // skip `(`
+            index++;
+
+            var components = new ArrayList<AbiType>();
+
+            if (index < signature.length() && signature.charAt(index) == ')') {
+                index++;
+                return new TupleType(components);
+            }
+
+            while (true) {
+                components.add(parseType());
+
+                if (index >= signature.length()) {
+                    throw error("unclosed `(`");
+                }
+
+                char c = signature.charAt(index++);
+
+                if (c == ')') {
+                    return new TupleType(components);
+                } else if (c != ',') {
+                    throw error("unexpected `" + c + "`");
+                }
+            }
+        }
+
+        private AbiType parseElementaryType(String name) {
+            switch (name) {
+                case "bool":
+                    return new BoolType();
+                case "address":
+                    return new AddressType();
+                case "string":
+                    return new BytesType(true);
+                case "bytes":
+                    return new BytesType(false);
+                case "function":
+                    return new FixedBytesType(name, ContractFunctionParameters.ADDRESS_LEN
+                        + ContractFunctionParameters.SELECTOR_LEN);
+                case "int":
+                case "uint":
+                    return new IntType(256, name.equals("int"));
+                default:
+                    break;
+            }
+
+            if (name.startsWith("uint") || name.startsWith("int")) {
+                int bitWidth = parsePositiveInt(name.substring(name.indexOf("int") + 3));
+
+                if (bitWidth > 256 || bitWidth % 8 != 0) {
+                    throw error("invalid integer type `" + name + "`");
+                }
+
+                return new IntType(bitWidth, name.startsWith("int"));
+            } else if (name.startsWith("bytes")) {
+                int length = parsePositiveInt(name.substring(5));
+
+                if (length > 32) {
+                    throw error("invalid fixed bytes type `" + name + "`");
+                }
+
+                return new FixedBytesType(name, length);
+            }
+
+            throw error("unsupported type `" + name + "`");
+        }
+
+        private int parsePositiveInt(String digits) {
+            try {
+                int value = Integer.parseInt(digits);
+
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+
+            throw error("expected a positive number, got `" + digits + "`");
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at index " + index + " of `" + signature + "`");
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * A pre-encoded contract function call whose arguments can be replaced in place.
+ * <p>
+ * The template is created from a {@link ContractFunctionParameters} whose arguments fix the types of the call, and
+ * act as placeholders until they are replaced by one of the {@code set} methods. The function selector and every
+ * argument that is not replaced are encoded only once, so calling the same function many times only pays for
+ * encoding the arguments that change.
+ * <p>
+ * Instances are not thread safe.
+ */
+public final class ContractFunctionTemplate {
+    private final int selectorLen;
+
+    private final String[] types;
+
+    /**
+     * The selector followed by one 32-byte word per argument. Value arguments are encoded here in place, while
+     * dynamic arguments hold the offset of their data.
+     */
+    private final byte[] head;
+
+    /**
+     * The data of each dynamic argument, or {@code null} for value arguments.
+     */
+    private final ByteString[] tails;
+
+    private int size;
+
+    /**
+     * Create a template for calling a function with the types and default values of {@code parameters}.
+     *
+     * @param functionName the name of the function, or {@code null} to omit the function selector as is done for
+     *                     constructor parameters
+     * @param parameters   the placeholder arguments
+     */
+    public ContractFunctionTemplate(@Nullable String functionName, ContractFunctionParameters parameters) {
+        var args = parameters.getArguments();
+
+        selectorLen = functionName != null ? ContractFunctionParameters.SELECTOR_LEN : 0;
+        types = new String[args.size()];
+        tails = new ByteString[args.size()];
+        head = new byte[selectorLen + args.size() * 32];
+
+        if (functionName != null) {
+            System.arraycopy(parameters.getSelector(functionName), 0, head, 0, selectorLen);
+        }
+
+        for (int i = 0; i < args.size(); i++) {
+            var arg = args.get(i);
+            types[i] = arg.type;
+
+            if (arg.isDynamic) {
+                tails[i] = arg.value;
+            } else {
+                arg.value.copyTo(head, wordOffset(i));
+            }
+        }
+
+        updateOffsets();
+    }
+
+    /**
+     * @return the number of bytes the encoded call currently takes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Replace an integer argument of any width, signed or unsigned.
+     *
+     * @param index the position of the argument
+     * @param value the new value
+     * @return {@code this}
+     * @throws IllegalArgumentException if the argument is not an integer
+     */
+    public ContractFunctionTemplate setInt(int index, long value) {
+        var type = getType(index);
+        ContractFunctionParameters.writeInt256(head, wordOffset(index), value, getBitWidth(index, type),
+            type.startsWith("int"));
+
+        return this;
+    }
+
+    /**
+     * Replace an integer argument of any width, signed or unsigned.
+     *
+     * @param index the position of the argument
+     * @param value the new value
+     * @return {@code this}
+     * @throws IllegalArgumentException if the argument is not an integer, or if it is unsigned and {@code value} is
+     *                                  negative
+     */
+    public ContractFunctionTemplate setInt(int index, BigInteger value) {
+        var type = getType(index);
+        ContractFunctionParameters.writeInt256(head, wordOffset(index), value, getBitWidth(index, type),
+            type.startsWith("int"));
+
+        return this;
+    }
+
+    /**
+     * Replace a {@code bool} argument.
+     *
+     * @param index the position of the argument
+     * @param value the new value
+     * @return {@code this}
+     * @throws IllegalArgumentException if the argument is not a {@code bool}
+     */
+    public ContractFunctionTemplate setBool(int index, boolean value) {
+        requireType(index, "bool");
+        ContractFunctionParameters.writeInt256(head, wordOffset(index), value ? 1 : 0, 8, false);
+
+        return this;
+    }
+
+    /**
+     * Replace an {@code address} argument.
+     *
+     * @param index   the position of the argument
+     * @param address the new {@value ContractFunctionParameters#ADDRESS_LEN_HEX}-character hex-encoded address
+     * @return {@code this}
+     * @throws IllegalArgumentException if the argument is not an {@code address} or if {@code address} fails to
+     *                                  decode
+     */
+    public ContractFunctionTemplate setAddress(int index, String address) {
+        requireType(index, "address");
+        ContractFunctionParameters.writeAddress(head, wordOffset(index), address);
+
+        return this;
+    }
+
+    /**
+     * Replace a {@code bytes32} argument. The value is right-padded with zero bytes to a length of 32 bytes.
+     *
+     * @param index the position of the argument
+     * @param value the new value
+     * @return {@code this}
+     * @throws IllegalArgumentException if the argument is not a {@code bytes32} or if {@code value} is longer than 32
+     *                                  bytes
+     */
+    public ContractFunctionTemplate setBytes32(int index, byte[] value) {
+        requireType(index, "bytes32");
+        ContractFunctionParameters.writeBytes32(head, wordOffset(index), value);
+
+        return this;
+    }
+
+    /**
+     * Replace any argument with the single argument of {@code parameters}, which must have the same type.
+     * <p>
+     * This covers the types without a dedicated setter, such as strings and arrays.
+     *
+     * @param index      the position of the argument
+     * @param parameters parameters holding exactly one argument
+     * @return {@code this}
+     * @throws IllegalArgumentException if {@code parameters} does not hold exactly one argument of the same type
+     */
+    public ContractFunctionTemplate set(int index, ContractFunctionParameters parameters) {
+        var args = parameters.getArguments();
+
+        if (args.size() != 1) {
+            throw new IllegalArgumentException("expected exactly one argument, got " + args.size());
+        }
+
+        var arg = args.get(0);
+        requireType(index, arg.type);
+
+        if (arg.isDynamic) {
+            tails[index] = arg.value;
+            updateOffsets();
+        } else {
+            arg.value.copyTo(head, wordOffset(index));
+        }
+
+        return this;
+    }
+
+    /**
+     * Encode the call with the current arguments.
+     *
+     * @return the encoded call, exactly {@link #size()} bytes long
+     */
+    public ByteString toBytes() {
+        byte[] out = new byte[size];
+        System.arraycopy(head, 0, out, 0, head.length);
+
+        @Var var offset = head.length;
+
+        for (var tail : tails) {
+            if (tail != null) {
+                tail.copyTo(out, offset);
+                offset += tail.size();
+            }
+        }
+
+        return UnsafeByteOperations.unsafeWrap(out);
+    }
+
+    /**
+     * Encode the call with the current arguments into {@code buffer}, starting at its position, which is advanced by
+     * {@link #size()} bytes. This allows a buffer to be reused across calls.
+     *
+     * @param buffer the buffer to write to
+     * @return {@code buffer}
+     * @throws BufferOverflowException if fewer than {@link #size()} bytes remain in {@code buffer}
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer) {
+        if (buffer.remaining() < size) {
+            throw new BufferOverflowException();
+        }
+
+        buffer.put(head);
+
+        for (var tail : tails) {
+            if (tail != null) {
+                tail.copyTo(buffer);
+            }
+        }
+
+        return buffer;
+    }
+
+    private int wordOffset(int index) {
+        return selectorLen + index * 32;
+    }
+
+    private String getType(int index) {
+        Objects.checkIndex(index, types.length);
+
+        return types[index];
+    }
+
+    private void requireType(int index, String type) {
+        if (!getType(index).equals(type)) {
+            throw new IllegalArgumentException(
+                "argument " + index + " is of type `" + types[index] + "`, not `" + type + "`");
+        }
+    }
+
+    private static int getBitWidth(int index, String type) {
+        int start = type.startsWith("uint") ? 4 : type.startsWith("int") ? 3 : -1;
+
+        if (start < 0 || type.endsWith("]")) {
+            throw new IllegalArgumentException("argument " + index + " is of type `" + type + "`, not an integer");
+        }
+
+        return Integer.parseInt(type.substring(start));
+    }
+
+    // dynamic data is laid out after the head in argument order, so a change in the size of one argument moves
+    // the data of every following one
+    private void updateOffsets() {
+        @Var var dynamicOffset = types.length * 32;
+
+        for (int i = 0; i < tails.length; i++) {
+            var tail = tails[i];
+
+            if (tail != null) {
+                ContractFunctionParameters.writeInt256(head, wordOffset(i), dynamicOffset, 256, true);
+                dynamicOffset += tail.size();
+            }
+        }
+
+        size = selectorLen + dynamicOffset;
+    }
+}
@@ -62,6 +62,10 @@ final class Delayer {
      * @return                          the updated future
      */
     static CompletableFuture<Void> delayFor(long milliseconds, Executor executor) {
+        if (milliseconds <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
         logger.trace("waiting for {} seconds before trying again", (double) milliseconds / 1000.0);
 
         return CompletableFuture.runAsync(
@@ -69,4 +73,22 @@ final class Delayer {
             },
             CompletableFuture.delayedExecutor(milliseconds, TimeUnit.MILLISECONDS, executor));
     }
+
+    /**
+     * Set the delay milliseconds using the timer of a client. A delay of zero completes immediately, so the caller
+     * continues inline instead of hopping to another thread.
+     *
+     * @param milliseconds              the milliseconds
+     * @param timer                     the timer
+     * @return                          the updated future
+     */
+    static CompletableFuture<Void> delayFor(long milliseconds, HashedWheelTimer timer) {
+        if (milliseconds <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        logger.trace("waiting for {} seconds before trying again", (double) milliseconds / 1000.0);
+
+        return timer.delay(milliseconds);
+    }
 }
@@ -92,6 +92,23 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
      * Indicates if the request has been attempted to be sent to all nodes
      */
     protected boolean attemptedAllNodes = false;
+
+    /**
+     * The strategy used to pick the node for the first attempt
+     */
+    protected NodeSelectionStrategy nodeSelectionStrategy = NodeSelectionStrategy.ROUND_ROBIN;
+
+    /**
+     * Receives the measurements of every attempt
+     */
+    protected ClientMetrics metrics = ClientMetrics.NOOP;
+
+    /**
+     * The pipeline limiting the attempts in flight per node, while the request is submitted through one
+     */
+    @Nullable
+    volatile TransactionPipeline pipeline = null;
+
     /**
      * The timeout for each execution attempt
      */
@@ -318,6 +335,16 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
 
     abstract CompletableFuture<Void> onExecuteAsync(Client client);
 
+    /**
+     * Called with the output of a successful execution, before it is returned. Lets a request feed what it learnt
+     * back into the client.
+     *
+     * @param client the client the request was executed with
+     * @param output the output of the request
+     */
+    void onSuccess(Client client, O output) {
+    }
+
     void mergeFromClient(Client client) {
         if (maxAttempts == null) {
             maxAttempts = client.getMaxAttempts();
@@ -334,6 +361,9 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         if (grpcDeadline == null) {
             grpcDeadline = client.getGrpcDeadline();
         }
+
+        nodeSelectionStrategy = client.getNodeSelectionStrategy();
+        metrics = client.getMetrics();
     }
 
     private void delay(long delay) {
@@ -403,7 +433,7 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
             // If we get an unhealthy node here, we've cycled through all the "good" nodes that have failed
             // and have no choice but to try a bad one.
             if (!node.isHealthy()) {
-                delay(node.getRemainingTimeForBackoff());
+                delay(grpcRequest.recordBackoff(node.getRemainingTimeForBackoff()));
             }
 
             if (node.channelFailedToConnect()) {
@@ -440,14 +470,16 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                     // Response is not ready yet from server, need to wait.
                     lastException = grpcRequest.mapStatusException();
                     if (attempt < maxAttempts) {
-                        delay(grpcRequest.getDelay());
+                        delay(grpcRequest.recordBackoff(grpcRequest.getDelay()));
                     }
                     continue;
                 case REQUEST_ERROR:
                     throw grpcRequest.mapStatusException();
                 case SUCCESS:
                 default:
-                    return grpcRequest.mapResponse();
+                    var output = grpcRequest.mapResponse();
+                    onSuccess(client, output);
+                    return output;
             }
         }
     }
@@ -616,6 +648,18 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         Node candidate = null;
         long smallestDelay = Long.MAX_VALUE;
 
+        // Only the first attempt is load balanced by latency, retries keep walking the list from the chosen node
+        // so a node which just failed is not picked again.
+        if (nodeSelectionStrategy == NodeSelectionStrategy.LATENCY_AWARE && attempt == 1 && nodes.size() > 1) {
+            var index = getLowerLatencyHealthyNodeIndex();
+            if (index >= 0) {
+                nodes.setIndex(index);
+                if (nodeAccountIds.size() > 1) {
+                    nodeAccountIds.setIndex(index);
+                }
+            }
+        }
+
         for (int _i = 0; _i < nodes.size(); _i++) {
             // NOTE: _i is NOT the index into this.nodes, it is just keeping track of how many times we've iterated.
             // In the event of ServerErrors, this method depends on the nodes list to have advanced to
@@ -655,6 +699,50 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         return node;
     }
 
+    /**
+     * Sample two healthy nodes at random and return the index of the one with the lower latency score.
+     *
+     * @return the index into {@link #nodes}, or -1 if no node is healthy
+     */
+    private int getLowerLatencyHealthyNodeIndex() {
+        int first = -1;
+        int second = -1;
+        int healthyCount = 0;
+
+        // Reservoir sampling of two distinct healthy nodes in a single pass
+        for (int i = 0; i < nodes.size(); i++) {
+            if (!nodes.get(i).isHealthy()) {
+                continue;
+            }
+
+            healthyCount++;
+            if (healthyCount == 1) {
+                first = i;
+            } else if (healthyCount == 2) {
+                second = i;
+            } else {
+                var slot = random.nextInt(healthyCount);
+                if (slot == 0) {
+                    first = i;
+                } else if (slot == 1) {
+                    second = i;
+                }
+            }
+        }
+
+        if (second < 0) {
+            return first;
+        }
+
+        var firstScore = nodes.get(first).getLatencyScore();
+        var secondScore = nodes.get(second).getLatencyScore();
+        if (firstScore == secondScore) {
+            return random.nextBoolean() ? first : second;
+        }
+
+        return firstScore < secondScore ? first : second;
+    }
+
     private ProtoRequestT getRequestForExecute() {
         var request = makeRequest();
 
@@ -697,7 +785,8 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         Supplier<CompletableFuture<Void>> afterUnhealthyDelay = () -> {
             return grpcRequest.getNode().isHealthy() ?
                 CompletableFuture.completedFuture((Void) null) :
-                Delayer.delayFor(grpcRequest.getNode().getRemainingTimeForBackoff(), client.executor);
+                Delayer.delayFor(grpcRequest.recordBackoff(grpcRequest.getNode().getRemainingTimeForBackoff()),
+                    client.timer);
         };
 
         afterUnhealthyDelay.get().thenRun(() -> {
@@ -709,8 +798,7 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                     return;
                 }
 
-                toCompletableFuture(
-                    ClientCalls.futureUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest())).handle(
+                startCallAsync(grpcRequest).handle(
                     (response, error) -> {
                         logTransaction(this.getTransactionIdInternal(), client, grpcRequest.getNode(), true, attempt,
                             response, error);
@@ -738,7 +826,10 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                                     returnFuture, Duration.between(Instant.now(), timeoutTime));
                                 break;
                             case RETRY:
-                                Delayer.delayFor((attempt < maxAttempts) ? grpcRequest.getDelay() : 0, client.executor)
+                                Delayer.delayFor(
+                                        (attempt < maxAttempts) ? grpcRequest.recordBackoff(grpcRequest.getDelay()) : 0,
+                                        client.timer
+                                    )
                                     .thenRun(() -> executeAsyncInternal(client, attempt + 1,
                                         grpcRequest.mapStatusException(),
                                         returnFuture, Duration.between(Instant.now(), timeoutTime)));
@@ -749,7 +840,9 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
                                 break;
                             case SUCCESS:
                             default:
-                                returnFuture.complete(grpcRequest.mapResponse());
+                                var output = grpcRequest.mapResponse();
+                                onSuccess(client, output);
+                                returnFuture.complete(output);
                         }
                         return null;
                     }).exceptionally(error -> {
@@ -763,6 +856,43 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         });
     }
 
+    /**
+     * Start the call of an attempt. When the request is submitted through a {@link TransactionPipeline}, the call
+     * first waits for room in the window of the node it is sent to, and frees it once the response arrives. The
+     * latency of the attempt is measured from when it got room, not from when it started waiting.
+     */
+    private CompletableFuture<ResponseT> startCallAsync(GrpcRequest grpcRequest) {
+        var pipeline = this.pipeline;
+        if (pipeline == null) {
+            return toCompletableFuture(ClientCalls.futureUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest()));
+        }
+
+        var nodeAccountId = grpcRequest.getNode().getAccountId();
+        var result = new CompletableFuture<ResponseT>();
+
+        pipeline.acquire(nodeAccountId).thenRun(() -> {
+            grpcRequest.restartTimer();
+
+            try {
+                toCompletableFuture(ClientCalls.futureUnaryCall(grpcRequest.createCall(), grpcRequest.getRequest()))
+                    .whenComplete((response, error) -> {
+                        pipeline.release(nodeAccountId);
+
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        } else {
+                            result.complete(response);
+                        }
+                    });
+            } catch (RuntimeException e) {
+                pipeline.release(nodeAccountId);
+                result.completeExceptionally(e);
+            }
+        });
+
+        return result;
+    }
+
     abstract ProtoRequestT makeRequest();
 
     GrpcRequest getGrpcRequest(int attempt) {
@@ -795,6 +925,15 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
     @Nullable
     abstract TransactionId getTransactionIdInternal();
 
+    /**
+     * The type of this request, used to tag metrics. Only known once the request has been frozen or built.
+     *
+     * @return the request type
+     */
+    RequestType getRequestType() {
+        return RequestType.NONE;
+    }
+
     boolean shouldRetryExceptionally(@Nullable Throwable error) {
         if (error instanceof StatusRuntimeException statusException) {
             var status = statusException.getStatus().getCode();
@@ -833,7 +972,8 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         private final int attempt;
         //private final ClientCall<ProtoRequestT, ResponseT> call;
         private final ProtoRequestT request;
-        private final long startAt;
+        // restarted once a pipelined attempt has room on its node, so the wait is not counted as node latency
+        private long startAt;
         private final long delay;
         private final Duration grpcDeadline;
 
@@ -879,7 +1019,22 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
             return delay;
         }
 
+        void restartTimer() {
+            startAt = System.nanoTime();
+        }
+
+        long recordBackoff(long delayMillis) {
+            if (delayMillis > 0) {
+                metrics.recordBackoff(getRequestType(), node.getAccountId(), delayMillis);
+            }
+
+            return delayMillis;
+        }
+
         Throwable reactToConnectionFailure() {
+            metrics.recordAttempt(getRequestType(), node.getAccountId(), Code.UNAVAILABLE, null,
+                System.nanoTime() - startAt);
+
             Objects.requireNonNull(network).increaseBackoff(node);
             logger.warn("Retrying in {} ms after channel connection failure with node {} during attempt #{}",
                 node.getRemainingTimeForBackoff(), node.getAccountId(), attempt);
@@ -888,7 +1043,15 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         }
 
         boolean shouldRetryExceptionally(@Nullable Throwable e) {
-            latency = (double) (System.nanoTime() - startAt) / 1000000000.0;
+            var elapsed = System.nanoTime() - startAt;
+            latency = (double) elapsed / 1000000000.0;
+
+            if (e != null) {
+                var code = e instanceof StatusRuntimeException statusException ?
+                    statusException.getStatus().getCode() :
+                    Code.UNKNOWN;
+                metrics.recordAttempt(getRequestType(), node.getAccountId(), code, null, elapsed);
+            }
 
             var retry = Executable.this.shouldRetryExceptionally(e);
 
@@ -914,7 +1077,14 @@ abstract class Executable<SdkRequestT, ProtoRequestT extends MessageLite, Respon
         }
 
         void handleResponse(ResponseT response, Status status, ExecutionState executionState) {
+            var elapsed = System.nanoTime() - startAt;
+            latency = (double) elapsed / 1000000000.0;
+
             node.decreaseBackoff();
+            if (network != null) {
+                network.recordLatency(node, elapsed);
+            }
+            metrics.recordAttempt(getRequestType(), node.getAccountId(), Code.OK, status, elapsed);
 
             this.response = Executable.this.responseListener.apply(response);
             this.responseStatus = status;
@@ -0,0 +1,456 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.google.protobuf.ByteString;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * Append the contents of a stream to a file, one chunk at a time.
+ * <p>
+ * Unlike {@link FileAppendTransaction}, which needs the whole payload up front and keeps every signed chunk in
+ * memory until it has been executed, this flow reads each chunk from its source only when it is about to be
+ * submitted. Every chunk is sent as its own {@link FileAppendTransaction}, signed right before submission and
+ * released once its receipt has been received, so only a single chunk is held in memory at any time.
+ * <p>
+ * Chunks are appended strictly in order; the next chunk isn't read until the receipt of the previous one has been
+ * received.
+ * The source is consumed by the flow and can't be executed again.
+ */
+public class FileAppendFlow {
+    @Nullable
+    private FileId fileId = null;
+
+    @Nullable
+    private ChunkSource contents = null;
+
+    private int chunkSize = 2048;
+
+    @Nullable
+    private Integer maxChunks = null;
+
+    @Nullable
+    private Hbar maxTransactionFee = null;
+
+    @Nullable
+    private List<AccountId> nodeAccountIds = null;
+
+    private final Map<PublicKey, UnaryOperator<byte[]>> signers = new LinkedHashMap<>();
+
+    /**
+     * Constructor
+     */
+    public FileAppendFlow() {
+    }
+
+    /**
+     * Extract the file id.
+     *
+     * @return the file id
+     */
+    @Nullable
+    public FileId getFileId() {
+        return fileId;
+    }
+
+    /**
+     * Set the ID of the file to append to. Required.
+     *
+     * @param fileId the ID of the file to append to
+     * @return {@code this}
+     */
+    public FileAppendFlow setFileId(FileId fileId) {
+        Objects.requireNonNull(fileId);
+        this.fileId = fileId;
+        return this;
+    }
+
+    /**
+     * Set the contents to append to the file, read from an input stream.
+     * <p>
+     * The stream is read up to its end but is not closed by the flow.
+     *
+     * @param contents the stream to read the contents from
+     * @return {@code this}
+     */
+    public FileAppendFlow setContents(InputStream contents) {
+        return setContents(ChunkSource.from(contents));
+    }
+
+    /**
+     * Set the contents to append to the file, read from a blocking channel such as a
+     * {@link java.nio.channels.FileChannel}.
+     * <p>
+     * The channel is read up to its end but is not closed by the flow.
+     *
+     * @param contents the channel to read the contents from
+     * @return {@code this}
+     */
+    public FileAppendFlow setContents(ReadableByteChannel contents) {
+        return setContents(ChunkSource.from(contents));
+    }
+
+    /**
+     * Set the contents to append to the file to the remaining bytes of a buffer, e.g. a
+     * {@link java.nio.MappedByteBuffer} of a large local file.
+     * <p>
+     * The position of the buffer is not changed.
+     *
+     * @param contents the buffer to read the contents from
+     * @return {@code this}
+     */
+    public FileAppendFlow setContents(ByteBuffer contents) {
+        return setContents(ChunkSource.from(contents));
+    }
+
+    FileAppendFlow setContents(ChunkSource contents) {
+        this.contents = contents;
+        return this;
+    }
+
+    /**
+     * Retrieve the maximum number of bytes in each chunk.
+     *
+     * @return the chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Set the maximum number of bytes in each chunk.
+     *
+     * @param chunkSize the chunk size
+     * @return {@code this}
+     */
+    public FileAppendFlow setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Retrieve the maximum number of chunks.
+     *
+     * @return the maximum number of chunks, or {@code null} if the whole source is appended
+     */
+    @Nullable
+    public Integer getMaxChunks() {
+        return maxChunks;
+    }
+
+    /**
+     * Set the maximum number of chunks.
+     * <p>
+     * As the length of the source isn't known up front, the flow fails once it reads a chunk past this limit; the
+     * chunks before it will already have been appended.
+     *
+     * @param maxChunks the maximum number of chunks
+     * @return {@code this}
+     */
+    public FileAppendFlow setMaxChunks(int maxChunks) {
+        this.maxChunks = maxChunks;
+        return this;
+    }
+
+    /**
+     * Extract the maximum transaction fee of each chunk.
+     *
+     * @return the maximum transaction fee
+     */
+    @Nullable
+    public Hbar getMaxTransactionFee() {
+        return maxTransactionFee;
+    }
+
+    /**
+     * Set the maximum transaction fee the operator is willing to pay for each chunk.
+     *
+     * @param maxTransactionFee the maximum transaction fee
+     * @return {@code this}
+     */
+    public FileAppendFlow setMaxTransactionFee(Hbar maxTransactionFee) {
+        Objects.requireNonNull(maxTransactionFee);
+        this.maxTransactionFee = maxTransactionFee;
+        return this;
+    }
+
+    /**
+     * Extract the list of node account id's.
+     *
+     * @return the list of node account id's
+     */
+    @Nullable
+    public List<AccountId> getNodeAccountIds() {
+        return nodeAccountIds != null ? Collections.unmodifiableList(nodeAccountIds) : null;
+    }
+
+    /**
+     * Set the account IDs of the nodes that the chunks will be submitted to.
+     *
+     * @param nodeAccountIds the list of node AccountIds to be set
+     * @return {@code this}
+     */
+    public FileAppendFlow setNodeAccountIds(List<AccountId> nodeAccountIds) {
+        Objects.requireNonNull(nodeAccountIds);
+        this.nodeAccountIds = new ArrayList<>(nodeAccountIds);
+        return this;
+    }
+
+    /**
+     * Add a private key that each chunk will be signed with, e.g. one of the keys of the file.
+     *
+     * @param privateKey the private key used for signing
+     * @return {@code this}
+     */
+    public FileAppendFlow sign(PrivateKey privateKey) {
+        return signWith(privateKey.getPublicKey(), privateKey::sign);
+    }
+
+    /**
+     * Add a public key and signer that each chunk will be signed with.
+     *
+     * @param publicKey         the public key
+     * @param transactionSigner the signer
+     * @return {@code this}
+     */
+    public FileAppendFlow signWith(PublicKey publicKey, UnaryOperator<byte[]> transactionSigner) {
+        Objects.requireNonNull(publicKey);
+        Objects.requireNonNull(transactionSigner);
+        signers.put(publicKey, transactionSigner);
+        return this;
+    }
+
+    private ChunkSource requireContents() {
+        if (fileId == null) {
+            throw new IllegalStateException("Cannot execute a file append flow when the file ID was not provided");
+        }
+        if (contents == null) {
+            throw new IllegalStateException("Cannot execute a file append flow when the contents were not provided");
+        }
+        return contents;
+    }
+
+    private static ByteString readChunk(ChunkSource source, int chunkSize) {
+        try {
+            return source.read(chunkSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void requireWithinMaxChunks(int chunk) {
+        if (maxChunks != null && chunk >= maxChunks) {
+            throw new IllegalStateException(
+                "Contents have more than " + maxChunks + " chunks, try using setMaxChunks");
+        }
+    }
+
+    private FileAppendTransaction createChunkTransaction(Client client, ByteString chunk) {
+        var fileAppendTx = new FileAppendTransaction()
+            .setFileId(Objects.requireNonNull(fileId))
+            .setChunkSize(chunkSize)
+            .setMaxChunks(1)
+            .setContents(chunk);
+        if (maxTransactionFee != null) {
+            fileAppendTx.setMaxTransactionFee(maxTransactionFee);
+        }
+        if (nodeAccountIds != null) {
+            fileAppendTx.setNodeAccountIds(nodeAccountIds);
+        }
+        if (!signers.isEmpty()) {
+            fileAppendTx.freezeWith(client);
+            for (var signer : signers.entrySet()) {
+                fileAppendTx.signWith(signer.getKey(), signer.getValue());
+            }
+        }
+        return fileAppendTx;
+    }
+
+    /**
+     * Append every chunk of the source, returning the response of the last one, or {@code null} if the source was
+     * empty.
+     */
+    @Nullable
+    TransactionResponse executeChunks(Client client, Duration timeoutPerTransaction)
+        throws PrecheckStatusException, TimeoutException {
+        var source = requireContents();
+        @Var TransactionResponse response = null;
+        // a file append waits for the receipt of each of its chunks, so the chunks are appended in order
+        for (@Var int chunk = 0; ; chunk++) {
+            var data = readChunk(source, chunkSize);
+            if (data.isEmpty()) {
+                return response;
+            }
+            requireWithinMaxChunks(chunk);
+            response = createChunkTransaction(client, data).execute(client, timeoutPerTransaction);
+        }
+    }
+
+    CompletableFuture<TransactionResponse> executeChunksAsync(Client client, Duration timeoutPerTransaction) {
+        ChunkSource source;
+        try {
+            source = requireContents();
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return executeChunksAsync(client, timeoutPerTransaction, source, 0, null);
+    }
+
+    private CompletableFuture<TransactionResponse> executeChunksAsync(
+        Client client,
+        Duration timeoutPerTransaction,
+        ChunkSource source,
+        int chunk,
+        @Nullable TransactionResponse previous
+    ) {
+        // reading may block, so keep it off of the thread that completed the previous receipt
+        return CompletableFuture.supplyAsync(() -> readChunk(source, chunkSize), client.executor)
+            .thenCompose(data -> {
+                if (data.isEmpty()) {
+                    return CompletableFuture.completedFuture(previous);
+                }
+                requireWithinMaxChunks(chunk);
+                return createChunkTransaction(client, data).executeAsync(client, timeoutPerTransaction)
+                    .thenCompose(response -> executeChunksAsync(
+                        client, timeoutPerTransaction, source, chunk + 1, response));
+            });
+    }
+
+    private static TransactionResponse requireAppended(@Nullable TransactionResponse response) {
+        if (response == null) {
+            throw new IllegalStateException("Cannot execute a file append flow when the contents are empty");
+        }
+        return response;
+    }
+
+    /**
+     * Execute the flow with the passed in client.
+     *
+     * @param client the client with the transaction to execute
+     * @return the response of the last chunk
+     * @throws PrecheckStatusException when the precheck fails
+     * @throws TimeoutException        when the transaction times out
+     */
+    public TransactionResponse execute(Client client) throws PrecheckStatusException, TimeoutException {
+        return execute(client, client.getRequestTimeout());
+    }
+
+    /**
+     * Execute the flow with the passed in client.
+     *
+     * @param client                the client with the transaction to execute
+     * @param timeoutPerTransaction The timeout after which each chunk's execution attempt will be cancelled.
+     * @return the response of the last chunk
+     * @throws PrecheckStatusException when the precheck fails
+     * @throws TimeoutException        when the transaction times out
+     */
+    public TransactionResponse execute(Client client, Duration timeoutPerTransaction)
+        throws PrecheckStatusException, TimeoutException {
+        return requireAppended(executeChunks(client, timeoutPerTransaction));
+    }
+
+    /**
+     * Execute the flow with the passed in client asynchronously.
+     *
+     * @param client the client with the transaction to execute
+     * @return the response of the last chunk
+     */
+    public CompletableFuture<TransactionResponse> executeAsync(Client client) {
+        return executeAsync(client, client.getRequestTimeout());
+    }
+
+    /**
+     * Execute the flow with the passed in client asynchronously.
+     *
+     * @param client                the client with the transaction to execute
+     * @param timeoutPerTransaction The timeout after which each chunk's execution attempt will be cancelled.
+     * @return the response of the last chunk
+     */
+    public CompletableFuture<TransactionResponse> executeAsync(Client client, Duration timeoutPerTransaction) {
+        return executeChunksAsync(client, timeoutPerTransaction).thenApply(FileAppendFlow::requireAppended);
+    }
+
+    /**
+     * Execute the flow with the passed in client asynchronously.
+     *
+     * @param client   the client with the transaction to execute
+     * @param callback a BiConsumer which handles the result or error.
+     */
+    public void executeAsync(Client client, BiConsumer<TransactionResponse, Throwable> callback) {
+        ConsumerHelper.biConsumer(executeAsync(client), callback);
+    }
+
+    /**
+     * Execute the flow with the passed in client asynchronously.
+     *
+     * @param client                the client with the transaction to execute
+     * @param timeoutPerTransaction The timeout after which each chunk's execution attempt will be cancelled.
+     * @param callback              a BiConsumer which handles the result or error.
+     */
+    public void executeAsync(Client client, Duration timeoutPerTransaction,
+        BiConsumer<TransactionResponse, Throwable> callback) {
+        ConsumerHelper.biConsumer(executeAsync(client, timeoutPerTransaction), callback);
+    }
+
+    /**
+     * Execute the flow with the passed in client asynchronously.
+     *
+     * @param client    the client with the transaction to execute
+     * @param onSuccess a Consumer which consumes the result on success.
+     * @param onFailure a Consumer which consumes the error on failure.
+     */
+    public void executeAsync(Client client, Consumer<TransactionResponse> onSuccess, Consumer<Throwable> onFailure) {
+        ConsumerHelper.twoConsumers(executeAsync(client), onSuccess, onFailure);
+    }
+
+    /**
+     * Execute the flow with the passed in client asynchronously.
+     *
+     * @param client                the client with the transaction to execute
+     * @param timeoutPerTransaction The timeout after which each chunk's execution attempt will be cancelled.
+     * @param onSuccess             a Consumer which consumes the result on success.
+     * @param onFailure             a Consumer which consumes the error on failure.
+     */
+    public void executeAsync(Client client, Duration timeoutPerTransaction, Consumer<TransactionResponse> onSuccess,
+        Consumer<Throwable> onFailure) {
+        ConsumerHelper.twoConsumers(executeAsync(client, timeoutPerTransaction), onSuccess, onFailure);
+    }
+}
@@ -114,6 +114,16 @@ public final class FileContentsQuery extends Query<ByteString, FileContentsQuery
         return response.getFileGetContents().getFileContents().getContents();
     }
 
+    @Override
+    void onSuccess(Client client, ByteString contents) {
+        var costCache = client.getQueryCostCache();
+
+        // reading the fee schedule or exchange rate file is how a client notices that query costs changed
+        if (costCache != null && fileId != null) {
+            costCache.onFileContents(fileId, contents);
+        }
+    }
+
     @Override
     MethodDescriptor<com.hedera.hashgraph.sdk.proto.Query, Response> getMethodDescriptor() {
         return FileServiceGrpc.getGetFileContentMethod();
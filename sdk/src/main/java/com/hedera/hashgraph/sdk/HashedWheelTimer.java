@@ -0,0 +1,288 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.errorprone.annotations.Var;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Timer used internally by the sdk to wait between attempts.
+ * <p>
+ * Delays are hashed into a fixed ring of buckets that a single daemon thread walks one tick at a time, so scheduling
+ * a delay is a queue offer and an allocation, regardless of how many delays are pending. Expired delays are completed
+ * on the executor of the owning client, which is where continuations of the returned futures run.
+ * <p>
+ * The worker thread is started by the first delay and stopped when the client is closed. While no delay is pending
+ * it parks instead of ticking, and the next delay wakes it.
+ */
+final class HashedWheelTimer {
+    static final long DEFAULT_TICK_MILLIS = 10;
+    static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+        .setNameFormat("hedera-sdk-timer-%d")
+        .setDaemon(true)
+        .build();
+
+    private final Executor executor;
+    private final long tickNanos;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    @Nullable
+    private Thread worker;
+
+    @Nullable
+    private Wheel wheel;
+
+    /**
+     * Constructor.
+     *
+     * @param executor the executor used to complete expired delays
+     */
+    HashedWheelTimer(Executor executor) {
+        this(executor, DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param executor   the executor used to complete expired delays
+     * @param tickMillis the duration of one tick in milliseconds
+     * @param wheelSize  the number of buckets, must be a power of two
+     */
+    HashedWheelTimer(Executor executor, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be greater than zero");
+        }
+
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two");
+        }
+
+        this.executor = executor;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.mask = wheelSize - 1;
+    }
+
+    /**
+     * Create a future that completes on the executor once the delay has elapsed.
+     *
+     * @param milliseconds the delay in milliseconds
+     * @return the future
+     */
+    CompletableFuture<Void> delay(long milliseconds) {
+        var future = new CompletableFuture<Void>();
+
+        pending.add(new Timeout(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(milliseconds), future));
+        ensureStarted();
+
+        return future;
+    }
+
+    /**
+     * Is the worker thread parked because no delay is pending?
+     *
+     * @return whether the worker is idle
+     */
+    synchronized boolean isIdle() {
+        return wheel != null && wheel.idle;
+    }
+
+    private synchronized void ensureStarted() {
+        if (worker == null || wheel == null) {
+            wheel = new Wheel(mask + 1);
+            worker = THREAD_FACTORY.newThread(wheel::run);
+            worker.start();
+        } else if (wheel.idle) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Stop the worker thread and cancel every delay that has not expired yet. The timer is restarted if another delay
+     * is scheduled.
+     */
+    synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+            wheel = null;
+        }
+
+        @Var Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            timeout.future.completeExceptionally(new CancellationException());
+        }
+    }
+
+    private synchronized boolean isCurrentWorker() {
+        return worker == Thread.currentThread();
+    }
+
+    private void expire(Timeout timeout) {
+        try {
+            executor.execute(() -> timeout.future.complete(null));
+        } catch (RejectedExecutionException e) {
+            timeout.future.completeExceptionally(e);
+        }
+    }
+
+    private static final class Timeout {
+        private final long deadline;
+        private final CompletableFuture<Void> future;
+        private long remainingRounds;
+
+        Timeout(long deadline, CompletableFuture<Void> future) {
+            this.deadline = deadline;
+            this.future = future;
+        }
+    }
+
+    /**
+     * State owned by a single worker thread.
+     */
+    private final class Wheel {
+        private final ArrayDeque<Timeout>[] buckets;
+        private final long startTime = System.nanoTime();
+        private long tick = 0;
+        private int size = 0;
+
+        // set while the worker is parked with no delay pending
+        private volatile boolean idle = false;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Wheel(int size) {
+            buckets = new ArrayDeque[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+        }
+
+        void run() {
+            try {
+                while (isCurrentWorker()) {
+                    if (size == 0 && pending.isEmpty()) {
+                        if (!awaitPending()) {
+                            return;
+                        }
+                        continue;
+                    }
+
+                    var tickDeadline = startTime + (tick + 1) * tickNanos;
+                    @Var var now = System.nanoTime();
+
+                    while (now < tickDeadline) {
+                        LockSupport.parkNanos(this, tickDeadline - now);
+                        if (Thread.interrupted()) {
+                            return;
+                        }
+                        now = System.nanoTime();
+                    }
+
+                    transferPending();
+                    expireBucket(buckets[(int) (tick & mask)], now);
+                    tick++;
+                }
+            } finally {
+                cancelAll();
+            }
+        }
+
+        /**
+         * Park until a delay is scheduled.
+         *
+         * @return false if the worker was interrupted
+         */
+        private boolean awaitPending() {
+            idle = true;
+            try {
+                // a delay scheduled after this check sees the worker idle and unparks it
+                if (pending.isEmpty()) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                idle = false;
+            }
+
+            if (Thread.interrupted()) {
+                return false;
+            }
+
+            // no bucket holds a delay, so skip the ticks that passed while parked
+            tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+            return true;
+        }
+
+        private void transferPending() {
+            @Var Timeout timeout;
+            while ((timeout = pending.poll()) != null) {
+                if (timeout.future.isDone()) {
+                    continue;
+                }
+
+                var calculated = Math.max(0, timeout.deadline - startTime) / tickNanos;
+                timeout.remainingRounds = (calculated - tick) / buckets.length;
+
+                var ticks = Math.max(calculated, tick);
+                buckets[(int) (ticks & mask)].add(timeout);
+                size++;
+            }
+        }
+
+        private void expireBucket(ArrayDeque<Timeout> bucket, long now) {
+            for (Iterator<Timeout> it = bucket.iterator(); it.hasNext(); ) {
+                var timeout = it.next();
+
+                if (timeout.future.isDone()) {
+                    it.remove();
+                    size--;
+                } else if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+                    it.remove();
+                    size--;
+                    expire(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+            }
+        }
+
+        private void cancelAll() {
+            for (var bucket : buckets) {
+                bucket.forEach(timeout -> timeout.future.completeExceptionally(new CancellationException()));
+                bucket.clear();
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.errorprone.annotations.Var;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
+
+/**
+ * Remembers derived child keys, so that deriving the same path again costs a lookup instead of a chain of HMAC-SHA512
+ * computations and a public key.
+ * <p>
+ * Children are keyed by their parent key, chain code and index, so every intermediate key of a path is cached and a
+ * parent recreated from the same mnemonic finds its children. Keys derived through {@link #deriveRange} have their
+ * public keys computed before they are cached. The least recently used key is forgotten first once
+ * {@link #getMaxEntries()} keys are cached.
+ * <p>
+ * The cache holds private keys; keep it only as long as the keys themselves would be kept.
+ */
+public final class KeyDerivationCache {
+    static final int DEFAULT_MAX_ENTRIES = 4096;
+
+    private final int maxEntries;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    // guarded by `this`
+    private final LinkedHashMap<Child, PrivateKey> entries;
+
+    /**
+     * Create a cache of {@value DEFAULT_MAX_ENTRIES} keys which derives ranges on the calling thread.
+     */
+    public KeyDerivationCache() {
+        this(DEFAULT_MAX_ENTRIES, MoreExecutors.directExecutor(), 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxEntries  the most keys cached at once
+     * @param executor    the executor ranges of keys are derived on
+     * @param parallelism the most slices of a range derived at once
+     */
+    public KeyDerivationCache(int maxEntries, Executor executor, int parallelism) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than zero");
+        }
+
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be greater than zero");
+        }
+
+        this.maxEntries = maxEntries;
+        this.executor = Objects.requireNonNull(executor);
+        this.parallelism = parallelism;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Child, PrivateKey> eldest) {
+                return size() > KeyDerivationCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Extract the most keys cached at once.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Extract the most slices of a range derived at once.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Extract the number of keys cached.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Forget every key.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+    }
+
+    /**
+     * Derive a child key as {@link PrivateKey#derive(int)} does, from the cache if it was derived before.
+     *
+     * @param parent the parent key
+     * @param index  the child key index
+     * @return the child key
+     */
+    public PrivateKey derive(PrivateKey parent, int index) {
+        return derive(parent, parentId(parent), index);
+    }
+
+    /**
+     * Derive a legacy child key as {@link PrivateKey#legacyDerive(long)} does, from the cache if it was derived
+     * before.
+     *
+     * @param parent the parent key
+     * @param index  the child key index
+     * @return the child key
+     */
+    public PrivateKey legacyDerive(PrivateKey parent, long index) {
+        var child = new Child(parentId(parent), index, true);
+        var cached = get(child);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        return put(child, parent.legacyDerive(index));
+    }
+
+    /**
+     * Derive the key at the end of a path, caching every key along it.
+     *
+     * @param root    the key the path starts from
+     * @param indexes the child key index at each step
+     * @return the key at the end of the path
+     */
+    public PrivateKey derivePath(PrivateKey root, int... indexes) {
+        @Var var key = root;
+        for (var index : indexes) {
+            key = derive(key, index);
+        }
+        return key;
+    }
+
+    /**
+     * Derive {@code count} consecutive child keys, with their public keys, in parallel; blocks until they are all
+     * derived.
+     *
+     * @param parent the parent key
+     * @param start  the index of the first child key
+     * @param count  the number of child keys
+     * @return the child keys, in index order
+     */
+    public List<PrivateKey> deriveRange(PrivateKey parent, int start, int count) {
+        try {
+            return deriveRangeAsync(parent, start, count).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Derive {@code count} consecutive child keys, with their public keys, in parallel.
+     * <p>
+     * The keys which are not cached yet are split into up to {@link #getParallelism()} slices derived on the
+     * executor.
+     *
+     * @param parent the parent key
+     * @param start  the index of the first child key
+     * @param count  the number of child keys
+     * @return future result of the child keys, in index order
+     */
+    public CompletableFuture<List<PrivateKey>> deriveRangeAsync(PrivateKey parent, int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+
+        if ((long) start + count - 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("the range of indexes must not go past " + Integer.MAX_VALUE);
+        }
+
+        var parentId = parentId(parent);
+        var keys = new PrivateKey[count];
+        var missing = new ArrayList<Integer>();
+
+        synchronized (this) {
+            for (var i = 0; i < count; i++) {
+                var cached = entries.get(new Child(parentId, start + i, false));
+
+                if (cached != null) {
+                    keys[i] = cached;
+                } else {
+                    missing.add(i);
+                }
+            }
+        }
+
+        var slices = Math.min(parallelism, missing.size());
+        var futures = new ArrayList<CompletableFuture<Void>>(slices);
+
+        for (var slice = 0; slice < slices; slice++) {
+            var from = missing.size() * slice / slices;
+            var to = missing.size() * (slice + 1) / slices;
+            var sliceMissing = missing.subList(from, to);
+
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (var i : sliceMissing) {
+                    var key = parent.derive(start + i);
+
+                    // computed here so that it is not computed again on the caller's thread
+                    key.getPublicKey();
+
+                    keys[i] = put(new Child(parentId, start + i, false), key);
+                }
+            }, executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> Arrays.asList(keys));
+    }
+
+    private PrivateKey derive(PrivateKey parent, ByteString parentId, int index) {
+        var child = new Child(parentId, index, false);
+        var cached = get(child);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        return put(child, parent.derive(index));
+    }
+
+    @Nullable
+    private synchronized PrivateKey get(Child child) {
+        return entries.get(child);
+    }
+
+    private synchronized PrivateKey put(Child child, PrivateKey key) {
+        // another thread may have derived the same key meanwhile; keep the one already handed out
+        var existing = entries.putIfAbsent(child, key);
+        return existing != null ? existing : key;
+    }
+
+    /**
+     * Identify a parent key by everything its children are derived from.
+     */
+    private static ByteString parentId(PrivateKey parent) {
+        var id = ByteString.copyFrom(parent.isECDSA() ? new byte[]{1} : new byte[]{0})
+            .concat(ByteString.copyFrom(parent.toBytesRaw()));
+
+        return parent.isDerivable() ? id.concat(ByteString.copyFrom(parent.getChainCode().getKey())) : id;
+    }
+
+    /**
+     * A child of a parent key.
+     *
+     * @param parentId the parent key, as identified by {@link #parentId(PrivateKey)}
+     * @param index    the child key index
+     * @param legacy   whether the child was derived with {@link PrivateKey#legacyDerive(long)}
+     */
+    private record Child(ByteString parentId, long index, boolean legacy) {
+    }
+}
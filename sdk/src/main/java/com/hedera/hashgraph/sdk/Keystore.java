@@ -19,6 +19,7 @@
  */
 package com.hedera.hashgraph.sdk;
 
+import com.google.errorprone.annotations.Var;
 import com.google.gson.Gson;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonObject;
@@ -37,7 +38,18 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import javax.annotation.Nullable;
 
 /**
  * Internal utility class to serialize / deserialize between java object / json representation.
@@ -73,62 +85,127 @@ final class Keystore {
         }
     }
 
-    private static Keystore fromJson(JsonObject object, String passphrase) {
-        int version = expectInt(object, "version");
-
-        //noinspection SwitchStatementWithTooFewBranches
-        switch (version) {
-            case 1:
-                return parseKeystoreV1(expectObject(object, "crypto"), passphrase);
-            case 2:
-                return parseKeystoreV2(expectObject(object, "crypto"), passphrase);
-            default:
-                throw new BadKeyException("unsupported keystore version: " + version);
-        }
+    /**
+     * Decrypt many keystores protected by the same passphrase, deriving their keys in parallel on the given executor.
+     *
+     * @param keystores  the contents of the keystore files
+     * @param passphrase the passphrase of every keystore
+     * @param executor   the executor the keys are derived on
+     * @return future result of the private keys, in the same order
+     * @see #decryptAll(Collection, String, Executor, BiConsumer)
+     */
+    static CompletableFuture<List<PrivateKey>> decryptAll(
+        Collection<byte[]> keystores,
+        String passphrase,
+        Executor executor
+    ) {
+        return decryptAll(keystores, passphrase, executor, (completed, total) -> {
+        });
     }
 
-    private static Keystore parseKeystoreV1(JsonObject crypto, String passphrase) {
-        String ciphertext = expectString(crypto, "ciphertext");
-        String ivString = expectString(expectObject(crypto, "cipherparams"), "iv");
-        String cipher = expectString(crypto, "cipher");
-        String kdf = expectString(crypto, "kdf");
-        JsonObject kdfParams = expectObject(crypto, "kdfparams");
-        String macString = expectString(crypto, "mac");
-
-        if (!cipher.equals("aes-128-ctr")) {
-            throw new BadKeyException("unsupported keystore cipher: " + cipher);
+    /**
+     * Decrypt many keystores protected by the same passphrase, deriving their keys in parallel on the given executor.
+     * <p>
+     * Each distinct salt and KDF parameters are derived once, so keystores which share them cost a single
+     * derivation. The future fails with the first keystore which can't be decrypted, or with the exception thrown by
+     * {@code onProgress}. Cancelling it skips every derivation which has not started yet; one which has started runs
+     * to completion.
+     *
+     * @param keystores  the contents of the keystore files
+     * @param passphrase the passphrase of every keystore
+     * @param executor   the executor the keys are derived on
+     * @param onProgress called with the number of keystores decrypted so far and the total, after each one
+     * @return future result of the private keys, in the same order
+     */
+    static CompletableFuture<List<PrivateKey>> decryptAll(
+        Collection<byte[]> keystores,
+        String passphrase,
+        Executor executor,
+        BiConsumer<Integer, Integer> onProgress
+    ) {
+        var result = new CompletableFuture<List<PrivateKey>>();
+        var total = keystores.size();
+
+        if (total == 0) {
+            result.complete(List.of());
+            return result;
         }
 
-        if (!kdf.equals("pbkdf2")) {
-            throw new BadKeyException("unsuppported KDF: " + kdf);
+        var decrypted = new PrivateKey[total];
+        var completed = new AtomicInteger();
+        var derivations = new HashMap<Derivation, CompletableFuture<KeyParameter>>();
+
+        try {
+            @Var var index = 0;
+            for (var keystore : keystores) {
+                var sealed = parse(keystore);
+                var position = index++;
+
+                derivations.computeIfAbsent(sealed.derivation(), derivation -> CompletableFuture.supplyAsync(() -> {
+                    if (result.isDone()) {
+                        throw new CancellationException();
+                    }
+                    return derivation.derive(passphrase);
+                }, executor)).thenApply(key -> sealed.decrypt(key).getEd25519()).whenComplete((opened, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                        return;
+                    }
+
+                    decrypted[position] = opened;
+
+                    var done = completed.incrementAndGet();
+
+                    try {
+                        onProgress.accept(done, total);
+                    } catch (Throwable e) {
+                        // the exception would be lost in this stage and leave `result` incomplete forever
+                        result.completeExceptionally(e);
+                        return;
+                    }
+
+                    if (done == total) {
+                        result.complete(Arrays.asList(decrypted));
+                    }
+                });
+            }
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
         }
 
-        int dkLen = expectInt(kdfParams, "dkLen");
-        String saltStr = expectString(kdfParams, "salt");
-        int count = expectInt(kdfParams, "c");
-        String prf = expectString(kdfParams, "prf");
+        return result;
+    }
 
-        if (!prf.equals("hmac-sha256")) {
-            throw new BadKeyException("unsupported KDF hash function: " + prf);
+    private static Sealed parse(byte[] keystore) {
+        try {
+            JsonObject jsonObject = jsonParser.parse(new String(keystore, StandardCharsets.UTF_8)).getAsJsonObject();
+            return parseSealed(jsonObject);
+        } catch (IllegalStateException e) {
+            throw new BadKeyException(Optional.ofNullable(e.getMessage()).orElse("failed to parse Keystore"));
+        } catch (JsonSyntaxException e) {
+            throw new BadKeyException(e);
         }
+    }
 
-        byte[] cipherBytes = Hex.decode(ciphertext);
-        byte[] iv = Hex.decode(ivString);
-        byte[] mac = Hex.decode(macString);
-        byte[] salt = Hex.decode(saltStr);
-
-        KeyParameter cipherKey = Crypto.deriveKeySha256(passphrase, salt, count, dkLen);
+    private static Keystore fromJson(JsonObject object, String passphrase) {
+        var sealed = parseSealed(object);
+        return sealed.decrypt(sealed.derivation().derive(passphrase));
+    }
 
-        byte[] testHmac = Crypto.calcHmacSha384(cipherKey, null, cipherBytes);
+    private static Sealed parseSealed(JsonObject object) {
+        int version = expectInt(object, "version");
 
-        if (!MessageDigest.isEqual(mac, testHmac)) {
-            throw new BadKeyException("HMAC mismatch; passphrase is incorrect");
+        //noinspection SwitchStatementWithTooFewBranches
+        switch (version) {
+            case 1:
+            case 2:
+                return parseKeystore(expectObject(object, "crypto"), version);
+            default:
+                throw new BadKeyException("unsupported keystore version: " + version);
         }
-
-        return new Keystore(Crypto.decryptAesCtr128(cipherKey, iv, cipherBytes));
     }
 
-    private static Keystore parseKeystoreV2(JsonObject crypto, String passphrase) {
+    private static Sealed parseKeystore(JsonObject crypto, int version) {
         String ciphertext = expectString(crypto, "ciphertext");
         String ivString = expectString(expectObject(crypto, "cipherparams"), "iv");
         String cipher = expectString(crypto, "cipher");
@@ -158,15 +235,14 @@ final class Keystore {
         byte[] mac = Hex.decode(macString);
         byte[] salt = Hex.decode(saltStr);
 
-        KeyParameter cipherKey = Crypto.deriveKeySha256(passphrase, salt, count, dkLen);
-
-        byte[] testHmac = Crypto.calcHmacSha384(cipherKey, iv, cipherBytes);
-
-        if (!MessageDigest.isEqual(mac, testHmac)) {
-            throw new BadKeyException("HMAC mismatch; passphrase is incorrect");
-        }
-
-        return new Keystore(Crypto.decryptAesCtr128(cipherKey, iv, cipherBytes));
+        // version 1 keystores leave the IV out of the HMAC
+        return new Sealed(
+            new Derivation(Hex.toHexString(salt), count, dkLen),
+            version == 1 ? null : iv,
+            iv,
+            cipherBytes,
+            mac
+        );
     }
 
     @SuppressFBWarnings(
@@ -258,4 +334,55 @@ final class Keystore {
 
         return object;
     }
+
+    /**
+     * The inputs of a key derivation, which keystores encrypted under the same passphrase share when they are equal.
+     *
+     * @param salt       the salt, in hex
+     * @param iterations the PBKDF2 iteration count
+     * @param dkLen      the length of the derived key in bytes
+     */
+    private record Derivation(String salt, int iterations, int dkLen) {
+        KeyParameter derive(String passphrase) {
+            return Crypto.deriveKeySha256(passphrase, Hex.decode(salt), iterations, dkLen);
+        }
+    }
+
+    /**
+     * A parsed keystore, waiting for its derived key.
+     */
+    private static final class Sealed {
+        private final Derivation derivation;
+
+        @Nullable
+        private final byte[] macIv;
+
+        private final byte[] iv;
+
+        private final byte[] cipherBytes;
+
+        private final byte[] mac;
+
+        Sealed(Derivation derivation, @Nullable byte[] macIv, byte[] iv, byte[] cipherBytes, byte[] mac) {
+            this.derivation = derivation;
+            this.macIv = macIv;
+            this.iv = iv;
+            this.cipherBytes = cipherBytes;
+            this.mac = mac;
+        }
+
+        Derivation derivation() {
+            return derivation;
+        }
+
+        Keystore decrypt(KeyParameter cipherKey) {
+            byte[] testHmac = Crypto.calcHmacSha384(cipherKey, macIv, cipherBytes);
+
+            if (!MessageDigest.isEqual(mac, testHmac)) {
+                throw new BadKeyException("HMAC mismatch; passphrase is incorrect");
+            }
+
+            return new Keystore(Crypto.decryptAesCtr128(cipherKey, iv, cipherBytes));
+        }
+    }
 }
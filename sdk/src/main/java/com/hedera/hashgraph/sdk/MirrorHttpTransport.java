@@ -0,0 +1,104 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Sends the HTTP requests of a {@link MirrorTransactionResolver} to the REST API of a mirror node.
+ * <p>
+ * Replace the transport to route requests through an existing HTTP stack, or to answer them from a stub in tests.
+ */
+@FunctionalInterface
+public interface MirrorHttpTransport {
+    /**
+     * Send a GET request.
+     * <p>
+     * The future completes with the response for any status code; it only fails when no response was received.
+     *
+     * @param uri the URI to get
+     * @return future result of the response
+     */
+    CompletableFuture<Response> get(URI uri);
+
+    /**
+     * Create a transport which sends requests with the HTTP client of the JDK.
+     *
+     * @param executor       the executor the responses are handled on
+     * @param requestTimeout the timeout of each request
+     * @return the transport
+     */
+    static MirrorHttpTransport usingHttpClient(Executor executor, Duration requestTimeout) {
+        Objects.requireNonNull(requestTimeout);
+        return usingHttpClient(executor, () -> requestTimeout);
+    }
+
+    /**
+     * Create a transport which sends requests with the HTTP client of the JDK, reading the timeout again for every
+     * request.
+     *
+     * @param executor       the executor the responses are handled on
+     * @param requestTimeout supplies the timeout of each request, from connecting until the response is received
+     * @return the transport
+     */
+    static MirrorHttpTransport usingHttpClient(Executor executor, Supplier<Duration> requestTimeout) {
+        Objects.requireNonNull(requestTimeout);
+
+        var httpClient = HttpClient.newBuilder()
+            .executor(Objects.requireNonNull(executor))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+        return uri -> httpClient.sendAsync(
+                HttpRequest.newBuilder(uri)
+                    .timeout(requestTimeout.get())
+                    .header("Accept", "application/json")
+                    .GET()
+                    .build(),
+                HttpResponse.BodyHandlers.ofString())
+            .thenApply(response -> new Response(response.statusCode(), response.body()));
+    }
+
+    /**
+     * A response of the REST API.
+     *
+     * @param statusCode the HTTP status code
+     * @param body       the body of the response
+     */
+    record Response(int statusCode, String body) {
+        /**
+         * Constructor.
+         *
+         * @param statusCode the HTTP status code
+         * @param body       the body of the response
+         */
+        public Response {
+            Objects.requireNonNull(body);
+        }
+    }
+}
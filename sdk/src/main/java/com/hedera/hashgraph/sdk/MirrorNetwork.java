@@ -19,17 +19,35 @@
  */
 package com.hedera.hashgraph.sdk;
 
+import com.google.errorprone.annotations.Var;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
 
 /**
  * Utility class.
  */
 class MirrorNetwork extends BaseNetwork<MirrorNetwork, BaseNodeAddress, MirrorNode> {
+    /**
+     * The REST API of each public mirror node, by its gRPC address.
+     */
+    private static final Map<String, String> PUBLIC_REST_BASE_URLS = Map.of(
+        "mainnet-public.mirrornode.hedera.com:443", "https://mainnet-public.mirrornode.hedera.com/api/v1",
+        "testnet.mirrornode.hedera.com:443", "https://testnet.mirrornode.hedera.com/api/v1",
+        "previewnet.mirrornode.hedera.com:443", "https://previewnet.mirrornode.hedera.com/api/v1"
+    );
+
+    /**
+     * The base URL of the REST API of the mirror network, e.g. {@code https://testnet.mirrornode.hedera.com/api/v1}.
+     */
+    @Nullable
+    private volatile String restBaseUrl = null;
+
     private MirrorNetwork(ExecutorService executor, List<String> addresses) {
         super(executor);
         this.transportSecurity = true;
@@ -86,7 +104,8 @@ class MirrorNetwork extends BaseNetwork<MirrorNetwork, BaseNodeAddress, MirrorNo
      *
      * @return the network names
      */
-    synchronized List<String> getNetwork() {
+    List<String> getNetwork() {
+        var network = state.get().network();
         List<String> retval = new ArrayList<>(network.size());
         for (var address : network.keySet()) {
             retval.add(address.toString());
@@ -94,6 +113,30 @@ class MirrorNetwork extends BaseNetwork<MirrorNetwork, BaseNodeAddress, MirrorNo
         return retval;
     }
 
+    /**
+     * Extract the base URL of the REST API of the mirror network.
+     *
+     * @return the base URL, without a trailing slash, or {@code null} when none is configured
+     */
+    @Nullable
+    String getRestBaseUrl() {
+        return restBaseUrl;
+    }
+
+    /**
+     * Assign the base URL of the REST API of the mirror network.
+     *
+     * @param restBaseUrl the base URL, or {@code null} to clear it
+     * @return {@code this}
+     */
+    MirrorNetwork setRestBaseUrl(@Nullable String restBaseUrl) {
+        // strip the trailing slash so paths can be appended as they are
+        this.restBaseUrl = restBaseUrl != null && restBaseUrl.endsWith("/")
+            ? restBaseUrl.substring(0, restBaseUrl.length() - 1)
+            : restBaseUrl;
+        return this;
+    }
+
     /**
      * Assign the desired network.
      *
@@ -104,10 +147,45 @@ class MirrorNetwork extends BaseNetwork<MirrorNetwork, BaseNodeAddress, MirrorNo
      */
     synchronized MirrorNetwork setNetwork(List<String> network) throws TimeoutException, InterruptedException {
         var map = new HashMap<String, BaseNodeAddress>(network.size());
+        var addresses = new HashSet<String>(network.size());
         for (var address : network) {
-            map.put(address, BaseNodeAddress.fromString(address));
+            var nodeAddress = BaseNodeAddress.fromString(address);
+            map.put(address, nodeAddress);
+            addresses.add(nodeAddress.toString());
+        }
+
+        var replaced = !addresses.equals(new HashSet<>(getNetwork()));
+        super.setNetwork(map);
+
+        // the REST API belongs to the mirror nodes, so it can't be kept when they are replaced
+        if (replaced) {
+            setRestBaseUrl(getPublicRestBaseUrl(network));
         }
-        return super.setNetwork(map);
+
+        return this;
+    }
+
+    /**
+     * Extract the REST API of the given mirror nodes when they are all the same public mirror node.
+     *
+     * @param network the addresses of the mirror nodes
+     * @return the base URL of the REST API, or {@code null} if it is not known
+     */
+    @Nullable
+    private static String getPublicRestBaseUrl(List<String> network) {
+        @Var @Nullable String restBaseUrl = null;
+
+        for (var address : network) {
+            var url = PUBLIC_REST_BASE_URLS.get(address);
+
+            if (url == null || (restBaseUrl != null && !restBaseUrl.equals(url))) {
+                return null;
+            }
+
+            restBaseUrl = url;
+        }
+
+        return restBaseUrl;
     }
 
     @Override
@@ -121,7 +199,19 @@ class MirrorNetwork extends BaseNetwork<MirrorNetwork, BaseNodeAddress, MirrorNo
      * @return the next healthy mirror node on the list
      * @throws InterruptedException when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
      */
-    synchronized MirrorNode getNextMirrorNode() throws InterruptedException {
+    MirrorNode getNextMirrorNode() throws InterruptedException {
         return getNumberOfMostHealthyNodes(1).get(0);
     }
+
+    /**
+     * Extract every mirror node that is currently healthy, falling back to every mirror node when none are.
+     *
+     * @return the mirror nodes to spread streaming calls across
+     */
+    List<MirrorNode> getHealthyMirrorNodes() {
+        readmitNodes();
+
+        var current = state.get();
+        return current.healthy().isEmpty() ? current.nodes() : current.healthy();
+    }
 }
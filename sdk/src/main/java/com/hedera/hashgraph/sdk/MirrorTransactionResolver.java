@@ -0,0 +1,516 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.AccountAmount;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.TokenTransferList;
+import com.hedera.hashgraph.sdk.proto.TransferList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
+
+/**
+ * Resolves the receipts and records of transactions through the REST API of the mirror network instead of
+ * querying consensus nodes.
+ * <p>
+ * Records come from the mirror node for free rather than through a paid {@link TransactionRecordQuery}.
+ * {@link #getRecords(Collection)} fetches the transactions of each payer in one time range, so resolving N
+ * transactions from the same payer usually takes a single request. The base URL of the REST API is configured with
+ * {@link Client#setMirrorRestBaseUrl(String)}, and requests are sent through a {@link MirrorHttpTransport}.
+ * <p>
+ * The mirror node only knows a transaction once it has imported its record, a few seconds after consensus. Until
+ * then {@link #getRecord(TransactionId)} keeps retrying, and {@link #getRecords(Collection)} leaves the transaction
+ * out of its result. Receipts and records built from the REST API carry the status, created entity, fee, memo, hash,
+ * consensus timestamp and transfers of the transaction, but not its exchange rate, child records or contract results.
+ */
+public final class MirrorTransactionResolver {
+    static final int PAGE_LIMIT = 100;
+
+    // a transaction reaches consensus within its valid duration, which is at most 180 seconds
+    static final Duration MAX_CONSENSUS_DELAY = Duration.ofSeconds(180);
+
+    private static final Duration MIN_RETRY_DELAY = Duration.ofMillis(250);
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(2);
+
+    private final Client client;
+
+    @Nullable
+    private MirrorHttpTransport httpTransport = null;
+
+    /**
+     * Constructor.
+     *
+     * @param client the client whose mirror network is queried
+     */
+    MirrorTransactionResolver(Client client) {
+        this.client = Objects.requireNonNull(client);
+    }
+
+    /**
+     * Extract the transport the requests are sent through.
+     * <p>
+     * Unless another transport was set, requests are sent with the HTTP client of the JDK, using the current request
+     * timeout of the client.
+     *
+     * @return the transport
+     */
+    public synchronized MirrorHttpTransport getHttpTransport() {
+        if (httpTransport == null) {
+            httpTransport = MirrorHttpTransport.usingHttpClient(client.executor, client::getRequestTimeout);
+        }
+
+        return httpTransport;
+    }
+
+    /**
+     * Assign the transport the requests are sent through.
+     *
+     * @param httpTransport the transport
+     * @return {@code this}
+     */
+    public synchronized MirrorTransactionResolver setHttpTransport(MirrorHttpTransport httpTransport) {
+        this.httpTransport = Objects.requireNonNull(httpTransport);
+        return this;
+    }
+
+    /**
+     * Fetch the receipt of a transaction, waiting up to the request timeout of the client for the mirror node to
+     * import it.
+     * <p>
+     * The status of the receipt is not validated.
+     *
+     * @param transactionId the ID of the transaction
+     * @return future result of the receipt
+     */
+    public CompletableFuture<TransactionReceipt> getReceipt(TransactionId transactionId) {
+        return getReceipt(transactionId, client.getRequestTimeout());
+    }
+
+    /**
+     * Fetch the receipt of a transaction.
+     * <p>
+     * The status of the receipt is not validated.
+     *
+     * @param transactionId the ID of the transaction
+     * @param timeout       how long to wait for the mirror node to import the transaction
+     * @return future result of the receipt
+     */
+    public CompletableFuture<TransactionReceipt> getReceipt(TransactionId transactionId, Duration timeout) {
+        return getRecord(transactionId, timeout).thenApply(record -> record.receipt);
+    }
+
+    /**
+     * Fetch the record of a transaction, waiting up to the request timeout of the client for the mirror node to
+     * import it.
+     *
+     * @param transactionId the ID of the transaction
+     * @return future result of the record
+     */
+    public CompletableFuture<TransactionRecord> getRecord(TransactionId transactionId) {
+        return getRecord(transactionId, client.getRequestTimeout());
+    }
+
+    /**
+     * Fetch the record of a transaction.
+     *
+     * @param transactionId the ID of the transaction
+     * @param timeout       how long to wait for the mirror node to import the transaction
+     * @return future result of the record
+     */
+    public CompletableFuture<TransactionRecord> getRecord(TransactionId transactionId, Duration timeout) {
+        Objects.requireNonNull(transactionId);
+        Objects.requireNonNull(timeout);
+
+        URI uri;
+        try {
+            uri = uri("/transactions/" + toRestId(transactionId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return getRecord(transactionId, uri, System.nanoTime() + timeout.toNanos(), 0);
+    }
+
+    private CompletableFuture<TransactionRecord> getRecord(
+        TransactionId transactionId,
+        URI uri,
+        long deadlineNanos,
+        int attempt
+    ) {
+        return getHttpTransport().get(uri).thenCompose(response -> {
+            // the mirror node responds with 404 until it has imported the transaction
+            if (response.statusCode() != 404) {
+                var wanted = key(transactionId);
+
+                for (var transaction : transactions(parseBody(uri, response))) {
+                    if (wanted.equals(key(transaction))) {
+                        return CompletableFuture.completedFuture(toRecord(transaction, transactionId));
+                    }
+                }
+            }
+
+            var remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return CompletableFuture.failedFuture(
+                    new TimeoutException("the mirror node has not imported transaction " + transactionId));
+            }
+
+            var delay = attempt >= 10 ? MAX_RETRY_DELAY : MIN_RETRY_DELAY.multipliedBy(1L << attempt);
+            var delayMillis = Math.min(Math.min(delay, MAX_RETRY_DELAY).toMillis(), remainingNanos / 1_000_000);
+
+            return Delayer.delayFor(delayMillis, client.timer)
+                .thenCompose(ignored -> getRecord(transactionId, uri, deadlineNanos, attempt + 1));
+        });
+    }
+
+    /**
+     * Fetch the receipts of many transactions.
+     * <p>
+     * The statuses of the receipts are not validated.
+     *
+     * @param transactionIds the IDs of the transactions
+     * @return future result of the receipts by transaction ID, without the transactions the mirror node has not
+     * imported yet
+     */
+    public CompletableFuture<Map<TransactionId, TransactionReceipt>> getReceipts(
+        Collection<TransactionId> transactionIds
+    ) {
+        return getRecords(transactionIds).thenApply(records -> {
+            var receipts = new LinkedHashMap<TransactionId, TransactionReceipt>(records.size());
+            for (var entry : records.entrySet()) {
+                receipts.put(entry.getKey(), entry.getValue().receipt);
+            }
+            return receipts;
+        });
+    }
+
+    /**
+     * Fetch the records of many transactions.
+     * <p>
+     * The transactions are grouped by payer, and the transactions of each payer are listed in one time range
+     * covering all of their valid starts, following further pages only while transactions are still missing.
+     *
+     * @param transactionIds the IDs of the transactions
+     * @return future result of the records by transaction ID, in the order of the IDs, without the transactions the
+     * mirror node has not imported yet
+     */
+    public CompletableFuture<Map<TransactionId, TransactionRecord>> getRecords(
+        Collection<TransactionId> transactionIds
+    ) {
+        Objects.requireNonNull(transactionIds);
+
+        var byPayer = new LinkedHashMap<AccountId, List<TransactionId>>();
+        for (var transactionId : transactionIds) {
+            byPayer.computeIfAbsent(requireAccountId(transactionId), payer -> new ArrayList<>()).add(transactionId);
+        }
+
+        var futures = new ArrayList<CompletableFuture<Map<TransactionId, TransactionRecord>>>(byPayer.size());
+        try {
+            for (var entry : byPayer.entrySet()) {
+                futures.add(getRecordsOfPayer(entry.getKey(), entry.getValue()));
+            }
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            var found = new HashMap<TransactionId, TransactionRecord>();
+            for (var future : futures) {
+                found.putAll(future.join());
+            }
+
+            var records = new LinkedHashMap<TransactionId, TransactionRecord>(found.size());
+            for (var transactionId : transactionIds) {
+                var record = found.get(transactionId);
+                if (record != null) {
+                    records.put(transactionId, record);
+                }
+            }
+            return records;
+        });
+    }
+
+    private CompletableFuture<Map<TransactionId, TransactionRecord>> getRecordsOfPayer(
+        AccountId payer,
+        List<TransactionId> transactionIds
+    ) {
+        var wanted = new HashMap<String, TransactionId>(transactionIds.size());
+        @Var Instant from = Instant.MAX;
+        @Var Instant to = Instant.MIN;
+
+        for (var transactionId : transactionIds) {
+            wanted.put(key(transactionId), transactionId);
+
+            var validStart = requireValidStart(transactionId);
+            from = validStart.isBefore(from) ? validStart : from;
+            to = validStart.isAfter(to) ? validStart : to;
+        }
+
+        var uri = uri("/transactions"
+            + "?account.id=" + toRestId(payer)
+            + "&timestamp=gte:" + toRestTimestamp(from)
+            + "&timestamp=lte:" + toRestTimestamp(to.plus(MAX_CONSENSUS_DELAY))
+            + "&order=asc"
+            + "&limit=" + PAGE_LIMIT);
+
+        return getPages(uri, wanted, new HashMap<>());
+    }
+
+    private CompletableFuture<Map<TransactionId, TransactionRecord>> getPages(
+        URI uri,
+        Map<String, TransactionId> wanted,
+        Map<TransactionId, TransactionRecord> found
+    ) {
+        return getHttpTransport().get(uri).thenCompose(response -> {
+            if (response.statusCode() == 404) {
+                return CompletableFuture.completedFuture(found);
+            }
+
+            var body = parseBody(uri, response);
+            for (var transaction : transactions(body)) {
+                var transactionId = wanted.get(key(transaction));
+                if (transactionId != null) {
+                    found.put(transactionId, toRecord(transaction, transactionId));
+                }
+            }
+
+            var next = optString(body.getAsJsonObject("links"), "next");
+            if (next == null || found.size() == wanted.size()) {
+                return CompletableFuture.completedFuture(found);
+            }
+
+            // the link to the next page is relative to the host of the mirror node
+            return getPages(uri.resolve(next), wanted, found);
+        });
+    }
+
+    private URI uri(String path) {
+        var baseUrl = client.mirrorNetwork.getRestBaseUrl();
+        if (baseUrl == null) {
+            throw new IllegalStateException(
+                "the mirror network has no REST API configured, use Client.setMirrorRestBaseUrl");
+        }
+
+        return URI.create(baseUrl + path);
+    }
+
+    private static JsonObject parseBody(URI uri, MirrorHttpTransport.Response response) {
+        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            throw new UncheckedIOException(new IOException(
+                "mirror node responded with status " + response.statusCode() + " to " + uri));
+        }
+
+        return JsonParser.parseString(response.body()).getAsJsonObject();
+    }
+
+    private static List<JsonObject> transactions(JsonObject body) {
+        var transactions = body.getAsJsonArray("transactions");
+        var list = new ArrayList<JsonObject>();
+        if (transactions != null) {
+            for (var transaction : transactions) {
+                list.add(transaction.getAsJsonObject());
+            }
+        }
+        return list;
+    }
+
+    private static AccountId requireAccountId(TransactionId transactionId) {
+        return Objects.requireNonNull(transactionId.accountId, "transaction ID has no account ID");
+    }
+
+    private static Instant requireValidStart(TransactionId transactionId) {
+        return Objects.requireNonNull(transactionId.validStart, "transaction ID has no valid start");
+    }
+
+    private static String toRestId(AccountId accountId) {
+        return accountId.shard + "." + accountId.realm + "." + accountId.num;
+    }
+
+    /**
+     * Format a transaction ID as the REST API does, e.g. {@code 0.0.1800-1690000000-000000123}.
+     */
+    static String toRestId(TransactionId transactionId) {
+        var validStart = requireValidStart(transactionId);
+        return toRestId(requireAccountId(transactionId))
+            + "-" + validStart.getEpochSecond()
+            + "-" + String.format("%09d", validStart.getNano());
+    }
+
+    private static String toRestTimestamp(Instant instant) {
+        return instant.getEpochSecond() + "." + String.format("%09d", instant.getNano());
+    }
+
+    private static Timestamp parseRestTimestamp(String timestamp) {
+        var dot = timestamp.indexOf('.');
+        if (dot < 0) {
+            return Timestamp.newBuilder().setSeconds(Long.parseLong(timestamp)).build();
+        }
+
+        var nanos = (timestamp.substring(dot + 1) + "000000000").substring(0, 9);
+        return Timestamp.newBuilder()
+            .setSeconds(Long.parseLong(timestamp.substring(0, dot)))
+            .setNanos(Integer.parseInt(nanos))
+            .build();
+    }
+
+    // a transaction ID identifies the user transaction, its scheduled transaction and its children together
+    private static String key(TransactionId transactionId) {
+        var nonce = transactionId.getNonce();
+        return toRestId(transactionId) + "/" + transactionId.getScheduled() + "/" + (nonce != null ? nonce : 0);
+    }
+
+    private static String key(JsonObject transaction) {
+        var scheduled = transaction.has("scheduled") && transaction.get("scheduled").getAsBoolean();
+        var nonce = transaction.has("nonce") ? transaction.get("nonce").getAsInt() : 0;
+        return optString(transaction, "transaction_id") + "/" + scheduled + "/" + nonce;
+    }
+
+    @Nullable
+    private static String optString(@Nullable JsonObject object, String name) {
+        if (object == null) {
+            return null;
+        }
+
+        JsonElement element = object.get(name);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    private static ResponseCodeEnum toResponseCode(@Nullable String result) {
+        if (result == null) {
+            return ResponseCodeEnum.UNKNOWN;
+        }
+
+        try {
+            return ResponseCodeEnum.valueOf(result);
+        } catch (IllegalArgumentException e) {
+            // a status added to the network after this version of the SDK
+            return ResponseCodeEnum.UNKNOWN;
+        }
+    }
+
+    private static TransactionRecord toRecord(JsonObject transaction, TransactionId transactionId) {
+        var receipt = com.hedera.hashgraph.sdk.proto.TransactionReceipt.newBuilder()
+            .setStatus(toResponseCode(optString(transaction, "result")));
+
+        var entityId = optString(transaction, "entity_id");
+        var name = optString(transaction, "name");
+        if (entityId != null && name != null) {
+            switch (name) {
+                case "CRYPTOCREATEACCOUNT" -> receipt.setAccountID(AccountId.fromString(entityId).toProtobuf());
+                case "FILECREATE" -> receipt.setFileID(FileId.fromString(entityId).toProtobuf());
+                case "CONTRACTCREATEINSTANCE" -> receipt.setContractID(ContractId.fromString(entityId).toProtobuf());
+                case "CONSENSUSCREATETOPIC" -> receipt.setTopicID(TopicId.fromString(entityId).toProtobuf());
+                case "TOKENCREATION" -> receipt.setTokenID(TokenId.fromString(entityId).toProtobuf());
+                case "SCHEDULECREATE" -> receipt.setScheduleID(ScheduleId.fromString(entityId).toProtobuf());
+                default -> {
+                    // the entity of other transactions isn't part of their receipt
+                }
+            }
+        }
+
+        var record = com.hedera.hashgraph.sdk.proto.TransactionRecord.newBuilder()
+            .setReceipt(receipt)
+            .setTransactionID(transactionId.toProtobuf());
+
+        var consensusTimestamp = optString(transaction, "consensus_timestamp");
+        if (consensusTimestamp != null) {
+            record.setConsensusTimestamp(parseRestTimestamp(consensusTimestamp));
+        }
+
+        var parentConsensusTimestamp = optString(transaction, "parent_consensus_timestamp");
+        if (parentConsensusTimestamp != null) {
+            record.setParentConsensusTimestamp(parseRestTimestamp(parentConsensusTimestamp));
+        }
+
+        var transactionHash = optString(transaction, "transaction_hash");
+        if (transactionHash != null) {
+            record.setTransactionHash(ByteString.copyFrom(Base64.getDecoder().decode(transactionHash)));
+        }
+
+        var memo = optString(transaction, "memo_base64");
+        if (memo != null) {
+            record.setMemo(new String(Base64.getDecoder().decode(memo), StandardCharsets.UTF_8));
+        }
+
+        var fee = optString(transaction, "charged_tx_fee");
+        if (fee != null) {
+            record.setTransactionFee(Long.parseLong(fee));
+        }
+
+        var transfers = transaction.getAsJsonArray("transfers");
+        if (transfers != null) {
+            var transferList = TransferList.newBuilder();
+            for (var transfer : transfers) {
+                transferList.addAccountAmounts(toAccountAmount(transfer.getAsJsonObject()));
+            }
+            record.setTransferList(transferList);
+        }
+
+        var tokenTransfers = transaction.getAsJsonArray("token_transfers");
+        if (tokenTransfers != null) {
+            var tokenTransferLists = new LinkedHashMap<String, TokenTransferList.Builder>();
+            for (var element : tokenTransfers) {
+                var tokenTransfer = element.getAsJsonObject();
+                var tokenId = Objects.requireNonNull(optString(tokenTransfer, "token_id"));
+                tokenTransferLists
+                    .computeIfAbsent(tokenId, id -> TokenTransferList.newBuilder()
+                        .setToken(TokenId.fromString(id).toProtobuf()))
+                    .addTransfers(toAccountAmount(tokenTransfer));
+            }
+            for (var tokenTransferList : tokenTransferLists.values()) {
+                record.addTokenTransferLists(tokenTransferList);
+            }
+        }
+
+        return TransactionRecord.fromProtobuf(record.build(), new ArrayList<>(), new ArrayList<>(), transactionId);
+    }
+
+    private static AccountAmount toAccountAmount(JsonObject transfer) {
+        var isApproval = transfer.has("is_approval") && !transfer.get("is_approval").isJsonNull()
+            && transfer.get("is_approval").getAsBoolean();
+        return AccountAmount.newBuilder()
+            .setAccountID(AccountId.fromString(Objects.requireNonNull(optString(transfer, "account"))).toProtobuf())
+            .setAmount(transfer.get("amount").getAsLong())
+            .setIsApproval(isApproval)
+            .build();
+    }
+}
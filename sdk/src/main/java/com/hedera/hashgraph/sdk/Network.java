@@ -21,7 +21,6 @@ package com.hedera.hashgraph.sdk;
 
 import com.google.common.io.ByteStreams;
 import com.google.common.io.Resources;
-import com.google.errorprone.annotations.Var;
 import com.google.protobuf.ByteString;
 
 import javax.annotation.Nullable;
@@ -136,7 +135,7 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
     synchronized Network setVerifyCertificates(boolean verifyCertificates) {
         this.verifyCertificates = verifyCertificates;
 
-        for (var node : nodes) {
+        for (var node : state.get().nodes()) {
             node.setVerifyCertificates(verifyCertificates);
         }
 
@@ -152,7 +151,7 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
         super.setLedgerId(ledgerId);
 
         this.addressBook = addressBook;
-        for (var node : nodes) {
+        for (var node : state.get().nodes()) {
             node.setAddressBookEntry(addressBook == null ? null : addressBook.get(node.getAccountId()));
         }
 
@@ -209,9 +208,9 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      *
      * @return                          list of network records
      */
-    synchronized Map<String, AccountId> getNetwork() {
+    Map<String, AccountId> getNetwork() {
         Map<String, AccountId> returnMap = new HashMap<>();
-        for (var node : nodes) {
+        for (var node : state.get().nodes()) {
             returnMap.put(node.address.toString(), node.getAccountId());
         }
         return returnMap;
@@ -229,7 +228,7 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      *
      * @return {@link java.util.List<com.hedera.hashgraph.sdk.AccountId>}
      */
-    synchronized List<AccountId> getNodeAccountIdsForExecute() throws InterruptedException {
+    List<AccountId> getNodeAccountIdsForExecute() throws InterruptedException {
         var nodes = getNumberOfMostHealthyNodes(getNumberOfNodesForRequest());
         var nodeAccountIds = new ArrayList<AccountId>(nodes.size());
 
@@ -258,19 +257,9 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      */
     int getNumberOfNodesForRequest() {
         if (maxNodesPerRequest != null) {
-            return Math.min(maxNodesPerRequest, network.size());
-        } else {
-            return (network.size() + 3 - 1) / 3;
-        }
-    }
-
-    private List<Node> getNodesForKey(AccountId key) {
-        if (network.containsKey(key)) {
-            return network.get(key);
+            return Math.min(maxNodesPerRequest, state.get().network().size());
         } else {
-            var newList = new ArrayList<Node>();
-            network.put(key, newList);
-            return newList;
+            return (state.get().network().size() + 3 - 1) / 3;
         }
     }
 
@@ -282,21 +271,19 @@ class Network extends BaseNetwork<Network, AccountId, Node> {
      * @throws InterruptedException     when a thread is interrupted while it's waiting, sleeping, or otherwise occupied
      */
     synchronized Network setTransportSecurity(boolean transportSecurity) throws InterruptedException {
-        if (this.transportSecurity != transportSecurity) {
-            network.clear();
+        var nodes = state.get().nodes();
+        var newNodes = new ArrayList<Node>(nodes.size());
 
-            for (int i = 0; i < nodes.size(); i++) {
-                @Var var node = nodes.get(i);
+        for (var node : nodes) {
+            if (this.transportSecurity != transportSecurity) {
                 node.close(closeTimeout);
-
-                node = transportSecurity ? node.toSecure() : node.toInsecure();
-
-                nodes.set(i, node);
-                getNodesForKey(node.getKey()).add(node);
+                newNodes.add(transportSecurity ? node.toSecure() : node.toInsecure());
+            } else {
+                newNodes.add(node);
             }
         }
 
-        healthyNodes = new ArrayList<>(nodes);
+        setNodes(newNodes);
 
         this.transportSecurity = transportSecurity;
 
@@ -0,0 +1,36 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+/**
+ * Enum for the strategies used to pick a node for a request.
+ */
+public enum NodeSelectionStrategy {
+    /**
+     * Walk the node list of the request in order, using the first node that is healthy.
+     */
+    ROUND_ROBIN,
+    /**
+     * Sample two healthy nodes of the request at random and use the one with the lower observed latency
+     * (power of two choices over an exponentially weighted moving average). Retries of the same request continue
+     * round-robin from the chosen node.
+     */
+    LATENCY_AWARE
+}
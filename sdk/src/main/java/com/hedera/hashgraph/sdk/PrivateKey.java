@@ -20,7 +20,6 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.errorprone.annotations.Var;
-import com.hedera.hashgraph.sdk.proto.SignedTransaction;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
 import org.bouncycastle.crypto.params.KeyParameter;
@@ -32,7 +31,13 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 
 /**
  * A private key on the Hedera™ network.
@@ -318,6 +323,46 @@ public abstract class PrivateKey extends Key {
         return readPem(new StringReader(encodedPem), password);
     }
 
+    /**
+     * Decrypt many keystore files protected by the same passphrase, deriving their keys in parallel.
+     *
+     * @param keystores  the contents of the keystore files
+     * @param passphrase the passphrase of every keystore
+     * @param executor   the executor the keys are derived on
+     * @return future result of the private keys, in the same order as the keystores
+     * @see #fromKeystoresAsync(Collection, String, Executor, BiConsumer)
+     */
+    public static CompletableFuture<List<PrivateKey>> fromKeystoresAsync(
+        Collection<byte[]> keystores,
+        String passphrase,
+        Executor executor
+    ) {
+        return Keystore.decryptAll(keystores, passphrase, executor);
+    }
+
+    /**
+     * Decrypt many keystore files protected by the same passphrase, deriving their keys in parallel.
+     * <p>
+     * Keystores which share a salt and KDF parameters cost a single derivation. The future fails with
+     * {@link BadKeyException} for the first keystore which is malformed or can't be decrypted, and with the exception
+     * thrown by {@code onProgress} if it throws. Cancelling the future skips every derivation which has not started
+     * yet.
+     *
+     * @param keystores  the contents of the keystore files
+     * @param passphrase the passphrase of every keystore
+     * @param executor   the executor the keys are derived on
+     * @param onProgress called with the number of keystores decrypted so far and the total, after each one
+     * @return future result of the private keys, in the same order as the keystores
+     */
+    public static CompletableFuture<List<PrivateKey>> fromKeystoresAsync(
+        Collection<byte[]> keystores,
+        String passphrase,
+        Executor executor,
+        BiConsumer<Integer, Integer> onProgress
+    ) {
+        return Keystore.decryptAll(keystores, passphrase, executor, onProgress);
+    }
+
     /**
      * Derive a child key based on the index.
      *
@@ -375,6 +420,22 @@ public abstract class PrivateKey extends Key {
      */
     public abstract byte[] sign(byte[] message);
 
+    /**
+     * Sign many messages with this private key.
+     * <p>
+     * ECDSA keys set up their signer once for the whole batch.
+     *
+     * @param messages the messages to sign
+     * @return the signatures of the messages, in the same order
+     */
+    public List<byte[]> sign(List<byte[]> messages) {
+        var signatures = new ArrayList<byte[]>(messages.size());
+        for (var message : messages) {
+            signatures.add(sign(message));
+        }
+        return signatures;
+    }
+
     /**
      * Sign a transaction.
      *
@@ -388,7 +449,7 @@ public abstract class PrivateKey extends Key {
             transaction.freeze();
         }
 
-        var builder = (SignedTransaction.Builder) transaction.innerSignedTransactions.get(0);
+        var builder = transaction.getInnerSignedTransaction(0);
         var signature = sign(builder.getBodyBytes().toByteArray());
 
         transaction.addSignature(getPublicKey(), signature);
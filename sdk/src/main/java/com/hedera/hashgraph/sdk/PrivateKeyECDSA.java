@@ -19,11 +19,13 @@
  */
 package com.hedera.hashgraph.sdk;
 
+import com.google.errorprone.annotations.Var;
 import com.hedera.hashgraph.sdk.utils.Bip32Utils;
 import org.bouncycastle.asn1.ASN1OctetString;
 import org.bouncycastle.asn1.DEROctetString;
 import org.bouncycastle.asn1.pkcs.PrivateKeyInfo;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.crypto.digests.KeccakDigest;
 import org.bouncycastle.crypto.digests.SHA256Digest;
 import org.bouncycastle.crypto.digests.SHA512Digest;
 import org.bouncycastle.crypto.generators.ECKeyPairGenerator;
@@ -34,13 +36,17 @@ import org.bouncycastle.crypto.params.ECPublicKeyParameters;
 import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.crypto.signers.ECDSASigner;
 import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
-import org.bouncycastle.util.Arrays;
+import org.bouncycastle.math.ec.FixedPointCombMultiplier;
+import org.bouncycastle.math.ec.FixedPointUtil;
+import org.bouncycastle.util.BigIntegers;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Encapsulate the ECDSA private key.
@@ -52,6 +58,9 @@ public class PrivateKeyECDSA extends PrivateKey {
     @Nullable
     private final KeyParameter chainCode;
 
+    @Nullable
+    private volatile ECPrivateKeyParameters privateKeyParameters = null;
+
     /**
      * Constructor.
      *
@@ -199,7 +208,7 @@ public class PrivateKeyECDSA extends PrivateKey {
             return publicKey;
         }
 
-        var q = ECDSA_SECP256K1_DOMAIN.getG().multiply(keyData);
+        var q = new FixedPointCombMultiplier().multiply(ECDSA_SECP256K1_DOMAIN.getG(), keyData);
         var publicParams = new ECPublicKeyParameters(q, ECDSA_SECP256K1_DOMAIN);
         publicKey = new PublicKeyECDSA(publicParams.getQ().getEncoded(true));
         return publicKey;
@@ -211,16 +220,28 @@ public class PrivateKeyECDSA extends PrivateKey {
 
     @Override
     public byte[] sign(byte[] message) {
-        var hash = Crypto.calcKeccak256(message);
-
-        var signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
-        signer.init(true, new ECPrivateKeyParameters(keyData, ECDSA_SECP256K1_DOMAIN));
-        BigInteger[] bigSig = signer.generateSignature(hash);
+        return newSigningContext().sign(message);
+    }
 
-        byte[] sigBytes = Arrays.copyOf(bigIntTo32Bytes(bigSig[0]), 64);
-        System.arraycopy(bigIntTo32Bytes(bigSig[1]), 0, sigBytes, 32, 32);
+    @Override
+    public List<byte[]> sign(List<byte[]> messages) {
+        return newSigningContext().sign(messages);
+    }
 
-        return sigBytes;
+    /**
+     * Create a context which signs many messages with this key without setting up a new signer for each.
+     * <p>
+     * The context is not thread safe; create one per thread.
+     *
+     * @return the new signing context
+     */
+    public SigningContext newSigningContext() {
+        @Var var parameters = privateKeyParameters;
+        if (parameters == null) {
+            parameters = new ECPrivateKeyParameters(keyData, ECDSA_SECP256K1_DOMAIN);
+            privateKeyParameters = parameters;
+        }
+        return new SigningContext(parameters);
     }
 
     @Override
@@ -271,4 +292,59 @@ public class PrivateKeyECDSA extends PrivateKey {
     public boolean isECDSA() {
         return true;
     }
+
+    /**
+     * A signer bound to one ECDSA key, reused across messages by a single thread.
+     * <p>
+     * The deterministic nonce generator, the Keccak-256 digest and the signer are set up once, and the fixed-base
+     * multiplication tables for the secp256k1 generator are computed once per process and shared by every context.
+     */
+    public static final class SigningContext {
+        static {
+            FixedPointUtil.precompute(ECDSA_SECP256K1_DOMAIN.getG());
+        }
+
+        private final ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+
+        private final KeccakDigest digest = new KeccakDigest(256);
+
+        private final byte[] hash = new byte[32];
+
+        private SigningContext(ECPrivateKeyParameters parameters) {
+            signer.init(true, parameters);
+        }
+
+        /**
+         * Sign a message.
+         *
+         * @param message the message to sign
+         * @return the 64 byte signature of the message
+         */
+        public byte[] sign(byte[] message) {
+            digest.update(message, 0, message.length);
+            digest.doFinal(hash, 0);
+
+            BigInteger[] bigSig = signer.generateSignature(hash);
+
+            var sigBytes = new byte[64];
+            BigIntegers.asUnsignedByteArray(bigSig[0], sigBytes, 0, 32);
+            BigIntegers.asUnsignedByteArray(bigSig[1], sigBytes, 32, 32);
+
+            return sigBytes;
+        }
+
+        /**
+         * Sign many messages.
+         *
+         * @param messages the messages to sign
+         * @return the signatures of the messages, in the same order
+         */
+        public List<byte[]> sign(List<byte[]> messages) {
+            var signatures = new ArrayList<byte[]>(messages.size());
+            for (var message : messages) {
+                signatures.add(sign(message));
+            }
+            return signatures;
+        }
+    }
 }
@@ -19,7 +19,6 @@
  */
 package com.hedera.hashgraph.sdk;
 
-import com.google.errorprone.annotations.Var;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.proto.SignaturePair;
@@ -30,6 +29,8 @@ import org.bouncycastle.util.encoders.Hex;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * A public key on the Hedera™ network.
@@ -171,6 +172,17 @@ public abstract class PublicKey extends Key {
      */
     abstract ByteString extractSignatureFromProtobuf(SignaturePair pair);
 
+    /**
+     * Verify a signature as part of a batch, without copying the message or allocating for the signature.
+     *
+     * @param message   the signed message, shared by every signature over it
+     * @param signature the signature
+     * @param buffer    a scratch buffer of {@link TransactionSignatureVerifier#SIGNATURE_SIZE} bytes owned by the
+     *                  calling thread
+     * @return whether the signature is valid
+     */
+    abstract boolean verifySignature(TransactionSignatureVerifier.Message message, ByteString signature, byte[] buffer);
+
     /**
      * Is the given transaction valid?
      *
@@ -178,35 +190,7 @@ public abstract class PublicKey extends Key {
      * @return                          is it valid
      */
     public boolean verifyTransaction(Transaction<?> transaction) {
-        if (!transaction.isFrozen()) {
-            transaction.freeze();
-        }
-
-        for (var publicKey : transaction.publicKeys) {
-            if (publicKey.equals(this)) {
-                return true;
-            }
-        }
-
-        for (var signedTransaction : transaction.innerSignedTransactions) {
-            @Var var found = false;
-
-            for (var sigPair : signedTransaction.getSigMap().getSigPairList()) {
-                if (sigPair.getPubKeyPrefix().equals(ByteString.copyFrom(toBytesRaw()))) {
-                    found = true;
-
-                    if (!verify(signedTransaction.getBodyBytes().toByteArray(), extractSignatureFromProtobuf(sigPair).toByteArray())) {
-                        return false;
-                    }
-                }
-            }
-
-            if (!found) {
-                return false;
-            }
-        }
-
-        return true;
+        return Objects.requireNonNull(new TransactionSignatureVerifier().verify(transaction, List.of(this)).get(this));
     }
 
     /**
@@ -19,6 +19,7 @@
  */
 package com.hedera.hashgraph.sdk;
 
+import com.google.errorprone.annotations.Var;
 import com.google.protobuf.ByteString;
 import com.hedera.hashgraph.sdk.proto.SignaturePair;
 import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
@@ -26,6 +27,7 @@ import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
 import org.bouncycastle.crypto.params.ECPublicKeyParameters;
 import org.bouncycastle.crypto.signers.ECDSASigner;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -39,6 +41,9 @@ public class PublicKeyECDSA extends PublicKey {
     // Compressed 33 byte form
     private byte[] keyData;
 
+    @Nullable
+    private volatile ECPublicKeyParameters publicKeyParameters = null;
+
     /**
      * Constructor.
      *
@@ -88,18 +93,43 @@ public class PublicKeyECDSA extends PublicKey {
     public boolean verify(byte[] message, byte[] signature) {
         var hash = calcKeccak256(message);
 
-        ECDSASigner signer = new ECDSASigner();
-        signer.init(false, new ECPublicKeyParameters(
-            Key.ECDSA_SECP256K1_CURVE.getCurve().decodePoint(keyData),
-            Key.ECDSA_SECP256K1_DOMAIN
-        ));
-
         BigInteger r = new BigInteger(1, Arrays.copyOf(signature, 32));
         BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, 32, 64));
 
+        return verifyHash(hash, r, s);
+    }
+
+    @Override
+    boolean verifySignature(TransactionSignatureVerifier.Message message, ByteString signature, byte[] buffer) {
+        if (signature.size() != 64) {
+            return false;
+        }
+
+        signature.copyTo(buffer, 0);
+
+        return verifyHash(message.keccak256(), new BigInteger(1, buffer, 0, 32), new BigInteger(1, buffer, 32, 32));
+    }
+
+    private boolean verifyHash(byte[] hash, BigInteger r, BigInteger s) {
+        ECDSASigner signer = new ECDSASigner();
+        signer.init(false, getPublicKeyParameters());
+
         return signer.verifySignature(hash, r, s);
     }
 
+    private ECPublicKeyParameters getPublicKeyParameters() {
+        // decoding the point is the expensive part of setting up a verification, so it is done once per key
+        @Var var parameters = publicKeyParameters;
+        if (parameters == null) {
+            parameters = new ECPublicKeyParameters(
+                Key.ECDSA_SECP256K1_CURVE.getCurve().decodePoint(keyData),
+                Key.ECDSA_SECP256K1_DOMAIN
+            );
+            publicKeyParameters = parameters;
+        }
+        return parameters;
+    }
+
     @Override
     com.hedera.hashgraph.sdk.proto.Key toProtobufKey() {
         return com.hedera.hashgraph.sdk.proto.Key.newBuilder()
@@ -80,6 +80,17 @@ class PublicKeyED25519 extends PublicKey {
         return Ed25519.verify(signature, 0, keyData, 0, message, 0, message.length);
     }
 
+    @Override
+    boolean verifySignature(TransactionSignatureVerifier.Message message, ByteString signature, byte[] buffer) {
+        if (signature.size() != Ed25519.SIGNATURE_SIZE) {
+            return false;
+        }
+
+        signature.copyTo(buffer, 0);
+        var bytes = message.bytes();
+        return Ed25519.verify(buffer, 0, keyData, 0, bytes, 0, bytes.length);
+    }
+
     @Override
     com.hedera.hashgraph.sdk.proto.Key toProtobufKey() {
         return com.hedera.hashgraph.sdk.proto.Key.newBuilder()
@@ -20,6 +20,7 @@
 package com.hedera.hashgraph.sdk;
 
 import com.google.common.base.MoreObjects;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.proto.QueryHeader;
 import com.hedera.hashgraph.sdk.proto.Response;
@@ -75,6 +76,16 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
     @Nullable
     private Hbar chosenQueryPayment = null;
 
+    // set when the chosen payment came from the query cost cache of the client
+    @Nullable
+    private QueryCostCache paymentCostCache = null;
+
+    @Nullable
+    private ByteString paymentCostCacheKey = null;
+
+    @Nullable
+    private QueryPaymentPool paymentPool = null;
+
     /**
      * Constructor.
      */
@@ -92,21 +103,43 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
      * @param paymentAmount             the amount
      * @return                          the new payment transaction
      */
-    private static Transaction makePaymentTransaction(
+    static Transaction makePaymentTransaction(
         TransactionId paymentTransactionId,
         AccountId nodeId,
         Client.Operator operator,
         Hbar paymentAmount
     ) {
-        return new TransferTransaction()
+        return newPaymentTransaction(paymentTransactionId, nodeId, operator, paymentAmount).makeRequest();
+    }
+
+    /**
+     * Create a payment transaction, signed with the operator's asynchronous signer if it has one.
+     *
+     * @param paymentTransactionId      the transaction id
+     * @param nodeId                    the node id
+     * @param operator                  the operator
+     * @param paymentAmount             the amount
+     * @return                          the new payment transaction, whose signature may still have to be collected
+     */
+    static TransferTransaction newPaymentTransaction(
+        TransactionId paymentTransactionId,
+        AccountId nodeId,
+        Client.Operator operator,
+        Hbar paymentAmount
+    ) {
+        var transaction = new TransferTransaction()
             .setTransactionId(paymentTransactionId)
             .setNodeAccountIds(Collections.singletonList(nodeId))
             .setMaxTransactionFee(new Hbar(1)) // 1 Hbar
             .addHbarTransfer(operator.accountId, paymentAmount.negated())
             .addHbarTransfer(nodeId, paymentAmount)
-            .freeze()
-            .signWith(operator.publicKey, operator.transactionSigner)
-            .makeRequest();
+            .freeze();
+
+        if (operator.asyncSigner != null) {
+            return transaction.signWithAsync(operator.publicKey, operator.asyncSigner);
+        }
+
+        return transaction.signWith(operator.publicKey, operator.transactionSigner);
     }
 
     /**
@@ -173,7 +206,18 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
      */
     public Hbar getCost(Client client, Duration timeout) throws TimeoutException, PrecheckStatusException {
         initWithNodeIds(client);
-        return getCostExecutable().setNodeAccountIds(Objects.requireNonNull(getNodeAccountIds())).execute(client, timeout);
+
+        var costQuery = getCostExecutable().setNodeAccountIds(Objects.requireNonNull(getNodeAccountIds()));
+        var startAt = System.nanoTime();
+
+        try {
+            var cost = costQuery.execute(client, timeout);
+            client.getMetrics().recordQueryCost(costQuery.getRequestType(), cost, System.nanoTime() - startAt);
+            return cost;
+        } catch (TimeoutException | PrecheckStatusException | RuntimeException e) {
+            client.getMetrics().recordQueryCost(costQuery.getRequestType(), null, System.nanoTime() - startAt);
+            throw e;
+        }
     }
 
     /**
@@ -195,7 +239,12 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
      */
     public CompletableFuture<Hbar> getCostAsync(Client client, Duration timeout) {
         initWithNodeIds(client);
-        return getCostExecutable().setNodeAccountIds(Objects.requireNonNull(getNodeAccountIds())).executeAsync(client, timeout);
+
+        var costQuery = getCostExecutable().setNodeAccountIds(Objects.requireNonNull(getNodeAccountIds()));
+        var startAt = System.nanoTime();
+
+        return costQuery.executeAsync(client, timeout).whenComplete((cost, error) ->
+            client.getMetrics().recordQueryCost(costQuery.getRequestType(), cost, System.nanoTime() - startAt));
     }
 
     /**
@@ -277,6 +326,19 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
         return new QueryCostQuery();
     }
 
+    /**
+     * Build the key of this query in a {@link QueryCostCache}: the query with an empty header, which holds its type
+     * and every parameter that can change its cost.
+     *
+     * @return                          the cost cache key
+     */
+    private ByteString getCostCacheKey() {
+        var keyBuilder = com.hedera.hashgraph.sdk.proto.Query.newBuilder();
+        onMakeRequest(keyBuilder, QueryHeader.getDefaultInstance());
+
+        return keyBuilder.build().toByteString();
+    }
+
     /**
      * Validate the checksums.
      */
@@ -344,11 +406,54 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
                 return CompletableFuture.completedFuture(null);
             }, client.executor)
             .thenCompose(x -> x)
-            .thenAccept((paymentAmount) -> {
+            .thenCompose((paymentAmount) -> {
                 grpcCostQuery.finish();
+                return signPaymentTransactionsAsync();
             });
     }
 
+    /**
+     * Sign the payment for every node at once when the operator signs asynchronously, so that no attempt blocks on the
+     * signer.
+     *
+     * @return future which completes once every payment is signed
+     */
+    private CompletableFuture<Void> signPaymentTransactionsAsync() {
+        var operator = paymentOperator;
+        var payments = paymentTransactions;
+
+        if (operator == null || operator.asyncSigner == null || payments == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        var indexes = new ArrayList<Integer>(nodeAccountIds.size());
+        var transactions = new ArrayList<TransferTransaction>(nodeAccountIds.size());
+
+        for (int i = 0; i < nodeAccountIds.size(); i++) {
+            if (payments.get(i) != null || takePooledPayment(i)) {
+                continue;
+            }
+
+            if (paymentTransactionId == null) {
+                paymentTransactionId = TransactionId.generate(operator.accountId);
+            }
+
+            indexes.add(i);
+            transactions.add(newPaymentTransaction(
+                paymentTransactionId,
+                nodeAccountIds.get(i),
+                operator,
+                Objects.requireNonNull(chosenQueryPayment)
+            ));
+        }
+
+        return com.hedera.hashgraph.sdk.Transaction.collectAsyncSignatures(transactions).thenRun(() -> {
+            for (int i = 0; i < indexes.size(); i++) {
+                payments.set(indexes.get(i), transactions.get(i).makeRequest());
+            }
+        });
+    }
+
     private void initWithNodeIds(Client client) {
         if (client.isAutoValidateChecksumsEnabled()) {
             try {
@@ -379,6 +484,10 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
         if (paymentTx != null) {
             return paymentTx;
         } else {
+            if (takePooledPayment(index)) {
+                return Objects.requireNonNull(paymentTransactions.get(index));
+            }
+
             if (paymentTransactionId == null) {
                 paymentTransactionId = TransactionId.generate(Objects.requireNonNull(paymentOperator).accountId);
             }
@@ -394,6 +503,32 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
         }
     }
 
+    /**
+     * Take the payment for the node at the given index from the pool, if it is the first payment made.
+     *
+     * @param index                     the index
+     * @return                          whether the payment came from the pool
+     */
+    private boolean takePooledPayment(int index) {
+        // only the first payment may come from the pool, as it decides the transaction ID of the others
+        if (paymentTransactionId != null || paymentPool == null) {
+            return false;
+        }
+
+        var pooled = paymentPool.take(
+            Objects.requireNonNull(paymentOperator),
+            nodeAccountIds.get(index),
+            Objects.requireNonNull(chosenQueryPayment));
+
+        if (pooled == null) {
+            return false;
+        }
+
+        paymentTransactionId = pooled.transactionId();
+        Objects.requireNonNull(paymentTransactions).set(index, pooled.transaction());
+        return true;
+    }
+
     @Override
     final com.hedera.hashgraph.sdk.proto.Query makeRequest() {
         // If payment is required, set the next payment transaction on the query
@@ -411,8 +546,14 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
     @Override
     Status mapResponseStatus(Response response) {
         var preCheckCode = mapResponseHeader(response).getNodeTransactionPrecheckCode();
+        var status = Status.valueOf(preCheckCode);
+
+        // a cached cost which is no longer enough must not be used again
+        if (status == Status.INSUFFICIENT_TX_FEE && paymentCostCache != null && paymentCostCacheKey != null) {
+            paymentCostCache.remove(paymentCostCacheKey);
+        }
 
-        return Status.valueOf(preCheckCode);
+        return status;
     }
 
     @Override
@@ -423,6 +564,11 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
         return paymentTransactionId;
     }
 
+    @Override
+    RequestType getRequestType() {
+        return RequestType.valueOf(builder.getQueryCase());
+    }
+
     /**
      * Extract the transaction id.
      *
@@ -473,12 +619,23 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
         private final Hbar maxCost;
         private final boolean notRequired;
 
+        @Nullable
+        private QueryCostCache costCache;
+        @Nullable
+        private ByteString costCacheKey;
+        private boolean cachedCost = false;
+
         private Client.Operator operator;
         private Hbar cost;
 
+        @Nullable
+        private final QueryPaymentPool paymentPool;
+
         GrpcCostQuery(Client client) {
             Query.this.initWithNodeIds(client);
 
+            paymentPool = client.queryPaymentPool;
+
             cost = Query.this.queryPayment;
             notRequired = (Query.this.paymentTransactions != null) || !Query.this.isPaymentRequired();
             maxCost = MoreObjects.firstNonNull(Query.this.maxQueryPayment, client.defaultMaxQueryPayment);
@@ -486,6 +643,30 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
             if (!notRequired) {
                 operator = Query.this.getOperatorFromClient(client);
             }
+
+            if (notRequired || cost != null) {
+                return;
+            }
+
+            if (client.isPayMaxQueryPaymentEnabled() && maxCost.toTinybars() > 0) {
+                // pay the most we are willing to, and skip asking the network for the cost
+                cost = maxCost;
+                return;
+            }
+
+            costCache = client.getQueryCostCache();
+
+            if (costCache != null) {
+                costCacheKey = Query.this.getCostCacheKey();
+
+                var cached = costCache.get(costCacheKey);
+
+                // a cached cost above the maximum is fetched again, so the error reports the current cost
+                if (cached != null && cached.compareTo(maxCost) <= 0) {
+                    cost = cached;
+                    cachedCost = true;
+                }
+            }
         }
 
         public Client.Operator getOperator() {
@@ -502,6 +683,11 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
 
         GrpcCostQuery setCost(Hbar cost) {
             this.cost = cost;
+
+            if (costCache != null && costCacheKey != null) {
+                costCache.put(costCacheKey, cost);
+            }
+
             return this;
         }
 
@@ -516,7 +702,10 @@ public abstract class Query<O, T extends Query<O, T>> extends Executable<T, com.
 
         void finish() {
             Query.this.chosenQueryPayment = cost;
+            Query.this.paymentCostCache = cachedCost ? costCache : null;
+            Query.this.paymentCostCacheKey = cachedCost ? costCacheKey : null;
             Query.this.paymentOperator = operator;
+            Query.this.paymentPool = paymentPool;
             Query.this.paymentTransactions = new ArrayList<>(Query.this.nodeAccountIds.size());
 
             for (int i = 0; i < Query.this.nodeAccountIds.size(); i++) {
@@ -0,0 +1,240 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the cost of queries so that executing the same query again does not need another {@code COST_ANSWER}
+ * round-trip to the network.
+ * <p>
+ * Costs are keyed by the type of the query and every parameter sent with it, so queries which differ in any field
+ * are costed separately. A cost is used for at most {@link #getTtl()} after it was fetched, and every cost is
+ * forgotten when the fee schedules or exchange rates change. A client learns about such a change when it reads the
+ * fee schedule or exchange rate file with a {@link FileContentsQuery}, or when a {@link TransactionReceipt} reports a
+ * different exchange rate; changes learnt elsewhere can be passed to {@link #updateFeeSchedules(FeeSchedules)} and
+ * {@link #updateExchangeRates(ExchangeRates)}.
+ * <p>
+ * When the fees went up without the cache noticing, a query paid from the cache fails its precheck with
+ * {@link Status#INSUFFICIENT_TX_FEE}, and its cost is forgotten so that executing it again fetches the current cost.
+ *
+ * @see Client#setQueryCostCache(QueryCostCache)
+ */
+public final class QueryCostCache {
+    static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final Duration ttl;
+
+    private final int maxEntries;
+
+    // the fields below are guarded by `this`
+    private final LinkedHashMap<ByteString, Entry> entries;
+
+    @Nullable
+    private ByteString feeSchedules;
+
+    @Nullable
+    private ByteString exchangeRates;
+
+    private int exchangeRateHbars;
+
+    private int exchangeRateCents;
+
+    /**
+     * Constructor.
+     *
+     * @param ttl how long a cost is used after it was fetched
+     */
+    public QueryCostCache(Duration ttl) {
+        this(ttl, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param ttl        how long a cost is used after it was fetched
+     * @param maxEntries the most costs remembered at once; the least recently used cost is forgotten first
+     */
+    public QueryCostCache(Duration ttl, int maxEntries) {
+        Objects.requireNonNull(ttl);
+
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be greater than zero");
+        }
+
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteString, Entry> eldest) {
+                return size() > QueryCostCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Extract how long a cost is used after it was fetched.
+     *
+     * @return the time to live of a cost
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Extract the most costs remembered at once.
+     *
+     * @return the maximum number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Extract the number of costs remembered, including any which have expired but were not looked up since.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Forget every cost.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+    }
+
+    /**
+     * Forget every cost if the fee schedules differ from the ones last seen.
+     *
+     * @param feeSchedules the current fee schedules
+     */
+    public void updateFeeSchedules(FeeSchedules feeSchedules) {
+        onFileContents(FileId.FEE_SCHEDULE, ByteString.copyFrom(feeSchedules.toBytes()));
+    }
+
+    /**
+     * Forget every cost if the current exchange rate differs from the one last seen.
+     *
+     * @param exchangeRates the current exchange rates
+     */
+    public void updateExchangeRates(ExchangeRates exchangeRates) {
+        onExchangeRate(exchangeRates.currentRate);
+    }
+
+    /**
+     * Look up a cost.
+     *
+     * @param key the query with its header left out
+     * @return the cost, or {@code null} if it is not known or has expired
+     */
+    @Nullable
+    synchronized Hbar get(ByteString key) {
+        var entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (System.nanoTime() - entry.fetchedAt >= ttl.toNanos()) {
+            entries.remove(key);
+            return null;
+        }
+
+        return entry.cost;
+    }
+
+    /**
+     * Remember a cost.
+     *
+     * @param key  the query with its header left out
+     * @param cost the cost returned by the network
+     */
+    synchronized void put(ByteString key, Hbar cost) {
+        entries.put(key, new Entry(cost, System.nanoTime()));
+    }
+
+    /**
+     * Forget a cost.
+     *
+     * @param key the query with its header left out
+     */
+    synchronized void remove(ByteString key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Forget every cost if the contents of the fee schedule or exchange rate file changed.
+     *
+     * @param fileId   the file which was read
+     * @param contents the contents of the file
+     */
+    synchronized void onFileContents(FileId fileId, ByteString contents) {
+        if (fileId.equals(FileId.FEE_SCHEDULE)) {
+            if (!contents.equals(feeSchedules)) {
+                feeSchedules = contents;
+                entries.clear();
+            }
+        } else if (fileId.equals(FileId.EXCHANGE_RATES) && !contents.equals(exchangeRates)) {
+            exchangeRates = contents;
+            entries.clear();
+        }
+    }
+
+    /**
+     * Forget every cost if the exchange rate changed.
+     *
+     * @param exchangeRate the current exchange rate
+     */
+    synchronized void onExchangeRate(ExchangeRate exchangeRate) {
+        // receipts without an exchange rate carry an empty one
+        if (exchangeRate.hbars == 0) {
+            return;
+        }
+
+        if (exchangeRate.hbars != exchangeRateHbars || exchangeRate.cents != exchangeRateCents) {
+            exchangeRateHbars = exchangeRate.hbars;
+            exchangeRateCents = exchangeRate.cents;
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+        private final Hbar cost;
+
+        private final long fetchedAt;
+
+        private Entry(Hbar cost, long fetchedAt) {
+            this.cost = cost;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+}
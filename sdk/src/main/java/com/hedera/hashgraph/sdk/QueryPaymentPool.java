@@ -0,0 +1,257 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Signs query payment transactions ahead of time, so that executing a query does not have to.
+ * <p>
+ * Payments are pooled per operator, node and amount. Taking a payment from a pool that is running low refills it in
+ * the background, so a steady stream of queries of the same cost to the same nodes finds its payments already signed.
+ * A payment is dropped once it is {@link #getMaxAge()} past its valid start, well before the network would reject it.
+ * <p>
+ * Only the first payment of a query comes from the pool. It brings its transaction ID with it, and the payments for
+ * any other node the query is retried against are signed with that same ID as before, so that at most one of them is
+ * ever charged.
+ */
+final class QueryPaymentPool {
+    static final Duration DEFAULT_MAX_AGE = Duration.ofSeconds(60);
+
+    // the most distinct operator, node and amount combinations pooled at once
+    static final int MAX_POOLS = 256;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryPaymentPool.class);
+
+    private final Executor executor;
+
+    private final int size;
+
+    private final Duration maxAge;
+
+    private final Map<Key, Pool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param executor the executor which signs payments in the background
+     * @param size     the number of payments kept signed per operator, node and amount
+     * @param maxAge   how long after its valid start a payment is still handed out
+     */
+    QueryPaymentPool(Executor executor, int size, Duration maxAge) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be greater than zero");
+        }
+
+        this.executor = Objects.requireNonNull(executor);
+        this.size = size;
+        this.maxAge = Objects.requireNonNull(maxAge);
+    }
+
+    /**
+     * Extract the number of payments kept signed per operator, node and amount.
+     *
+     * @return the size of each pool
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Extract how long after its valid start a payment is still handed out.
+     *
+     * @return the maximum age of a payment
+     */
+    Duration getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Take a signed payment, and start signing more in the background if the pool is running low.
+     *
+     * @param operator the operator paying for the query
+     * @param nodeId   the node the query is sent to
+     * @param amount   the amount paid
+     * @return the payment, or {@code null} if none is ready
+     */
+    @Nullable
+    Payment take(Client.Operator operator, AccountId nodeId, Hbar amount) {
+        var key = new Key(operator, nodeId, amount.toTinybars());
+        @Var var pool = pools.get(key);
+
+        var now = Instant.now();
+
+        if (pool == null) {
+            if (pools.size() >= MAX_POOLS) {
+                // make room by dropping the pools which have not been taken from for a while
+                var oldestTaken = now.minus(maxAge);
+                pools.values().removeIf(unused -> unused.lastTaken.isBefore(oldestTaken));
+
+                if (pools.size() >= MAX_POOLS) {
+                    return null;
+                }
+            }
+
+            pool = pools.computeIfAbsent(key, Pool::new);
+        }
+
+        pool.lastTaken = now;
+
+        var oldestValidStart = now.minus(maxAge);
+        @Var Payment payment;
+
+        do {
+            payment = pool.payments.poll();
+
+            if (payment != null) {
+                pool.count.decrementAndGet();
+            }
+        } while (payment != null && payment.validStart().isBefore(oldestValidStart));
+
+        pool.refill();
+
+        return payment;
+    }
+
+    /**
+     * A payment signed ahead of time.
+     *
+     * @param transactionId the transaction ID of the payment
+     * @param validStart    the valid start of the transaction ID
+     * @param transaction   the signed payment
+     */
+    record Payment(TransactionId transactionId, Instant validStart, Transaction transaction) {
+    }
+
+    private record Key(Client.Operator operator, AccountId nodeId, long tinybars) {
+    }
+
+    private final class Pool {
+        private final Key key;
+
+        private final ConcurrentLinkedQueue<Payment> payments = new ConcurrentLinkedQueue<>();
+
+        // the size of `payments`, which the queue itself can only count by walking it
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final AtomicBoolean refilling = new AtomicBoolean();
+
+        private volatile Instant lastTaken = Instant.now();
+
+        private Pool(Key key) {
+            this.key = key;
+        }
+
+        private void refill() {
+            if (count.get() >= size || !refilling.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(this::sign);
+            } catch (RejectedExecutionException e) {
+                // the client is closing
+                refilling.set(false);
+            }
+        }
+
+        private void sign() {
+            if (key.operator().asyncSigner != null) {
+                signAsync();
+                return;
+            }
+
+            try {
+                while (count.get() < size) {
+                    var transactionId = TransactionId.generate(key.operator().accountId);
+                    var transaction = Query.makePaymentTransaction(
+                        transactionId, key.nodeId(), key.operator(), Hbar.fromTinybars(key.tinybars()));
+
+                    var validStart = Objects.requireNonNull(transactionId.validStart);
+
+                    payments.add(new Payment(transactionId, validStart, transaction));
+                    count.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                // the payment is signed on the query path instead
+                LOGGER.warn("Failed to sign query payments ahead of time: {}", e.getMessage());
+            } finally {
+                refilling.set(false);
+            }
+        }
+
+        /**
+         * Sign every missing payment in one batch, without holding the executor while the signer works.
+         */
+        private void signAsync() {
+            var transactionIds = new ArrayList<TransactionId>();
+            var transactions = new ArrayList<TransferTransaction>();
+
+            try {
+                for (@Var var missing = size - count.get(); missing > 0; missing--) {
+                    var transactionId = TransactionId.generate(key.operator().accountId);
+
+                    transactionIds.add(transactionId);
+                    transactions.add(Query.newPaymentTransaction(
+                        transactionId, key.nodeId(), key.operator(), Hbar.fromTinybars(key.tinybars())));
+                }
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to sign query payments ahead of time: {}", e.getMessage());
+                refilling.set(false);
+                return;
+            }
+
+            com.hedera.hashgraph.sdk.Transaction.collectAsyncSignatures(transactions).whenComplete((ignored, error) -> {
+                try {
+                    if (error != null) {
+                        // the payments are signed on the query path instead
+                        LOGGER.warn("Failed to sign query payments ahead of time: {}", error.getMessage());
+                        return;
+                    }
+
+                    for (var i = 0; i < transactions.size(); i++) {
+                        var transactionId = transactionIds.get(i);
+                        var validStart = Objects.requireNonNull(transactionId.validStart);
+
+                        payments.add(new Payment(transactionId, validStart, transactions.get(i).makeRequest()));
+                        count.incrementAndGet();
+                    }
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        }
+    }
+}
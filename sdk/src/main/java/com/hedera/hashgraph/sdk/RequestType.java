@@ -20,6 +20,7 @@
 package com.hedera.hashgraph.sdk;
 
 import com.hedera.hashgraph.sdk.proto.HederaFunctionality;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
 
 /**
  * Enum for the request types.
@@ -474,6 +475,99 @@ public enum RequestType {
         };
     }
 
+    /**
+     * The request type of a transaction, from the data of its body.
+     *
+     * @param dataCase the data case of the transaction body
+     * @return the request type
+     */
+    static RequestType valueOf(TransactionBody.DataCase dataCase) {
+        return switch (dataCase) {
+            case CONTRACTCALL -> CONTRACT_CALL;
+            case CONTRACTCREATEINSTANCE -> CONTRACT_CREATE;
+            case CONTRACTUPDATEINSTANCE -> CONTRACT_UPDATE;
+            case CONTRACTDELETEINSTANCE -> CONTRACT_DELETE;
+            case ETHEREUMTRANSACTION -> ETHEREUM_TRANSACTION;
+            case CRYPTOADDLIVEHASH -> CRYPTO_ADD_LIVE_HASH;
+            case CRYPTOAPPROVEALLOWANCE -> CRYPTO_APPROVE_ALLOWANCE;
+            case CRYPTODELETEALLOWANCE -> CRYPTO_DELETE_ALLOWANCE;
+            case CRYPTOCREATEACCOUNT -> CRYPTO_CREATE;
+            case CRYPTODELETE -> CRYPTO_DELETE;
+            case CRYPTODELETELIVEHASH -> CRYPTO_DELETE_LIVE_HASH;
+            case CRYPTOTRANSFER -> CRYPTO_TRANSFER;
+            case CRYPTOUPDATEACCOUNT -> CRYPTO_UPDATE;
+            case FILEAPPEND -> FILE_APPEND;
+            case FILECREATE -> FILE_CREATE;
+            case FILEDELETE -> FILE_DELETE;
+            case FILEUPDATE -> FILE_UPDATE;
+            case SYSTEMDELETE -> SYSTEM_DELETE;
+            case SYSTEMUNDELETE -> SYSTEM_UNDELETE;
+            case FREEZE -> FREEZE;
+            case CONSENSUSCREATETOPIC -> CONSENSUS_CREATE_TOPIC;
+            case CONSENSUSUPDATETOPIC -> CONSENSUS_UPDATE_TOPIC;
+            case CONSENSUSDELETETOPIC -> CONSENSUS_DELETE_TOPIC;
+            case CONSENSUSSUBMITMESSAGE -> CONSENSUS_SUBMIT_MESSAGE;
+            case UNCHECKEDSUBMIT -> UNCHECKED_SUBMIT;
+            case TOKENCREATION -> TOKEN_CREATE;
+            case TOKENFREEZE -> TOKEN_FREEZE_ACCOUNT;
+            case TOKENUNFREEZE -> TOKEN_UNFREEZE_ACCOUNT;
+            case TOKENGRANTKYC -> TOKEN_GRANT_KYC_TO_ACCOUNT;
+            case TOKENREVOKEKYC -> TOKEN_REVOKE_KYC_FROM_ACCOUNT;
+            case TOKENDELETION -> TOKEN_DELETE;
+            case TOKENUPDATE -> TOKEN_UPDATE;
+            case TOKENMINT -> TOKEN_MINT;
+            case TOKENBURN -> TOKEN_BURN;
+            case TOKENWIPE -> TOKEN_ACCOUNT_WIPE;
+            case TOKENASSOCIATE -> TOKEN_ASSOCIATE_TO_ACCOUNT;
+            case TOKENDISSOCIATE -> TOKEN_DISSOCIATE_FROM_ACCOUNT;
+            case TOKEN_FEE_SCHEDULE_UPDATE -> TOKEN_FEE_SCHEDULE_UPDATE;
+            case TOKEN_PAUSE -> TOKEN_PAUSE;
+            case TOKEN_UNPAUSE -> TOKEN_UNPAUSE;
+            case SCHEDULECREATE -> SCHEDULE_CREATE;
+            case SCHEDULEDELETE -> SCHEDULE_DELETE;
+            case SCHEDULESIGN -> SCHEDULE_SIGN;
+            case NODE_STAKE_UPDATE -> NODE_STAKE_UPDATE;
+            case UTIL_PRNG -> PRNG;
+            default -> NONE;
+        };
+    }
+
+    /**
+     * The request type of a query, from the query it contains.
+     *
+     * @param queryCase the query case of the query
+     * @return the request type
+     */
+    static RequestType valueOf(com.hedera.hashgraph.sdk.proto.Query.QueryCase queryCase) {
+        return switch (queryCase) {
+            case GETBYKEY -> GET_BY_KEY;
+            case GETBYSOLIDITYID -> GET_BY_SOLIDITY_ID;
+            case CONTRACTCALLLOCAL -> CONTRACT_CALL_LOCAL;
+            case CONTRACTGETINFO -> CONTRACT_GET_INFO;
+            case CONTRACTGETBYTECODE -> CONTRACT_GET_BYTECODE;
+            case CONTRACTGETRECORDS -> CONTRACT_GET_RECORDS;
+            case CRYPTOGETACCOUNTBALANCE -> CRYPTO_GET_ACCOUNT_BALANCE;
+            case CRYPTOGETACCOUNTRECORDS -> CRYPTO_GET_ACCOUNT_RECORDS;
+            case CRYPTOGETINFO -> CRYPTO_GET_INFO;
+            case CRYPTOGETLIVEHASH -> CRYPTO_GET_LIVE_HASH;
+            case CRYPTOGETPROXYSTAKERS -> CRYPTO_GET_STAKERS;
+            case FILEGETCONTENTS -> FILE_GET_CONTENTS;
+            case FILEGETINFO -> FILE_GET_INFO;
+            case TRANSACTIONGETRECEIPT -> TRANSACTION_GET_RECEIPT;
+            case TRANSACTIONGETRECORD -> TRANSACTION_GET_RECORD;
+            case CONSENSUSGETTOPICINFO -> CONSENSUS_GET_TOPIC_INFO;
+            case NETWORKGETVERSIONINFO -> GET_VERSION_INFO;
+            case TOKENGETINFO -> TOKEN_GET_INFO;
+            case SCHEDULEGETINFO -> SCHEDULE_GET_INFO;
+            case TOKENGETACCOUNTNFTINFOS -> TOKEN_GET_ACCOUNT_NFT_INFOS;
+            case TOKENGETNFTINFO -> TOKEN_GET_NFT_INFO;
+            case TOKENGETNFTINFOS -> TOKEN_GET_NFT_INFOS;
+            case NETWORKGETEXECUTIONTIME -> NETWORK_GET_EXECUTION_TIME;
+            case ACCOUNTDETAILS -> GET_ACCOUNT_DETAILS;
+            default -> NONE;
+        };
+    }
+
     @Override
     public String toString() {
         return switch (this) {
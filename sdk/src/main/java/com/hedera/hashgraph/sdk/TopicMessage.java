@@ -110,36 +110,37 @@ public final class TopicMessage {
     /**
      * Create a new topic message from a list of response's protobuf.
      *
-     * @param responses                 the protobuf response
+     * @param responses                 the protobuf responses, in chunk order
      * @return                          the new topic message
      */
     static TopicMessage ofMany(List<ConsensusTopicResponse> responses) {
-        // response should be in the order of oldest to newest (not chunk order)
+        // responses are in chunk order, which is not necessarily the order they reached consensus in
         var chunks = new TopicMessageChunk[responses.size()];
         @Var TransactionId transactionId = null;
-        var contents = new ByteString[responses.size()];
+        @Var ConsensusTopicResponse lastReceived = responses.get(0);
         @Var long totalSize = 0;
 
-        for (ConsensusTopicResponse r : responses) {
+        for (int i = 0; i < responses.size(); i++) {
+            var r = responses.get(i);
+
             if (transactionId == null && r.getChunkInfo().hasInitialTransactionID()) {
                 transactionId = TransactionId.fromProtobuf(r.getChunkInfo().getInitialTransactionID());
             }
 
-            int index = r.getChunkInfo().getNumber() - 1;
+            if (r.getSequenceNumber() > lastReceived.getSequenceNumber()) {
+                lastReceived = r;
+            }
 
-            chunks[index] = new TopicMessageChunk(r);
-            contents[index] = r.getMessage();
+            chunks[i] = new TopicMessageChunk(r);
             totalSize += r.getMessage().size();
         }
 
         var wholeMessage = ByteBuffer.allocate((int) totalSize);
 
-        for (var content : contents) {
-            wholeMessage.put(content.asReadOnlyByteBuffer());
+        for (var r : responses) {
+            wholeMessage.put(r.getMessage().asReadOnlyByteBuffer());
         }
 
-        var lastReceived = responses.get(responses.size() - 1);
-
         return new TopicMessage(
             InstantConverter.fromProtobuf(lastReceived.getConsensusTimestamp()),
             wholeMessage.array(),
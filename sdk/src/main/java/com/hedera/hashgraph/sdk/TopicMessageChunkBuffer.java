@@ -0,0 +1,196 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reassembles chunked topic messages from the responses of a subscription.
+ * <p>
+ * Chunks are indexed by their number, so they may arrive in any order and duplicates (for example after a reconnect)
+ * are dropped. Only the chunks which arrived are held, so a chunk claiming a huge total costs no more than any other.
+ * The memory held by partially received messages is bounded by a total byte cap and a maximum age, both measured
+ * against consensus time; a message that is evicted before all of its chunks arrive is reported with the chunks that
+ * were received.
+ * <p>
+ * Not thread safe; the responses of a subscription are delivered one at a time.
+ */
+final class TopicMessageChunkBuffer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicMessageChunkBuffer.class);
+
+    /**
+     * Partially received messages, oldest first.
+     */
+    private final LinkedHashMap<TransactionID, PendingMessage> pendingMessages = new LinkedHashMap<>();
+
+    private final long maxBytes;
+
+    private final Duration maxAge;
+
+    private final Consumer<TopicMessage> onIncomplete;
+
+    private long pendingBytes = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param maxBytes     the maximum number of content bytes to hold for partially received messages
+     * @param maxAge       the maximum consensus time between the first chunk of a message and the latest chunk
+     *                     received before the message is evicted
+     * @param onIncomplete receives the chunks of messages that were evicted before they were complete
+     */
+    TopicMessageChunkBuffer(long maxBytes, Duration maxAge, Consumer<TopicMessage> onIncomplete) {
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        this.onIncomplete = onIncomplete;
+    }
+
+    /**
+     * Add a chunk of a message.
+     *
+     * @param response the chunk
+     * @return the whole message if this was its last missing chunk, otherwise {@code null}
+     */
+    @Nullable
+    TopicMessage add(ConsensusTopicResponse response) {
+        var chunkInfo = response.getChunkInfo();
+        int total = chunkInfo.getTotal();
+        int number = chunkInfo.getNumber();
+        var consensusTimestamp = InstantConverter.fromProtobuf(response.getConsensusTimestamp());
+
+        evictExpired(consensusTimestamp);
+
+        if (number < 1 || number > total) {
+            LOGGER.warn("Ignoring chunk {} of {} with sequence number {}", number, total,
+                response.getSequenceNumber());
+            return null;
+        }
+
+        var initialTransactionId = chunkInfo.getInitialTransactionID();
+        @Var @Nullable var pending = pendingMessages.get(initialTransactionId);
+
+        if (pending == null) {
+            pending = new PendingMessage(total, consensusTimestamp);
+            pendingMessages.put(initialTransactionId, pending);
+        } else if (pending.total != total) {
+            LOGGER.warn("Ignoring chunk {} of {} with sequence number {}, expected {} chunks", number, total,
+                response.getSequenceNumber(), pending.total);
+            return null;
+        }
+
+        if (pending.chunks.putIfAbsent(number, response) != null) {
+            // a duplicate, most likely replayed after a reconnect
+            return null;
+        }
+
+        int size = response.getMessage().size();
+        pending.bytes += size;
+        pendingBytes += size;
+
+        if (pending.chunks.size() == total) {
+            pendingMessages.remove(initialTransactionId);
+            pendingBytes -= pending.bytes;
+
+            return TopicMessage.ofMany(new ArrayList<>(pending.chunks.values()));
+        }
+
+        evictOverBudget();
+
+        return null;
+    }
+
+    /**
+     * @return the number of partially received messages
+     */
+    int size() {
+        return pendingMessages.size();
+    }
+
+    /**
+     * @return the number of content bytes held for partially received messages
+     */
+    long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    private void evictExpired(Instant now) {
+        var cutoff = now.minus(maxAge);
+        var iterator = pendingMessages.entrySet().iterator();
+
+        // messages are added in consensus order, so the oldest are at the front
+        while (iterator.hasNext()) {
+            var entry = iterator.next();
+
+            if (!entry.getValue().firstConsensusTimestamp.isBefore(cutoff)) {
+                break;
+            }
+
+            evict(iterator, entry);
+        }
+    }
+
+    private void evictOverBudget() {
+        var iterator = pendingMessages.entrySet().iterator();
+
+        while (pendingBytes > maxBytes && iterator.hasNext()) {
+            evict(iterator, iterator.next());
+        }
+    }
+
+    private void evict(Iterator<Map.Entry<TransactionID, PendingMessage>> iterator,
+                       Map.Entry<TransactionID, PendingMessage> entry) {
+        var pending = entry.getValue();
+        iterator.remove();
+        pendingBytes -= pending.bytes;
+
+        onIncomplete.accept(TopicMessage.ofMany(new ArrayList<>(pending.chunks.values())));
+    }
+
+    private static final class PendingMessage {
+        /**
+         * The chunks received so far, by chunk number.
+         */
+        private final TreeMap<Integer, ConsensusTopicResponse> chunks = new TreeMap<>();
+
+        private final int total;
+
+        private final Instant firstConsensusTimestamp;
+
+        private long bytes = 0;
+
+        PendingMessage(int total, Instant firstConsensusTimestamp) {
+            this.total = total;
+            this.firstConsensusTimestamp = firstConsensusTimestamp;
+        }
+    }
+}
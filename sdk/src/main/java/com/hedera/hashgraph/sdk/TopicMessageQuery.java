@@ -19,9 +19,7 @@
  */
 package com.hedera.hashgraph.sdk;
 
-import com.google.errorprone.annotations.Var;
 import com.hedera.hashgraph.sdk.proto.Timestamp;
-import com.hedera.hashgraph.sdk.proto.TransactionID;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
 import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
@@ -30,18 +28,21 @@ import io.grpc.CallOptions;
 import io.grpc.ClientCall;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCallStreamObserver;
 import io.grpc.stub.ClientCalls;
+import io.grpc.stub.ClientResponseObserver;
 import io.grpc.stub.StreamObserver;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +60,9 @@ public final class TopicMessageQuery {
     private int maxAttempts = 10;
     private Duration maxBackoff = Duration.ofSeconds(8L);
     private Predicate<Throwable> retryHandler = this::shouldRetry;
+    private long maxPendingChunkBytes = 16L * 1024 * 1024;
+    private Duration maxPendingChunkAge = Duration.ofMinutes(5);
+    private Consumer<TopicMessage> incompleteMessageHandler = this::onIncompleteMessage;
 
     /**
      * Constructor.
@@ -182,6 +186,55 @@ public final class TopicMessageQuery {
         return this;
     }
 
+    /**
+     * Assign the maximum number of content bytes held for chunked messages that have not received all of their chunks
+     * yet. When the limit is exceeded the oldest incomplete messages are dropped and passed to the incomplete message
+     * handler.
+     *
+     * @param maxPendingChunkBytes the maximum number of bytes
+     * @return {@code this}
+     */
+    public TopicMessageQuery setMaxPendingChunkBytes(long maxPendingChunkBytes) {
+        if (maxPendingChunkBytes < 0) {
+            throw new IllegalArgumentException("maxPendingChunkBytes must not be negative");
+        }
+        this.maxPendingChunkBytes = maxPendingChunkBytes;
+        return this;
+    }
+
+    /**
+     * Assign how long, in consensus time, a chunked message may wait for the rest of its chunks. Older incomplete
+     * messages are dropped and passed to the incomplete message handler.
+     *
+     * @param maxPendingChunkAge the maximum age
+     * @return {@code this}
+     */
+    @SuppressFBWarnings(
+        value = "EI_EXPOSE_REP2",
+        justification = "A Duration can't actually be mutated"
+    )
+    public TopicMessageQuery setMaxPendingChunkAge(Duration maxPendingChunkAge) {
+        Objects.requireNonNull(maxPendingChunkAge, "maxPendingChunkAge must not be null");
+        if (maxPendingChunkAge.isNegative()) {
+            throw new IllegalArgumentException("maxPendingChunkAge must not be negative");
+        }
+        this.maxPendingChunkAge = maxPendingChunkAge;
+        return this;
+    }
+
+    /**
+     * Assign the handler for chunked messages that were dropped before all of their chunks were received. The message
+     * passed to the handler holds only the chunks that were received, in chunk order.
+     *
+     * @param incompleteMessageHandler the incomplete message handler
+     * @return {@code this}
+     */
+    public TopicMessageQuery setIncompleteMessageHandler(Consumer<TopicMessage> incompleteMessageHandler) {
+        Objects.requireNonNull(incompleteMessageHandler, "incompleteMessageHandler must not be null");
+        this.incompleteMessageHandler = incompleteMessageHandler;
+        return this;
+    }
+
     private void onComplete() {
         var topicId = TopicId.fromProtobuf(builder.getTopicID());
         LOGGER.info("Subscription to topic {} complete", topicId);
@@ -198,6 +251,12 @@ public final class TopicMessageQuery {
         }
     }
 
+    private void onIncompleteMessage(TopicMessage topicMessage) {
+        var topicId = TopicId.fromProtobuf(builder.getTopicID());
+        LOGGER.warn("Dropping incomplete message {} for topic {} after receiving {} chunks",
+            topicMessage.transactionId, topicId, Objects.requireNonNull(topicMessage.chunks).length);
+    }
+
     /**
      * This method will retry the following scenarios:
      * <p>
@@ -241,7 +300,7 @@ public final class TopicMessageQuery {
     // TODO: Refactor into a base class when we add more mirror query types
     public SubscriptionHandle subscribe(Client client, Consumer<TopicMessage> onNext) {
         SubscriptionHandle subscriptionHandle = new SubscriptionHandle();
-        HashMap<TransactionID, ArrayList<ConsensusTopicResponse>> pendingMessages = new HashMap<>();
+        TopicMessageChunkBuffer pendingMessages = newChunkBuffer();
 
         try {
             makeStreamingCall(client, subscriptionHandle, onNext, 0, new AtomicLong(), new AtomicReference<>(),
@@ -253,6 +312,95 @@ public final class TopicMessageQuery {
         return subscriptionHandle;
     }
 
+    /**
+     * Create a publisher of the topic's messages that only receives messages from the mirror node as fast as its
+     * subscribers request them.
+     * <p>
+     * Each subscriber gets its own subscription to the mirror node, which is retried from the last received message
+     * in the same way as {@link #subscribe(Client, Consumer)}. Instead of the completion and error handlers of this
+     * query, the subscriber is signalled when the subscription completes or fails.
+     *
+     * @param client the configured client
+     * @return the publisher
+     */
+    public Flow.Publisher<TopicMessage> toPublisher(Client client) {
+        Objects.requireNonNull(client, "client must not be null");
+
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber must not be null");
+            new FlowSubscription(client, subscriber).start();
+        };
+    }
+
+    /**
+     * Build the request for a streaming call, resuming after the last received message on retry.
+     *
+     * @param counter     the number of messages received so far
+     * @param lastMessage the last received message
+     * @return the request
+     */
+    ConsensusTopicQuery buildRequest(long counter, @Nullable ConsensusTopicResponse lastMessage) {
+        if (lastMessage == null) {
+            return builder.build();
+        }
+
+        // Update the start time and limit on retry
+        var newBuilder = builder.clone();
+
+        if (builder.getLimit() > 0) {
+            newBuilder.setLimit(builder.getLimit() - counter);
+        }
+
+        var lastStartTime = lastMessage.getConsensusTimestamp();
+        var nextStartTime = Timestamp.newBuilder(lastStartTime).setNanos(lastStartTime.getNanos() + 1);
+        newBuilder.setConsensusStartTime(nextStartTime);
+
+        return newBuilder.build();
+    }
+
+    /**
+     * @param error   the error that ended a streaming call
+     * @param attempt the number of the attempt that failed
+     * @return whether the subscription should be retried after {@code error}
+     */
+    boolean canRetry(Throwable error, int attempt) {
+        return attempt < maxAttempts && retryHandler.test(error);
+    }
+
+    TopicId getTopicId() {
+        return TopicId.fromProtobuf(builder.getTopicID());
+    }
+
+    void handleMessage(Consumer<TopicMessage> onNext, TopicMessage message) {
+        try {
+            onNext.accept(message);
+        } catch (Throwable t) {
+            errorHandler.accept(t, message);
+        }
+    }
+
+    void handleError(Throwable error) {
+        errorHandler.accept(error, null);
+    }
+
+    void handleComplete() {
+        completionHandler.run();
+    }
+
+    long getBackoff(int attempt) {
+        return Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
+    }
+
+    TopicMessageChunkBuffer newChunkBuffer() {
+        return new TopicMessageChunkBuffer(maxPendingChunkBytes, maxPendingChunkAge, message -> {
+            try {
+                incompleteMessageHandler.accept(message);
+            } catch (Throwable t) {
+                errorHandler.accept(t, message);
+            }
+        });
+    }
+
     private void makeStreamingCall(
         Client client,
         SubscriptionHandle subscriptionHandle,
@@ -260,7 +408,7 @@ public final class TopicMessageQuery {
         int attempt,
         AtomicLong counter,
         AtomicReference<ConsensusTopicResponse> lastMessage,
-        HashMap<TransactionID, ArrayList<ConsensusTopicResponse>> pendingMessages
+        TopicMessageChunkBuffer pendingMessages
     ) throws InterruptedException {
         // TODO: check status of channel before using it?
         ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call =
@@ -275,23 +423,9 @@ public final class TopicMessageQuery {
 
         client.trackSubscription(subscriptionHandle);
 
-        @Var
-        var newBuilder = builder;
+        var request = buildRequest(counter.get(), lastMessage.get());
 
-        // Update the start time and limit on retry
-        if (lastMessage.get() != null) {
-            newBuilder = builder.clone();
-
-            if (builder.getLimit() > 0) {
-                newBuilder.setLimit(builder.getLimit() - counter.get());
-            }
-
-            var lastStartTime = lastMessage.get().getConsensusTimestamp();
-            var nextStartTime = Timestamp.newBuilder(lastStartTime).setNanos(lastStartTime.getNanos() + 1);
-            newBuilder.setConsensusStartTime(nextStartTime);
-        }
-
-        ClientCalls.asyncServerStreamingCall(call, newBuilder.build(), new StreamObserver<>() {
+        ClientCalls.asyncServerStreamingCall(call, request, new StreamObserver<>() {
             @Override
             public void onNext(ConsensusTopicResponse consensusTopicResponse) {
                 counter.incrementAndGet();
@@ -310,24 +444,10 @@ public final class TopicMessageQuery {
                     return;
                 }
 
-                // get the list of chunks for this pending message
-                var initialTransactionID = consensusTopicResponse.getChunkInfo().getInitialTransactionID();
-
-                // Can't use `HashMap.putIfAbsent()` since that method is not available on Android
-                if (!pendingMessages.containsKey(initialTransactionID)) {
-                    pendingMessages.put(initialTransactionID, new ArrayList<>());
-                }
-
-                ArrayList<ConsensusTopicResponse> chunks = pendingMessages.get(initialTransactionID);
-
-                // not possible as we do [putIfAbsent]
-                // add our response to the pending chunk list
-                Objects.requireNonNull(chunks).add(consensusTopicResponse);
-
-                // if we now have enough chunks, emit
-                if (chunks.size() == consensusTopicResponse.getChunkInfo().getTotal()) {
-                    var message = TopicMessage.ofMany(chunks);
+                // add our response to the pending message, and emit if it was the last chunk
+                var message = pendingMessages.add(consensusTopicResponse);
 
+                if (message != null) {
                     try {
                         onNext.accept(message);
                     } catch (Throwable t) {
@@ -343,7 +463,7 @@ public final class TopicMessageQuery {
                     return;
                 }
 
-                var delay = Math.min(500 * (long) Math.pow(2, attempt), maxBackoff.toMillis());
+                var delay = getBackoff(attempt);
                 var topicId = TopicId.fromProtobuf(builder.getTopicID());
                 LOGGER.warn("Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
                     topicId, attempt, delay, t.getMessage());
@@ -370,4 +490,240 @@ public final class TopicMessageQuery {
             }
         });
     }
+
+    /**
+     * A subscription of a {@link Flow.Subscriber} to the mirror node.
+     * <p>
+     * Automatic flow control of the streaming call is disabled, and responses are requested from the mirror node only
+     * while the subscriber has outstanding demand. A chunked message takes one response per chunk, so responses keep
+     * being requested until the message is complete.
+     */
+    private final class FlowSubscription implements Flow.Subscription {
+        // the most responses requested from the mirror node at once, even for unbounded demand
+        private static final int MAX_REQUESTED = 64;
+
+        private final Client client;
+
+        private final Flow.Subscriber<? super TopicMessage> subscriber;
+
+        private final SubscriptionHandle subscriptionHandle = new SubscriptionHandle();
+
+        private final TopicMessageChunkBuffer pendingMessages = newChunkBuffer();
+
+        private final AtomicLong demand = new AtomicLong();
+
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        // only touched by the callbacks of the streaming calls, which never overlap
+        private long counter = 0;
+
+        @Nullable
+        private ConsensusTopicResponse lastMessage = null;
+
+        private int attempt = 0;
+
+        // guarded by `this`
+        @Nullable
+        private ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call = null;
+
+        @Nullable
+        private ClientCallStreamObserver<ConsensusTopicQuery> requestStream = null;
+
+        private long requested = 0;
+
+        FlowSubscription(Client client, Flow.Subscriber<? super TopicMessage> subscriber) {
+            this.client = client;
+            this.subscriber = subscriber;
+        }
+
+        void start() {
+            subscriptionHandle.setOnUnsubscribe(this::cancel);
+            client.trackSubscription(subscriptionHandle);
+
+            subscriber.onSubscribe(this);
+
+            if (!done.get()) {
+                connect();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("requested " + n + " messages, must be positive"));
+                return;
+            }
+
+            // saturate at `Long.MAX_VALUE`, which is unbounded demand
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+            pump();
+        }
+
+        @Override
+        public void cancel() {
+            if (done.compareAndSet(false, true)) {
+                stop();
+            }
+        }
+
+        private void connect() {
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> newCall;
+
+            try {
+                newCall = client.mirrorNetwork.getNextMirrorNode().getChannel()
+                    .newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+                return;
+            }
+
+            synchronized (this) {
+                if (done.get()) {
+                    return;
+                }
+
+                call = newCall;
+                requestStream = null;
+                requested = 0;
+            }
+
+            ClientCalls.asyncServerStreamingCall(newCall, buildRequest(counter, lastMessage),
+                new ClientResponseObserver<ConsensusTopicQuery, ConsensusTopicResponse>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<ConsensusTopicQuery> stream) {
+                        stream.disableAutoRequestWithInitial(0);
+
+                        synchronized (FlowSubscription.this) {
+                            requestStream = stream;
+                        }
+                    }
+
+                    @Override
+                    public void onNext(ConsensusTopicResponse response) {
+                        onResponse(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        onStreamError(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        if (done.compareAndSet(false, true)) {
+                            client.untrackSubscription(subscriptionHandle);
+                            subscriber.onComplete();
+                        }
+                    }
+                });
+
+            pump();
+        }
+
+        private void onResponse(ConsensusTopicResponse response) {
+            synchronized (this) {
+                requested -= 1;
+            }
+
+            counter += 1;
+            lastMessage = response;
+
+            // Short circuit for no chunks or 1/1 chunks
+            var message = !response.hasChunkInfo() || response.getChunkInfo().getTotal() == 1 ?
+                TopicMessage.ofSingle(response) :
+                pendingMessages.add(response);
+
+            if (message != null && !done.get()) {
+                demand.decrementAndGet();
+
+                try {
+                    subscriber.onNext(message);
+                } catch (Throwable t) {
+                    // a subscriber that throws is considered to have cancelled its subscription
+                    cancel();
+                    errorHandler.accept(t, message);
+                    return;
+                }
+            }
+
+            pump();
+        }
+
+        private void onStreamError(Throwable t) {
+            if (done.get()) {
+                return;
+            }
+
+            if (!canRetry(t, attempt)) {
+                fail(t);
+                return;
+            }
+
+            var delay = getBackoff(attempt);
+            var topicId = TopicId.fromProtobuf(builder.getTopicID());
+            LOGGER.warn("Error subscribing to topic {} during attempt #{}. Waiting {} ms before next attempt: {}",
+                topicId, attempt, delay, t.getMessage());
+
+            attempt += 1;
+
+            synchronized (this) {
+                requestStream = null;
+            }
+
+            Delayer.delayFor(delay, client.timer).thenRun(() -> {
+                if (!done.get()) {
+                    connect();
+                }
+            });
+        }
+
+        // request responses from the mirror node to cover the outstanding demand
+        private void pump() {
+            ClientCallStreamObserver<ConsensusTopicQuery> stream;
+            int count;
+
+            synchronized (this) {
+                stream = requestStream;
+
+                if (stream == null || done.get()) {
+                    return;
+                }
+
+                long wanted = Math.min(demand.get(), MAX_REQUESTED) - requested;
+
+                if (wanted <= 0) {
+                    return;
+                }
+
+                requested += wanted;
+                count = (int) wanted;
+            }
+
+            stream.request(count);
+        }
+
+        private void fail(Throwable t) {
+            if (done.compareAndSet(false, true)) {
+                stop();
+                subscriber.onError(t);
+            }
+        }
+
+        private void stop() {
+            client.untrackSubscription(subscriptionHandle);
+
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> currentCall;
+
+            synchronized (this) {
+                currentCall = call;
+                call = null;
+                requestStream = null;
+            }
+
+            if (currentCall != null) {
+                currentCall.cancel("unsubscribe", null);
+            }
+        }
+    }
 }
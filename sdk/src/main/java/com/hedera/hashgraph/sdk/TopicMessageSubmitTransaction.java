@@ -19,6 +19,7 @@
  */
 package com.hedera.hashgraph.sdk;
 
+import com.google.errorprone.annotations.Var;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.hedera.hashgraph.sdk.proto.ConsensusMessageChunkInfo;
@@ -31,8 +32,15 @@ import com.hedera.hashgraph.sdk.proto.TransactionResponse;
 import io.grpc.MethodDescriptor;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Submit a message for consensus.
@@ -49,6 +57,11 @@ public final class TopicMessageSubmitTransaction extends ChunkedTransaction<Topi
     @Nullable
     private TopicId topicId = null;
 
+    /**
+     * Maximum number of chunks sent to the network at once.
+     */
+    private int maxInFlightChunks = 1;
+
     /**
      * Constructor.
      */
@@ -139,6 +152,139 @@ public final class TopicMessageSubmitTransaction extends ChunkedTransaction<Topi
         return setData(message);
     }
 
+    /**
+     * Retrieve the maximum number of chunks sent to the network at once.
+     *
+     * @return                          the number of chunks in flight
+     */
+    public int getMaxInFlightChunks() {
+        return maxInFlightChunks;
+    }
+
+    /**
+     * Assign the maximum number of chunks sent to the network at once.
+     * <p>
+     * By default each chunk is sent once the previous one has been handled. Sending several at once takes the round
+     * trip of each chunk off the total time. The chunks may then reach consensus in any order, which is fine as mirror
+     * nodes put chunked messages back together by chunk number.
+     *
+     * @param maxInFlightChunks         the number of chunks in flight
+     * @return {@code this}
+     */
+    public TopicMessageSubmitTransaction setMaxInFlightChunks(int maxInFlightChunks) {
+        if (maxInFlightChunks <= 0) {
+            throw new IllegalArgumentException("maxInFlightChunks must be greater than zero");
+        }
+
+        this.maxInFlightChunks = maxInFlightChunks;
+        return this;
+    }
+
+    @Override
+    public List<com.hedera.hashgraph.sdk.TransactionResponse> executeAll(
+        Client client,
+        Duration timeoutPerChunk
+    ) throws PrecheckStatusException, TimeoutException {
+        if (maxInFlightChunks == 1) {
+            return super.executeAll(client, timeoutPerChunk);
+        }
+
+        try {
+            return executeAllAsync(client, timeoutPerChunk).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            @Var Throwable cause = e.getCause();
+
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+
+            if (cause instanceof PrecheckStatusException precheckStatusException) {
+                throw precheckStatusException;
+            } else if (cause instanceof TimeoutException timeoutException) {
+                throw timeoutException;
+            } else if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new RuntimeException(cause);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sends up to {@link #getMaxInFlightChunks()} chunks at once, each chunk starting when the chunk that many places
+     * before it has been handled.
+     */
+    @Override
+    public CompletableFuture<List<com.hedera.hashgraph.sdk.TransactionResponse>> executeAllAsync(
+        Client client,
+        Duration timeoutPerChunk
+    ) {
+        if (maxInFlightChunks == 1) {
+            return super.executeAllAsync(client, timeoutPerChunk);
+        }
+
+        freezeAndSign(client);
+
+        var chunkCount = transactionIds.size();
+        if (chunkCount == 1) {
+            return super.executeAllAsync(client, timeoutPerChunk);
+        }
+
+        buildAllTransactions();
+
+        var responses = new ArrayList<CompletableFuture<com.hedera.hashgraph.sdk.TransactionResponse>>(chunkCount);
+
+        for (var i = 0; i < chunkCount; i++) {
+            var chunk = getChunkTransaction(i);
+            var previous = i >= maxInFlightChunks
+                ? responses.get(i - maxInFlightChunks)
+                : CompletableFuture.<com.hedera.hashgraph.sdk.TransactionResponse>completedFuture(null);
+
+            responses.add(previous.thenCompose(ignored -> chunk.executeChunkAsync(client, timeoutPerChunk)));
+        }
+
+        return CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            var list = new ArrayList<com.hedera.hashgraph.sdk.TransactionResponse>(chunkCount);
+
+            for (var response : responses) {
+                list.add(response.join());
+            }
+
+            return list;
+        });
+    }
+
+    /**
+     * Extract one chunk of this built transaction as a transaction of its own, so that chunks can be executed at the
+     * same time.
+     *
+     * @param chunk                     the index of the chunk
+     * @return                          the chunk transaction
+     */
+    private TopicMessageSubmitTransaction getChunkTransaction(int chunk) {
+        var nodeCount = nodeAccountIds.size();
+        var nodeTransactions = new LinkedHashMap<AccountId, com.hedera.hashgraph.sdk.proto.Transaction>(nodeCount);
+
+        for (var i = 0; i < nodeCount; i++) {
+            nodeTransactions.put(nodeAccountIds.get(i), outerTransactions.get(chunk * nodeCount + i));
+        }
+
+        var txs = new LinkedHashMap<TransactionId, LinkedHashMap<AccountId, com.hedera.hashgraph.sdk.proto.Transaction>>();
+        txs.put(transactionIds.get(chunk), nodeTransactions);
+
+        try {
+            return new TopicMessageSubmitTransaction(txs);
+        } catch (InvalidProtocolBufferException e) {
+            // the transactions were just built from this one
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * Initialize from the transaction body.
      */
@@ -151,7 +297,7 @@ public final class TopicMessageSubmitTransaction extends ChunkedTransaction<Topi
         try {
             for (var i = 0; i < innerSignedTransactions.size(); i += nodeAccountIds.isEmpty() ? 1 : nodeAccountIds.size()) {
                 data = data.concat(
-                    TransactionBody.parseFrom(innerSignedTransactions.get(i).getBodyBytes())
+                    TransactionBody.parseFrom(getInnerSignedTransaction(i).getBodyBytes())
                         .getConsensusSubmitMessage().getMessage()
                 );
             }
@@ -0,0 +1,592 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.errorprone.annotations.Var;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs many topic subscriptions over the channels of the mirror network of a client.
+ * <p>
+ * At most {@link #getMaxStreamsPerMirrorNode()} streaming calls are open to each mirror node at once. New streams
+ * are opened on the healthy mirror node with the fewest open streams; when every mirror node is full, subscriptions
+ * wait in the order they were made until a stream ends.
+ * <p>
+ * Subscriptions which lost their stream wait in one reconnect queue, driven by a single timer of the client. Each
+ * waits at least the backoff of its query, and a mirror node which reports itself unavailable is backed off for the
+ * whole queue: while every mirror node is backing off, no subscription reconnects. The backoff of a mirror node
+ * doubles once per outage, however many streams it drops, and is reset as soon as one of its streams receives a
+ * message.
+ * <p>
+ * Topic streams normally never end, so a subscription which has to wait may wait forever: with a single mirror node,
+ * as on mainnet and testnet, no more than {@link #getMaxStreamsPerMirrorNode()} topics receive messages. A warning is
+ * logged whenever a subscription has to wait, and {@link #isWaiting(SubscriptionHandle)} tells whether it still does.
+ * Raise the limit, or unsubscribe from topics which are no longer needed, when that happens.
+ * <p>
+ * Messages are delivered on the executor of the client, through one sequential executor per topic, so the messages of
+ * a topic are delivered one at a time and in the order they were received.
+ * <p>
+ * The retry, error, completion and chunk settings of each {@link TopicMessageQuery} are honoured as they are by
+ * {@link TopicMessageQuery#subscribe(Client, Consumer)}.
+ */
+public final class TopicSubscriptionManager {
+    static final int DEFAULT_MAX_STREAMS_PER_MIRROR_NODE = 1000;
+
+    static final long MIN_MIRROR_NODE_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    static final long MAX_MIRROR_NODE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(8);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TopicSubscriptionManager.class);
+
+    private final Client client;
+
+    // the fields below are guarded by `this`
+    private int maxStreamsPerMirrorNode;
+
+    private final Map<MirrorNode, Integer> activeStreams = new IdentityHashMap<>();
+
+    private final ArrayDeque<ManagedSubscription> waiting = new ArrayDeque<>();
+
+    private final Map<TopicId, TopicExecutor> topicExecutors = new HashMap<>();
+
+    private final Map<MirrorNode, MirrorNodeBackoff> mirrorNodeBackoffs = new IdentityHashMap<>();
+
+    private final PriorityQueue<Reconnect> reconnecting =
+        new PriorityQueue<>(Comparator.comparingLong(Reconnect::atNanos));
+
+    private boolean reconnectScheduled = false;
+
+    private long reconnectNanos = 0;
+
+    private long reconnectGeneration = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param client                  the client whose mirror network the subscriptions stream from
+     * @param maxStreamsPerMirrorNode the maximum number of streaming calls open to a mirror node at once
+     */
+    TopicSubscriptionManager(Client client, int maxStreamsPerMirrorNode) {
+        this.client = Objects.requireNonNull(client);
+        setMaxStreamsPerMirrorNode(maxStreamsPerMirrorNode);
+    }
+
+    /**
+     * Extract the maximum number of streaming calls open to a mirror node at once.
+     *
+     * @return the maximum number of streaming calls per mirror node
+     */
+    public synchronized int getMaxStreamsPerMirrorNode() {
+        return maxStreamsPerMirrorNode;
+    }
+
+    /**
+     * Assign the maximum number of streaming calls open to a mirror node at once.
+     * <p>
+     * Lowering the limit does not close streams which are already open; new streams are held back until the mirror
+     * node is under the new limit.
+     *
+     * @param maxStreamsPerMirrorNode the maximum number of streaming calls per mirror node
+     * @return {@code this}
+     */
+    public TopicSubscriptionManager setMaxStreamsPerMirrorNode(int maxStreamsPerMirrorNode) {
+        if (maxStreamsPerMirrorNode <= 0) {
+            throw new IllegalArgumentException("maxStreamsPerMirrorNode must be greater than zero");
+        }
+
+        synchronized (this) {
+            this.maxStreamsPerMirrorNode = maxStreamsPerMirrorNode;
+        }
+
+        startWaiting();
+        return this;
+    }
+
+    /**
+     * Extract the number of streaming calls currently open.
+     *
+     * @return the number of open streaming calls
+     */
+    public synchronized int getActiveStreamCount() {
+        @Var var count = 0;
+        for (var streams : activeStreams.values()) {
+            count += streams;
+        }
+        return count;
+    }
+
+    /**
+     * Extract the number of subscriptions waiting for a mirror node to have room for another stream.
+     *
+     * @return the number of waiting subscriptions
+     */
+    public synchronized int getWaitingSubscriptionCount() {
+        return waiting.size();
+    }
+
+    /**
+     * Extract the number of subscriptions waiting to reconnect after losing their stream.
+     *
+     * @return the number of reconnecting subscriptions
+     */
+    public synchronized int getReconnectingSubscriptionCount() {
+        return reconnecting.size();
+    }
+
+    /**
+     * Is the subscription waiting for a mirror node to have room for another stream? A waiting subscription receives
+     * no messages until a stream of another subscription ends.
+     *
+     * @param handle the handle returned by {@link #subscribe(TopicMessageQuery, Consumer)}
+     * @return whether the subscription is waiting
+     */
+    public synchronized boolean isWaiting(SubscriptionHandle handle) {
+        for (var subscription : waiting) {
+            if (subscription.handle == handle) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Subscribe to the messages of a topic.
+     * <p>
+     * The query is read when each stream is opened, so it should not be changed while the subscription is active. When
+     * every mirror node already has {@link #getMaxStreamsPerMirrorNode()} streams open, the subscription waits until
+     * one of them ends.
+     *
+     * @param query  the query describing the topic and the range of messages
+     * @param onNext the callback for each message
+     * @return the subscription handle
+     */
+    public SubscriptionHandle subscribe(TopicMessageQuery query, Consumer<TopicMessage> onNext) {
+        Objects.requireNonNull(query);
+        Objects.requireNonNull(onNext);
+
+        var subscription = new ManagedSubscription(query, onNext, acquireTopicExecutor(query.getTopicId()));
+
+        subscription.handle.setOnUnsubscribe(subscription::cancel);
+        client.trackSubscription(subscription.handle);
+
+        start(subscription);
+
+        return subscription.handle;
+    }
+
+    private void start(ManagedSubscription subscription) {
+        MirrorNode node;
+
+        synchronized (this) {
+            if (subscription.finished) {
+                return;
+            }
+
+            var acquired = acquireStream();
+
+            if (acquired == null) {
+                waiting.add(subscription);
+                LOGGER.warn(
+                    "Every mirror node has {} topic streams open, the subscription to topic {} waits behind {} others "
+                        + "until one of them ends",
+                    maxStreamsPerMirrorNode, subscription.topicId, waiting.size() - 1);
+                return;
+            }
+
+            node = acquired;
+        }
+
+        subscription.open(node);
+    }
+
+    // open streams for as many waiting subscriptions as there is room for
+    private void startWaiting() {
+        var started = new ArrayList<Map.Entry<ManagedSubscription, MirrorNode>>();
+
+        synchronized (this) {
+            while (!waiting.isEmpty()) {
+                var node = acquireStream();
+
+                if (node == null) {
+                    break;
+                }
+
+                started.add(Map.entry(waiting.remove(), node));
+            }
+        }
+
+        for (var entry : started) {
+            entry.getKey().open(entry.getValue());
+        }
+    }
+
+    // must hold the lock on `this`
+    @Nullable
+    private MirrorNode acquireStream() {
+        @Var @Nullable MirrorNode best = null;
+        @Var var bestCount = maxStreamsPerMirrorNode;
+
+        for (var node : client.mirrorNetwork.getHealthyMirrorNodes()) {
+            var count = activeStreams.getOrDefault(node, 0);
+
+            if (count < bestCount) {
+                best = node;
+                bestCount = count;
+            }
+        }
+
+        if (best != null) {
+            activeStreams.put(best, bestCount + 1);
+        }
+
+        return best;
+    }
+
+    private void releaseStream(MirrorNode node) {
+        synchronized (this) {
+            activeStreams.computeIfPresent(node, (key, count) -> count > 1 ? count - 1 : null);
+        }
+
+        startWaiting();
+    }
+
+    // back off the mirror node for every reconnect, once per outage however many streams it drops
+    private synchronized void backOff(MirrorNode node) {
+        var now = System.nanoTime();
+        var backoff = mirrorNodeBackoffs.computeIfAbsent(node, key -> new MirrorNodeBackoff());
+
+        if (backoff.untilNanos - now <= 0) {
+            backoff.untilNanos = now + backoff.delayNanos;
+            backoff.delayNanos = Math.min(backoff.delayNanos * 2, MAX_MIRROR_NODE_BACKOFF_NANOS);
+        }
+    }
+
+    private synchronized void resetBackoff(MirrorNode node) {
+        mirrorNodeBackoffs.remove(node);
+    }
+
+    private synchronized void reconnect(ManagedSubscription subscription, long delayMillis) {
+        if (subscription.finished) {
+            return;
+        }
+
+        reconnecting.add(new Reconnect(subscription, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+        scheduleReconnect(nextReconnectNanos());
+    }
+
+    // must hold the lock on `this`; the time at which the first queued subscription may reconnect
+    private long nextReconnectNanos() {
+        var head = Objects.requireNonNull(reconnecting.peek());
+        var ready = mirrorNetworkReadyNanos();
+
+        return ready - head.atNanos() > 0 ? ready : head.atNanos();
+    }
+
+    // must hold the lock on `this`; the time at which the first mirror node stops backing off
+    private long mirrorNetworkReadyNanos() {
+        var nodes = client.mirrorNetwork.state.get().nodes();
+
+        // forget the mirror nodes which were removed from the network
+        mirrorNodeBackoffs.keySet().retainAll(nodes);
+
+        @Var var ready = Long.MAX_VALUE;
+        for (var node : nodes) {
+            var backoff = mirrorNodeBackoffs.get(node);
+            if (backoff == null) {
+                return System.nanoTime();
+            }
+
+            ready = ready == Long.MAX_VALUE || backoff.untilNanos - ready < 0 ? backoff.untilNanos : ready;
+        }
+
+        return ready == Long.MAX_VALUE ? System.nanoTime() : ready;
+    }
+
+    // must hold the lock on `this`
+    private void scheduleReconnect(long atNanos) {
+        if (reconnectScheduled && atNanos - reconnectNanos >= 0) {
+            return;
+        }
+
+        reconnectScheduled = true;
+        reconnectNanos = atNanos;
+        var generation = ++reconnectGeneration;
+
+        var delayMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(atNanos - System.nanoTime()));
+        Delayer.delayFor(delayMillis, client.timer).thenRun(() -> reconnectDue(generation));
+    }
+
+    private void reconnectDue(long generation) {
+        var due = new ArrayList<ManagedSubscription>();
+
+        synchronized (this) {
+            if (generation != reconnectGeneration) {
+                // a reconnect for an earlier time was scheduled after this one
+                return;
+            }
+
+            reconnectScheduled = false;
+
+            var now = System.nanoTime();
+            if (mirrorNetworkReadyNanos() - now <= 0) {
+                @Var var head = reconnecting.peek();
+                while (head != null && head.atNanos() - now <= 0) {
+                    due.add(reconnecting.remove().subscription());
+                    head = reconnecting.peek();
+                }
+            }
+
+            if (!reconnecting.isEmpty()) {
+                scheduleReconnect(nextReconnectNanos());
+            }
+        }
+
+        for (var subscription : due) {
+            start(subscription);
+        }
+    }
+
+    private synchronized Executor acquireTopicExecutor(TopicId topicId) {
+        var topicExecutor = topicExecutors.computeIfAbsent(topicId,
+            key -> new TopicExecutor(MoreExecutors.newSequentialExecutor(client.executor)));
+
+        topicExecutor.subscriptions += 1;
+        return topicExecutor.executor;
+    }
+
+    private synchronized void releaseTopicExecutor(TopicId topicId) {
+        var topicExecutor = topicExecutors.get(topicId);
+
+        if (topicExecutor != null && --topicExecutor.subscriptions == 0) {
+            topicExecutors.remove(topicId);
+        }
+    }
+
+    private static final class MirrorNodeBackoff {
+        private long untilNanos = System.nanoTime();
+
+        private long delayNanos = MIN_MIRROR_NODE_BACKOFF_NANOS;
+    }
+
+    private record Reconnect(ManagedSubscription subscription, long atNanos) {
+    }
+
+    private static final class TopicExecutor {
+        private final Executor executor;
+
+        private int subscriptions = 0;
+
+        private TopicExecutor(Executor executor) {
+            this.executor = executor;
+        }
+    }
+
+    private final class ManagedSubscription {
+        private final TopicMessageQuery query;
+
+        private final Consumer<TopicMessage> onNext;
+
+        private final TopicId topicId;
+
+        private final Executor executor;
+
+        private final SubscriptionHandle handle = new SubscriptionHandle();
+
+        private final TopicMessageChunkBuffer pendingMessages;
+
+        // guarded by the lock on the manager
+        @Nullable
+        private ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> call;
+
+        // guarded by the lock on the manager
+        private boolean finished = false;
+
+        // only touched by the callbacks of the streaming calls, which never overlap
+        private long counter = 0;
+
+        @Nullable
+        private ConsensusTopicResponse lastMessage;
+
+        private int attempt = 0;
+
+        private ManagedSubscription(TopicMessageQuery query, Consumer<TopicMessage> onNext, Executor executor) {
+            this.query = query;
+            this.onNext = onNext;
+            this.topicId = query.getTopicId();
+            this.executor = executor;
+            this.pendingMessages = query.newChunkBuffer();
+        }
+
+        private void open(MirrorNode node) {
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> newCall =
+                node.getChannel().newCall(ConsensusServiceGrpc.getSubscribeTopicMethod(), CallOptions.DEFAULT);
+
+            synchronized (TopicSubscriptionManager.this) {
+                if (!finished) {
+                    // started under the lock so that cancelling can never reach a call which has not started
+                    call = newCall;
+                    ClientCalls.asyncServerStreamingCall(newCall, query.buildRequest(counter, lastMessage),
+                        new Observer(node));
+                    return;
+                }
+            }
+
+            releaseStream(node);
+        }
+
+        private void cancel() {
+            ClientCall<ConsensusTopicQuery, ConsensusTopicResponse> current;
+
+            synchronized (TopicSubscriptionManager.this) {
+                waiting.remove(this);
+                reconnecting.removeIf(reconnect -> reconnect.subscription() == this);
+                current = call;
+            }
+
+            finish();
+
+            if (current != null) {
+                current.cancel("unsubscribe", null);
+            }
+        }
+
+        private void finish() {
+            synchronized (TopicSubscriptionManager.this) {
+                if (finished) {
+                    return;
+                }
+
+                finished = true;
+            }
+
+            client.untrackSubscription(handle);
+            releaseTopicExecutor(topicId);
+        }
+
+        private boolean isFinished() {
+            synchronized (TopicSubscriptionManager.this) {
+                return finished;
+            }
+        }
+
+        private final class Observer implements StreamObserver<ConsensusTopicResponse> {
+            private final MirrorNode node;
+
+            private boolean received = false;
+
+            private Observer(MirrorNode node) {
+                this.node = node;
+            }
+
+            @Override
+            public void onNext(ConsensusTopicResponse response) {
+                if (!received) {
+                    received = true;
+                    client.mirrorNetwork.decreaseBackoff(node);
+                    resetBackoff(node);
+                }
+
+                counter += 1;
+                lastMessage = response;
+
+                // Short circuit for no chunks or 1/1 chunks
+                var message = !response.hasChunkInfo() || response.getChunkInfo().getTotal() == 1
+                    ? TopicMessage.ofSingle(response)
+                    : pendingMessages.add(response);
+
+                if (message != null) {
+                    executor.execute(() -> query.handleMessage(onNext, message));
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                if (isUnavailable(t)) {
+                    client.mirrorNetwork.increaseBackoff(node);
+                    backOff(node);
+                }
+
+                endStream();
+
+                if (isFinished()) {
+                    return;
+                }
+
+                if (!query.canRetry(t, attempt)) {
+                    finish();
+                    executor.execute(() -> query.handleError(t));
+                    return;
+                }
+
+                var delay = query.getBackoff(attempt);
+                LOGGER.warn(
+                    "Error subscribing to topic {} during attempt #{}. Waiting at least {} ms before next attempt: {}",
+                    topicId, attempt, delay, t.getMessage());
+
+                attempt += 1;
+
+                reconnect(ManagedSubscription.this, delay);
+            }
+
+            @Override
+            public void onCompleted() {
+                endStream();
+                finish();
+                executor.execute(query::handleComplete);
+            }
+
+            private void endStream() {
+                synchronized (TopicSubscriptionManager.this) {
+                    call = null;
+                }
+
+                releaseStream(node);
+            }
+        }
+    }
+
+    private static boolean isUnavailable(Throwable t) {
+        return t instanceof StatusRuntimeException statusException
+            && statusException.getStatus().getCode() == Status.Code.UNAVAILABLE;
+    }
+}
@@ -41,6 +41,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import javax.annotation.Nullable;
@@ -78,6 +79,17 @@ public abstract class Transaction<T extends Transaction<T>>
     @Nullable
     protected TransactionBody.Builder frozenBodyBuilder = null;
 
+    /**
+     * Whether the inner signed transactions are built on first use instead of when the transaction lists are wiped.
+     */
+    protected boolean lazyTransactionBodies = false;
+
+    /**
+     * When building lazily, the body for each transaction ID, without a node account ID. A null entry in
+     * innerSignedTransactions is built from these on first use.
+     */
+    protected List<TransactionBody> unbuiltBodies = Collections.emptyList();
+
     /**
      * An SDK [Transaction] is composed of multiple, raw protobuf transactions. These should be functionally identical,
      * except pointing to different nodes. When retrying a transaction after a network error or retry-able status
@@ -97,6 +109,13 @@ public abstract class Transaction<T extends Transaction<T>>
      */
     protected List<SignatureMap.Builder> sigPairLists = Collections.emptyList();
 
+    /**
+     * For every entry in sigPairLists, the number of leading entries in publicKeys and signers that have already been
+     * applied to it. Adding a signer then only signs with that signer instead of rechecking every key for every body.
+     * Must be reset whenever sigPairLists is rebuilt.
+     */
+    protected int[] appliedSignerCounts = new int[0];
+
     /**
      * List of IDs for the transaction based on the operator because the transaction ID includes the operator's account
      */
@@ -116,6 +135,25 @@ public abstract class Transaction<T extends Transaction<T>>
      */
     protected List<Function<byte[], byte[]>> signers = new ArrayList<>();
 
+    /**
+     * Signers whose signatures are collected asynchronously, by public key. Their signatures are added to every entry
+     * of sigPairLists which lacks one before the transaction is sent or serialized. Guarded by {@code this}.
+     */
+    final Map<PublicKey, AsyncSigner> asyncSigners = new LinkedHashMap<>();
+
+    /**
+     * Some entry of sigPairLists may still lack a signature from one of asyncSigners. Written while holding
+     * {@code this}, and volatile so that building a transaction can check it without locking.
+     */
+    volatile boolean asyncSignaturesPending = false;
+
+    /**
+     * The signatures currently being collected from asyncSigners, if any. Guarded by {@code this}, so that
+     * concurrent callers share one batch instead of each collecting the same signatures.
+     */
+    @Nullable
+    private CompletableFuture<Void> asyncSignaturesFuture = null;
+
     /**
      * The maximum transaction fee the client is willing to pay
      */
@@ -194,6 +232,8 @@ public abstract class Transaction<T extends Transaction<T>>
             }
         }
 
+        appliedSignerCounts = new int[sigPairLists.size()];
+
         nodeAccountIds.remove(new AccountId(0)).setLocked(true);
         transactionIds.setLocked(true);
 
@@ -844,6 +884,11 @@ public abstract class Transaction<T extends Transaction<T>>
         return transactionIds.getCurrent();
     }
 
+    @Override
+    RequestType getRequestType() {
+        return frozenBodyBuilder != null ? RequestType.valueOf(frozenBodyBuilder.getDataCase()) : RequestType.NONE;
+    }
+
     /**
      * Extract the transaction id.
      *
@@ -939,6 +984,172 @@ public abstract class Transaction<T extends Transaction<T>>
         return (T) this;
     }
 
+    /**
+     * Sign the transaction with a signer which signs asynchronously.
+     * <p>
+     * The signer is asked for the signatures of every node and chunk in one batch. Executing the transaction
+     * asynchronously waits for them without blocking; executing it synchronously or serializing it blocks until they
+     * arrive. See {@link #collectSignaturesAsync()} to collect them ahead of time.
+     * <p>
+     * The signatures cover the transaction IDs as frozen, so a transaction with an asynchronous signer is not retried
+     * under a new transaction ID when it expires.
+     *
+     * @param publicKey the public key
+     * @param signer    the signer
+     * @return {@code this}
+     */
+    public T signWithAsync(PublicKey publicKey, AsyncSigner signer) {
+        if (!isFrozen()) {
+            throw new IllegalStateException("Signing requires transaction to be frozen");
+        }
+
+        if (keyAlreadySigned(publicKey)) {
+            // noinspection unchecked
+            return (T) this;
+        }
+
+        synchronized (this) {
+            asyncSigners.put(publicKey, Objects.requireNonNull(signer));
+            asyncSignaturesPending = true;
+        }
+
+        // noinspection unchecked
+        return (T) this;
+    }
+
+    /**
+     * Collect the signatures of every signer added with {@link #signWithAsync(PublicKey, AsyncSigner)} which are still
+     * missing.
+     *
+     * @return future result of {@code this}, once every signature is in
+     */
+    public CompletableFuture<T> collectSignaturesAsync() {
+        // noinspection unchecked
+        return collectAsyncSignatures(List.of(this)).thenApply(ignored -> (T) this);
+    }
+
+    /**
+     * Collect the missing asynchronous signatures of many transactions, asking each signer for all the bodies it has
+     * to sign across the transactions in as few batches as it allows.
+     *
+     * @param transactions the transactions
+     * @return future which completes once every signature is added
+     */
+    static CompletableFuture<Void> collectAsyncSignatures(List<? extends Transaction<?>> transactions) {
+        var waits = new ArrayList<CompletableFuture<Void>>();
+        var requests = new LinkedHashMap<AsyncSigner, List<AsyncSignature>>();
+        var collecting = new ArrayList<Transaction<?>>();
+        var signerCounts = new ArrayList<Integer>();
+        var collected = new CompletableFuture<Void>();
+
+        for (var transaction : transactions) {
+            synchronized (transaction) {
+                if (transaction.asyncSignaturesFuture != null) {
+                    waits.add(transaction.asyncSignaturesFuture);
+                    continue;
+                }
+
+                if (!transaction.asyncSignaturesPending) {
+                    continue;
+                }
+
+                for (var entry : transaction.asyncSigners.entrySet()) {
+                    var publicKeyBytes = ByteString.copyFrom(entry.getKey().toBytesRaw());
+
+                    for (var i = 0; i < transaction.sigPairLists.size(); i++) {
+                        var sigPairList = transaction.sigPairLists.get(i).getSigPairList();
+                        if (!publicKeyIsInSigPairList(publicKeyBytes, sigPairList)) {
+                            requests.computeIfAbsent(entry.getValue(), signer -> new ArrayList<>())
+                                .add(new AsyncSignature(transaction, i, entry.getKey()));
+                        }
+                    }
+                }
+
+                // claim the transaction so that a concurrent caller waits for this batch instead of starting another
+                transaction.asyncSignaturesFuture = collected;
+                collecting.add(transaction);
+                signerCounts.add(transaction.asyncSigners.size());
+            }
+        }
+
+        if (collecting.isEmpty()) {
+            return CompletableFuture.allOf(waits.toArray(new CompletableFuture<?>[0]));
+        }
+
+        var batches = new ArrayList<CompletableFuture<Void>>();
+        for (var request : requests.entrySet()) {
+            var signer = request.getKey();
+            var pending = request.getValue();
+            var batchSize = Math.max(1, signer.getMaxBatchSize());
+
+            for (var from = 0; from < pending.size(); from += batchSize) {
+                batches.add(signBatch(signer, pending.subList(from, Math.min(pending.size(), from + batchSize))));
+            }
+        }
+
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+            for (var signatures : requests.values()) {
+                for (var signature : signatures) {
+                    signature.apply();
+                }
+            }
+        }).whenComplete((ignored, error) -> {
+            for (var i = 0; i < collecting.size(); i++) {
+                var transaction = collecting.get(i);
+
+                synchronized (transaction) {
+                    if (error == null) {
+                        // a signer added while collecting still has to be asked
+                        transaction.asyncSignaturesPending = transaction.asyncSigners.size() != signerCounts.get(i);
+                    }
+
+                    transaction.asyncSignaturesFuture = null;
+                }
+            }
+
+            if (error != null) {
+                collected.completeExceptionally(error);
+            } else {
+                collected.complete(null);
+            }
+        });
+
+        waits.add(collected);
+        return CompletableFuture.allOf(waits.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static CompletableFuture<Void> signBatch(AsyncSigner signer, List<AsyncSignature> batch) {
+        var messages = new ArrayList<byte[]>(batch.size());
+        for (var signature : batch) {
+            messages.add(signature.bodyBytes());
+        }
+
+        return signer.signAll(messages).thenAccept(signatures -> {
+            if (signatures.size() != batch.size()) {
+                throw new IllegalStateException(
+                    "signer returned " + signatures.size() + " signatures for " + batch.size() + " messages");
+            }
+
+            for (var i = 0; i < batch.size(); i++) {
+                batch.get(i).signature = Objects.requireNonNull(signatures.get(i));
+            }
+        });
+    }
+
+    /**
+     * Block until the missing asynchronous signatures are added.
+     */
+    private void awaitAsyncSignatures() {
+        try {
+            collectAsyncSignatures(List.of(this)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     /**
      * Sign the transaction with the configured client.
      *
@@ -957,6 +1168,10 @@ public abstract class Transaction<T extends Transaction<T>>
             freezeWith(client);
         }
 
+        if (operator.asyncSigner != null) {
+            return signWithAsync(operator.publicKey, operator.asyncSigner);
+        }
+
         return signWith(operator.publicKey, operator.transactionSigner);
     }
 
@@ -967,7 +1182,7 @@ public abstract class Transaction<T extends Transaction<T>>
      * @return if the public key is already added
      */
     protected boolean keyAlreadySigned(PublicKey key) {
-        return publicKeys.contains(key);
+        return publicKeys.contains(key) || asyncSigners.containsKey(key);
     }
 
     /**
@@ -1137,6 +1352,7 @@ public abstract class Transaction<T extends Transaction<T>>
             }
         }
 
+        lazyTransactionBodies = client != null && client.isLazyTransactionBodiesEnabled();
         frozenBodyBuilder = spawnBodyBuilder(client).setTransactionID(transactionIds.get(0).toProtobuf());
         onFreeze(frozenBodyBuilder);
 
@@ -1203,10 +1419,13 @@ public abstract class Transaction<T extends Transaction<T>>
         outerTransactions = new ArrayList<>(nodeAccountIds.size());
         sigPairLists = new ArrayList<>(nodeAccountIds.size());
         innerSignedTransactions = new ArrayList<>(nodeAccountIds.size());
+        unbuiltBodies = lazyTransactionBodies ?
+            Collections.singletonList(Objects.requireNonNull(frozenBodyBuilder).build()) :
+            Collections.emptyList();
 
         for (AccountId nodeId : nodeAccountIds) {
             sigPairLists.add(SignatureMap.newBuilder());
-            innerSignedTransactions.add(SignedTransaction.newBuilder()
+            innerSignedTransactions.add(lazyTransactionBodies ? null : SignedTransaction.newBuilder()
                 .setBodyBytes(Objects.requireNonNull(frozenBodyBuilder)
                     .setNodeAccountID(nodeId.toProtobuf())
                     .build()
@@ -1214,6 +1433,34 @@ public abstract class Transaction<T extends Transaction<T>>
                 ));
             outerTransactions.add(null);
         }
+
+        appliedSignerCounts = new int[sigPairLists.size()];
+        asyncSignaturesPending = !asyncSigners.isEmpty();
+    }
+
+    /**
+     * Extract the inner signed transaction at {@code index}, building its body first if it was left unbuilt. This
+     * function is only ever called after the transaction is frozen.
+     *
+     * @param index the index of the inner signed transaction
+     * @return the inner signed transaction
+     */
+    SignedTransaction.Builder getInnerSignedTransaction(int index) {
+        var innerSignedTransaction = innerSignedTransactions.get(index);
+        if (innerSignedTransaction != null) {
+            return innerSignedTransaction;
+        }
+
+        var nodeCount = nodeAccountIds.size();
+        var builtTransaction = SignedTransaction.newBuilder()
+            .setBodyBytes(unbuiltBodies.get(index / nodeCount).toBuilder()
+                .setNodeAccountID(nodeAccountIds.get(index % nodeCount).toProtobuf())
+                .build()
+                .toByteString()
+            );
+        innerSignedTransactions.set(index, builtTransaction);
+
+        return builtTransaction;
     }
 
     /**
@@ -1235,6 +1482,10 @@ public abstract class Transaction<T extends Transaction<T>>
      * @param index the index of the transaction to be built
      */
     void buildTransaction(int index) {
+        if (asyncSignaturesPending) {
+            awaitAsyncSignatures();
+        }
+
         // Check if transaction is already built.
         // Every time a signer is added via sign() or signWith(), all outerTransactions are nullified.
         if (
@@ -1248,7 +1499,7 @@ public abstract class Transaction<T extends Transaction<T>>
 
         outerTransactions.set(index, com.hedera.hashgraph.sdk.proto.Transaction.newBuilder()
             .setSignedTransactionBytes(
-                innerSignedTransactions.get(index)
+                getInnerSignedTransaction(index)
                     .setSigMap(sigPairLists.get(index))
                     .build()
                     .toByteString()
@@ -1262,23 +1513,29 @@ public abstract class Transaction<T extends Transaction<T>>
      * @param index the index of the transaction to sign
      */
     void signTransaction(int index) {
-        var bodyBytes = innerSignedTransactions.get(index).getBodyBytes().toByteArray();
-        var thisSigPairList = sigPairLists.get(index).getSigPairList();
+        var appliedSignerCount = appliedSignerCounts[index];
+        if (appliedSignerCount == publicKeys.size()) {
+            return;
+        }
+
+        var bodyBytes = getInnerSignedTransaction(index).getBodyBytes().toByteArray();
+        var sigPairList = sigPairLists.get(index);
 
-        for (var i = 0; i < publicKeys.size(); i++) {
+        for (var i = appliedSignerCount; i < publicKeys.size(); i++) {
             if (signers.get(i) == null) {
                 continue;
             }
-            if (publicKeyIsInSigPairList(ByteString.copyFrom(publicKeys.get(i).toBytesRaw()), thisSigPairList)) {
+            var publicKeyBytes = ByteString.copyFrom(publicKeys.get(i).toBytesRaw());
+            if (publicKeyIsInSigPairList(publicKeyBytes, sigPairList.getSigPairList())) {
                 continue;
             }
 
             var signatureBytes = signers.get(i).apply(bodyBytes);
 
-            sigPairLists
-                .get(index)
-                .addSigPair(publicKeys.get(i).toSignaturePairProtobuf(signatureBytes));
+            sigPairList.addSigPair(publicKeys.get(i).toSignaturePairProtobuf(signatureBytes));
         }
+
+        appliedSignerCounts[index] = publicKeys.size();
     }
 
     /**
@@ -1326,6 +1583,19 @@ public abstract class Transaction<T extends Transaction<T>>
      * @param client the configured client
      */
     void onExecute(Client client) {
+        prepareExecute(client);
+
+        if (asyncSignaturesPending) {
+            awaitAsyncSignatures();
+        }
+    }
+
+    /**
+     * Freeze and sign the transaction with the operator, leaving any asynchronous signatures to be collected.
+     *
+     * @param client the configured client
+     */
+    private void prepareExecute(Client client) {
         if (!isFrozen()) {
             freezeWith(client);
         }
@@ -1351,14 +1621,16 @@ public abstract class Transaction<T extends Transaction<T>>
 
     @Override
     CompletableFuture<Void> onExecuteAsync(Client client) {
-        onExecute(client);
-        return CompletableFuture.completedFuture(null);
+        prepareExecute(client);
+        return collectAsyncSignatures(List.of(this));
     }
 
     @Override
     ExecutionState getExecutionState(Status status, com.hedera.hashgraph.sdk.proto.TransactionResponse response) {
         if (status == Status.TRANSACTION_EXPIRED) {
-            if ((regenerateTransactionId != null && !regenerateTransactionId) || transactionIds.isLocked()) {
+            if ((regenerateTransactionId != null && !regenerateTransactionId)
+                || transactionIds.isLocked()
+                || !asyncSigners.isEmpty()) {
                 return ExecutionState.REQUEST_ERROR;
             } else {
                 var firstTransactionId = Objects.requireNonNull(transactionIds.get(0));
@@ -1388,4 +1660,36 @@ public abstract class Transaction<T extends Transaction<T>>
 
         return body.buildPartial().toString().replaceAll("@[A-Za-z0-9]+", "");
     }
+
+    /**
+     * A signature to collect from an asynchronous signer, for one body of one transaction.
+     */
+    private static final class AsyncSignature {
+        private final Transaction<?> transaction;
+
+        private final int index;
+
+        private final PublicKey publicKey;
+
+        @Nullable
+        private byte[] signature = null;
+
+        private AsyncSignature(Transaction<?> transaction, int index, PublicKey publicKey) {
+            this.transaction = transaction;
+            this.index = index;
+            this.publicKey = publicKey;
+        }
+
+        private byte[] bodyBytes() {
+            return transaction.getInnerSignedTransaction(index).getBodyBytes().toByteArray();
+        }
+
+        private void apply() {
+            synchronized (transaction) {
+                transaction.sigPairLists.get(index)
+                    .addSigPair(publicKey.toSignaturePairProtobuf(Objects.requireNonNull(signature)));
+                transaction.outerTransactions.set(index, null);
+            }
+        }
+    }
 }
@@ -0,0 +1,235 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Submits a high volume of frozen transactions while keeping a bounded number of them in flight per node.
+ * <p>
+ * Every transaction is executed with {@link Transaction#executeAsync(Client, Duration)}, so the usual retry and
+ * backoff behaviour applies. Each attempt takes room in the window of the node it is actually sent to, whichever node
+ * the retries and the node selection strategy pick, and waits without blocking a thread while that window is full.
+ * <p>
+ * Submitting blocks while {@link #getMaxInFlightPerNode()} times the number of nodes in the network, as counted when
+ * the pipeline was created, transactions are submitted and not yet complete.
+ */
+public final class TransactionPipeline {
+    static final int DEFAULT_MAX_IN_FLIGHT_PER_NODE = 32;
+
+    private final Client client;
+    private final int maxInFlightPerNode;
+    private final int maxPending;
+    private final Semaphore pending;
+    private final Map<AccountId, NodeWindow> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param client             the client used to freeze and execute the transactions
+     * @param maxInFlightPerNode the maximum number of transactions in flight per node
+     */
+    TransactionPipeline(Client client, int maxInFlightPerNode) {
+        if (maxInFlightPerNode <= 0) {
+            throw new IllegalArgumentException("maxInFlightPerNode must be greater than zero");
+        }
+
+        this.client = Objects.requireNonNull(client);
+        this.maxInFlightPerNode = maxInFlightPerNode;
+        this.maxPending = maxInFlightPerNode * Math.max(1, client.network.state.get().network().size());
+        this.pending = new Semaphore(maxPending);
+    }
+
+    /**
+     * Extract the maximum number of transactions in flight per node.
+     *
+     * @return the maximum number of transactions in flight per node
+     */
+    public int getMaxInFlightPerNode() {
+        return maxInFlightPerNode;
+    }
+
+    /**
+     * Submit a transaction, waiting for room in the pipeline first.
+     *
+     * @param transaction the frozen transaction
+     * @return future result of the execution
+     * @throws InterruptedException when the thread is interrupted while waiting for room in the pipeline
+     */
+    public CompletableFuture<TransactionResponse> submit(Transaction<?> transaction) throws InterruptedException {
+        return submit(transaction, client.getRequestTimeout());
+    }
+
+    /**
+     * Submit a transaction, waiting for room in the pipeline first.
+     *
+     * @param transaction the frozen transaction
+     * @param timeout     the timeout after which the execution attempt will be cancelled
+     * @return future result of the execution
+     * @throws InterruptedException when the thread is interrupted while waiting for room in the pipeline
+     */
+    public CompletableFuture<TransactionResponse> submit(
+        Transaction<?> transaction,
+        Duration timeout
+    ) throws InterruptedException {
+        if (!transaction.isFrozen()) {
+            throw new IllegalStateException("transaction must be frozen before it is submitted to a pipeline");
+        }
+
+        pending.acquire();
+        transaction.pipeline = this;
+
+        try {
+            return transaction.executeAsync(client, timeout).whenComplete((response, error) -> {
+                transaction.pipeline = null;
+                pending.release();
+            });
+        } catch (RuntimeException e) {
+            transaction.pipeline = null;
+            pending.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Submit a stream of frozen transactions.
+     * <p>
+     * Transactions are pulled from the source as the returned stream is consumed, keeping at most as many transactions
+     * ahead of the consumer as the pipeline lets in at once. Responses are returned in the order the transactions were
+     * submitted. A failed transaction fails the returned stream when its response is reached.
+     *
+     * @param transactions the frozen transactions
+     * @return the responses, in submission order
+     */
+    public Stream<TransactionResponse> submitAll(Stream<? extends Transaction<?>> transactions) {
+        var spliterator = new ResponseSpliterator(transactions.iterator(), maxPending);
+
+        return StreamSupport.stream(spliterator, false).onClose(transactions::close);
+    }
+
+    /**
+     * Take room in the window of a node for one attempt. Called by {@link Executable} once it has selected the node.
+     *
+     * @param nodeAccountId the node the attempt is sent to
+     * @return future which completes once the attempt may be sent
+     */
+    CompletableFuture<Void> acquire(AccountId nodeAccountId) {
+        var window = windows.computeIfAbsent(nodeAccountId, ignored -> new NodeWindow());
+
+        synchronized (window) {
+            if (window.inFlight < maxInFlightPerNode) {
+                window.inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+
+            var waiter = new CompletableFuture<Void>();
+            window.waiting.add(waiter);
+            return waiter;
+        }
+    }
+
+    /**
+     * Free the room of an attempt in the window of a node, handing it to the next waiting attempt if there is one.
+     *
+     * @param nodeAccountId the node the attempt was sent to
+     */
+    void release(AccountId nodeAccountId) {
+        var window = Objects.requireNonNull(windows.get(nodeAccountId));
+        CompletableFuture<Void> next;
+
+        synchronized (window) {
+            next = window.waiting.poll();
+            if (next == null) {
+                window.inFlight--;
+                return;
+            }
+        }
+
+        // Completed outside the lock as it starts the call of the waiting attempt
+        next.complete(null);
+    }
+
+    /**
+     * Extract the number of attempts in flight to a node.
+     *
+     * @param nodeAccountId the node
+     * @return the number of attempts in flight
+     */
+    int getInFlight(AccountId nodeAccountId) {
+        var window = windows.get(nodeAccountId);
+        if (window == null) {
+            return 0;
+        }
+
+        synchronized (window) {
+            return window.inFlight;
+        }
+    }
+
+    private static final class NodeWindow {
+        private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+        private int inFlight;
+    }
+
+    private class ResponseSpliterator extends Spliterators.AbstractSpliterator<TransactionResponse> {
+        private final Iterator<? extends Transaction<?>> source;
+        private final ArrayDeque<CompletableFuture<TransactionResponse>> pending;
+        private final int lookahead;
+
+        ResponseSpliterator(Iterator<? extends Transaction<?>> source, int lookahead) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.source = source;
+            this.lookahead = lookahead;
+            this.pending = new ArrayDeque<>(lookahead);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TransactionResponse> action) {
+            while (pending.size() < lookahead && source.hasNext()) {
+                try {
+                    pending.add(submit(source.next()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+
+            var next = pending.poll();
+            if (next == null) {
+                return false;
+            }
+
+            action.accept(next.join());
+            return true;
+        }
+    }
+}
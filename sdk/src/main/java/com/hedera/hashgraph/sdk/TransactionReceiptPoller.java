@@ -0,0 +1,509 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nullable;
+
+/**
+ * Polls the receipts of many transactions through one shared scheduler.
+ * <p>
+ * {@link TransactionResponse#getReceiptAsync(Client)} runs a {@link TransactionReceiptQuery} per transaction, each
+ * retrying with its own backoff until the receipt is available. With thousands of outstanding transactions that
+ * becomes thousands of independent pollers. The poller instead keeps every pending transaction in one queue per node
+ * and sends a single receipt query per transaction whenever it is due, so that:
+ * <ul>
+ *     <li>the first poll of a transaction is timed by how long receipts recently took to become available, and
+ *     later polls back off from {@link #getMinPollInterval()} up to {@link #getMaxPollInterval()};</li>
+ *     <li>no node is sent more than {@link #getMaxQueriesPerSecondPerNode()} receipt queries per second, however
+ *     many transactions are pending on it;</li>
+ *     <li>asking for the receipt of a transaction which is already pending shares the poll instead of starting
+ *     another one.</li>
+ * </ul>
+ * Polls are scheduled on the timer of the client. When the client is closed, pending receipts fail.
+ */
+public final class TransactionReceiptPoller {
+    static final int DEFAULT_MAX_QUERIES_PER_SECOND_PER_NODE = 50;
+
+    static final Duration DEFAULT_MIN_POLL_INTERVAL = Duration.ofMillis(250);
+
+    static final Duration DEFAULT_MAX_POLL_INTERVAL = Duration.ofSeconds(4);
+
+    // weight of the latest observed receipt in the estimate of when to first poll
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final Client client;
+
+    // the fields below are guarded by `this`
+    private int maxQueriesPerSecondPerNode = DEFAULT_MAX_QUERIES_PER_SECOND_PER_NODE;
+
+    private Duration minPollInterval = DEFAULT_MIN_POLL_INTERVAL;
+
+    private Duration maxPollInterval = DEFAULT_MAX_POLL_INTERVAL;
+
+    private final Map<TransactionId, PendingReceipt> pending = new HashMap<>();
+
+    private final Map<AccountId, NodeQueue> nodeQueues = new HashMap<>();
+
+    private double expectedLatencyNanos = 0;
+
+    private boolean tickScheduled = false;
+
+    private long tickNanos = 0;
+
+    private long tickGeneration = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param client the client whose network and timer the receipts are polled with
+     */
+    TransactionReceiptPoller(Client client) {
+        this.client = Objects.requireNonNull(client);
+    }
+
+    /**
+     * Extract the maximum number of receipt queries sent to a node per second.
+     *
+     * @return the maximum number of receipt queries per node per second
+     */
+    public synchronized int getMaxQueriesPerSecondPerNode() {
+        return maxQueriesPerSecondPerNode;
+    }
+
+    /**
+     * Assign the maximum number of receipt queries sent to a node per second.
+     * <p>
+     * Receipts which are due while a node is at its limit are polled as soon as the node has room again.
+     *
+     * @param maxQueriesPerSecondPerNode the maximum number of receipt queries per node per second
+     * @return {@code this}
+     */
+    public synchronized TransactionReceiptPoller setMaxQueriesPerSecondPerNode(int maxQueriesPerSecondPerNode) {
+        if (maxQueriesPerSecondPerNode <= 0) {
+            throw new IllegalArgumentException("maxQueriesPerSecondPerNode must be greater than zero");
+        }
+
+        this.maxQueriesPerSecondPerNode = maxQueriesPerSecondPerNode;
+        return this;
+    }
+
+    /**
+     * Extract the shortest interval between two polls of the same receipt.
+     *
+     * @return the minimum poll interval
+     */
+    public synchronized Duration getMinPollInterval() {
+        return minPollInterval;
+    }
+
+    /**
+     * Assign the shortest interval between two polls of the same receipt.
+     *
+     * @param minPollInterval the minimum poll interval
+     * @return {@code this}
+     */
+    public synchronized TransactionReceiptPoller setMinPollInterval(Duration minPollInterval) {
+        Objects.requireNonNull(minPollInterval);
+
+        if (minPollInterval.isNegative() || minPollInterval.isZero()) {
+            throw new IllegalArgumentException("minPollInterval must be greater than zero");
+        }
+
+        if (minPollInterval.compareTo(maxPollInterval) > 0) {
+            throw new IllegalArgumentException("minPollInterval must be less than or equal to maxPollInterval");
+        }
+
+        this.minPollInterval = minPollInterval;
+        return this;
+    }
+
+    /**
+     * Extract the longest interval between two polls of the same receipt.
+     *
+     * @return the maximum poll interval
+     */
+    public synchronized Duration getMaxPollInterval() {
+        return maxPollInterval;
+    }
+
+    /**
+     * Assign the longest interval between two polls of the same receipt.
+     *
+     * @param maxPollInterval the maximum poll interval
+     * @return {@code this}
+     */
+    public synchronized TransactionReceiptPoller setMaxPollInterval(Duration maxPollInterval) {
+        Objects.requireNonNull(maxPollInterval);
+
+        if (maxPollInterval.compareTo(minPollInterval) < 0) {
+            throw new IllegalArgumentException("maxPollInterval must be greater than or equal to minPollInterval");
+        }
+
+        this.maxPollInterval = maxPollInterval;
+        return this;
+    }
+
+    /**
+     * Extract the number of transactions whose receipt is still being polled.
+     *
+     * @return the number of pending receipts
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Poll the receipt of a transaction, validating its status as
+     * {@link TransactionResponse#getReceiptAsync(Client)} would.
+     *
+     * @param response the response of the transaction
+     * @return future result of the transaction receipt
+     */
+    public CompletableFuture<TransactionReceipt> getReceipt(TransactionResponse response) {
+        return getReceipt(response, client.getRequestTimeout());
+    }
+
+    /**
+     * Poll the receipt of a transaction, validating its status as
+     * {@link TransactionResponse#getReceiptAsync(Client, Duration)} would.
+     *
+     * @param response the response of the transaction
+     * @param timeout  the time after which the future fails with a {@link TimeoutException}
+     * @return future result of the transaction receipt
+     */
+    public CompletableFuture<TransactionReceipt> getReceipt(TransactionResponse response, Duration timeout) {
+        var validateStatus = response.getValidateStatus();
+        return getReceipt(response.transactionId, response.nodeId, timeout).thenCompose(receipt -> {
+            try {
+                return CompletableFuture.completedFuture(receipt.validateStatus(validateStatus));
+            } catch (ReceiptStatusException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+
+    /**
+     * Poll the receipt of a transaction from the node it was submitted to.
+     * <p>
+     * The status of the receipt is not validated.
+     *
+     * @param transactionId the ID of the transaction
+     * @param nodeId        the node the transaction was submitted to
+     * @param timeout       the time after which the future fails with a {@link TimeoutException}
+     * @return future result of the transaction receipt
+     */
+    public CompletableFuture<TransactionReceipt> getReceipt(
+        TransactionId transactionId,
+        AccountId nodeId,
+        Duration timeout
+    ) {
+        Objects.requireNonNull(transactionId);
+        Objects.requireNonNull(nodeId);
+        Objects.requireNonNull(timeout);
+
+        var now = System.nanoTime();
+        var deadlineNanos = now + timeout.toNanos();
+
+        synchronized (this) {
+            var existing = pending.get(transactionId);
+            if (existing != null) {
+                existing.deadlineNanos = Math.max(existing.deadlineNanos, deadlineNanos);
+                return existing.future.copy();
+            }
+
+            var receipt = new PendingReceipt(transactionId, nodeId, now, deadlineNanos);
+            receipt.nextPollNanos = Math.min(now + firstPollDelayNanos(), deadlineNanos);
+            pending.put(transactionId, receipt);
+            enqueue(receipt);
+
+            return receipt.future.copy();
+        }
+    }
+
+    synchronized long firstPollDelayNanos() {
+        var min = minPollInterval.toNanos();
+        var max = maxPollInterval.toNanos();
+        return Math.min(Math.max((long) expectedLatencyNanos, min), max);
+    }
+
+    private synchronized long pollIntervalNanos(int attempt) {
+        var min = minPollInterval.toNanos();
+        var max = maxPollInterval.toNanos();
+        // double the interval on every attempt without overflowing
+        return attempt >= 30 ? max : Math.min(min << attempt, max);
+    }
+
+    private synchronized void enqueue(PendingReceipt receipt) {
+        nodeQueues.computeIfAbsent(receipt.nodeId, nodeId -> new NodeQueue(maxQueriesPerSecondPerNode)).add(receipt);
+        scheduleTick(receipt.nextPollNanos);
+    }
+
+    private synchronized void scheduleTick(long atNanos) {
+        if (tickScheduled && tickNanos <= atNanos) {
+            return;
+        }
+
+        tickScheduled = true;
+        tickNanos = atNanos;
+        var generation = ++tickGeneration;
+
+        var delayMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(atNanos - System.nanoTime()));
+        Delayer.delayFor(delayMillis, client.timer).whenComplete((ignored, error) -> {
+            if (error != null) {
+                // the timer was stopped as the client is closing
+                failAll(error);
+            } else {
+                tick(generation);
+            }
+        });
+    }
+
+    private void tick(long generation) {
+        var due = new ArrayList<PendingReceipt>();
+        var expired = new ArrayList<PendingReceipt>();
+
+        synchronized (this) {
+            if (generation != tickGeneration) {
+                // a tick for an earlier time was scheduled after this one
+                return;
+            }
+
+            tickScheduled = false;
+
+            var now = System.nanoTime();
+            @Var var nextTickNanos = Long.MAX_VALUE;
+
+            for (var queue : nodeQueues.values()) {
+                queue.refill(now, maxQueriesPerSecondPerNode);
+
+                @Var var head = queue.peek();
+                while (head != null && head.nextPollNanos <= now) {
+                    if (head.deadlineNanos <= now) {
+                        expired.add(queue.poll());
+                    } else if (queue.tryAcquire()) {
+                        due.add(queue.poll());
+                    } else {
+                        break;
+                    }
+
+                    head = queue.peek();
+                }
+
+                if (head != null) {
+                    nextTickNanos = Math.min(nextTickNanos, Math.max(head.nextPollNanos, queue.nextPermitNanos(now)));
+                }
+            }
+
+            nodeQueues.values().removeIf(NodeQueue::isIdle);
+
+            for (var receipt : expired) {
+                pending.remove(receipt.transactionId);
+            }
+
+            if (nextTickNanos != Long.MAX_VALUE) {
+                scheduleTick(nextTickNanos);
+            }
+        }
+
+        for (var receipt : expired) {
+            receipt.future.completeExceptionally(timeoutException(receipt));
+        }
+
+        for (var receipt : due) {
+            poll(receipt);
+        }
+    }
+
+    private void poll(PendingReceipt receipt) {
+        new TransactionReceiptQuery()
+            .setTransactionId(receipt.transactionId)
+            .setNodeAccountIds(Collections.singletonList(receipt.nodeId))
+            .setPollOnce(true)
+            .executeAsync(client)
+            .whenComplete((result, error) -> onPolled(receipt, result, error));
+    }
+
+    private void onPolled(PendingReceipt receipt, @Nullable TransactionReceipt result, @Nullable Throwable error) {
+        var now = System.nanoTime();
+
+        synchronized (this) {
+            if (error == null && result != null && TransactionReceiptQuery.isPending(result)) {
+                if (receipt.deadlineNanos > now) {
+                    receipt.attempt++;
+                    receipt.nextPollNanos = Math.min(now + pollIntervalNanos(receipt.attempt), receipt.deadlineNanos);
+                    enqueue(receipt);
+                    return;
+                }
+            } else if (error == null) {
+                onReceiptAvailable(receipt, now);
+            }
+
+            pending.remove(receipt.transactionId);
+        }
+
+        if (error != null) {
+            receipt.future.completeExceptionally(error);
+        } else if (result == null || TransactionReceiptQuery.isPending(result)) {
+            receipt.future.completeExceptionally(timeoutException(receipt));
+        } else {
+            receipt.future.complete(result);
+        }
+    }
+
+    /**
+     * Update the estimate of when to first poll from a receipt which became available.
+     * <p>
+     * A receipt found by its first poll may have been available long before, so the time it took says nothing
+     * except that the first poll was not too early; the estimate is lowered instead. Only a receipt which was still
+     * pending at its first poll shows that the estimate was too short, and the estimate is raised towards the time
+     * it took.
+     */
+    private synchronized void onReceiptAvailable(PendingReceipt receipt, long now) {
+        if (receipt.attempt == 0) {
+            expectedLatencyNanos *= 1 - LATENCY_WEIGHT;
+        } else {
+            var latency = now - receipt.registeredNanos;
+            expectedLatencyNanos += LATENCY_WEIGHT * (latency - expectedLatencyNanos);
+        }
+    }
+
+    private void failAll(Throwable error) {
+        List<PendingReceipt> failed;
+
+        synchronized (this) {
+            failed = new ArrayList<>(pending.values());
+            pending.clear();
+            nodeQueues.clear();
+            tickScheduled = false;
+        }
+
+        for (var receipt : failed) {
+            receipt.future.completeExceptionally(error);
+        }
+    }
+
+    private static TimeoutException timeoutException(PendingReceipt receipt) {
+        return new TimeoutException("timed out polling the receipt of " + receipt.transactionId);
+    }
+
+    /**
+     * A transaction whose receipt is being polled.
+     */
+    private static final class PendingReceipt {
+        final TransactionId transactionId;
+
+        final AccountId nodeId;
+
+        final long registeredNanos;
+
+        final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+
+        // the fields below are guarded by the poller
+        long deadlineNanos;
+
+        long nextPollNanos;
+
+        int attempt = 0;
+
+        PendingReceipt(TransactionId transactionId, AccountId nodeId, long registeredNanos, long deadlineNanos) {
+            this.transactionId = transactionId;
+            this.nodeId = nodeId;
+            this.registeredNanos = registeredNanos;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    /**
+     * The receipts due to be polled from one node, and the permits left to poll them.
+     */
+    private static final class NodeQueue {
+        private final PriorityQueue<PendingReceipt> receipts =
+            new PriorityQueue<>(Comparator.comparingLong(receipt -> receipt.nextPollNanos));
+
+        // permits refill continuously, up to one second's worth of queries
+        private int maxQueriesPerSecond;
+
+        private double permits;
+
+        private long refilledNanos = System.nanoTime();
+
+        NodeQueue(int maxQueriesPerSecond) {
+            this.maxQueriesPerSecond = maxQueriesPerSecond;
+            this.permits = maxQueriesPerSecond;
+        }
+
+        void add(PendingReceipt receipt) {
+            receipts.add(receipt);
+        }
+
+        @Nullable
+        PendingReceipt peek() {
+            return receipts.peek();
+        }
+
+        PendingReceipt poll() {
+            return Objects.requireNonNull(receipts.poll());
+        }
+
+        /**
+         * Whether the queue can be dropped without losing track of queries recently sent to the node.
+         */
+        boolean isIdle() {
+            return receipts.isEmpty() && permits >= maxQueriesPerSecond;
+        }
+
+        void refill(long now, int maxQueriesPerSecond) {
+            this.maxQueriesPerSecond = maxQueriesPerSecond;
+            var refilled = (now - refilledNanos) * (double) maxQueriesPerSecond / TimeUnit.SECONDS.toNanos(1);
+            permits = Math.min(maxQueriesPerSecond, permits + refilled);
+            refilledNanos = now;
+        }
+
+        boolean tryAcquire() {
+            if (permits < 1) {
+                return false;
+            }
+
+            permits -= 1;
+            return true;
+        }
+
+        long nextPermitNanos(long now) {
+            if (permits >= 1) {
+                return now;
+            }
+
+            return now + (long) ((1 - permits) * TimeUnit.SECONDS.toNanos(1) / maxQueriesPerSecond);
+        }
+    }
+}
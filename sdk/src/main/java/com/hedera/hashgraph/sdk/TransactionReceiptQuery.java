@@ -46,6 +46,7 @@ public final class TransactionReceiptQuery
     private TransactionId transactionId = null;
     private boolean includeChildren = false;
     private boolean includeDuplicates = false;
+    private boolean pollOnce = false;
 
     /**
      * Constructor.
@@ -121,6 +122,39 @@ public final class TransactionReceiptQuery
         return this;
     }
 
+    /**
+     * Assign whether a receipt which isn't available yet is returned instead of retried.
+     * <p>
+     * Used by {@link TransactionReceiptPoller}, which schedules the retries of many receipts itself. A receipt which
+     * isn't available yet has one of the statuses accepted by {@link #isPending(TransactionReceipt)}.
+     *
+     * @param pollOnce whether to return receipts which aren't available yet
+     * @return {@code this}
+     */
+    TransactionReceiptQuery setPollOnce(boolean pollOnce) {
+        this.pollOnce = pollOnce;
+        return this;
+    }
+
+    /**
+     * Whether a receipt returned by a query with {@link #setPollOnce(boolean)} isn't available yet.
+     *
+     * @param receipt the receipt
+     * @return whether the receipt has to be polled again
+     */
+    static boolean isPending(TransactionReceipt receipt) {
+        switch (receipt.status) {
+            case UNKNOWN:
+            case OK:
+            case RECEIPT_NOT_FOUND:
+            case RECORD_NOT_FOUND:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
     @Override
     boolean isPaymentRequired() {
         return false;
@@ -160,6 +194,15 @@ public final class TransactionReceiptQuery
         return TransactionReceipt.fromProtobuf(response.getTransactionGetReceipt().getReceipt(), duplicates, children, transactionId);
     }
 
+    @Override
+    void onSuccess(Client client, TransactionReceipt receipt) {
+        var costCache = client.getQueryCostCache();
+
+        if (costCache != null) {
+            costCache.onExchangeRate(receipt.exchangeRate);
+        }
+    }
+
     /**
      * Create a list of transaction receipts from a protobuf.
      *
@@ -195,10 +238,13 @@ public final class TransactionReceiptQuery
     ExecutionState getExecutionState(Status status, Response response) {
         switch (status) {
             case BUSY:
+                return ExecutionState.RETRY;
+
             case UNKNOWN:
             case RECEIPT_NOT_FOUND:
             case RECORD_NOT_FOUND:
-                return ExecutionState.RETRY;
+                // the receipt in the response is empty, which maps to a pending receipt
+                return pollOnce ? ExecutionState.SUCCESS : ExecutionState.RETRY;
 
             case OK:
                 break;
@@ -212,11 +258,13 @@ public final class TransactionReceiptQuery
 
         switch (receiptStatus) {
             case BUSY:
+                return ExecutionState.RETRY;
+
             case UNKNOWN:
             case OK:
             case RECEIPT_NOT_FOUND:
             case RECORD_NOT_FOUND:
-                return ExecutionState.RETRY;
+                return pollOnce ? ExecutionState.SUCCESS : ExecutionState.RETRY;
 
             default:
                 return ExecutionState.SUCCESS;
@@ -0,0 +1,251 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.errorprone.annotations.Var;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
+
+/**
+ * Verifies the signatures of many keys on a transaction at once.
+ * <p>
+ * A key is verified as {@link PublicKey#verifyTransaction(Transaction)} does it: every signed transaction, one per
+ * node, must carry a signature from the key, and every such signature must be valid. The body of each signed
+ * transaction is extracted once and shared by all the signatures over it, the Keccak-256 hash that ECDSA keys sign is
+ * computed once per body, and signatures are checked straight out of the {@code SignatureMap} without copying them
+ * into new arrays.
+ * <p>
+ * Signatures are checked in up to {@code parallelism} slices on the given executor; the default verifier checks them
+ * on the calling thread.
+ */
+public final class TransactionSignatureVerifier {
+    static final int SIGNATURE_SIZE = 64;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    /**
+     * Create a verifier which checks every signature on the calling thread.
+     */
+    public TransactionSignatureVerifier() {
+        this(MoreExecutors.directExecutor(), 1);
+    }
+
+    /**
+     * Create a verifier which checks signatures in parallel.
+     *
+     * @param executor    the executor the signatures are checked on
+     * @param parallelism the maximum number of slices checked at once
+     */
+    public TransactionSignatureVerifier(Executor executor, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be greater than zero");
+        }
+
+        this.executor = Objects.requireNonNull(executor);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Extract the maximum number of slices of signatures checked at once.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Verify the signatures of the given keys on a transaction, freezing it first if it isn't frozen.
+     *
+     * @param transaction the transaction
+     * @param publicKeys  the keys to verify
+     * @return whether the transaction is validly signed by each key, in the order of the keys
+     */
+    public Map<PublicKey, Boolean> verify(Transaction<?> transaction, Collection<? extends PublicKey> publicKeys) {
+        try {
+            return verifyAsync(transaction, publicKeys).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Verify the signatures of the given keys on a transaction asynchronously, freezing it first if it isn't frozen.
+     *
+     * @param transaction the transaction
+     * @param publicKeys  the keys to verify
+     * @return future result of whether the transaction is validly signed by each key, in the order of the keys
+     */
+    public CompletableFuture<Map<PublicKey, Boolean>> verifyAsync(
+        Transaction<?> transaction,
+        Collection<? extends PublicKey> publicKeys
+    ) {
+        if (!transaction.isFrozen()) {
+            transaction.freeze();
+        }
+
+        // the transaction is only read on this thread, the slices only see the extracted messages and signatures
+        var signedCount = transaction.innerSignedTransactions.size();
+        var messages = new Message[signedCount];
+        for (var i = 0; i < signedCount; i++) {
+            messages[i] = new Message(transaction.getInnerSignedTransaction(i).getBodyBytes().toByteArray());
+        }
+
+        var results = new LinkedHashMap<PublicKey, Boolean>();
+        var checks = new ArrayList<Check>();
+
+        for (var publicKey : new LinkedHashSet<PublicKey>(publicKeys)) {
+            // keys which will sign when the transaction is built are taken to have signed
+            if (transaction.publicKeys.contains(publicKey) || transaction.asyncSigners.containsKey(publicKey)) {
+                results.put(publicKey, true);
+                continue;
+            }
+
+            var keyChecks = collectChecks(transaction, messages, publicKey);
+            results.put(publicKey, keyChecks != null);
+
+            if (keyChecks != null) {
+                checks.addAll(keyChecks);
+            }
+        }
+
+        if (checks.isEmpty()) {
+            return CompletableFuture.completedFuture(results);
+        }
+
+        var slices = Math.min(parallelism, checks.size());
+        var futures = new ArrayList<CompletableFuture<Set<PublicKey>>>(slices);
+        for (var slice = 0; slice < slices; slice++) {
+            var from = checks.size() * slice / slices;
+            var to = checks.size() * (slice + 1) / slices;
+            var sliceChecks = checks.subList(from, to);
+            futures.add(CompletableFuture.supplyAsync(() -> check(sliceChecks), executor));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            for (var future : futures) {
+                for (var invalid : future.join()) {
+                    results.put(invalid, false);
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Collect the signatures of a key on every signed transaction.
+     *
+     * @return the signatures to check, or {@code null} if a signed transaction has no signature from the key
+     */
+    @Nullable
+    private static List<Check> collectChecks(Transaction<?> transaction, Message[] messages, PublicKey publicKey) {
+        var prefix = ByteString.copyFrom(publicKey.toBytesRaw());
+        var keyChecks = new ArrayList<Check>(messages.length);
+
+        for (var i = 0; i < messages.length; i++) {
+            var sizeBefore = keyChecks.size();
+
+            for (var sigPair : transaction.getInnerSignedTransaction(i).getSigMap().getSigPairList()) {
+                if (sigPair.getPubKeyPrefix().equals(prefix)) {
+                    keyChecks.add(new Check(publicKey, messages[i], publicKey.extractSignatureFromProtobuf(sigPair)));
+                }
+            }
+
+            if (keyChecks.size() == sizeBefore) {
+                return null;
+            }
+        }
+
+        return keyChecks;
+    }
+
+    private static Set<PublicKey> check(List<Check> checks) {
+        var buffer = new byte[SIGNATURE_SIZE];
+        var invalid = new HashSet<PublicKey>();
+
+        for (var check : checks) {
+            // once a signature of a key is invalid, its other signatures don't matter
+            if (!invalid.contains(check.publicKey())
+                && !check.publicKey().verifySignature(check.message(), check.signature(), buffer)) {
+                invalid.add(check.publicKey());
+            }
+        }
+
+        return invalid;
+    }
+
+    /**
+     * The body of a signed transaction, shared by every signature over it.
+     */
+    static final class Message {
+        private final byte[] bytes;
+
+        @Nullable
+        private volatile byte[] keccak256 = null;
+
+        Message(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * The message as signed by Ed25519 keys.
+         *
+         * @return the bytes of the message, which must not be modified
+         */
+        byte[] bytes() {
+            return bytes;
+        }
+
+        /**
+         * The hash of the message as signed by ECDSA keys, computed on first use.
+         *
+         * @return the hash of the message, which must not be modified
+         */
+        byte[] keccak256() {
+            @Var var hash = keccak256;
+            if (hash == null) {
+                hash = Crypto.calcKeccak256(bytes);
+                keccak256 = hash;
+            }
+            return hash;
+        }
+    }
+
+    private record Check(PublicKey publicKey, Message message, ByteString signature) {
+    }
+}
@@ -0,0 +1,275 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.FileGetContentsResponse;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncSignerTest {
+    private static final PrivateKey PRIVATE_KEY =
+        PrivateKey.fromStringED25519("8776c6b831a1b61ac10dac0304a2843de4716f54b1919bb91a2685d0fe3f3048");
+
+    private static final List<AccountId> NODES = List.of(new AccountId(3), new AccountId(4), new AccountId(5));
+
+    private static TransferTransaction frozenTransaction() {
+        return new TransferTransaction()
+            .setNodeAccountIds(NODES)
+            .setTransactionId(TransactionId.generate(new AccountId(1800)))
+            .freeze();
+    }
+
+    private static void assertSignedByEveryBody(Transaction<?> transaction, PublicKey publicKey) {
+        var publicKeyBytes = ByteString.copyFrom(publicKey.toBytesRaw());
+
+        for (var i = 0; i < transaction.sigPairLists.size(); i++) {
+            var body = transaction.getInnerSignedTransaction(i).getBodyBytes().toByteArray();
+            var sigPairs = transaction.sigPairLists.get(i).getSigPairList();
+
+            assertThat(sigPairs).filteredOn(pair -> pair.getPubKeyPrefix().equals(publicKeyBytes)).singleElement()
+                .satisfies(pair -> assertThat(publicKey.verify(body, pair.getEd25519().toByteArray())).isTrue());
+        }
+    }
+
+    @Test
+    void signsEveryNodeInOneBatch() throws Exception {
+        var signer = new FakeAsyncSigner(PRIVATE_KEY);
+        var transaction = frozenTransaction().signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+
+        assertThat(transaction.collectSignaturesAsync().get()).isSameAs(transaction);
+
+        assertThat(signer.getBatches()).singleElement().satisfies(batch -> assertThat(batch).hasSize(3));
+        assertSignedByEveryBody(transaction, PRIVATE_KEY.getPublicKey());
+
+        // nothing is left to collect
+        transaction.collectSignaturesAsync().get();
+        assertThat(signer.getBatches()).hasSize(1);
+    }
+
+    @Test
+    void splitsBatchesToTheSignerMaximum() throws Exception {
+        var signer = new FakeAsyncSigner(PRIVATE_KEY, 2);
+        var transaction = frozenTransaction().signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+
+        transaction.collectSignaturesAsync().get();
+
+        assertThat(signer.getBatches()).extracting(List::size).containsExactly(2, 1);
+        assertSignedByEveryBody(transaction, PRIVATE_KEY.getPublicKey());
+    }
+
+    @Test
+    void signsEveryChunkInOneBatch() throws Exception {
+        var signer = new FakeAsyncSigner(PRIVATE_KEY);
+        var transaction = new TopicMessageSubmitTransaction()
+            .setTopicId(new TopicId(0, 0, 1000))
+            .setMessage("a message split across three chunks")
+            .setChunkSize(12)
+            .setNodeAccountIds(NODES.subList(0, 2))
+            .setTransactionId(TransactionId.generate(new AccountId(1800)))
+            .freeze()
+            .signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+
+        transaction.collectSignaturesAsync().get();
+
+        assertThat(signer.getBatches()).singleElement().satisfies(batch -> assertThat(batch).hasSize(6));
+        assertSignedByEveryBody(transaction, PRIVATE_KEY.getPublicKey());
+    }
+
+    @Test
+    void serializingWaitsForSignatures() throws Exception {
+        var signer = new FakeAsyncSigner(PRIVATE_KEY);
+        var transaction = frozenTransaction().signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+
+        var signatures = Transaction.fromBytes(transaction.toBytes()).getSignatures();
+
+        assertThat(signatures).containsOnlyKeys(NODES);
+        assertThat(signatures.values()).allSatisfy(keys -> assertThat(keys).containsOnlyKeys(PRIVATE_KEY.getPublicKey()));
+        assertThat(signer.getBatches()).hasSize(1);
+    }
+
+    @Test
+    void concurrentCollectorsShareOneBatch() throws Exception {
+        var signer = new FakeAsyncSigner(PRIVATE_KEY).hold();
+        var transaction = frozenTransaction().signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var start = new CountDownLatch(1);
+            var collectors = new ArrayList<CompletableFuture<Void>>();
+            for (var i = 0; i < 8; i++) {
+                collectors.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    transaction.collectSignaturesAsync().join();
+                }, executor));
+            }
+            var serialized = CompletableFuture.supplyAsync(transaction::toBytes, executor);
+
+            start.countDown();
+            while (signer.getBatches().isEmpty()) {
+                Thread.sleep(1);
+            }
+            signer.release();
+
+            CompletableFuture.allOf(collectors.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+            serialized.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(signer.getBatches()).hasSize(1);
+        assertSignedByEveryBody(transaction, PRIVATE_KEY.getPublicKey());
+    }
+
+    @Test
+    void keyIsOnlySignedWithOnce() {
+        var signer = new FakeAsyncSigner(PRIVATE_KEY);
+        var transaction = frozenTransaction()
+            .sign(PRIVATE_KEY)
+            .signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+
+        transaction.toBytes();
+
+        assertThat(signer.getBatches()).isEmpty();
+        assertThat(transaction.asyncSigners).isEmpty();
+    }
+
+    @Test
+    void signerWithTooFewSignaturesFails() {
+        AsyncSigner signer = messages -> CompletableFuture.completedFuture(Collections.emptyList());
+        var transaction = frozenTransaction().signWithAsync(PRIVATE_KEY.getPublicKey(), signer);
+
+        assertThatThrownBy(() -> transaction.collectSignaturesAsync().get())
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(transaction::toBytes).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void signingRequiresFrozenTransaction() {
+        assertThatThrownBy(() -> new TransferTransaction()
+            .signWithAsync(PRIVATE_KEY.getPublicKey(), new FakeAsyncSigner(PRIVATE_KEY)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void fromPrivateKeySignsOnExecutor() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            var signer = AsyncSigner.fromPrivateKey(PRIVATE_KEY, executor);
+            var message = new byte[]{1, 2, 3};
+
+            assertThat(signer.sign(message).get()).isEqualTo(PRIVATE_KEY.sign(message));
+            assertThat(signer.getMaxBatchSize()).isEqualTo(Integer.MAX_VALUE);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executeAsyncWaitsForOperatorWithoutBlocking() throws Exception {
+        var requests = new ArrayList<com.hedera.hashgraph.sdk.proto.Transaction>();
+        var responses = List.of(List.<Object>of((Function<Object, Object>) request -> {
+            requests.add((com.hedera.hashgraph.sdk.proto.Transaction) request);
+            return TransactionResponse.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK).build();
+        }));
+
+        var signer = new FakeAsyncSigner(PRIVATE_KEY).hold();
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            mocker.client.setOperatorWithAsync(new AccountId(1800), PRIVATE_KEY.getPublicKey(), signer);
+
+            var future = new TransferTransaction()
+                .addHbarTransfer(new AccountId(1800), Hbar.fromTinybars(-1))
+                .addHbarTransfer(new AccountId(1801), Hbar.fromTinybars(1))
+                .executeAsync(mocker.client);
+
+            // the signer has been asked, and nothing waits on it
+            assertThat(signer.getBatches()).hasSize(1);
+            assertThat(future).isNotDone();
+
+            signer.release();
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(requests).hasSize(1);
+
+        var signed = SignedTransaction.parseFrom(requests.get(0).getSignedTransactionBytes());
+        var sigPair = signed.getSigMap().getSigPair(0);
+
+        assertThat(signed.getSigMap().getSigPairCount()).isEqualTo(1);
+        assertThat(PRIVATE_KEY.getPublicKey().verify(
+            signed.getBodyBytes().toByteArray(), sigPair.getEd25519().toByteArray())).isTrue();
+    }
+
+    @Test
+    void queryPaymentsForEveryNodeAreSignedInOneBatch() throws Exception {
+        var requests = new ArrayList<Query>();
+        var responses = List.of(
+            List.<Object>of((Function<Object, Object>) request -> {
+                requests.add((Query) request);
+                return Response.newBuilder()
+                    .setFileGetContents(FileGetContentsResponse.newBuilder()
+                        .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)))
+                    .build();
+            }),
+            List.of(),
+            List.of()
+        );
+
+        var signer = new FakeAsyncSigner(PRIVATE_KEY);
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            mocker.client.setOperatorWithAsync(new AccountId(1800), PRIVATE_KEY.getPublicKey(), signer);
+
+            new FileContentsQuery()
+                .setFileId(new FileId(0, 0, 1000))
+                .setNodeAccountIds(NODES)
+                .setQueryPayment(Hbar.fromTinybars(30))
+                .executeAsync(mocker.client)
+                .get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(signer.getBatches()).singleElement().satisfies(batch -> assertThat(batch).hasSize(3));
+        assertThat(requests).singleElement().satisfies(request ->
+            assertThat(request.getFileGetContents().getHeader().getPayment().getSignedTransactionBytes()).isNotEmpty());
+    }
+}
@@ -36,6 +36,7 @@ import java.time.Instant;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
 
@@ -59,6 +60,39 @@ class ClientTest {
         client.close();
     }
 
+    @Test
+    @DisplayName("Client.withVirtualThreads() uses virtual threads when the runtime supports them")
+    void withVirtualThreads() throws TimeoutException {
+        var client = Client.forNetwork(Map.of());
+        assertThat(client.isUsingVirtualThreads()).isFalse();
+        assertThat(client.withVirtualThreads()).isSameAs(client);
+        assertThat(client.isUsingVirtualThreads()).isEqualTo(Runtime.version().feature() >= 21);
+        assertThat(CompletableFuture.supplyAsync(() -> true, client.executor).join()).isTrue();
+        client.close();
+    }
+
+    @ValueSource(ints = {-1, 0})
+    @ParameterizedTest(name = "Invalid maxInFlightPerNode {0}")
+    void submitterInvalidWindow(int maxInFlightPerNode) throws TimeoutException {
+        var client = Client.forNetwork(Map.of());
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> {
+            client.submitter(maxInFlightPerNode);
+        });
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Client.submitter() rejects transactions that are not frozen")
+    void submitterRequiresFrozenTransaction() throws TimeoutException {
+        var client = Client.forNetwork(Map.of());
+        var pipeline = client.submitter(4);
+        assertThat(pipeline.getMaxInFlightPerNode()).isEqualTo(4);
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> {
+            pipeline.submit(new TransferTransaction());
+        });
+        client.close();
+    }
+
     @ValueSource(ints = {-1, 0})
     @ParameterizedTest(name = "Invalid maxAttempts {0}")
     void setMaxAttempts(int maxAttempts) throws TimeoutException {
@@ -242,6 +276,25 @@ class ClientTest {
         client.close();
     }
 
+    @Test
+    @DisplayName("setMirrorNetwork() resets the mirror REST API when the mirror nodes change")
+    void setMirrorNetworkResetsRestBaseUrl() throws Exception {
+        var client = Client.forTestnet();
+        assertThat(client.getMirrorRestBaseUrl()).isEqualTo("https://testnet.mirrornode.hedera.com/api/v1");
+
+        client.setMirrorNetwork(List.of("mainnet-public.mirrornode.hedera.com:443"));
+        assertThat(client.getMirrorRestBaseUrl()).isEqualTo("https://mainnet-public.mirrornode.hedera.com/api/v1");
+
+        client.setMirrorNetwork(List.of("127.0.0.1:5600"));
+        assertThat(client.getMirrorRestBaseUrl()).isNull();
+
+        client.setMirrorRestBaseUrl("http://127.0.0.1:5551/api/v1");
+        client.setMirrorNetwork(List.of("127.0.0.1:5600"));
+        assertThat(client.getMirrorRestBaseUrl()).isEqualTo("http://127.0.0.1:5551/api/v1");
+
+        client.close();
+    }
+
     @Test
     @DisplayName("setMirrorNetwork() throws exception if there is no time to remove the old nodes")
     void setMirrorNetworkFails() throws Exception {
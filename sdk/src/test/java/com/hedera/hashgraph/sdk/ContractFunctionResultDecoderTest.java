@@ -0,0 +1,142 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import java.math.BigInteger;
+import java.util.List;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ContractFunctionResultDecoderTest {
+    private static ContractFunctionResult result(ByteString callResult) {
+        return new ContractFunctionResult(
+            com.hedera.hashgraph.sdk.proto.ContractFunctionResult.newBuilder()
+                .setContractCallResult(callResult)
+        );
+    }
+
+    @Test
+    @DisplayName("decodes values like the getters")
+    void decodesLikeGetters() {
+        var result = result(ByteString.copyFrom(Hex.decode(ContractFunctionResultTest.CALL_RESULT_HEX)));
+
+        var values = new ContractFunctionResultDecoder("(uint32, int256, address, uint256, string, string)")
+            .decode(result);
+
+        assertThat(values).containsExactly(
+            result.getUint32(0),
+            result.getInt256(1),
+            result.getAddress(2),
+            result.getUint256(3),
+            result.getString(4),
+            result.getString(5)
+        );
+        assertThat(values.get(0)).isEqualTo(-1);
+        assertThat(values.get(3)).isEqualTo(BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE));
+    }
+
+    @Test
+    @DisplayName("decodes what ContractFunctionParameters encodes")
+    void decodesEncodedParameters() {
+        var encoded = new ContractFunctionParameters()
+            .addInt8((byte) -3)
+            .addUint64(-1)
+            .addAddress("1122334455667788990011223344556677889900")
+            .addStringArray(new String[]{"random bytes", "", "ünïcödé"})
+            .addBytes(new byte[]{1, 2, 3})
+            .addBytes32(new byte[]{4, 5})
+            .addBool(true)
+            .addUint256Array(new BigInteger[]{BigInteger.ONE, BigInteger.TWO.pow(255)})
+            .addInt256(BigInteger.valueOf(-42))
+            .addBytesArray(new byte[][]{{6}, {}})
+            .toBytes(null);
+
+        var values = new ContractFunctionResultDecoder(
+            "int8,uint64,address,string[],bytes,bytes32,bool,uint256[],int256,bytes[]"
+        ).decode(result(encoded));
+
+        var bytes32 = new byte[32];
+        bytes32[0] = 4;
+        bytes32[1] = 5;
+
+        assertThat(values).hasSize(10);
+        assertThat(values.get(0)).isEqualTo((byte) -3);
+        assertThat(values.get(1)).isEqualTo(-1L);
+        assertThat(values.get(2)).isEqualTo("1122334455667788990011223344556677889900");
+        assertThat(values.get(3)).isEqualTo(List.of("random bytes", "", "ünïcödé"));
+        assertThat((byte[]) values.get(4)).containsExactly(1, 2, 3);
+        assertThat((byte[]) values.get(5)).isEqualTo(bytes32);
+        assertThat(values.get(6)).isEqualTo(true);
+        assertThat(values.get(7)).isEqualTo(List.of(BigInteger.ONE, BigInteger.TWO.pow(255)));
+        assertThat(values.get(8)).isEqualTo(BigInteger.valueOf(-42));
+        assertThat((List<?>) values.get(9)).hasSize(2);
+        assertThat((byte[]) ((List<?>) values.get(9)).get(0)).containsExactly(6);
+        assertThat((byte[]) ((List<?>) values.get(9)).get(1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("decodes fixed-size arrays and nested tuples")
+    void decodesFixedArraysAndTuples() {
+        // (uint8[2], (bool, string))
+        var encoded = Hex.decode(""
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "0000000000000000000000000000000000000000000000000000000000000060"
+            + "0000000000000000000000000000000000000000000000000000000000000001"
+            + "0000000000000000000000000000000000000000000000000000000000000040"
+            + "0000000000000000000000000000000000000000000000000000000000000002"
+            + "6869000000000000000000000000000000000000000000000000000000000000");
+
+        var values = new ContractFunctionResultDecoder("(uint8[2],(bool,string))")
+            .decode(result(ByteString.copyFrom(encoded)));
+
+        assertThat(values).containsExactly(List.of((byte) 1, (byte) 2), List.of(true, "hi"));
+    }
+
+    @Test
+    @DisplayName("rejects invalid signatures")
+    void rejectsInvalidSignatures() {
+        for (var signature : new String[]{"(uint7)", "(uint256", "(bytes33)", "(foo)", "(uint256[0])", "(,)"}) {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new ContractFunctionResultDecoder(signature));
+        }
+    }
+
+    @Test
+    @DisplayName("rejects results that are too short or malformed")
+    void rejectsMalformedResults() {
+        var decoder = new ContractFunctionResultDecoder("(uint256,string)");
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> decoder.decode(result(ByteString.copyFrom(new byte[32]))));
+
+        // the offset of the string points past the end of the result
+        var badOffset = new byte[64];
+        badOffset[63] = (byte) 0xff;
+
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> decoder.decode(result(ByteString.copyFrom(badOffset))));
+    }
+}
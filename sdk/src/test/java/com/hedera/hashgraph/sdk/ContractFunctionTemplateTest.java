@@ -0,0 +1,116 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class ContractFunctionTemplateTest {
+    private static final String ADDRESS_1 = "1122334455667788990011223344556677889900";
+    private static final String ADDRESS_2 = "00998877665544332211009988776655443322ff";
+
+    private static ContractFunctionParameters placeholders() {
+        return new ContractFunctionParameters()
+            .addAddress(ADDRESS_1)
+            .addString("")
+            .addUint64(0)
+            .addInt32(0)
+            .addBytes32(new byte[32])
+            .addBool(false)
+            .addUint256Array(new BigInteger[0])
+            .addUint256(BigInteger.ZERO);
+    }
+
+    @Test
+    @DisplayName("encodes the placeholders like the parameters it was created from")
+    void encodesPlaceholders() {
+        var params = placeholders();
+        var template = new ContractFunctionTemplate("transfer", params);
+
+        assertThat(template.toBytes()).isEqualTo(params.toBytes("transfer"));
+        assertThat(template.size()).isEqualTo(params.toBytes("transfer").size());
+        assertThat(new ContractFunctionTemplate(null, params).toBytes()).isEqualTo(params.toBytes(null));
+    }
+
+    @Test
+    @DisplayName("encodes replaced arguments like freshly built parameters")
+    void encodesReplacedArguments() {
+        var template = new ContractFunctionTemplate("transfer", placeholders());
+
+        for (int i = 0; i < 3; i++) {
+            var bytes32 = new byte[]{(byte) i, 2, 3};
+            var array = new BigInteger[i];
+            Arrays.fill(array, BigInteger.valueOf(i));
+
+            template
+                .setAddress(0, ADDRESS_2)
+                .set(1, new ContractFunctionParameters().addString("memo ".repeat(i * 10)))
+                .setInt(2, -1 - i)
+                .setInt(3, -i)
+                .setBytes32(4, bytes32)
+                .setBool(5, i % 2 == 0)
+                .set(6, new ContractFunctionParameters().addUint256Array(array))
+                .setInt(7, BigInteger.TWO.pow(255).add(BigInteger.valueOf(i)));
+
+            var expected = new ContractFunctionParameters()
+                .addAddress(ADDRESS_2)
+                .addString("memo ".repeat(i * 10))
+                .addUint64(-1 - i)
+                .addInt32(-i)
+                .addBytes32(bytes32)
+                .addBool(i % 2 == 0)
+                .addUint256Array(array)
+                .addUint256(BigInteger.TWO.pow(255).add(BigInteger.valueOf(i)))
+                .toBytes("transfer");
+
+            assertThat(template.toBytes()).isEqualTo(expected);
+            assertThat(template.size()).isEqualTo(expected.size());
+
+            var buffer = ByteBuffer.allocate(template.size() + 1);
+            template.writeTo(buffer);
+            assertThat(buffer.position()).isEqualTo(expected.size());
+            assertThat(buffer.flip().limit()).isEqualTo(expected.size());
+            assertThat(buffer).isEqualTo(expected.asReadOnlyByteBuffer());
+        }
+    }
+
+    @Test
+    @DisplayName("rejects arguments of the wrong type")
+    void rejectsWrongType() {
+        var template = new ContractFunctionTemplate("transfer", placeholders());
+
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> template.setInt(0, 1));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> template.setBool(2, true));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> template.setInt(6, 1));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+            () -> template.setInt(7, BigInteger.valueOf(-1)));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+            () -> template.set(1, new ContractFunctionParameters().addBytes(new byte[1])));
+        assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(
+            () -> template.set(1, new ContractFunctionParameters()));
+        assertThatExceptionOfType(IndexOutOfBoundsException.class).isThrownBy(() -> template.setBool(8, true));
+    }
+}
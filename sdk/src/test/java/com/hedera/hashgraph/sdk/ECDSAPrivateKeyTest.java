@@ -24,6 +24,9 @@ import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class ECDSAPrivateKeyTest {
@@ -128,6 +131,53 @@ public class ECDSAPrivateKeyTest {
         assertThat(key.isED25519()).isFalse();
     }
 
+    @Test
+    @DisplayName("private key signs deterministically")
+    void keySignsDeterministically() {
+        var key = PrivateKey.fromStringECDSA("8776c6b831a1b61ac10dac0304a2843de4716f54b1919bb91a2685d0fe3f3048");
+
+        var signature = key.sign("hello world".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(Hex.toHexString(signature)).isEqualTo(
+            "f3a13a555f1f8cd6532716b8f388bd4e9d8ed0b252743e923114c0c6cbfe414c" +
+            "f791c8e859afd3c12009ecf2cb20dacf01636d80823bcdbd9ec1ce59afe008f0"
+        );
+    }
+
+    @Test
+    @DisplayName("signing context can be reused across messages")
+    void signingContextIsReusable() {
+        var key = (PrivateKeyECDSA) PrivateKey.generateECDSA();
+        var context = key.newSigningContext();
+
+        for (var i = 0; i < 8; i++) {
+            var message = ("message " + i).getBytes(StandardCharsets.UTF_8);
+            var signature = context.sign(message);
+
+            assertThat(signature).hasSize(64).isEqualTo(key.sign(message));
+            assertThat(key.getPublicKey().verify(message, signature)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("private key signs many messages in order")
+    void keySignsBatch() {
+        PrivateKey key = PrivateKey.generateECDSA();
+        var messages = List.of(
+            "first".getBytes(StandardCharsets.UTF_8),
+            new byte[0],
+            "third".getBytes(StandardCharsets.UTF_8)
+        );
+
+        var signatures = key.sign(messages);
+
+        assertThat(signatures).hasSize(3);
+        for (var i = 0; i < messages.size(); i++) {
+            assertThat(signatures.get(i)).isEqualTo(key.sign(messages.get(i)));
+            assertThat(key.getPublicKey().verify(messages.get(i), signatures.get(i))).isTrue();
+        }
+    }
+
     // TODO: replace with HexFormat.of().parseHex when the required Java version is 17
     public static byte[] hexStringToByteArray(String s) {
         int len = s.length();
@@ -263,6 +263,30 @@ class ExecutableTest {
         assertThat(node).isEqualTo(node3);
     }
 
+    @Test
+    void latencyAwarePicksFasterHealthyNode() {
+        when(node3.isHealthy()).thenReturn(true);
+        when(node4.isHealthy()).thenReturn(true);
+        when(node5.isHealthy()).thenReturn(false);
+
+        when(node3.getLatencyScore()).thenReturn(5000.0);
+        when(node4.getLatencyScore()).thenReturn(100.0);
+
+        var tx = new DummyTransaction();
+        tx.setNodeAccountIds(nodeAccountIds);
+        tx.setNodesFromNodeAccountIds(client);
+        tx.nodeSelectionStrategy = NodeSelectionStrategy.LATENCY_AWARE;
+
+        for (int i = 0; i < 10; i++) {
+            tx.nodes.setIndex(0);
+            tx.nodeAccountIds.setIndex(0);
+
+            assertThat(tx.getNodeForExecute(1)).isEqualTo(node4);
+            assertThat(tx.nodeAccountIds.getIndex()).isEqualTo(1);
+        }
+        verify(node5, never()).getLatencyScore();
+    }
+
     @Test
     void successfulExecute() throws PrecheckStatusException, TimeoutException {
         var now = java.time.Instant.now();
@@ -491,6 +515,40 @@ class ExecutableTest {
     }
 
 
+    @Test
+    void executeRecordsMetrics() throws PrecheckStatusException, TimeoutException {
+        var metrics = mock(ClientMetrics.class);
+        client.setMetrics(metrics);
+
+        when(node3.isHealthy()).thenReturn(true);
+        when(node4.isHealthy()).thenReturn(true);
+
+        when(node3.channelFailedToConnect()).thenReturn(false);
+        when(node4.channelFailedToConnect()).thenReturn(false);
+
+        AtomicInteger i = new AtomicInteger();
+        var tx = new DummyQuery() {
+            @Override
+            Status mapResponseStatus(com.hedera.hashgraph.sdk.proto.Response response) {
+                return i.get() == 0 ? Status.BUSY : Status.OK;
+            }
+
+            @Override
+            ExecutionState getExecutionState(Status status, Response response) {
+                return i.getAndIncrement() == 0 ? ExecutionState.RETRY : ExecutionState.SUCCESS;
+            }
+        };
+        tx.setNodeAccountIds(nodeAccountIds);
+        tx.blockingUnaryCall = (grpcRequest) -> Response.getDefaultInstance();
+        tx.execute(client);
+
+        verify(metrics).recordAttempt(
+            eq(RequestType.NONE), eq(new AccountId(3)), eq(io.grpc.Status.Code.OK), eq(Status.BUSY), anyLong());
+        verify(metrics).recordBackoff(eq(RequestType.NONE), eq(new AccountId(3)), anyLong());
+        verify(metrics).recordAttempt(
+            eq(RequestType.NONE), eq(new AccountId(4)), eq(io.grpc.Status.Code.OK), eq(Status.OK), anyLong());
+    }
+
     @Test
     void executeUserError() throws PrecheckStatusException, TimeoutException {
         when(node3.isHealthy()).thenReturn(true);
@@ -0,0 +1,98 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An in-process stand-in for a remote signer, which records every batch it is asked to sign and can hold its answers
+ * until released.
+ */
+final class FakeAsyncSigner implements AsyncSigner {
+    private final PrivateKey privateKey;
+
+    private final int maxBatchSize;
+
+    private final List<List<byte[]>> batches = new ArrayList<>();
+
+    private final List<Runnable> held = new ArrayList<>();
+
+    private boolean holding = false;
+
+    FakeAsyncSigner(PrivateKey privateKey) {
+        this(privateKey, Integer.MAX_VALUE);
+    }
+
+    FakeAsyncSigner(PrivateKey privateKey, int maxBatchSize) {
+        this.privateKey = privateKey;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public synchronized CompletableFuture<List<byte[]>> signAll(List<byte[]> messages) {
+        batches.add(List.copyOf(messages));
+
+        var future = new CompletableFuture<List<byte[]>>();
+        Runnable answer = () -> future.complete(privateKey.sign(messages));
+
+        if (holding) {
+            held.add(answer);
+        } else {
+            answer.run();
+        }
+
+        return future;
+    }
+
+    @Override
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Keep the answers to later batches until {@link #release()}.
+     *
+     * @return {@code this}
+     */
+    synchronized FakeAsyncSigner hold() {
+        holding = true;
+        return this;
+    }
+
+    /**
+     * Answer every held batch, and stop holding.
+     */
+    void release() {
+        List<Runnable> answers;
+        synchronized (this) {
+            holding = false;
+            answers = List.copyOf(held);
+            held.clear();
+        }
+
+        answers.forEach(Runnable::run);
+    }
+
+    synchronized List<List<byte[]>> getBatches() {
+        return List.copyOf(batches);
+    }
+}
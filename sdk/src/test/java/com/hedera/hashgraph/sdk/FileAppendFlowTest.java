@@ -0,0 +1,208 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.errorprone.annotations.Var;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.FileID;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.Transaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.sdk.proto.TransactionReceipt;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileAppendFlowTest {
+    private static final byte[] CONTENTS = randomBytes(5000);
+
+    private static byte[] randomBytes(int length) {
+        var bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static Object recordTransaction(List<TransactionBody> bodies) {
+        return (Function<Object, Object>) o -> {
+            var signedTransaction = SignedTransaction.parseFrom(((Transaction) o).getSignedTransactionBytes());
+            bodies.add(TransactionBody.parseFrom(signedTransaction.getBodyBytes()));
+            return TransactionResponse.newBuilder().setNodeTransactionPrecheckCodeValue(0).build();
+        };
+    }
+
+    private static Response receipt() {
+        return Response.newBuilder()
+            .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                .setReceipt(TransactionReceipt.newBuilder()
+                    .setStatusValue(ResponseCodeEnum.SUCCESS_VALUE)
+                    .setFileID(FileID.newBuilder().setFileNum(1))))
+            .build();
+    }
+
+    @Test
+    void chunkSourcesReadInOrder() throws Exception {
+        var sources = List.of(
+            ChunkSource.from(new ByteArrayInputStream(CONTENTS)),
+            ChunkSource.from(Channels.newChannel(new ByteArrayInputStream(CONTENTS))),
+            ChunkSource.from(ByteBuffer.wrap(CONTENTS))
+        );
+
+        for (var source : sources) {
+            var chunks = new ArrayList<ByteString>();
+            for (@Var var chunk = source.read(2048); !chunk.isEmpty(); chunk = source.read(2048)) {
+                chunks.add(chunk);
+            }
+
+            assertThat(chunks).extracting(ByteString::size).containsExactly(2048, 2048, 904);
+            assertThat(ByteString.copyFrom(chunks)).isEqualTo(ByteString.copyFrom(CONTENTS));
+        }
+    }
+
+    @Test
+    void byteBufferSourceDoesNotMovePosition() throws Exception {
+        var buffer = ByteBuffer.wrap(CONTENTS);
+        var source = ChunkSource.from(buffer);
+
+        source.read(2048);
+
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    void hexEncodedSourceEncodesChunks() throws Exception {
+        var source = ChunkSource.from(ByteBuffer.wrap(CONTENTS)).hexEncoded();
+
+        assertThat(source.read(2048).toStringUtf8()).isEqualTo(Hex.toHexString(CONTENTS, 0, 1024));
+        assertThat(source.read(2048).toStringUtf8()).isEqualTo(Hex.toHexString(CONTENTS, 1024, 1024));
+    }
+
+    @ParameterizedTest(name = "[{0}] FileAppendFlow appends one chunk at a time")
+    @CsvSource({"sync", "async"})
+    void appendsOneChunkAtATime(String versionToTest) throws Exception {
+        var bodies = Collections.synchronizedList(new ArrayList<TransactionBody>());
+        var responses = List.of(List.<Object>of(
+            recordTransaction(bodies), receipt(),
+            recordTransaction(bodies), receipt(),
+            recordTransaction(bodies), receipt()
+        ));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var flow = new FileAppendFlow()
+                .setFileId(new FileId(1))
+                .setContents(new ByteArrayInputStream(CONTENTS));
+
+            var response = versionToTest.equals("sync")
+                ? flow.execute(mocker.client)
+                : flow.executeAsync(mocker.client).get();
+
+            assertThat(response.transactionId)
+                .isEqualTo(TransactionId.fromProtobuf(bodies.get(2).getTransactionID()));
+        }
+
+        assertThat(bodies).allSatisfy(body -> {
+            assertThat(body.hasFileAppend()).isTrue();
+            assertThat(body.getFileAppend().getFileID().getFileNum()).isEqualTo(1);
+        });
+        assertThat(bodies)
+            .extracting(body -> body.getFileAppend().getContents())
+            .containsExactly(
+                ByteString.copyFrom(CONTENTS, 0, 2048),
+                ByteString.copyFrom(CONTENTS, 2048, 2048),
+                ByteString.copyFrom(CONTENTS, 4096, 904));
+        assertThat(bodies).extracting(TransactionBody::getTransactionID).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void failsWhenExceedingMaxChunks() throws Exception {
+        var bodies = Collections.synchronizedList(new ArrayList<TransactionBody>());
+        var responses = List.of(List.<Object>of(recordTransaction(bodies), receipt()));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var flow = new FileAppendFlow()
+                .setFileId(new FileId(1))
+                .setMaxChunks(1)
+                .setContents(ByteBuffer.wrap(CONTENTS));
+
+            assertThatThrownBy(() -> flow.execute(mocker.client))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("setMaxChunks");
+        }
+
+        assertThat(bodies).hasSize(1);
+    }
+
+    @Test
+    void failsWithEmptyContents() throws Exception {
+        try (var mocker = Mocker.withResponses(List.of(List.of()))) {
+            var flow = new FileAppendFlow()
+                .setFileId(new FileId(1))
+                .setContents(new ByteArrayInputStream(new byte[0]));
+
+            assertThatThrownBy(() -> flow.execute(mocker.client))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void contractCreateFlowStreamsBytecode() throws Exception {
+        var bytecode = randomBytes(3000);
+        var bodies = Collections.synchronizedList(new ArrayList<TransactionBody>());
+        var responses = List.of(List.<Object>of(
+            recordTransaction(bodies), receipt(),
+            recordTransaction(bodies), receipt(),
+            recordTransaction(bodies), receipt(),
+            recordTransaction(bodies), receipt(),
+            recordTransaction(bodies)
+        ));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            new ContractCreateFlow()
+                .setBytecode(new ByteArrayInputStream(bytecode))
+                .setGas(100_000)
+                .execute(mocker.client);
+        }
+
+        assertThat(bodies).extracting(TransactionBody::getDataCase).containsExactly(
+            TransactionBody.DataCase.FILECREATE,
+            TransactionBody.DataCase.FILEAPPEND,
+            TransactionBody.DataCase.FILEAPPEND,
+            TransactionBody.DataCase.CONTRACTCREATEINSTANCE,
+            TransactionBody.DataCase.FILEDELETE);
+        var uploaded = bodies.get(0).getFileCreate().getContents()
+            .concat(bodies.get(1).getFileAppend().getContents())
+            .concat(bodies.get(2).getFileAppend().getContents());
+        assertThat(uploaded.toStringUtf8()).isEqualTo(Hex.toHexString(bytecode));
+    }
+}
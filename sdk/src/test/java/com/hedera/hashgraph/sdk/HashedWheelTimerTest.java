@@ -0,0 +1,112 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HashedWheelTimerTest {
+    private ExecutorService executor;
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        timer = new HashedWheelTimer(executor, 1, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void completesAfterDelay() {
+        var start = System.nanoTime();
+        timer.delay(30).join();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(30);
+    }
+
+    @Test
+    void completesDelaysLongerThanOneRotation() {
+        var shortDelay = timer.delay(5);
+        var longDelay = timer.delay(40);
+
+        shortDelay.join();
+        assertThat(longDelay).isNotDone();
+
+        longDelay.join();
+    }
+
+    @Test
+    void zeroDelayCompletesInline() {
+        assertThat(Delayer.delayFor(0, timer)).isCompleted();
+    }
+
+    @Test
+    void stopCancelsPendingDelays() {
+        CompletableFuture<Void> future = timer.delay(60_000);
+        timer.stop();
+
+        assertThatExceptionOfType(CancellationException.class).isThrownBy(future::join);
+    }
+
+    @Test
+    void restartsAfterStop() {
+        timer.stop();
+        timer.delay(5).join();
+    }
+
+    @Test
+    void parksWhileNoDelayIsPending() throws InterruptedException {
+        timer.delay(5).join();
+
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!timer.isIdle() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(timer.isIdle()).isTrue();
+
+        // the next delay wakes the worker
+        var start = System.nanoTime();
+        var future = timer.delay(20);
+        future.join();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void rejectsInvalidWheelSize() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> new HashedWheelTimer(executor, 1, 3));
+    }
+}
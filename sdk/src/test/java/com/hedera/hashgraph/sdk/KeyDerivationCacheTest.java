@@ -0,0 +1,167 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.utils.Bip32Utils;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyDerivationCacheTest {
+    private static final byte[] SEED = Hex.decode("000102030405060708090a0b0c0d0e0f");
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deriveIsCached() {
+        var cache = new KeyDerivationCache();
+        var root = PrivateKey.fromSeedED25519(SEED);
+
+        var child = cache.derive(root, 7);
+
+        assertThat(child.toString()).isEqualTo(root.derive(7).toString());
+        assertThat(cache.derive(root, 7)).isSameAs(child);
+
+        // a parent recreated from the same seed finds the cached child
+        assertThat(cache.derive(PrivateKey.fromSeedED25519(SEED), 7)).isSameAs(child);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void derivePathCachesEveryStep() {
+        var cache = new KeyDerivationCache();
+        var root = PrivateKey.fromSeedED25519(SEED);
+
+        var key = cache.derivePath(root, 44, 3030, 0, 0, 5);
+
+        assertThat(key.toString()).isEqualTo(root.derive(44).derive(3030).derive(0).derive(0).derive(5).toString());
+        assertThat(cache.size()).isEqualTo(5);
+
+        var account = cache.derivePath(root, 44, 3030, 0, 0);
+        assertThat(cache.derive(account, 5)).isSameAs(key);
+        assertThat(cache.size()).isEqualTo(5);
+    }
+
+    @Test
+    void legacyDeriveIsCachedSeparately() {
+        var cache = new KeyDerivationCache();
+        var root = PrivateKey.fromSeedED25519(SEED);
+
+        var legacy = cache.legacyDerive(root, 0);
+
+        assertThat(legacy.toString()).isEqualTo(root.legacyDerive(0).toString());
+        assertThat(cache.legacyDerive(root, 0)).isSameAs(legacy);
+        assertThat(cache.derive(root, 0)).isNotSameAs(legacy);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void leastRecentlyUsedKeyIsForgotten() {
+        var cache = new KeyDerivationCache(2, executor, 1);
+        var root = PrivateKey.fromSeedED25519(SEED);
+
+        var first = cache.derive(root, 1);
+        var second = cache.derive(root, 2);
+        cache.derive(root, 1);
+        cache.derive(root, 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.derive(root, 1)).isSameAs(first);
+        assertThat(cache.derive(root, 2)).isNotSameAs(second);
+
+        cache.invalidate();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void deriveRangeMatchesDerive() {
+        var cache = new KeyDerivationCache(KeyDerivationCache.DEFAULT_MAX_ENTRIES, executor, 4);
+        var root = PrivateKey.fromSeedED25519(SEED);
+        var cached = cache.derive(root, 3);
+
+        var keys = cache.deriveRange(root, 0, 10);
+
+        var expected = new ArrayList<String>();
+        for (var i = 0; i < 10; i++) {
+            expected.add(root.derive(i).getPublicKey().toString());
+        }
+
+        assertThat(keys).extracting(key -> key.getPublicKey().toString()).containsExactlyElementsOf(expected);
+        assertThat(keys.get(3)).isSameAs(cached);
+        assertThat(cache.size()).isEqualTo(10);
+    }
+
+    @Test
+    void deriveRangeOfHardenedECDSAKeys() {
+        var cache = new KeyDerivationCache(KeyDerivationCache.DEFAULT_MAX_ENTRIES, executor, 3);
+        var root = PrivateKey.fromSeedECDSAsecp256k1(SEED);
+        var start = Bip32Utils.toHardenedIndex(0);
+
+        var keys = cache.deriveRangeAsync(root, start, 5).join();
+
+        assertThat(keys).hasSize(5);
+        for (var i = 0; i < 5; i++) {
+            assertThat(keys.get(i).toString()).isEqualTo(root.derive(start + i).toString());
+        }
+    }
+
+    @Test
+    void deriveRangeRejectsInvalidRange() {
+        var cache = new KeyDerivationCache();
+        var root = PrivateKey.fromSeedED25519(SEED);
+
+        assertThat(cache.deriveRange(root, 5, 0)).isEmpty();
+        assertThatThrownBy(() -> cache.deriveRange(root, 0, -1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.deriveRange(root, Integer.MAX_VALUE, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deriveRangePropagatesDerivationErrors() {
+        var cache = new KeyDerivationCache(KeyDerivationCache.DEFAULT_MAX_ENTRIES, executor, 2);
+
+        // Ed25519 keys only derive unhardened indexes, which they harden themselves
+        assertThatThrownBy(() -> cache.deriveRange(PrivateKey.fromSeedED25519(SEED), Bip32Utils.toHardenedIndex(0), 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> new KeyDerivationCache(0, executor, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new KeyDerivationCache(1, executor, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
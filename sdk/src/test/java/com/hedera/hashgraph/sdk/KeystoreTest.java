@@ -26,8 +26,18 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class KeystoreTest {
     private static final String TEST_KEY_STR = "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10";
@@ -71,4 +81,129 @@ class KeystoreTest {
 
         assertThat(privateKey2.toString()).isEqualTo(TEST_KEY_STR);
     }
+
+    @Test
+    @DisplayName("Keystore.decryptAll decrypts every keystore in order")
+    void decryptAll() throws Exception {
+        var exported = export(PrivateKey.fromString(TEST_KEY_STR));
+        var other = PrivateKey.generateED25519();
+        var keystores = List.of(resource("/test-keystore.bin"), export(other), resource("/test-keystore2.bin"), exported);
+
+        var progress = Collections.synchronizedList(new ArrayList<Integer>());
+        var executor = Executors.newFixedThreadPool(4);
+
+        try {
+            var decrypted = Keystore.decryptAll(keystores, PASSPHRASE, executor, (completed, total) -> {
+                assertThat(total).isEqualTo(4);
+                progress.add(completed);
+            }).get(1, TimeUnit.MINUTES);
+
+            assertThat(decrypted).extracting(PrivateKey::toString)
+                .containsExactly(TEST_KEY_STR, other.toString(), TEST_KEY_STR, TEST_KEY_STR);
+            assertThat(progress).containsExactlyInAnyOrder(1, 2, 3, 4);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Keystore.decryptAll derives a shared salt once")
+    void decryptAllDerivesSharedSaltOnce() throws Exception {
+        var keystore = export(PrivateKey.fromString(TEST_KEY_STR));
+        var tasks = new ArrayList<Runnable>();
+        Executor counting = tasks::add;
+
+        var future = Keystore.decryptAll(List.of(keystore, keystore, keystore), PASSPHRASE, counting);
+
+        assertThat(tasks).hasSize(1);
+        tasks.get(0).run();
+
+        assertThat(future.get()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Keystore.decryptAll fails on a wrong passphrase")
+    void decryptAllWrongPassphrase() {
+        var future = Keystore.decryptAll(List.of(resource("/test-keystore2.bin")), "wrong", Runnable::run);
+
+        assertThatThrownBy(future::get)
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(BadKeyException.class);
+    }
+
+    @Test
+    @DisplayName("Keystore.decryptAll fails on a malformed keystore")
+    void decryptAllMalformed() {
+        var future = Keystore.decryptAll(List.of("{}".getBytes(StandardCharsets.UTF_8)), PASSPHRASE, Runnable::run);
+
+        assertThat(future).isCompletedExceptionally();
+    }
+
+    @Test
+    @DisplayName("Keystore.decryptAll skips derivations after cancellation")
+    void decryptAllCancel() {
+        var tasks = new ArrayList<Runnable>();
+        var progress = new ArrayList<Integer>();
+
+        var future = Keystore.decryptAll(
+            List.of(resource("/test-keystore.bin"), resource("/test-keystore2.bin")),
+            PASSPHRASE,
+            tasks::add,
+            (completed, total) -> progress.add(completed));
+
+        assertThat(future.cancel(true)).isTrue();
+        tasks.forEach(Runnable::run);
+
+        assertThat(future).isCancelled();
+        assertThat(progress).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Keystore.decryptAll fails instead of hanging when the progress callback throws")
+    void decryptAllProgressThrows() {
+        var future = Keystore.decryptAll(
+            List.of(resource("/test-keystore.bin"), resource("/test-keystore2.bin")),
+            PASSPHRASE,
+            Runnable::run,
+            (completed, total) -> {
+                throw new IllegalStateException("progress failed");
+            });
+
+        assertThatThrownBy(() -> future.get(1, TimeUnit.MINUTES))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("PrivateKey.fromKeystoresAsync returns the decrypted private keys")
+    void fromKeystoresAsync() throws Exception {
+        var other = PrivateKey.generateED25519();
+        var keys = PrivateKey.fromKeystoresAsync(
+            List.of(export(other), resource("/test-keystore2.bin")),
+            PASSPHRASE,
+            Runnable::run
+        ).get(1, TimeUnit.MINUTES);
+
+        assertThat(keys).extracting(PrivateKey::toString).containsExactly(other.toString(), TEST_KEY_STR);
+    }
+
+    @Test
+    @DisplayName("Keystore.decryptAll of nothing completes right away")
+    void decryptAllEmpty() throws Exception {
+        assertThat(Keystore.decryptAll(List.of(), PASSPHRASE, Runnable::run).get()).isEmpty();
+    }
+
+    private static byte[] resource(String name) {
+        try (var inputStream = Objects.requireNonNull(KeystoreTest.class.getResourceAsStream(name))) {
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] export(PrivateKey privateKey) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        new Keystore(privateKey).export(outputStream, PASSPHRASE);
+        return outputStream.toByteArray();
+    }
 }
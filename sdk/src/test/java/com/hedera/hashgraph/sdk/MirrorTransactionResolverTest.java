@@ -0,0 +1,256 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MirrorTransactionResolverTest {
+    private static final String BASE_URL = "http://mirror.local/api/v1";
+
+    private Client client;
+
+    private final List<URI> requests = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        client = Client.forNetwork(new HashMap<>()).setMirrorRestBaseUrl(BASE_URL + "/");
+    }
+
+    @AfterEach
+    void tearDown() throws TimeoutException {
+        client.close();
+    }
+
+    private static TransactionId transactionId(long payer, long seconds) {
+        return new TransactionId(new AccountId(payer), Instant.ofEpochSecond(seconds, 5));
+    }
+
+    private static String transaction(TransactionId transactionId, String extra) {
+        return "{"
+            + "\"transaction_id\":\"" + MirrorTransactionResolver.toRestId(transactionId) + "\","
+            + "\"consensus_timestamp\":\"" + (transactionId.validStart.getEpochSecond() + 2) + ".000000007\","
+            + "\"result\":\"SUCCESS\","
+            + "\"nonce\":0,"
+            + "\"scheduled\":false"
+            + extra
+            + "}";
+    }
+
+    private static MirrorHttpTransport.Response page(String next, String... transactions) {
+        return new MirrorHttpTransport.Response(200,
+            "{\"transactions\":[" + String.join(",", transactions) + "],\"links\":{\"next\":" + next + "}}");
+    }
+
+    private MirrorTransactionResolver resolver(MirrorHttpTransport transport) {
+        return client.getMirrorTransactionResolver().setHttpTransport(uri -> {
+            requests.add(uri);
+            return transport.get(uri);
+        });
+    }
+
+    @Test
+    void mapsTransactionToRecord() throws Exception {
+        var transactionId = transactionId(1800, 1_690_000_000);
+        var response = page("null", transaction(transactionId, ","
+            + "\"name\":\"CRYPTOCREATEACCOUNT\","
+            + "\"entity_id\":\"0.0.1900\","
+            + "\"charged_tx_fee\":12345,"
+            + "\"memo_base64\":\"aGVsbG8=\","
+            + "\"transaction_hash\":\"AQID\","
+            + "\"transfers\":[{\"account\":\"0.0.1800\",\"amount\":-12345,\"is_approval\":false},"
+            + "{\"account\":\"0.0.3\",\"amount\":12345}],"
+            + "\"token_transfers\":[{\"token_id\":\"0.0.5000\",\"account\":\"0.0.1800\",\"amount\":10}]"));
+
+        var record = resolver(uri -> CompletableFuture.completedFuture(response))
+            .getRecord(transactionId)
+            .get(10, TimeUnit.SECONDS);
+
+        assertThat(requests).containsExactly(URI.create(BASE_URL + "/transactions/0.0.1800-1690000000-000000005"));
+        assertThat(record.transactionId).isEqualTo(transactionId);
+        assertThat(record.receipt.status).isEqualTo(Status.SUCCESS);
+        assertThat(record.receipt.accountId).isEqualTo(new AccountId(1900));
+        assertThat(record.consensusTimestamp).isEqualTo(Instant.ofEpochSecond(1_690_000_002, 7));
+        assertThat(record.transactionFee).isEqualTo(Hbar.fromTinybars(12345));
+        assertThat(record.transactionMemo).isEqualTo("hello");
+        assertThat(record.transactionHash.toByteArray()).containsExactly(1, 2, 3);
+        assertThat(record.transfers).extracting(transfer -> transfer.accountId)
+            .containsExactly(new AccountId(1800), new AccountId(3));
+        assertThat(record.tokenTransfers.get(new TokenId(5000)).get(new AccountId(1800))).isEqualTo(10L);
+    }
+
+    @Test
+    void retriesUntilTransactionIsImported() throws Exception {
+        var transactionId = transactionId(1800, 1_690_000_000);
+        var responses = new ArrayList<>(List.of(
+            new MirrorHttpTransport.Response(404, "{}"),
+            page("null", transaction(transactionId, ""))
+        ));
+
+        var receipt = resolver(uri -> CompletableFuture.completedFuture(responses.remove(0)))
+            .getReceipt(transactionId)
+            .get(10, TimeUnit.SECONDS);
+
+        assertThat(receipt.status).isEqualTo(Status.SUCCESS);
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void failsWhenTransactionIsNotImportedInTime() {
+        var future = resolver(uri -> CompletableFuture.completedFuture(new MirrorHttpTransport.Response(404, "{}")))
+            .getRecord(transactionId(1800, 1_690_000_000), Duration.ofMillis(300));
+
+        assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    void getsRecordsOfEachPayerInOneRange() throws Exception {
+        var first = transactionId(1800, 1_690_000_000);
+        var second = transactionId(1800, 1_690_000_010);
+        var third = transactionId(1800, 1_690_000_020);
+        var other = transactionId(1801, 1_690_000_000);
+        var unrelated = transactionId(1800, 1_690_000_005);
+
+        var resolver = resolver(uri -> {
+            var query = uri.getQuery();
+            if (query.contains("account.id=0.0.1801")) {
+                return CompletableFuture.completedFuture(page("null", transaction(other, "")));
+            } else if (query.contains("timestamp=gt:")) {
+                return CompletableFuture.completedFuture(page("null", transaction(third, "")));
+            } else {
+                return CompletableFuture.completedFuture(page(
+                    "\"/api/v1/transactions?account.id=0.0.1800&timestamp=gt:1690000012.0\"",
+                    transaction(first, ""), transaction(unrelated, ""), transaction(second, "")));
+            }
+        });
+
+        var records = resolver.getRecords(List.of(third, other, first, second)).get(10, TimeUnit.SECONDS);
+
+        assertThat(records.keySet()).containsExactly(third, other, first, second);
+        assertThat(requests).hasSize(3);
+        assertThat(requests.get(0).toString()).isEqualTo(BASE_URL + "/transactions"
+            + "?account.id=0.0.1800"
+            + "&timestamp=gte:1690000000.000000005"
+            + "&timestamp=lte:1690000200.000000005"
+            + "&order=asc&limit=100");
+        assertThat(requests.get(1).toString())
+            .isEqualTo("http://mirror.local/api/v1/transactions?account.id=0.0.1800&timestamp=gt:1690000012.0");
+    }
+
+    @Test
+    void leavesOutTransactionsNotImportedYet() throws Exception {
+        var imported = transactionId(1800, 1_690_000_000);
+        var pending = transactionId(1800, 1_690_000_001);
+
+        var records = resolver(uri -> CompletableFuture.completedFuture(page("null", transaction(imported, ""))))
+            .getReceipts(List.of(imported, pending))
+            .get(10, TimeUnit.SECONDS);
+
+        assertThat(records.keySet()).containsExactly(imported);
+    }
+
+    @Test
+    void failsWithoutRestBaseUrl() throws Exception {
+        try (var unconfigured = Client.forNetwork(new HashMap<>())) {
+            var future = unconfigured.getMirrorTransactionResolver().getRecord(transactionId(1800, 1_690_000_000));
+
+            assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void sendsRequestsToStubServer() throws Exception {
+        var transactionId = transactionId(1800, 1_690_000_000);
+        var body = page("null", transaction(transactionId, "")).body().getBytes(StandardCharsets.UTF_8);
+
+        var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/transactions/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (var stream = exchange.getResponseBody()) {
+                stream.write(body);
+            }
+        });
+        server.start();
+
+        try {
+            client.setMirrorRestBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1");
+
+            var receipt = client.getMirrorTransactionResolver().getReceipt(transactionId).get(10, TimeUnit.SECONDS);
+
+            assertThat(receipt.status).isEqualTo(Status.SUCCESS);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void defaultTransportUsesTheCurrentRequestTimeout() throws Exception {
+        var server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/slow", exchange -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            // the transport is created before the timeout is lowered
+            var transport = client.getMirrorTransactionResolver().getHttpTransport();
+            client.setRequestTimeout(Duration.ofMillis(100));
+
+            var uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/slow");
+            var future = transport.get(uri);
+
+            assertThatThrownBy(() -> future.get(4, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HttpTimeoutException.class);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
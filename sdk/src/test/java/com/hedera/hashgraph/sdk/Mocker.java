@@ -26,6 +26,7 @@ import io.grpc.Status;
 import io.grpc.*;
 import io.grpc.inprocess.InProcessServerBuilder;
 import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
 
 import java.io.IOException;
 import java.time.Duration;
@@ -77,6 +78,11 @@ public class Mocker implements AutoCloseable {
 
                             var r = response.get(responseIndex);
 
+                            if (r instanceof HeldResponse held) {
+                                held.hold(request, responseObserver);
+                                return;
+                            }
+
                             if (r instanceof Function<?, ?>) {
                                 try {
                                     r = ((Function<Object, Object>) r).apply(request);
@@ -121,6 +127,14 @@ public class Mocker implements AutoCloseable {
         return new Mocker(responses);
     }
 
+    /**
+     * A response which is not sent right away; the test keeps the observer and responds through it later.
+     */
+    @FunctionalInterface
+    public interface HeldResponse {
+        void hold(Object request, StreamObserver<Object> responseObserver);
+    }
+
     public void close() throws TimeoutException, InterruptedException {
         client.close();
 
@@ -51,6 +51,7 @@ import java.time.Duration;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
@@ -303,6 +304,36 @@ public class MockingTest {
         }
     }
 
+    @ParameterizedTest(name = "[{0}] TopicMessageSubmitTransaction sends chunks at once")
+    @CsvSource({"sync", "async"})
+    void topicMessageSubmitSendsChunksAtOnce(String sync) throws Exception {
+        var chunkNumbers = Collections.synchronizedList(new ArrayList<Integer>());
+        Function<Object, Object> submit = o -> {
+            var signedTransaction = SignedTransaction.parseFrom(((Transaction) o).getSignedTransactionBytes());
+            var body = TransactionBody.parseFrom(signedTransaction.getBodyBytes());
+            chunkNumbers.add(body.getConsensusSubmitMessage().getChunkInfo().getNumber());
+
+            return TransactionResponse.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK).build();
+        };
+
+        var responses = List.of(List.<Object>of(submit, submit, submit, submit, submit));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var transaction = new TopicMessageSubmitTransaction()
+                .setTopicId(new TopicId(1000))
+                .setMessage(makeBigString(5 * 1024))
+                .setMaxInFlightChunks(3);
+
+            var chunkResponses = sync.equals("sync")
+                ? transaction.executeAll(mocker.client)
+                : transaction.executeAllAsync(mocker.client).get();
+
+            Assertions.assertEquals(5, chunkResponses.size());
+            Assertions.assertEquals(transaction.transactionIds.getList(), chunkResponses.stream().map(r -> r.transactionId).toList());
+            Assertions.assertEquals(List.of(1, 2, 3, 4, 5), chunkNumbers.stream().sorted().toList());
+        }
+    }
+
     @ParameterizedTest(name = "[{2}] Executable retries on gRPC error with status {0} and description {1}")
     @CsvSource({
         "INTERNAL, internal RST_STREAM error, sync",
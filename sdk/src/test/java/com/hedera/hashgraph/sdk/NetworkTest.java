@@ -0,0 +1,199 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NetworkTest {
+    private static final int NODE_COUNT = 8;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Map<String, AccountId> networkWithout(int skipped) {
+        var network = new HashMap<String, AccountId>();
+        for (var i = 0; i < NODE_COUNT; i++) {
+            if (i != skipped) {
+                network.put("127.0.0.1:" + (50211 + i), new AccountId(3 + i));
+            }
+        }
+        return network;
+    }
+
+    private static boolean containsIdentical(List<Node> nodes, Node node) {
+        for (var candidate : nodes) {
+            if (candidate == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void setNodesPublishesOneConsistentSnapshot() throws Exception {
+        var network = Network.forNetwork(executor, networkWithout(-1));
+        var state = network.state.get();
+
+        assertThat(state.nodes()).hasSize(NODE_COUNT);
+        assertThat(state.healthy()).containsExactlyElementsOf(state.nodes());
+        assertThat(state.network()).hasSize(NODE_COUNT);
+
+        network.setNetwork(networkWithout(0));
+        var replaced = network.state.get();
+
+        assertThat(replaced.nodes()).hasSize(NODE_COUNT - 1);
+        assertThat(replaced.network()).doesNotContainKey(new AccountId(3));
+        assertThat(replaced.healthy()).containsExactlyElementsOf(replaced.nodes());
+    }
+
+    @Test
+    void removeDeadNodesKeepsBackedOffNodesUnhealthy() throws Exception {
+        var network = Network.forNetwork(executor, networkWithout(-1))
+            .setMaxNodeAttempts(2);
+        var nodes = network.state.get().nodes();
+        var dead = nodes.get(0);
+        var backedOff = nodes.get(1);
+
+        network.increaseBackoff(dead);
+        network.increaseBackoff(dead);
+        network.increaseBackoff(backedOff);
+
+        network.removeDeadNodes();
+        var state = network.state.get();
+
+        assertThat(containsIdentical(state.nodes(), dead)).isFalse();
+        assertThat(containsIdentical(state.nodes(), backedOff)).isTrue();
+        assertThat(containsIdentical(state.healthy(), dead)).isFalse();
+        assertThat(containsIdentical(state.healthy(), backedOff)).isFalse();
+        assertThat(state.healthy()).hasSize(NODE_COUNT - 2);
+    }
+
+    @Test
+    void concurrentUpdatesNeverReadmitRemovedNodes() throws Exception {
+        var network = Network.forNetwork(executor, networkWithout(-1))
+            .setMinNodeBackoff(Duration.ofMillis(1))
+            .setMaxNodeBackoff(Duration.ofMillis(2));
+        network.setMinNodeReadmitTime(Duration.ZERO);
+        network.setMaxNodeReadmitTime(Duration.ZERO);
+
+        Set<Node> removed = Collections.newSetFromMap(Collections.synchronizedMap(new IdentityHashMap<>()));
+        var failure = new AtomicReference<String>();
+        var running = new AtomicBoolean(true);
+        var workers = Executors.newFixedThreadPool(5);
+        var done = new CountDownLatch(5);
+
+        try {
+            // Back off and readmit nodes as hard as possible while the network is being replaced
+            for (var t = 0; t < 3; t++) {
+                workers.execute(() -> {
+                    try {
+                        while (running.get()) {
+                            var nodes = network.state.get().nodes();
+                            network.increaseBackoff(nodes.get(ThreadLocalRandom.current().nextInt(nodes.size())));
+                            network.readmitNodes();
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            // Every snapshot has to keep its healthy nodes a subset of its nodes
+            workers.execute(() -> {
+                try {
+                    while (running.get()) {
+                        var state = network.state.get();
+                        for (var node : state.healthy()) {
+                            if (!containsIdentical(state.nodes(), node)) {
+                                failure.compareAndSet(null, "healthy node " + node.getAccountId() + " was removed");
+                            }
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+
+            workers.execute(() -> {
+                try {
+                    for (var i = 0; i < 500; i++) {
+                        var before = new ArrayList<>(network.state.get().nodes());
+                        network.setNetwork(networkWithout(i % NODE_COUNT));
+                        var after = network.state.get().nodes();
+
+                        for (var node : before) {
+                            if (!containsIdentical(after, node)) {
+                                removed.add(node);
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e.toString());
+                } finally {
+                    running.set(false);
+                    done.countDown();
+                }
+            });
+
+            assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            running.set(false);
+            workers.shutdownNow();
+        }
+
+        assertThat(failure.get()).isNull();
+        assertThat(removed).isNotEmpty();
+
+        var state = network.state.get();
+        for (var node : state.healthy()) {
+            assertThat(removed.contains(node)).isFalse();
+            assertThat(containsIdentical(state.nodes(), node)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.hedera.hashgraph.sdk.proto.FileGetContentsResponse;
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.ResponseType;
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryCostCacheTest {
+    private static final ByteString KEY = ByteString.copyFromUtf8("query");
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> new QueryCostCache(Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new QueryCostCache(Duration.ofMinutes(1), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void costExpiresAfterTtl() throws InterruptedException {
+        var cache = new QueryCostCache(Duration.ofMillis(50));
+
+        cache.put(KEY, Hbar.fromTinybars(30));
+        assertThat(cache.get(KEY)).isEqualTo(Hbar.fromTinybars(30));
+
+        Thread.sleep(100);
+
+        assertThat(cache.get(KEY)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void forgetsLeastRecentlyUsedCost() {
+        var cache = new QueryCostCache(Duration.ofMinutes(1), 2);
+        var other = ByteString.copyFromUtf8("other");
+        var third = ByteString.copyFromUtf8("third");
+
+        cache.put(KEY, Hbar.fromTinybars(1));
+        cache.put(other, Hbar.fromTinybars(2));
+        cache.get(KEY);
+        cache.put(third, Hbar.fromTinybars(3));
+
+        assertThat(cache.get(KEY)).isEqualTo(Hbar.fromTinybars(1));
+        assertThat(cache.get(other)).isNull();
+        assertThat(cache.get(third)).isEqualTo(Hbar.fromTinybars(3));
+    }
+
+    @Test
+    void invalidatesWhenExchangeRateChanges() {
+        var cache = new QueryCostCache(Duration.ofMinutes(1));
+        var expiration = Instant.ofEpochSecond(1_000_000);
+
+        cache.onExchangeRate(new ExchangeRate(30_000, 120_000, expiration));
+        cache.put(KEY, Hbar.fromTinybars(30));
+
+        cache.onExchangeRate(new ExchangeRate(30_000, 120_000, expiration.plusSeconds(3600)));
+        cache.onExchangeRate(new ExchangeRate(0, 0, Instant.EPOCH));
+        assertThat(cache.get(KEY)).isEqualTo(Hbar.fromTinybars(30));
+
+        cache.onExchangeRate(new ExchangeRate(30_000, 150_000, expiration));
+        assertThat(cache.get(KEY)).isNull();
+    }
+
+    @Test
+    void invalidatesWhenFeeScheduleOrExchangeRateFileChanges() {
+        var cache = new QueryCostCache(Duration.ofMinutes(1));
+        var contents = ByteString.copyFromUtf8("fee schedule");
+
+        cache.onFileContents(FileId.FEE_SCHEDULE, contents);
+        cache.put(KEY, Hbar.fromTinybars(30));
+
+        cache.onFileContents(FileId.FEE_SCHEDULE, contents);
+        cache.onFileContents(new FileId(0, 0, 1000), ByteString.copyFromUtf8("unrelated"));
+        assertThat(cache.get(KEY)).isEqualTo(Hbar.fromTinybars(30));
+
+        cache.onFileContents(FileId.EXCHANGE_RATES, ByteString.copyFromUtf8("rates"));
+        assertThat(cache.get(KEY)).isNull();
+
+        cache.put(KEY, Hbar.fromTinybars(30));
+        cache.onFileContents(FileId.FEE_SCHEDULE, ByteString.copyFromUtf8("new fee schedule"));
+        assertThat(cache.get(KEY)).isNull();
+    }
+
+    @Test
+    void cachedCostSkipsCostQuery() throws Exception {
+        var requests = new ArrayList<Query>();
+        var responses = List.of(List.<Object>of(
+            respond(requests, cost(30)),
+            respond(requests, contents("first")),
+            respond(requests, contents("second")),
+            respond(requests, contents("third"))
+        ));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            mocker.client.setQueryCostCache(new QueryCostCache(Duration.ofMinutes(1)));
+
+            var fileId = new FileId(0, 0, 1000);
+            new FileContentsQuery().setFileId(fileId).execute(mocker.client);
+            new FileContentsQuery().setFileId(fileId).execute(mocker.client);
+            new FileContentsQuery().setFileId(fileId).executeAsync(mocker.client).get();
+        }
+
+        assertThat(requests).extracting(request -> request.getFileGetContents().getHeader().getResponseType())
+            .containsExactly(ResponseType.COST_ANSWER, ResponseType.ANSWER_ONLY, ResponseType.ANSWER_ONLY,
+                ResponseType.ANSWER_ONLY);
+        assertThat(requests.subList(1, 4)).extracting(QueryCostCacheTest::paymentAmount).containsOnly(30L);
+    }
+
+    @Test
+    void payMaxQueryPaymentSkipsCostQuery() throws Exception {
+        var requests = new ArrayList<Query>();
+        var responses = List.of(List.<Object>of(respond(requests, contents("first"))));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            mocker.client.setPayMaxQueryPayment(true);
+
+            new FileContentsQuery()
+                .setFileId(new FileId(0, 0, 1000))
+                .setMaxQueryPayment(Hbar.fromTinybars(500))
+                .execute(mocker.client);
+        }
+
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).getFileGetContents().getHeader().getResponseType())
+            .isEqualTo(ResponseType.ANSWER_ONLY);
+        assertThat(paymentAmount(requests.get(0))).isEqualTo(500L);
+    }
+
+    private static Function<Object, Object> respond(List<Query> requests, Response response) {
+        return request -> {
+            requests.add((Query) request);
+            return response;
+        };
+    }
+
+    private static Response cost(long tinybars) {
+        return Response.newBuilder()
+            .setFileGetContents(FileGetContentsResponse.newBuilder()
+                .setHeader(ResponseHeader.newBuilder()
+                    .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                    .setResponseType(ResponseType.COST_ANSWER)
+                    .setCost(tinybars)))
+            .build();
+    }
+
+    private static Response contents(String contents) {
+        return Response.newBuilder()
+            .setFileGetContents(FileGetContentsResponse.newBuilder()
+                .setHeader(ResponseHeader.newBuilder().setNodeTransactionPrecheckCode(ResponseCodeEnum.OK))
+                .setFileContents(FileGetContentsResponse.FileContents.newBuilder()
+                    .setContents(ByteString.copyFromUtf8(contents))))
+            .build();
+    }
+
+    // the amount the payment transaction of a query sends to the node
+    private static long paymentAmount(Query request) {
+        try {
+            var payment = request.getFileGetContents().getHeader().getPayment();
+            var signed = SignedTransaction.parseFrom(payment.getSignedTransactionBytes());
+            var body = TransactionBody.parseFrom(signed.getBodyBytes());
+
+            return body.getCryptoTransfer().getTransfers().getAccountAmountsList().stream()
+                .filter(amount -> amount.getAmount() > 0)
+                .findFirst()
+                .orElseThrow()
+                .getAmount();
+        } catch (InvalidProtocolBufferException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.SignedTransaction;
+import com.hedera.hashgraph.sdk.proto.TransactionBody;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class QueryPaymentPoolTest {
+    private static final PrivateKey PRIVATE_KEY = PrivateKey.fromString(
+        "302e020100300506032b657004220420db484b828e64b2d8f12ce3c0a0e93a0b8cce7af1bb8f39c97732394482538e10");
+
+    private static final Client.Operator OPERATOR =
+        new Client.Operator(new AccountId(1800), PRIVATE_KEY.getPublicKey(), PRIVATE_KEY::sign);
+
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThatThrownBy(() -> new QueryPaymentPool(DIRECT, 0, QueryPaymentPool.DEFAULT_MAX_AGE))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void takeRefillsInTheBackground() throws Exception {
+        var pool = new QueryPaymentPool(DIRECT, 2, QueryPaymentPool.DEFAULT_MAX_AGE);
+        var nodeId = new AccountId(3);
+        var amount = Hbar.fromTinybars(30);
+
+        assertThat(pool.take(OPERATOR, nodeId, amount)).isNull();
+
+        var first = pool.take(OPERATOR, nodeId, amount);
+        var second = pool.take(OPERATOR, nodeId, amount);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(first.transactionId()).isNotEqualTo(second.transactionId());
+
+        var body = TransactionBody.parseFrom(
+            SignedTransaction.parseFrom(first.transaction().getSignedTransactionBytes()).getBodyBytes());
+
+        assertThat(TransactionId.fromProtobuf(body.getTransactionID())).isEqualTo(first.transactionId());
+        assertThat(AccountId.fromProtobuf(body.getNodeAccountID())).isEqualTo(nodeId);
+        assertThat(body.getCryptoTransfer().getTransfers().getAccountAmountsList())
+            .extracting(accountAmount -> AccountId.fromProtobuf(accountAmount.getAccountID()),
+                accountAmount -> accountAmount.getAmount())
+            .containsExactlyInAnyOrder(
+                tuple(new AccountId(1800), -30L),
+                tuple(nodeId, 30L));
+    }
+
+    @Test
+    void paymentsArePooledPerNodeAndAmount() {
+        var pool = new QueryPaymentPool(DIRECT, 1, QueryPaymentPool.DEFAULT_MAX_AGE);
+
+        assertThat(pool.take(OPERATOR, new AccountId(3), Hbar.fromTinybars(30))).isNull();
+        assertThat(pool.take(OPERATOR, new AccountId(4), Hbar.fromTinybars(30))).isNull();
+        assertThat(pool.take(OPERATOR, new AccountId(3), Hbar.fromTinybars(40))).isNull();
+
+        assertThat(pool.take(OPERATOR, new AccountId(3), Hbar.fromTinybars(30))).isNotNull();
+    }
+
+    @Test
+    void expiredPaymentsAreDropped() {
+        // payments are generated with a valid start several seconds in the past, so they are expired right away
+        var pool = new QueryPaymentPool(DIRECT, 2, Duration.ofSeconds(1));
+
+        assertThat(pool.take(OPERATOR, new AccountId(3), Hbar.fromTinybars(30))).isNull();
+        assertThat(pool.take(OPERATOR, new AccountId(3), Hbar.fromTinybars(30))).isNull();
+    }
+
+    @Test
+    void refillIsSkippedWhenTheExecutorRejects() {
+        Executor rejecting = task -> {
+            throw new RejectedExecutionException();
+        };
+        var pool = new QueryPaymentPool(rejecting, 2, QueryPaymentPool.DEFAULT_MAX_AGE);
+
+        assertThat(pool.take(OPERATOR, new AccountId(3), Hbar.fromTinybars(30))).isNull();
+        assertThat(pool.take(OPERATOR, new AccountId(3), Hbar.fromTinybars(30))).isNull();
+    }
+
+    @Test
+    void clientPoolSize() throws Exception {
+        try (var client = Client.forNetwork(Map.of())) {
+            assertThat(client.getQueryPaymentPoolSize()).isZero();
+
+            client.setQueryPaymentPoolSize(4);
+            assertThat(client.getQueryPaymentPoolSize()).isEqualTo(4);
+
+            client.setQueryPaymentPoolSize(0);
+            assertThat(client.getQueryPaymentPoolSize()).isZero();
+            assertThatThrownBy(() -> client.setQueryPaymentPoolSize(-1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
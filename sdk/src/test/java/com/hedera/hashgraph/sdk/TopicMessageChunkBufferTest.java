@@ -0,0 +1,143 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.AccountID;
+import com.hedera.hashgraph.sdk.proto.ConsensusMessageChunkInfo;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.TransactionID;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopicMessageChunkBufferTest {
+    private final List<TopicMessage> incomplete = new ArrayList<>();
+
+    private TopicMessageChunkBuffer buffer;
+
+    @BeforeEach
+    void setup() {
+        buffer = new TopicMessageChunkBuffer(1024, Duration.ofSeconds(60), incomplete::add);
+    }
+
+    @Test
+    void reassemblesOutOfOrderChunks() {
+        assertThat(buffer.add(chunk(1, 3, 3, 10, "c"))).isNull();
+        assertThat(buffer.add(chunk(1, 1, 3, 11, "a"))).isNull();
+        var message = buffer.add(chunk(1, 2, 3, 12, "b"));
+
+        assertThat(message).isNotNull();
+        assertThat(message.contents).isEqualTo("abc".getBytes());
+        assertThat(message.sequenceNumber).isEqualTo(12);
+        assertThat(message.chunks).extracting(c -> c.sequenceNumber).containsExactly(11L, 12L, 10L);
+        assertThat(buffer.size()).isZero();
+        assertThat(buffer.getPendingBytes()).isZero();
+        assertThat(incomplete).isEmpty();
+    }
+
+    @Test
+    void dropsDuplicateChunks() {
+        assertThat(buffer.add(chunk(1, 1, 2, 1, "a"))).isNull();
+        assertThat(buffer.add(chunk(1, 1, 2, 1, "a"))).isNull();
+        assertThat(buffer.getPendingBytes()).isEqualTo(1);
+
+        var message = buffer.add(chunk(1, 2, 2, 2, "b"));
+
+        assertThat(message).isNotNull();
+        assertThat(message.contents).isEqualTo("ab".getBytes());
+        assertThat(message.chunks).hasSize(2);
+    }
+
+    @Test
+    void dropsInvalidChunkNumbers() {
+        assertThat(buffer.add(chunk(1, 0, 2, 1, "a"))).isNull();
+        assertThat(buffer.add(chunk(1, 3, 2, 2, "a"))).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void holdsOnlyReceivedChunksOfAHugeTotal() {
+        assertThat(buffer.add(chunk(1, 2, Integer.MAX_VALUE, 1, "a"))).isNull();
+        assertThat(buffer.add(chunk(1, Integer.MAX_VALUE, Integer.MAX_VALUE, 2, "b"))).isNull();
+
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.getPendingBytes()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsOldestWhenOverByteLimit() {
+        buffer = new TopicMessageChunkBuffer(10, Duration.ofSeconds(60), incomplete::add);
+
+        assertThat(buffer.add(chunk(1, 1, 2, 1, "12345678"))).isNull();
+        assertThat(buffer.add(chunk(2, 1, 2, 2, "12345678"))).isNull();
+
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(buffer.getPendingBytes()).isEqualTo(8);
+        assertThat(incomplete).hasSize(1);
+        assertThat(incomplete.get(0).transactionId).isEqualTo(TransactionId.fromProtobuf(initialTransactionId(1)));
+        assertThat(incomplete.get(0).contents).isEqualTo("12345678".getBytes());
+
+        // the second message can still complete
+        assertThat(buffer.add(chunk(2, 2, 2, 3, "9"))).isNotNull();
+    }
+
+    @Test
+    void evictsExpiredMessages() {
+        assertThat(buffer.add(chunk(1, 1, 2, 1, "a"))).isNull();
+        assertThat(buffer.add(chunk(2, 1, 2, 30, "b"))).isNull();
+        assertThat(incomplete).isEmpty();
+
+        assertThat(buffer.add(chunk(3, 1, 2, 62, "c"))).isNull();
+
+        assertThat(incomplete).hasSize(1);
+        assertThat(incomplete.get(0).sequenceNumber).isEqualTo(1);
+        assertThat(buffer.size()).isEqualTo(2);
+        assertThat(buffer.getPendingBytes()).isEqualTo(2);
+    }
+
+    private static TransactionID initialTransactionId(int message) {
+        return TransactionID.newBuilder()
+            .setAccountID(AccountID.newBuilder().setAccountNum(3).build())
+            .setTransactionValidStart(Timestamp.newBuilder().setSeconds(message).build())
+            .build();
+    }
+
+    // chunk `number` of `total` of a message, which reached consensus `sequenceNumber` seconds after the epoch
+    private static ConsensusTopicResponse chunk(
+        int message, int number, int total, long sequenceNumber, String contents
+    ) {
+        return ConsensusTopicResponse.newBuilder()
+            .setChunkInfo(ConsensusMessageChunkInfo.newBuilder()
+                .setInitialTransactionID(initialTransactionId(message))
+                .setNumber(number)
+                .setTotal(total))
+            .setConsensusTimestamp(Timestamp.newBuilder().setSeconds(sequenceNumber))
+            .setSequenceNumber(sequenceNumber)
+            .setMessage(ByteString.copyFromUtf8(contents))
+            .setRunningHash(ByteString.copyFromUtf8(contents))
+            .build();
+    }
+}
@@ -57,8 +57,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import javax.annotation.Nullable;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -227,6 +230,43 @@ class TopicMessageQueryTest {
             .contains(1L, 2L);
     }
 
+    @Test
+    @Timeout(3)
+    void subscribeChunkedOutOfOrderWithDuplicates() {
+        ConsensusTopicResponse response1 = response(1L, 2);
+        ConsensusTopicResponse response2 = response(2L, 2);
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response2);
+        consensusServiceStub.responses.add(response2);
+        consensusServiceStub.responses.add(response1);
+
+        subscribeToMirror(received::add);
+
+        var message = ArrayUtils.addAll(response1.getMessage().toByteArray(), response2.getMessage().toByteArray());
+        assertThat(errors).isEmpty();
+        assertThat(received)
+            .hasSize(1)
+            .first()
+            .returns(message, t -> t.contents)
+            .returns(response2.getSequenceNumber(), t -> t.sequenceNumber);
+    }
+
+    @Test
+    @Timeout(3)
+    void subscribeChunkedReportsIncomplete() {
+        List<TopicMessage> incomplete = new ArrayList<>();
+        topicMessageQuery.setMaxPendingChunkBytes(0);
+        topicMessageQuery.setIncompleteMessageHandler(incomplete::add);
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response(1L, 2));
+
+        subscribeToMirror(received::add);
+
+        assertThat(errors).isEmpty();
+        assertThat(received).isEmpty();
+        assertThat(incomplete).hasSize(1).first().returns(1L, t -> t.sequenceNumber);
+    }
+
     @Test
     @Timeout(3)
     void subscribeNoResponse() {
@@ -372,6 +412,101 @@ class TopicMessageQueryTest {
         assertThat(received).isEmpty();
     }
 
+    @Test
+    @Timeout(3)
+    void publisherDeliversOnlyRequestedMessages() {
+        consensusServiceStub.requests.add(request().build());
+        consensusServiceStub.responses.add(response(1L));
+        consensusServiceStub.responses.add(response(2L));
+
+        var subscriber = new TestSubscriber();
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+
+        subscriber.request(1);
+        waitFor(() -> received.size() == 1);
+        Uninterruptibles.sleepUninterruptibly(200, TimeUnit.MILLISECONDS);
+
+        assertThat(received).hasSize(1).extracting(t -> t.sequenceNumber).containsExactly(1L);
+        assertThat(complete.get()).isFalse();
+
+        subscriber.request(1);
+        waitFor(complete::get);
+
+        assertThat(received).hasSize(2).extracting(t -> t.sequenceNumber).containsExactly(1L, 2L);
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherRetryRecovers() {
+        ConsensusTopicResponse response = response(1L);
+        Instant nextTimestamp = toInstant(response.getConsensusTimestamp()).plusNanos(1L);
+        ConsensusTopicQuery.Builder request = request();
+
+        consensusServiceStub.requests.add(request.build());
+        consensusServiceStub.requests.add(request.setConsensusStartTime(toTimestamp(nextTimestamp)).build());
+        consensusServiceStub.responses.add(response);
+        consensusServiceStub.responses.add(Status.UNAVAILABLE.asRuntimeException());
+        consensusServiceStub.responses.add(response(2L));
+
+        var subscriber = new TestSubscriber();
+        topicMessageQuery.toPublisher(client).subscribe(subscriber);
+        subscriber.request(Long.MAX_VALUE);
+        waitFor(complete::get);
+
+        assertThat(received).hasSize(2).extracting(t -> t.sequenceNumber).containsExactly(1L, 2L);
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    @Timeout(3)
+    void publisherRejectsNonPositiveRequest() {
+        // request before the subscription starts, so that no call is made
+        topicMessageQuery.toPublisher(client).subscribe(new TestSubscriber() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(0);
+            }
+        });
+
+        assertThat(errors).hasSize(1).first().isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        while (!condition.getAsBoolean()) {
+            Uninterruptibles.sleepUninterruptibly(10, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private class TestSubscriber implements Flow.Subscriber<TopicMessage> {
+        @Nullable
+        private Flow.Subscription subscription;
+
+        void request(long n) {
+            Objects.requireNonNull(subscription).request(n);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(TopicMessage item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            errors.add(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            complete.set(true);
+        }
+    }
+
     private void subscribeToMirror(Consumer<TopicMessage> onNext) {
         SubscriptionHandle subscriptionHandle = topicMessageQuery.subscribe(client, onNext);
         Stopwatch stopwatch = Stopwatch.createStarted();
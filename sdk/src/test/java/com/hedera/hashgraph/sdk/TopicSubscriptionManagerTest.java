@@ -0,0 +1,291 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.primitives.Longs;
+import com.google.protobuf.ByteString;
+import com.hedera.hashgraph.sdk.proto.Timestamp;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusServiceGrpc;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicQuery;
+import com.hedera.hashgraph.sdk.proto.mirror.ConsensusTopicResponse;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopicSubscriptionManagerTest {
+
+    private static final Instant START_TIME = Instant.now();
+
+    private final ConsensusServiceStub consensusServiceStub = new ConsensusServiceStub();
+    private final List<TopicMessage> received = new CopyOnWriteArrayList<>();
+    private final List<Throwable> errors = new CopyOnWriteArrayList<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private Client client;
+    private Server server;
+    private TopicSubscriptionManager manager;
+
+    @BeforeEach
+    void setup() throws Exception {
+        client = Client.forNetwork(Collections.emptyMap());
+        client.setMirrorNetwork(List.of("in-process:topic-subscription-manager"));
+        server = InProcessServerBuilder.forName("topic-subscription-manager")
+            .addService(consensusServiceStub)
+            .directExecutor()
+            .build()
+            .start();
+        manager = client.getTopicSubscriptionManager();
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        if (client != null) {
+            client.close();
+        }
+        if (server != null) {
+            server.shutdown();
+            server.awaitTermination();
+        }
+    }
+
+    @Test
+    void managerIsSharedByTheClient() {
+        assertThat(client.getTopicSubscriptionManager()).isSameAs(manager);
+        assertThat(manager.getMaxStreamsPerMirrorNode())
+            .isEqualTo(TopicSubscriptionManager.DEFAULT_MAX_STREAMS_PER_MIRROR_NODE);
+    }
+
+    @Test
+    void setMaxStreamsPerMirrorNodeRejectsNonPositive() {
+        assertThatThrownBy(() -> manager.setMaxStreamsPerMirrorNode(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Timeout(5)
+    void subscribeDeliversInOrder() {
+        manager.subscribe(query(1000), received::add);
+
+        waitFor(() -> consensusServiceStub.streams.size() == 1);
+        var stream = consensusServiceStub.streams.get(0);
+        for (var i = 1L; i <= 100L; i++) {
+            stream.observer.onNext(response(i));
+        }
+        stream.observer.onCompleted();
+
+        waitFor(() -> completed.get() == 1);
+        assertThat(errors).isEmpty();
+        assertThat(received).extracting(t -> t.sequenceNumber)
+            .containsExactlyElementsOf(LongStream.rangeClosed(1L, 100L).boxed().toList());
+        assertThat(manager.getActiveStreamCount()).isZero();
+    }
+
+    @Test
+    @Timeout(5)
+    void subscribeWaitsForRoomOnTheMirrorNode() {
+        manager.setMaxStreamsPerMirrorNode(1);
+
+        var first = manager.subscribe(query(1000), received::add);
+        var waitingHandle = manager.subscribe(query(1001), received::add);
+
+        waitFor(() -> consensusServiceStub.streams.size() == 1);
+        assertThat(manager.getActiveStreamCount()).isEqualTo(1);
+        assertThat(manager.getWaitingSubscriptionCount()).isEqualTo(1);
+        assertThat(manager.isWaiting(first)).isFalse();
+        assertThat(manager.isWaiting(waitingHandle)).isTrue();
+        assertThat(consensusServiceStub.streams.get(0).request.getTopicID().getTopicNum()).isEqualTo(1000);
+
+        consensusServiceStub.streams.get(0).observer.onCompleted();
+
+        waitFor(() -> consensusServiceStub.streams.size() == 2);
+        assertThat(manager.getWaitingSubscriptionCount()).isZero();
+        assertThat(manager.isWaiting(waitingHandle)).isFalse();
+        var second = consensusServiceStub.streams.get(1);
+        assertThat(second.request.getTopicID().getTopicNum()).isEqualTo(1001);
+
+        second.observer.onNext(response(1L));
+        second.observer.onCompleted();
+
+        waitFor(() -> completed.get() == 2);
+        assertThat(received).hasSize(1);
+        assertThat(errors).isEmpty();
+        assertThat(manager.getActiveStreamCount()).isZero();
+    }
+
+    @Test
+    @Timeout(5)
+    void subscribeRetriesFromTheLastMessage() {
+        manager.subscribe(query(1000), received::add);
+
+        waitFor(() -> consensusServiceStub.streams.size() == 1);
+        var first = consensusServiceStub.streams.get(0);
+        var response = response(1L);
+        first.observer.onNext(response);
+        first.observer.onError(Status.UNAVAILABLE.asRuntimeException());
+
+        waitFor(() -> consensusServiceStub.streams.size() == 2);
+        var second = consensusServiceStub.streams.get(1);
+        assertThat(toInstant(second.request.getConsensusStartTime()))
+            .isEqualTo(toInstant(response.getConsensusTimestamp()).plusNanos(1L));
+
+        second.observer.onNext(response(2L));
+        second.observer.onCompleted();
+
+        waitFor(() -> completed.get() == 1);
+        assertThat(received).extracting(t -> t.sequenceNumber).containsExactly(1L, 2L);
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    @Timeout(5)
+    void reconnectsWaitForTheBackoffOfTheMirrorNode() {
+        manager.subscribe(query(1000), received::add);
+        manager.subscribe(query(1001), received::add);
+        manager.subscribe(query(1002), received::add);
+
+        waitFor(() -> consensusServiceStub.streams.size() == 3);
+
+        // every stream drops in the same outage, which backs off the mirror node only once
+        for (var stream : consensusServiceStub.streams.subList(0, 3)) {
+            stream.observer.onError(Status.UNAVAILABLE.asRuntimeException());
+        }
+
+        waitFor(() -> consensusServiceStub.streams.size() == 6);
+
+        // the backoff of the mirror node doubled to 1 s, longer than the 500 ms each query would wait
+        var stopwatch = Stopwatch.createStarted();
+        for (var stream : consensusServiceStub.streams.subList(3, 6)) {
+            stream.observer.onError(Status.UNAVAILABLE.asRuntimeException());
+        }
+
+        waitFor(() -> manager.getReconnectingSubscriptionCount() == 3);
+        waitFor(() -> consensusServiceStub.streams.size() == 9);
+        assertThat(stopwatch.elapsed(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(1000L);
+        assertThat(manager.getReconnectingSubscriptionCount()).isZero();
+        assertThat(errors).isEmpty();
+    }
+
+    @Test
+    @Timeout(5)
+    void subscribeReportsErrorsThatAreNotRetried() {
+        manager.subscribe(query(1000), received::add);
+
+        waitFor(() -> consensusServiceStub.streams.size() == 1);
+        consensusServiceStub.streams.get(0).observer.onError(Status.INVALID_ARGUMENT.asRuntimeException());
+
+        waitFor(() -> errors.size() == 1);
+        assertThat(consensusServiceStub.streams).hasSize(1);
+        assertThat(completed.get()).isZero();
+        assertThat(manager.getActiveStreamCount()).isZero();
+    }
+
+    @Test
+    @Timeout(5)
+    void unsubscribeReleasesTheStream() {
+        manager.setMaxStreamsPerMirrorNode(1);
+
+        var first = manager.subscribe(query(1000), received::add);
+        var second = manager.subscribe(query(1001), received::add);
+
+        waitFor(() -> consensusServiceStub.streams.size() == 1);
+        second.unsubscribe();
+        assertThat(manager.getWaitingSubscriptionCount()).isZero();
+
+        first.unsubscribe();
+
+        waitFor(() -> manager.getActiveStreamCount() == 0);
+        assertThat(consensusServiceStub.streams).hasSize(1);
+        assertThat(errors).isEmpty();
+        assertThat(completed.get()).isZero();
+    }
+
+    private TopicMessageQuery query(long topicNum) {
+        return new TopicMessageQuery()
+            .setTopicId(new TopicId(topicNum))
+            .setStartTime(START_TIME)
+            .setMaxBackoff(Duration.ofMillis(500L))
+            .setCompletionHandler(completed::incrementAndGet)
+            .setErrorHandler((t, message) -> errors.add(t));
+    }
+
+    private static void waitFor(BooleanSupplier condition) {
+        var stopwatch = Stopwatch.createStarted();
+
+        while (!condition.getAsBoolean()) {
+            assertThat(stopwatch.elapsed(TimeUnit.SECONDS)).isLessThan(4L);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static ConsensusTopicResponse response(long sequenceNumber) {
+        var message = ByteString.copyFrom(Longs.toByteArray(sequenceNumber));
+        return ConsensusTopicResponse.newBuilder()
+            .setConsensusTimestamp(toTimestamp(START_TIME.plusSeconds(sequenceNumber)))
+            .setSequenceNumber(sequenceNumber)
+            .setMessage(message)
+            .setRunningHash(message)
+            .setRunningHashVersion(2L)
+            .build();
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return Instant.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos());
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return Timestamp.newBuilder()
+            .setSeconds(instant.getEpochSecond())
+            .setNanos(instant.getNano())
+            .build();
+    }
+
+    private record OpenStream(ConsensusTopicQuery request, StreamObserver<ConsensusTopicResponse> observer) {
+    }
+
+    // holds every stream open until the test ends it
+    private static class ConsensusServiceStub extends ConsensusServiceGrpc.ConsensusServiceImplBase {
+        private final List<OpenStream> streams = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void subscribeTopic(
+            ConsensusTopicQuery consensusTopicQuery,
+            StreamObserver<ConsensusTopicResponse> streamObserver
+        ) {
+            streams.add(new OpenStream(consensusTopicQuery, streamObserver));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.TransactionResponse;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionPipelineMockTest {
+    private static final int COUNT = 8;
+    private static final int MAX_IN_FLIGHT_PER_NODE = 2;
+    private static final AccountId NODE = new AccountId(3);
+    private static final long HOLD_MILLIS = 300;
+
+    @Test
+    void submitAllBoundsAttemptsPerNodeAndKeepsOrder() throws Exception {
+        var held = new LinkedBlockingDeque<StreamObserver<Object>>();
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+
+        Mocker.HeldResponse hold = (request, responseObserver) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            held.add(responseObserver);
+        };
+
+        // The second node is never used, it only lets the pipeline admit more transactions than one node's window
+        List<Object> responses = Collections.nCopies(COUNT, hold);
+
+        try (var mocker = Mocker.withResponses(List.of(responses, List.of()))) {
+            var pipeline = mocker.client.submitter(MAX_IN_FLIGHT_PER_NODE);
+            var transactions = new ArrayList<TransferTransaction>();
+            for (var i = 0; i < COUNT; i++) {
+                transactions.add(new TransferTransaction()
+                    .setNodeAccountIds(List.of(NODE))
+                    .freezeWith(mocker.client));
+            }
+
+            var submitted = CompletableFuture.supplyAsync(() -> pipeline.submitAll(transactions.stream())
+                .map(response -> response.transactionId)
+                .toList());
+
+            // Both attempts the window allows are held before any response is sent
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (held.size() < MAX_IN_FLIGHT_PER_NODE && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(held).hasSize(MAX_IN_FLIGHT_PER_NODE);
+
+            for (var i = 0; i < COUNT; i++) {
+                // Respond to the newest attempt first so responses arrive out of submission order
+                var responseObserver = held.pollLast(10, TimeUnit.SECONDS);
+                assertThat(responseObserver).isNotNull();
+                assertThat(pipeline.getInFlight(NODE)).isLessThanOrEqualTo(MAX_IN_FLIGHT_PER_NODE);
+
+                inFlight.decrementAndGet();
+                responseObserver.onNext(TransactionResponse.newBuilder()
+                    .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                    .build());
+                responseObserver.onCompleted();
+            }
+
+            assertThat(submitted.get(10, TimeUnit.SECONDS))
+                .containsExactlyElementsOf(transactions.stream().map(Transaction::getTransactionId).toList());
+            assertThat(maxInFlight.get()).isEqualTo(MAX_IN_FLIGHT_PER_NODE);
+            assertThat(pipeline.getInFlight(NODE)).isZero();
+        }
+    }
+
+    @Test
+    void waitingForTheWindowIsNotRecordedAsLatency() throws Exception {
+        var latencies = Collections.synchronizedList(new ArrayList<Long>());
+
+        Mocker.HeldResponse slow = (request, responseObserver) -> CompletableFuture.runAsync(() -> {
+            responseObserver.onNext(TransactionResponse.newBuilder()
+                .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+                .build());
+            responseObserver.onCompleted();
+        }, CompletableFuture.delayedExecutor(HOLD_MILLIS, TimeUnit.MILLISECONDS));
+        var fast = TransactionResponse.newBuilder()
+            .setNodeTransactionPrecheckCode(ResponseCodeEnum.OK)
+            .build();
+
+        try (var mocker = Mocker.withResponses(List.of(List.<Object>of(slow, fast), List.of()))) {
+            mocker.client.setMetrics(new ClientMetrics() {
+                @Override
+                public void recordAttempt(
+                    RequestType requestType,
+                    AccountId nodeAccountId,
+                    io.grpc.Status.Code grpcStatusCode,
+                    @Nullable Status status,
+                    long latencyNanos
+                ) {
+                    latencies.add(latencyNanos);
+                }
+            });
+
+            // A window of one makes the second transaction wait for the slow response to the first
+            var pipeline = mocker.client.submitter(1);
+            var transactions = List.of(
+                new TransferTransaction().setNodeAccountIds(List.of(NODE)).freezeWith(mocker.client),
+                new TransferTransaction().setNodeAccountIds(List.of(NODE)).freezeWith(mocker.client));
+
+            assertThat(pipeline.submitAll(transactions.stream()).toList()).hasSize(2);
+        }
+
+        assertThat(latencies).hasSize(2);
+        assertThat(latencies.get(0)).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(HOLD_MILLIS));
+        assertThat(latencies.get(1)).isLessThan(TimeUnit.MILLISECONDS.toNanos(HOLD_MILLIS / 2));
+    }
+}
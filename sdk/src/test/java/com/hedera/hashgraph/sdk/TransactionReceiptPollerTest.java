@@ -0,0 +1,227 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import com.hedera.hashgraph.sdk.proto.Query;
+import com.hedera.hashgraph.sdk.proto.Response;
+import com.hedera.hashgraph.sdk.proto.ResponseCodeEnum;
+import com.hedera.hashgraph.sdk.proto.ResponseHeader;
+import com.hedera.hashgraph.sdk.proto.TransactionGetReceiptResponse;
+import com.hedera.hashgraph.sdk.proto.TransactionReceipt;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionReceiptPollerTest {
+    private static final AccountId NODE_ID = new AccountId(3);
+
+    private static Response receiptNotFound() {
+        return Response.newBuilder()
+            .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                .setHeader(ResponseHeader.newBuilder()
+                    .setNodeTransactionPrecheckCode(ResponseCodeEnum.RECEIPT_NOT_FOUND)))
+            .build();
+    }
+
+    private static Response receiptWithStatus(ResponseCodeEnum status) {
+        return Response.newBuilder()
+            .setTransactionGetReceipt(TransactionGetReceiptResponse.newBuilder()
+                .setReceipt(TransactionReceipt.newBuilder().setStatus(status)))
+            .build();
+    }
+
+    private static Object recordQuery(List<Query> queries, Response response) {
+        return (Function<Object, Object>) o -> {
+            queries.add((Query) o);
+            return response;
+        };
+    }
+
+    private static TransactionId transactionId(int seconds) {
+        return new TransactionId(new AccountId(1800), Instant.ofEpochSecond(seconds));
+    }
+
+    @Test
+    void pollsUntilReceiptIsAvailable() throws Exception {
+        var queries = Collections.synchronizedList(new ArrayList<Query>());
+        var responses = List.of(List.<Object>of(
+            recordQuery(queries, receiptNotFound()),
+            recordQuery(queries, receiptWithStatus(ResponseCodeEnum.UNKNOWN)),
+            recordQuery(queries, receiptWithStatus(ResponseCodeEnum.SUCCESS))
+        ));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var poller = mocker.client.getTransactionReceiptPoller()
+                .setMinPollInterval(Duration.ofMillis(10));
+
+            var receipt = poller.getReceipt(transactionId(1), NODE_ID, Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS);
+
+            assertThat(receipt.status).isEqualTo(Status.SUCCESS);
+            assertThat(receipt.transactionId).isEqualTo(transactionId(1));
+            assertThat(poller.getPendingCount()).isZero();
+        }
+
+        assertThat(queries).hasSize(3).allSatisfy(query ->
+            assertThat(TransactionId.fromProtobuf(query.getTransactionGetReceipt().getTransactionID()))
+                .isEqualTo(transactionId(1)));
+    }
+
+    @Test
+    void sharesPollOfSameTransaction() throws Exception {
+        var queries = Collections.synchronizedList(new ArrayList<Query>());
+        var responses = List.of(List.<Object>of(
+            recordQuery(queries, receiptWithStatus(ResponseCodeEnum.SUCCESS))
+        ));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var poller = mocker.client.getTransactionReceiptPoller()
+                .setMinPollInterval(Duration.ofMillis(10));
+
+            var first = poller.getReceipt(transactionId(1), NODE_ID, Duration.ofSeconds(10));
+            var second = poller.getReceipt(transactionId(1), NODE_ID, Duration.ofSeconds(10));
+
+            assertThat(first.get(10, TimeUnit.SECONDS).status).isEqualTo(Status.SUCCESS);
+            assertThat(second.get(10, TimeUnit.SECONDS).status).isEqualTo(Status.SUCCESS);
+        }
+
+        assertThat(queries).hasSize(1);
+    }
+
+    @Test
+    void pollsEarlierWhenReceiptsAreAvailableAtFirstPoll() throws Exception {
+        var responses = new ArrayList<Object>();
+        for (var i = 0; i < 5; i++) {
+            responses.add(receiptNotFound());
+        }
+        for (var i = 0; i < 6; i++) {
+            responses.add(receiptWithStatus(ResponseCodeEnum.SUCCESS));
+        }
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            var poller = mocker.client.getTransactionReceiptPoller()
+                .setMinPollInterval(Duration.ofMillis(10))
+                .setMaxPollInterval(Duration.ofSeconds(1));
+
+            // a receipt which is still pending at its first poll raises the estimate
+            poller.getReceipt(transactionId(1), NODE_ID, Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS);
+            var raised = poller.firstPollDelayNanos();
+            assertThat(raised).isGreaterThan(Duration.ofMillis(10).toNanos());
+
+            // every later receipt is available by its first poll
+            for (var i = 2; i <= 6; i++) {
+                poller.getReceipt(transactionId(i), NODE_ID, Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS);
+            }
+
+            assertThat(poller.firstPollDelayNanos()).isLessThan(raised);
+        }
+    }
+
+    @Test
+    void limitsQueriesPerNode() throws Exception {
+        var queries = Collections.synchronizedList(new ArrayList<Query>());
+        var responses = List.of(List.<Object>of(
+            recordQuery(queries, receiptWithStatus(ResponseCodeEnum.SUCCESS)),
+            recordQuery(queries, receiptWithStatus(ResponseCodeEnum.SUCCESS)),
+            recordQuery(queries, receiptWithStatus(ResponseCodeEnum.SUCCESS))
+        ));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var poller = mocker.client.getTransactionReceiptPoller()
+                .setMinPollInterval(Duration.ofMillis(10))
+                .setMaxQueriesPerSecondPerNode(1);
+
+            var first = poller.getReceipt(transactionId(1), NODE_ID, Duration.ofSeconds(10));
+            poller.getReceipt(transactionId(2), NODE_ID, Duration.ofSeconds(10));
+            poller.getReceipt(transactionId(3), NODE_ID, Duration.ofSeconds(10));
+
+            first.get(10, TimeUnit.SECONDS);
+            Thread.sleep(200);
+
+            assertThat(queries).hasSize(1);
+            assertThat(poller.getPendingCount()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void validatesStatusOfResponse() throws Exception {
+        var responses = List.of(List.<Object>of(
+            receiptWithStatus(ResponseCodeEnum.INVALID_SIGNATURE),
+            receiptWithStatus(ResponseCodeEnum.INVALID_SIGNATURE)
+        ));
+
+        try (var mocker = Mocker.withResponses(responses)) {
+            var poller = mocker.client.getTransactionReceiptPoller()
+                .setMinPollInterval(Duration.ofMillis(10));
+            var response = new TransactionResponse(NODE_ID, transactionId(1), new byte[0], null);
+
+            assertThatThrownBy(() -> poller.getReceipt(response).get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ReceiptStatusException.class);
+
+            var receipt = poller.getReceipt(response.setValidateStatus(false)).get(10, TimeUnit.SECONDS);
+            assertThat(receipt.status).isEqualTo(Status.INVALID_SIGNATURE);
+        }
+    }
+
+    @Test
+    void failsWhenReceiptIsNotAvailableInTime() throws Exception {
+        var responses = new ArrayList<Object>();
+        for (var i = 0; i < 20; i++) {
+            responses.add(receiptNotFound());
+        }
+
+        try (var mocker = Mocker.withResponses(List.of(responses))) {
+            var poller = mocker.client.getTransactionReceiptPoller()
+                .setMinPollInterval(Duration.ofMillis(10))
+                .setMaxPollInterval(Duration.ofMillis(20));
+
+            var future = poller.getReceipt(transactionId(1), NODE_ID, Duration.ofMillis(100));
+
+            assertThatThrownBy(() -> future.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+            assertThat(poller.getPendingCount()).isZero();
+        }
+    }
+
+    @Test
+    void rejectsInvalidSettings() throws Exception {
+        try (var mocker = Mocker.withResponses(List.of(List.of()))) {
+            var poller = mocker.client.getTransactionReceiptPoller();
+
+            assertThatThrownBy(() -> poller.setMaxQueriesPerSecondPerNode(0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> poller.setMinPollInterval(Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> poller.setMaxPollInterval(Duration.ofMillis(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThat(mocker.client.getTransactionReceiptPoller()).isSameAs(poller);
+        }
+    }
+}
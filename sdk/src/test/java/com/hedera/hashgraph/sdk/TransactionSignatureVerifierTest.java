@@ -0,0 +1,150 @@
+/*-
+ *
+ * Hedera Java SDK
+ *
+ * Copyright (C) 2020 - 2022 Hedera Hashgraph, LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.hedera.hashgraph.sdk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class TransactionSignatureVerifierTest {
+    private static final PrivateKey ED25519_KEY =
+        PrivateKey.fromStringED25519("8776c6b831a1b61ac10dac0304a2843de4716f54b1919bb91a2685d0fe3f3048");
+
+    private final PrivateKey ecdsaKey = PrivateKey.generateECDSA();
+
+    private final PrivateKey unsignedKey = PrivateKey.generateED25519();
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static TransferTransaction frozenTransaction() {
+        return new TransferTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4), new AccountId(5)))
+            .setTransactionId(TransactionId.generate(new AccountId(1800)))
+            .freeze();
+    }
+
+    /**
+     * Sign every signed transaction directly in its signature map, as a transaction built elsewhere arrives.
+     */
+    private static void signAll(Transaction<?> transaction, PrivateKey key) {
+        for (var i = 0; i < transaction.innerSignedTransactions.size(); i++) {
+            var signedTransaction = transaction.getInnerSignedTransaction(i);
+            var signature = key.sign(signedTransaction.getBodyBytes().toByteArray());
+            signedTransaction.getSigMapBuilder().addSigPair(key.getPublicKey().toSignaturePairProtobuf(signature));
+        }
+    }
+
+    @Test
+    void verifiesEveryKeyInParallel() {
+        var transaction = frozenTransaction();
+        signAll(transaction, ED25519_KEY);
+        signAll(transaction, ecdsaKey);
+
+        var keys = List.of(ED25519_KEY.getPublicKey(), ecdsaKey.getPublicKey(), unsignedKey.getPublicKey());
+        var results = new TransactionSignatureVerifier(executor, 4).verify(transaction, keys);
+
+        assertThat(results).containsExactly(
+            Map.entry(ED25519_KEY.getPublicKey(), true),
+            Map.entry(ecdsaKey.getPublicKey(), true),
+            Map.entry(unsignedKey.getPublicKey(), false)
+        );
+
+        for (var key : keys) {
+            assertThat(key.verifyTransaction(transaction)).isEqualTo(results.get(key));
+        }
+    }
+
+    @Test
+    void rejectsKeyWithAnInvalidSignature() {
+        var transaction = frozenTransaction();
+        signAll(transaction, ED25519_KEY);
+
+        // a signature over a different body on the last node
+        var signedTransaction = transaction.getInnerSignedTransaction(2);
+        var signature = ecdsaKey.sign(transaction.getInnerSignedTransaction(0).getBodyBytes().toByteArray());
+        signedTransaction.getSigMapBuilder().addSigPair(ecdsaKey.getPublicKey().toSignaturePairProtobuf(signature));
+        signAll(transaction, ecdsaKey);
+
+        var results = new TransactionSignatureVerifier(executor, 2)
+            .verify(transaction, List.of(ecdsaKey.getPublicKey(), ED25519_KEY.getPublicKey()));
+
+        assertThat(results.get(ecdsaKey.getPublicKey())).isFalse();
+        assertThat(results.get(ED25519_KEY.getPublicKey())).isTrue();
+        assertThat(ecdsaKey.getPublicKey().verifyTransaction(transaction)).isFalse();
+    }
+
+    @Test
+    void rejectsTruncatedSignature() {
+        var transaction = frozenTransaction();
+
+        for (var i = 0; i < transaction.innerSignedTransactions.size(); i++) {
+            transaction.getInnerSignedTransaction(i).getSigMapBuilder().addSigPair(
+                ED25519_KEY.getPublicKey().toSignaturePairProtobuf(new byte[32])
+            );
+        }
+
+        assertThat(new TransactionSignatureVerifier().verify(transaction, List.of(ED25519_KEY.getPublicKey())))
+            .containsEntry(ED25519_KEY.getPublicKey(), false);
+    }
+
+    @Test
+    void keysThatWillSignAreTakenToHaveSigned() {
+        var transaction = frozenTransaction().sign(ED25519_KEY);
+
+        assertThat(new TransactionSignatureVerifier().verify(transaction, List.of(ED25519_KEY.getPublicKey())))
+            .containsEntry(ED25519_KEY.getPublicKey(), true);
+    }
+
+    @Test
+    void verifyAsyncCompletesOnExecutor() throws Exception {
+        var transaction = frozenTransaction();
+        signAll(transaction, ecdsaKey);
+
+        var results = new TransactionSignatureVerifier(executor, 3)
+            .verifyAsync(transaction, List.of(ecdsaKey.getPublicKey()))
+            .get();
+
+        assertThat(results).containsEntry(ecdsaKey.getPublicKey(), true);
+    }
+
+    @Test
+    void parallelismMustBePositive() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+            .isThrownBy(() -> new TransactionSignatureVerifier(executor, 0));
+    }
+}
@@ -23,6 +23,12 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 
@@ -38,4 +44,57 @@ public class TransactionTest {
         assertThat(transaction.getHbarTransfers())
             .containsEntry(new AccountId(476267), new Hbar(1));
     }
+
+    @Test
+    void signWithSignsEachBodyOncePerKey() {
+        var nodeAccountIds = List.of(new AccountId(3), new AccountId(4), new AccountId(5));
+        var transaction = new TransferTransaction()
+            .setNodeAccountIds(nodeAccountIds)
+            .setTransactionId(TransactionId.withValidStart(new AccountId(5006), Instant.ofEpochSecond(1554158542)))
+            .addHbarTransfer(new AccountId(5008), Hbar.fromTinybars(400))
+            .addHbarTransfer(new AccountId(5006), Hbar.fromTinybars(400).negated())
+            .freeze();
+
+        var signatureCount = new AtomicInteger();
+
+        for (var i = 0; i < 5; i++) {
+            var key = PrivateKey.generateED25519();
+            transaction.signWith(key.getPublicKey(), body -> {
+                signatureCount.incrementAndGet();
+                return key.sign(body);
+            });
+            transaction.buildAllTransactions();
+        }
+
+        assertThat(signatureCount.get()).isEqualTo(5 * nodeAccountIds.size());
+        assertThat(transaction.getSignatures()).hasSize(nodeAccountIds.size());
+        assertThat(transaction.getSignatures().values()).allSatisfy(signatures -> assertThat(signatures).hasSize(5));
+    }
+
+    @Test
+    void lazyTransactionBodiesAreBuiltOnFirstUse() throws TimeoutException {
+        var client = Client.forNetwork(Map.of()).setLazyTransactionBodies(true);
+        var key = PrivateKey.generateED25519();
+
+        var lazy = spawnTransferTransaction().freezeWith(client).sign(key);
+        var eager = spawnTransferTransaction().freeze().sign(key);
+
+        assertThat(lazy.innerSignedTransactions).containsOnlyNulls();
+
+        lazy.makeRequest();
+
+        assertThat(lazy.innerSignedTransactions.get(0)).isNotNull();
+        assertThat(lazy.innerSignedTransactions.subList(1, 3)).containsOnlyNulls();
+        assertThat(lazy.toBytes()).isEqualTo(eager.toBytes());
+
+        client.close();
+    }
+
+    private static TransferTransaction spawnTransferTransaction() {
+        return new TransferTransaction()
+            .setNodeAccountIds(List.of(new AccountId(3), new AccountId(4), new AccountId(5)))
+            .setTransactionId(TransactionId.withValidStart(new AccountId(5006), Instant.ofEpochSecond(1554158542)))
+            .addHbarTransfer(new AccountId(5008), Hbar.fromTinybars(400))
+            .addHbarTransfer(new AccountId(5006), Hbar.fromTinybars(400).negated());
+    }
 }